@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+
+package org.apache.storm.perf;
+
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.generated.StormTopology;
+import org.apache.storm.perf.bolt.DevNullBolt;
+import org.apache.storm.perf.spout.ConstSpout;
+import org.apache.storm.perf.utils.Helper;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.topology.base.BaseWindowedBolt;
+import org.apache.storm.topology.base.BaseWindowedBolt.Duration;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.Utils;
+import org.apache.storm.windowing.TupleWindow;
+
+/**
+ * ConstSpout -> SlidingWindowBolt -> DevNullBolt This topology measures the overhead of the windowing framework, modelled after the
+ * SlidingWindowTopology in storm-starter but with time based windows so that window triggers fire from the timer. ConstSpout :
+ * Continuously emits a constant string SlidingWindowBolt : counts the tuples in each window activation DevNullBolt : discards incoming
+ * tuples.
+ */
+public class SlidingWindowTopo {
+
+    public static final String TOPOLOGY_NAME = "SlidingWindowTopo";
+    public static final String SPOUT_ID = "constSpout";
+    public static final String BOLT1_ID = "slidingWindowBolt";
+    public static final String BOLT2_ID = "nullBolt";
+
+    // Configs
+    public static final String BOLT1_COUNT = "bolt1.count";
+    public static final String BOLT2_COUNT = "bolt2.count";
+    public static final String SPOUT_COUNT = "spout.count";
+    public static final String WINDOW_LENGTH_MS = "window.length.ms";
+    public static final String SLIDING_INTERVAL_MS = "sliding.interval.ms";
+
+    static StormTopology getTopology(Map<String, Object> conf) {
+
+        // 1 -  Setup Spout   --------
+        ConstSpout spout = new ConstSpout("some data").withOutputFields("str");
+
+        // 2 -  Setup SlidingWindowBolt & DevNullBolt   --------
+        int windowLengthMs = Helper.getInt(conf, WINDOW_LENGTH_MS, 2_000);
+        int slidingIntervalMs = Helper.getInt(conf, SLIDING_INTERVAL_MS, 500);
+        BaseWindowedBolt bolt1 = new SlidingWindowCountBolt()
+            .withWindow(Duration.of(windowLengthMs), Duration.of(slidingIntervalMs));
+        DevNullBolt bolt2 = new DevNullBolt();
+
+        // 3 - Setup Topology  --------
+        TopologyBuilder builder = new TopologyBuilder();
+
+        int numSpouts = Helper.getInt(conf, SPOUT_COUNT, 1);
+        builder.setSpout(SPOUT_ID, spout, numSpouts);
+
+        int numBolt1 = Helper.getInt(conf, BOLT1_COUNT, 1);
+        builder.setBolt(BOLT1_ID, bolt1, numBolt1)
+               .localOrShuffleGrouping(SPOUT_ID);
+
+        int numBolt2 = Helper.getInt(conf, BOLT2_COUNT, 1);
+        builder.setBolt(BOLT2_ID, bolt2, numBolt2)
+               .localOrShuffleGrouping(BOLT1_ID);
+        System.err.printf("====> Using : numSpouts = %d , numBolt1 = %d, numBolt2=%d, window = %d ms, sliding interval = %d ms\n",
+                          numSpouts, numBolt1, numBolt2, windowLengthMs, slidingIntervalMs);
+        return builder.createTopology();
+    }
+
+
+    public static void main(String[] args) throws Exception {
+        int runTime = -1;
+        Config topoConf = new Config();
+        // The window holds on to the tuples until they expire, so bound the number of tuples in flight.
+        topoConf.put(Config.TOPOLOGY_MAX_SPOUT_PENDING, 100_000);
+        topoConf.put(Config.TOPOLOGY_DISABLE_LOADAWARE_MESSAGING, true);
+        topoConf.put(Config.TOPOLOGY_STATS_SAMPLE_RATE, 0.0005);
+
+        if (args.length > 0) {
+            runTime = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            topoConf.putAll(Utils.findAndReadConfigFile(args[1]));
+        }
+        topoConf.putAll(Utils.readCommandLineOpts());
+
+        if (args.length > 2) {
+            System.err.println("args: [runDurationSec]  [optionalConfFile]");
+            return;
+        }
+        //  Submit topology to storm cluster
+        Helper.runOnClusterAndPrintMetrics(runTime, TOPOLOGY_NAME, topoConf, getTopology(topoConf));
+    }
+
+    /**
+     * Emits the number of tuples in each window activation.
+     */
+    private static class SlidingWindowCountBolt extends BaseWindowedBolt {
+        private OutputCollector collector;
+
+        @Override
+        public void prepare(Map<String, Object> topoConf, TopologyContext context, OutputCollector collector) {
+            this.collector = collector;
+        }
+
+        @Override
+        public void execute(TupleWindow inputWindow) {
+            collector.emit(new Values(inputWindow.get().size()));
+        }
+
+        @Override
+        public void declareOutputFields(OutputFieldsDeclarer declarer) {
+            declarer.declare(new Fields("count"));
+        }
+    }
+}
@@ -12,7 +12,10 @@
 
 package org.apache.storm.cassandra.trident.state;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import org.apache.storm.task.IMetricsContext;
 import org.apache.storm.trident.state.OpaqueValue;
 import org.apache.storm.trident.state.State;
@@ -31,12 +34,19 @@ import org.apache.storm.trident.state.map.TransactionalMap;
  *
  * <p>The statefactory supports opaque, transactional and non-transactional configurations.
  * Optionally, the backing map can be wrapped in a {@link CachedMap} by specifying {@link #withCache} (off by default).
+ * The metrics of the cache are registered under {@link #withCacheMetricsName}, followed by a sequence number when another cached state
+ * of the same task already uses the name.
  */
 public class CassandraMapStateFactory implements StateFactory {
 
+    public static final String DEFAULT_CACHE_METRICS_NAME = "cassandraMapState.cache";
+    // The cache metrics names used so far by the states of each task, a task can hold more than one state
+    private static final Map<IMetricsContext, Set<String>> CACHE_METRICS_NAMES = new WeakHashMap<>();
+
     private final StateType stateType;
     private final CassandraBackingMap.Options options;
     private int cacheSize;
+    private String cacheMetricsName = DEFAULT_CACHE_METRICS_NAME;
     private Map<String, Object> cassandraConfig;
 
     private CassandraMapStateFactory(StateType stateType, CassandraBackingMap.Options options, Map<String, Object> cassandraConfig) {
@@ -62,6 +72,30 @@ public class CassandraMapStateFactory implements StateFactory {
         return this;
     }
 
+    public CassandraMapStateFactory withCacheMetricsName(String cacheMetricsName) {
+        this.cacheMetricsName = cacheMetricsName;
+        return this;
+    }
+
+    /**
+     * Get a name for the cache metrics of a state that no other state of the task uses. The states of a task are made in the same order
+     * in every worker, so a state gets the same name every time.
+     *
+     * @param metrics the metrics context of the task.
+     * @param name the name to use if no other state of the task uses it.
+     * @return the name, or the name followed by a sequence number.
+     */
+    static String uniqueCacheMetricsName(IMetricsContext metrics, String name) {
+        synchronized (CACHE_METRICS_NAMES) {
+            Set<String> used = CACHE_METRICS_NAMES.computeIfAbsent(metrics, (m) -> new HashSet<>());
+            String ret = name;
+            for (int i = 2; !used.add(ret); i++) {
+                ret = name + "-" + i;
+            }
+            return ret;
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public State makeState(Map<String, Object> conf, IMetricsContext metrics, int partitionIndex, int numPartitions) {
@@ -69,9 +103,12 @@ public class CassandraMapStateFactory implements StateFactory {
         CassandraBackingMap cassandraBackingMap = new CassandraBackingMap(cassandraConfig, options);
         cassandraBackingMap.prepare();
 
-        IBackingMap backingMap = cacheSize > 0
-            ? new CachedMap<>(cassandraBackingMap, cacheSize)
-            : cassandraBackingMap;
+        IBackingMap backingMap = cassandraBackingMap;
+        if (cacheSize > 0) {
+            CachedMap<?> cachedMap = new CachedMap<>(cassandraBackingMap, cacheSize);
+            cachedMap.registerMetrics(metrics, uniqueCacheMetricsName(metrics, cacheMetricsName));
+            backingMap = cachedMap;
+        }
 
         MapState<?> mapState;
 
@@ -205,16 +205,20 @@ public class MapStateFactoryBuilder<T> {
                      putStatement.toString(),
                      stateMapper.toString());
 
+        String cacheMetricsName = "cassandraMapState." + keyspace + "." + table + ".cache";
         switch (stateType) {
             case NON_TRANSACTIONAL:
                 return CassandraMapStateFactory.nonTransactional(options, cassandraConfig)
-                                               .withCache(cacheSize);
+                                               .withCache(cacheSize)
+                                               .withCacheMetricsName(cacheMetricsName);
             case TRANSACTIONAL:
                 return CassandraMapStateFactory.transactional(options, cassandraConfig)
-                                               .withCache(cacheSize);
+                                               .withCache(cacheSize)
+                                               .withCacheMetricsName(cacheMetricsName);
             case OPAQUE:
                 return CassandraMapStateFactory.opaque(options, cassandraConfig)
-                                               .withCache(cacheSize);
+                                               .withCache(cacheSize)
+                                               .withCacheMetricsName(cacheMetricsName);
             default:
                 throw new IllegalArgumentException(String.format("stateType %s not supported",
                         stateType));
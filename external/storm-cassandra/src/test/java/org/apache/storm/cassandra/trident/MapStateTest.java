@@ -12,6 +12,8 @@
 
 package org.apache.storm.cassandra.trident;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.Session;
@@ -28,6 +30,7 @@ import org.apache.storm.LocalDRPC;
 import org.apache.storm.cassandra.client.CassandraConf;
 import org.apache.storm.cassandra.testtools.EmbeddedCassandraResource;
 import org.apache.storm.cassandra.trident.state.MapStateFactoryBuilder;
+import org.apache.storm.task.IMetricsContext;
 import org.apache.storm.trident.TridentState;
 import org.apache.storm.trident.TridentTopology;
 import org.apache.storm.trident.operation.builtin.Count;
@@ -47,6 +50,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class MapStateTest {
 
@@ -101,6 +109,28 @@ public class MapStateTest {
         wordsTest(factory);
     }
 
+    @Test
+    public void cachedStatesInOneTaskTest() throws Exception {
+        StateFactory factory = MapStateFactoryBuilder.opaque(getCassandraConfig())
+                                                     .withTable("words_ks", "words_table")
+                                                     .withKeys("word")
+                                                     .withJSONBinaryState("state")
+                                                     .withCache(10)
+                                                     .build();
+
+        // The metrics registry of a task refuses a second metric with the same name
+        MetricRegistry registry = new MetricRegistry();
+        IMetricsContext metrics = mock(IMetricsContext.class);
+        when(metrics.registerGauge(anyString(), any())).thenAnswer((invocation) ->
+            registry.register(invocation.getArgument(0), (Gauge<?>) invocation.getArgument(1)));
+
+        factory.makeState(new HashMap<>(), metrics, 0, 1);
+        factory.makeState(new HashMap<>(), metrics, 0, 1);
+
+        assertTrue(registry.getGauges().containsKey("cassandraMapState.words_ks.words_table.cache.hits"));
+        assertTrue(registry.getGauges().containsKey("cassandraMapState.words_ks.words_table.cache-2.hits"));
+    }
+
     public void wordsTest(StateFactory factory) throws Exception {
 
         FixedBatchSpout spout = new FixedBatchSpout(
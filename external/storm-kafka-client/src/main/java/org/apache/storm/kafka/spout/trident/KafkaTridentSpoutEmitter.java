@@ -161,7 +161,7 @@ public class KafkaTridentSpoutEmitter<K, V> implements Serializable {
     }
 
     /**
-     * Emit a new batch.
+     * Emit a new batch. If the transaction carries a batch size hint, at most that many records are emitted for the partition.
      */
     public Map<String, Object> emitPartitionBatchNew(TransactionAttempt tx, TridentCollector collector,
         KafkaTridentSpoutTopicPartition currBatchPartition, Map<String, Object> lastBatch) {
@@ -183,8 +183,14 @@ public class KafkaTridentSpoutEmitter<K, V> implements Serializable {
 
             seek(currBatchTp, lastBatchMeta);
 
-            final List<ConsumerRecord<K, V>> records = consumer.poll(pollTimeoutMs).records(currBatchTp);
+            List<ConsumerRecord<K, V>> records = consumer.poll(pollTimeoutMs).records(currBatchTp);
             LOG.debug("Polled [{}] records from Kafka.", records.size());
+            int batchSizeHint = tx.getBatchSizeHint();
+            if (batchSizeHint != TransactionAttempt.NO_BATCH_SIZE_HINT && records.size() > batchSizeHint) {
+                // The rest of the records are fetched again for the next batch, which starts after the last emitted offset
+                LOG.debug("Emitting [{}] of [{}] polled records for the batch size hint.", batchSizeHint, records.size());
+                records = records.subList(0, batchSizeHint);
+            }
 
             if (!records.isEmpty()) {
                 for (ConsumerRecord<K, V> record : records) {
@@ -187,6 +187,34 @@ public class KafkaTridentSpoutEmitterEmitTest {
         assertThat("The batch should end at the last offset of the polled messages", deserializedMeta.getLastOffset(), is(firstNewRecordOffset + numNewRecords - 1));
     }
 
+    @Test
+    public void testEmitNewBatchWithBatchSizeHint() {
+        //Check that the emitter emits no more records than the batch size hint, and that the next batch starts after the last emitted record
+        KafkaTridentSpoutEmitter<String, String> emitter = createEmitter(FirstPollOffsetStrategy.UNCOMMITTED_EARLIEST);
+        KafkaTridentSpoutTopicPartition kttp = new KafkaTridentSpoutTopicPartition(partition);
+        int batchSizeHint = 30;
+        Map<String, Object> batchMeta = emitter.emitPartitionBatchNew(new TransactionAttempt(10L, 0, batchSizeHint), collectorMock, kttp, null);
+
+        verify(collectorMock, times(batchSizeHint)).emit(anyList());
+        KafkaTridentSpoutBatchMetadata deserializedMeta = KafkaTridentSpoutBatchMetadata.fromMap(batchMeta);
+        assertThat("The batch should start at the first offset of the polled records", deserializedMeta.getFirstOffset(), is(firstOffsetInKafka));
+        assertThat("The batch should end at the last emitted record", deserializedMeta.getLastOffset(), is(firstOffsetInKafka + batchSizeHint - 1));
+
+        //The records that were not emitted are fetched again for the next batch
+        long firstRemainingOffset = firstOffsetInKafka + batchSizeHint;
+        int remainingRecords = recordsInKafka - batchSizeHint;
+        SpoutWithMockedConsumerSetupHelper.createRecords(partition, firstRemainingOffset, remainingRecords).forEach(consumer::addRecord);
+        Mockito.clearInvocations(collectorMock);
+        batchMeta = emitter.emitPartitionBatchNew(new TransactionAttempt(11L, 0), collectorMock, kttp, batchMeta);
+
+        verify(collectorMock, times(remainingRecords)).emit(emitCaptor.capture());
+        List<List<Object>> emits = emitCaptor.getAllValues();
+        assertThat(emits.get(0).get(0), is(firstRemainingOffset));
+        deserializedMeta = KafkaTridentSpoutBatchMetadata.fromMap(batchMeta);
+        assertThat("The batch should start after the last emitted record", deserializedMeta.getFirstOffset(), is(firstRemainingOffset));
+        assertThat("The batch should end at the last offset of the polled messages", deserializedMeta.getLastOffset(), is(lastOffsetInKafka));
+    }
+
     @Test
     public void testReEmitBatch() {
         //Check that a reemit emits exactly the same tuples as the last batch, even if Kafka returns more messages
@@ -758,6 +758,46 @@ public class Config extends HashMap<String, Object> {
     @IsInteger
     @IsPositiveNumber
     public static final String TOPOLOGY_TRIDENT_BATCH_EMIT_INTERVAL_MILLIS = "topology.trident.batch.emit.interval.millis";
+    /**
+     * Whether a Trident topology may start processing the next batch while the previous batch is being committed. When enabled the batch
+     * that is committing does not count against {@link #TOPOLOGY_MAX_SPOUT_PENDING}, so with a max spout pending of 1 the next batch is
+     * emitted as soon as the commit of the current one starts. Commits are still applied strictly in transaction id order, but reads of a
+     * state that happen while processing a batch (e.g. stateQuery) may not see the updates of the batch that is still committing.
+     */
+    @IsBoolean
+    public static final String TOPOLOGY_TRIDENT_PIPELINED_COMMITS = "topology.trident.pipelined.commits";
+    /**
+     * The latency a Trident batch should take to be processed, from being emitted by the master coordinator until every bolt has finished
+     * it. When set to a positive value the master coordinator adapts the batch size hint it hands to the emitters, between {@link
+     * #TOPOLOGY_TRIDENT_BATCH_SIZE_HINT_MIN} and {@link #TOPOLOGY_TRIDENT_BATCH_SIZE_HINT_MAX}, and the interval between batches, starting
+     * at {@link #TOPOLOGY_TRIDENT_BATCH_EMIT_INTERVAL_MILLIS}, to meet it. 0 disables adaptive batching. The hint caps the batches of
+     * Trident spouts wrapping a rich spout, and the records the Kafka Trident spout emits for each partition of a batch, other spouts
+     * ignore it.
+     */
+    @IsInteger
+    @IsPositiveNumber(includeZero = true)
+    public static final String TOPOLOGY_TRIDENT_BATCH_TARGET_LATENCY_MILLIS = "topology.trident.batch.target.latency.millis";
+    /**
+     * The smallest batch size hint used by adaptive batching, see {@link #TOPOLOGY_TRIDENT_BATCH_TARGET_LATENCY_MILLIS}.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String TOPOLOGY_TRIDENT_BATCH_SIZE_HINT_MIN = "topology.trident.batch.size.hint.min";
+    /**
+     * The largest batch size hint used by adaptive batching, see {@link #TOPOLOGY_TRIDENT_BATCH_TARGET_LATENCY_MILLIS}.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String TOPOLOGY_TRIDENT_BATCH_SIZE_HINT_MAX = "topology.trident.batch.size.hint.max";
+    /**
+     * When positive, the tuples a Trident bolt receives are buffered into segments of up to this many tuples held column by column, and
+     * each, project and aggregate operations process a segment at a time instead of a tuple at a time. This avoids building a tuple view
+     * per operation for projection heavy pipelines, at the cost of holding a segment in memory before it is processed. A segment is
+     * always processed before the batch finishes. 0 processes one tuple at a time.
+     */
+    @IsInteger
+    @IsPositiveNumber(includeZero = true)
+    public static final String TOPOLOGY_TRIDENT_COLUMNAR_SEGMENT_SIZE = "topology.trident.columnar.segment.size";
     /**
      * Maximum number of tuples that can be stored inmemory cache in windowing operators for fast access without fetching them from store.
      */
@@ -784,6 +824,20 @@ public class Config extends HashMap<String, Object> {
      */
     @IsString
     public static final String TOPOLOGY_SUBMITTER_USER = "topology.submitter.user";
+    /**
+     * The hex SHA-256 digest of the topology jar and the version of the jar blob it is for, as digest:version. This is set by nimbus
+     * when the topology is submitted, so supervisors can reuse a jar they already have for another topology instead of downloading it,
+     * and can check a jar they downloaded from other supervisors.
+     */
+    @IsString
+    public static final String TOPOLOGY_JAR_DIGEST = "topology.jar.digest";
+    /**
+     * The hex SHA-256 digest of the serialized topology and the version of the code blob it is for, as digest:version. This is set by
+     * nimbus when the topology is submitted or its resources are rebalanced, so supervisors can check a topology they downloaded from
+     * other supervisors.
+     */
+    @IsString
+    public static final String TOPOLOGY_CODE_DIGEST = "topology.code.digest";
     /**
      * A list of IAutoCredentials that the topology should load and use.
      */
@@ -982,6 +1036,13 @@ public class Config extends HashMap<String, Object> {
      */
     @IsStringList
     public static final String PACEMAKER_SERVERS = "pacemaker.servers";
+    /**
+     * If set, heartbeats are partitioned across the Pacemaker servers by topology id, and the heartbeats of each topology are written to
+     * and read from this many of them. Otherwise every heartbeat is written to one server and read from all of them.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String PACEMAKER_REPLICATION_FACTOR = "pacemaker.replication.factor";
     /**
      * The port Pacemaker should run on. Clients should connect to this port to submit or read heartbeats.
      */
@@ -1632,6 +1693,13 @@ public class Config extends HashMap<String, Object> {
      */
     @IsString
     public static final String STORM_LOCAL_DIR = "storm.local.dir";
+    /**
+     * Whether the local state of the daemons and workers, like the assignments of a supervisor and the heartbeats of its workers, is
+     * kept in an append-only log that is compacted as it grows, instead of writing a new snapshot of the whole state for every change.
+     * The state is kept when this is changed.
+     */
+    @IsBoolean
+    public static final String STORM_LOCAL_STATE_LOG_ENABLE = "storm.local.state.log.enable";
     /**
      * The workers-artifacts directory (where we place all workers' logs), can be either absolute or relative. By default,
      * ${storm.log.dir}/workers-artifacts is where worker logs go. If the setting is a relative directory, it is relative to storm.log.dir.
@@ -1711,6 +1779,12 @@ public class Config extends HashMap<String, Object> {
     @IsInteger
     @IsPositiveNumber
     public static final String WORKER_HEARTBEAT_FREQUENCY_SECS = "worker.heartbeat.frequency.secs";
+    /**
+     * Whether workers should send the executor stats in their heartbeats to ZooKeeper or Pacemaker in a compact binary form, which is much
+     * smaller for big topologies. Only turn this on once Nimbus and the UI have been upgraded to a version that can read it.
+     */
+    @IsBoolean
+    public static final String WORKER_HEARTBEAT_COMPACT_STATS = "worker.heartbeat.compact.stats";
     /**
      * How often executor metrics should report to master, used for RPC heartbeat mode.
      */
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.blobstore;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Reads a range of a blob from a stream of the whole blob. The version and the file length are the ones of the whole blob.
+ */
+public class BlobRangeInputStream extends InputStreamWithMeta {
+    private final InputStreamWithMeta in;
+    private long remaining;
+
+    /**
+     * Constructor.
+     *
+     * @param in the stream of the whole blob, positioned at its start.
+     * @param offset the offset of the first byte of the range.
+     * @param length the maximum number of bytes to read, the range ends at the end of the blob if it is shorter.
+     * @throws IOException if the stream could not be moved to the offset.
+     */
+    public BlobRangeInputStream(InputStreamWithMeta in, long offset, long length) throws IOException {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("Invalid range offset " + offset + " length " + length);
+        }
+        this.in = in;
+        this.remaining = length;
+        long toSkip = offset;
+        while (toSkip > 0) {
+            long skipped = in.skip(toSkip);
+            if (skipped <= 0) {
+                // skip may stop early without being at the end, read tells them apart
+                if (in.read() < 0) {
+                    throw new EOFException("Offset " + offset + " is past the end of the blob");
+                }
+                skipped = 1;
+            }
+            toSkip -= skipped;
+        }
+    }
+
+    @Override
+    public long getVersion() throws IOException {
+        return in.getVersion();
+    }
+
+    @Override
+    public long getFileLength() throws IOException {
+        return in.getFileLength();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return -1;
+        }
+        int ret = in.read();
+        if (ret >= 0) {
+            remaining--;
+        }
+        return ret;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (remaining <= 0) {
+            return len == 0 ? 0 : -1;
+        }
+        int ret = in.read(b, off, (int) Math.min(len, remaining));
+        if (ret > 0) {
+            remaining -= ret;
+        }
+        return ret;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long ret = in.skip(Math.min(n, remaining));
+        remaining -= ret;
+        return ret;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(in.available(), remaining);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
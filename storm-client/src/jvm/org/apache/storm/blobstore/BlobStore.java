@@ -220,6 +220,26 @@ public abstract class BlobStore implements Shutdownable, AutoCloseable {
      */
     public abstract InputStreamWithMeta getBlob(String key, Subject who) throws AuthorizationException, KeyNotFoundException;
 
+    /**
+     * Gets the InputStream to read a range of the blob. The version and the file length of the stream are the ones of the whole blob.
+     *
+     * @param key Key for the blob
+     * @param who Is the subject having the read privilege for the blob
+     * @param offset The offset of the first byte of the range
+     * @param length The maximum number of bytes in the range, the range ends at the end of the blob if it is shorter
+     * @return InputStreamWithMeta has the additional file length and version information
+     */
+    public InputStreamWithMeta getBlob(String key, Subject who, long offset, long length) throws AuthorizationException,
+        KeyNotFoundException, IOException {
+        InputStreamWithMeta in = getBlob(key, who);
+        try {
+            return new BlobRangeInputStream(in, offset, length);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
     /**
      * Returns an iterator with all the list of keys currently available on the blob store.
      *
@@ -463,6 +483,11 @@ public abstract class BlobStore implements Shutdownable, AutoCloseable {
             return in.read(b);
         }
 
+        @Override
+        public long skip(long n) throws IOException {
+            return in.skip(n);
+        }
+
         @Override
         public int available() throws IOException {
             return in.available();
@@ -111,6 +111,25 @@ public abstract class ClientBlobStore implements Shutdownable, AutoCloseable {
      */
     public abstract InputStreamWithMeta getBlob(String key) throws AuthorizationException, KeyNotFoundException;
 
+    /**
+     * Client facing API to read a range of a blob. The version and the file length of the stream are the ones of the whole blob.
+     *
+     * @param key    blob key name
+     * @param offset the offset of the first byte of the range
+     * @param length the maximum number of bytes in the range, the range ends at the end of the blob if it is shorter
+     * @return an InputStream to read the range of the blob
+     */
+    public InputStreamWithMeta getBlob(String key, long offset, long length) throws AuthorizationException, KeyNotFoundException,
+        IOException {
+        InputStreamWithMeta in = getBlob(key);
+        try {
+            return new BlobRangeInputStream(in, offset, length);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
     /**
      * List keys.
      * @return Iterator for a list of keys currently present in the blob store.
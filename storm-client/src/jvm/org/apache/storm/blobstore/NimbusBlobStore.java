@@ -25,6 +25,7 @@ import org.apache.storm.generated.KeyNotFoundException;
 import org.apache.storm.generated.ListBlobsResult;
 import org.apache.storm.generated.ReadableBlobMeta;
 import org.apache.storm.generated.SettableBlobMeta;
+import org.apache.storm.thrift.TApplicationException;
 import org.apache.storm.thrift.TException;
 import org.apache.storm.utils.NimbusClient;
 import org.apache.storm.utils.ObjectReader;
@@ -153,6 +154,27 @@ public class NimbusBlobStore extends ClientBlobStore implements AutoCloseable {
         }
     }
 
+    @Override
+    public InputStreamWithMeta getBlob(String key, long offset, long length) throws AuthorizationException, KeyNotFoundException,
+        IOException {
+        try {
+            synchronized (client) {
+                return new NimbusDownloadInputStream(client.getClient().beginBlobDownloadRange(key, offset, length));
+            }
+        } catch (AuthorizationException | KeyNotFoundException exp) {
+            throw exp;
+        } catch (TApplicationException e) {
+            if (e.getType() != TApplicationException.UNKNOWN_METHOD) {
+                throw new RuntimeException(e);
+            }
+            // Older versions of nimbus can only send the whole blob
+            LOG.debug("Nimbus does not support range downloads, reading {} from the start", key);
+            return super.getBlob(key, offset, length);
+        } catch (TException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     @Override
     public Iterator<String> listKeys() {
         try {
@@ -0,0 +1,250 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.blobstore;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.storm.generated.AuthorizationException;
+import org.apache.storm.generated.KeyNotFoundException;
+import org.apache.storm.shade.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads a blob to a file in parts of a fixed size, reading several parts at the same time over different connections to the blob
+ * store.
+ *
+ * <p>When reading a part fails, for example because the connection was lost, it is read again from where it stopped with a new
+ * connection, instead of downloading the whole blob again. A part fails the download once it failed more than the maximum number of
+ * retries in a row without making any progress, or if the blob was updated while it was downloaded.
+ */
+public class ParallelBlobDownloader {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelBlobDownloader.class);
+
+    private final Supplier<ClientBlobStore> storeSupplier;
+    private final int parallelism;
+    private final long partSize;
+    private final int maxRetries;
+
+    /**
+     * Constructor.
+     *
+     * @param storeSupplier creates a new connection to the blob store, each thread reads with its own connection and closes it.
+     * @param parallelism the number of parts to read at the same time.
+     * @param partSize the size of a part in bytes.
+     * @param maxRetries the number of times in a row reading a part may fail without progress before the download fails.
+     */
+    public ParallelBlobDownloader(Supplier<ClientBlobStore> storeSupplier, int parallelism, long partSize, int maxRetries) {
+        if (parallelism <= 0 || partSize <= 0 || maxRetries < 0) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism + ", part size " + partSize
+                                               + " or max retries " + maxRetries);
+        }
+        this.storeSupplier = storeSupplier;
+        this.parallelism = parallelism;
+        this.partSize = partSize;
+        this.maxRetries = maxRetries;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * Download a blob to a file.
+     *
+     * @param key the key of the blob.
+     * @param firstPart the stream of the first part of the blob, opened with {@link ClientBlobStore#getBlob(String, long, long)} at offset
+     *     0 for {@link #getPartSize()} bytes. The version and the length of the blob are the ones of this stream. It is closed once read.
+     * @param dest the file to write the blob to, it is replaced if it exists.
+     * @return the number of bytes written.
+     * @throws IOException if the blob could not be downloaded.
+     */
+    public long download(String key, InputStreamWithMeta firstPart, Path dest) throws IOException, KeyNotFoundException,
+        AuthorizationException {
+        long version = firstPart.getVersion();
+        long length = firstPart.getFileLength();
+        Queue<Part> parts = new ConcurrentLinkedQueue<>();
+        for (long offset = 0; offset < length; offset += partSize) {
+            parts.add(new Part(offset, Math.min(partSize, length - offset)));
+        }
+        int numThreads = Math.max(1, Math.min(parallelism, parts.size()));
+        LOG.debug("Downloading {} bytes of {} version {} to {} in {} parts with {} threads", length, key, version, dest, parts.size(),
+                  numThreads);
+        AtomicLong written = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads,
+            new ThreadFactoryBuilder().setNameFormat("Blob Range Download " + key + " - %d").setDaemon(true).build());
+        CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+        try (FileChannel channel = FileChannel.open(dest, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            // The first part is read from the stream that was already opened for it
+            Part first = parts.poll();
+            for (int i = 0; i < numThreads; i++) {
+                Part part = i == 0 ? first : parts.poll();
+                InputStreamWithMeta in = i == 0 ? firstPart : null;
+                completion.submit(() -> {
+                    readParts(key, version, part, in, parts, channel, written);
+                    return null;
+                });
+            }
+            for (int i = 0; i < numThreads; i++) {
+                try {
+                    completion.take().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while downloading " + key);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof KeyNotFoundException) {
+                        throw (KeyNotFoundException) cause;
+                    } else if (cause instanceof AuthorizationException) {
+                        throw (AuthorizationException) cause;
+                    }
+                    throw new IOException("Could not download " + key, cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            closeQuietly(firstPart);
+        }
+        return written.get();
+    }
+
+    /**
+     * Read parts until there are none left, with one connection to the blob store that is replaced when it fails.
+     *
+     * @param part the first part to read, or null if there is none.
+     * @param in the stream the first part is read from, or null to open one.
+     */
+    private void readParts(String key, long version, Part part, InputStreamWithMeta in, Queue<Part> parts, FileChannel channel,
+                           AtomicLong written) throws IOException, KeyNotFoundException, AuthorizationException {
+        ClientBlobStore store = null;
+        try {
+            while (part != null) {
+                int failures = 0;
+                while (part.remaining() > 0) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Interrupted while downloading " + key);
+                    }
+                    long done = part.done;
+                    try {
+                        if (in == null) {
+                            if (store == null) {
+                                store = storeSupplier.get();
+                            }
+                            in = store.getBlob(key, part.offset + part.done, part.remaining());
+                            if (in.getVersion() != version) {
+                                throw new VersionChangedException("The version of " + key + " changed from " + version + " to "
+                                                                  + in.getVersion() + " while it was downloaded");
+                            }
+                        }
+                        part.copy(in, channel);
+                        if (part.remaining() > 0) {
+                            throw new IOException("Reached the end of " + key + " at " + (part.offset + part.done) + " in part " + part);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        if (part.done > done) {
+                            failures = 0;
+                        }
+                        if (e instanceof VersionChangedException || ++failures > maxRetries) {
+                            throw e;
+                        }
+                        LOG.warn("Failed to read part {} of {}, retrying from {} ({} of {})", part, key, part.offset + part.done, failures,
+                                 maxRetries, e);
+                        if (store != null) {
+                            store.close();
+                            store = null;
+                        }
+                    } finally {
+                        written.addAndGet(part.done - done);
+                        if (in != null) {
+                            closeQuietly(in);
+                            in = null;
+                        }
+                    }
+                }
+                part = parts.poll();
+            }
+        } finally {
+            if (store != null) {
+                store.close();
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStreamWithMeta in) {
+        try {
+            in.close();
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Could not close the stream of a part", e);
+        }
+    }
+
+    private static class VersionChangedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        VersionChangedException(String message) {
+            super(message);
+        }
+    }
+
+    private static class Part {
+        private final long offset;
+        private final long length;
+        private long done = 0;
+
+        Part(long offset, long length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        long remaining() {
+            return length - done;
+        }
+
+        /**
+         * Copy the part from a stream positioned where it stopped to the file, until the part is done or the stream ends or fails.
+         */
+        void copy(InputStreamWithMeta in, FileChannel channel) throws IOException {
+            byte[] buffer = new byte[64 * 1024];
+            int len;
+            while (remaining() > 0 && (len = in.read(buffer, 0, (int) Math.min(buffer.length, remaining()))) >= 0) {
+                ByteBuffer buf = ByteBuffer.wrap(buffer, 0, len);
+                long position = offset + done;
+                while (buf.hasRemaining()) {
+                    position += channel.write(buf, position);
+                }
+                done += len;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return offset + "+" + length;
+        }
+    }
+}
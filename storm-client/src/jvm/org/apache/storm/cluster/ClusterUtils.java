@@ -31,6 +31,7 @@ import org.apache.storm.shade.org.apache.zookeeper.ZooDefs;
 import org.apache.storm.shade.org.apache.zookeeper.data.ACL;
 import org.apache.storm.shade.org.apache.zookeeper.data.Id;
 import org.apache.storm.shade.org.apache.zookeeper.server.auth.DigestAuthenticationProvider;
+import org.apache.storm.stats.ClientStatsUtil;
 import org.apache.storm.utils.Utils;
 
 public class ClusterUtils {
@@ -259,12 +260,12 @@ public class ClusterUtils {
     public static Map<ExecutorInfo, ExecutorBeat> convertExecutorBeats(List<ExecutorInfo> executors,
                                                                        ClusterWorkerHeartbeat workerHeartbeat) {
         Map<ExecutorInfo, ExecutorBeat> executorWhb = new HashMap<>();
-        Map<ExecutorInfo, ExecutorStats> executorStatsMap = workerHeartbeat.get_executor_stats();
+        Map<ExecutorInfo, ExecutorStats> executorStatsMap = ClientStatsUtil.getExecutorStats(workerHeartbeat);
         for (ExecutorInfo executor : executors) {
             if (executorStatsMap.containsKey(executor)) {
                 int time = workerHeartbeat.get_time_secs();
                 int uptime = workerHeartbeat.get_uptime_secs();
-                ExecutorStats executorStats = workerHeartbeat.get_executor_stats().get(executor);
+                ExecutorStats executorStats = executorStatsMap.get(executor);
                 ExecutorBeat executorBeat = new ExecutorBeat(time, uptime, executorStats);
                 executorWhb.put(executor, executorBeat);
             }
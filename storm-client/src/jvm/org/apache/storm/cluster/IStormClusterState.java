@@ -98,6 +98,17 @@ public interface IStormClusterState {
 
     List<String> activeStorms();
 
+    /**
+     * Get the ids of the active topologies.
+     *
+     * @param callback something to call when a topology is added or removed (best effort, implementations that cannot watch for
+     *     changes do not call it)
+     * @return the ids of the active topologies
+     */
+    default List<String> activeStorms(Runnable callback) {
+        return activeStorms();
+    }
+
     /**
      * Get a storm base for a topology.
      *
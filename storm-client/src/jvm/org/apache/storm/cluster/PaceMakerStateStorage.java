@@ -19,8 +19,11 @@
 package org.apache.storm.cluster;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import org.apache.storm.callback.ZKStateChangedCallback;
 import org.apache.storm.generated.ClusterWorkerHeartbeat;
 import org.apache.storm.generated.HBExecutionException;
@@ -37,6 +40,14 @@ import org.apache.storm.utils.WrappedHBExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps worker heartbeats in Pacemaker, and everything else in the given state storage.
+ *
+ * <p>By default every heartbeat is written to one Pacemaker server and read from all of them. If
+ * {@link org.apache.storm.Config#PACEMAKER_REPLICATION_FACTOR} is set, the heartbeats are partitioned across the servers by topology id
+ * instead, and written to and read from only the servers of the topology. A server of the topology that is missing the latest heartbeat
+ * when it is read gets it written back. Heartbeats are always deleted from all of the servers.
+ */
 public class PaceMakerStateStorage implements IStateStorage {
 
     private static final int maxRetries = 10;
@@ -124,9 +135,16 @@ public class PaceMakerStateStorage implements IStateStorage {
                 hbPulse.set_id(path);
                 hbPulse.set_details(data);
                 HBMessage message = new HBMessage(HBServerMessageType.SEND_PULSE, HBMessageData.pulse(hbPulse));
-                HBMessage response = pacemakerClientPool.send(message);
-                if (response.get_type() != HBServerMessageType.SEND_PULSE_RESPONSE) {
-                    throw new WrappedHBExecutionException("Invalid Response Type");
+                Collection<HBMessage> responses;
+                if (pacemakerClientPool.isPartitioned()) {
+                    responses = pacemakerClientPool.sendTo(pacemakerClientPool.getServersFor(partitionKey(path)), message).values();
+                } else {
+                    responses = Collections.singletonList(pacemakerClientPool.send(message));
+                }
+                for (HBMessage response : responses) {
+                    if (response.get_type() != HBServerMessageType.SEND_PULSE_RESPONSE) {
+                        throw new WrappedHBExecutionException("Invalid Response Type");
+                    }
                 }
                 LOG.debug("Successful set_worker_hb");
                 break;
@@ -153,7 +171,14 @@ public class PaceMakerStateStorage implements IStateStorage {
                 boolean gotResponse = false;
 
                 HBMessage message = new HBMessage(HBServerMessageType.GET_PULSE, HBMessageData.path(path));
-                List<HBMessage> responses = pacemakerClientPool.sendAll(message);
+                Map<String, HBMessage> responsesByServer = null;
+                Collection<HBMessage> responses;
+                if (pacemakerClientPool.isPartitioned()) {
+                    responsesByServer = pacemakerClientPool.sendTo(pacemakerClientPool.getServersFor(partitionKey(path)), message);
+                    responses = responsesByServer.values();
+                } else {
+                    responses = pacemakerClientPool.sendAll(message);
+                }
                 for (HBMessage response : responses) {
                     if (response.get_type() != HBServerMessageType.GET_PULSE_RESPONSE) {
                         LOG.error("get_worker_hb: Invalid Response Type");
@@ -174,6 +199,9 @@ public class PaceMakerStateStorage implements IStateStorage {
                 if (!gotResponse) {
                     throw new WrappedHBExecutionException("Failed to get a response.");
                 }
+                if (responsesByServer != null && ret != null) {
+                    repairWorkerHb(path, ret, latestTimeSecs, responsesByServer);
+                }
                 return ret;
             } catch (HBExecutionException | PacemakerConnectionException e) {
                 if (retry <= 0) {
@@ -196,7 +224,12 @@ public class PaceMakerStateStorage implements IStateStorage {
                 HashSet<String> retSet = new HashSet<>();
 
                 HBMessage message = new HBMessage(HBServerMessageType.GET_ALL_NODES_FOR_PATH, HBMessageData.path(path));
-                List<HBMessage> responses = pacemakerClientPool.sendAll(message);
+                Collection<HBMessage> responses;
+                if (pacemakerClientPool.isPartitioned()) {
+                    responses = pacemakerClientPool.sendTo(pacemakerClientPool.getServersFor(partitionKey(path)), message).values();
+                } else {
+                    responses = pacemakerClientPool.sendAll(message);
+                }
                 for (HBMessage response : responses) {
                     if (response.get_type() != HBServerMessageType.GET_ALL_NODES_FOR_PATH_RESPONSE) {
                         LOG.error("get_worker_hb_children: Invalid Response Type");
@@ -222,6 +255,53 @@ public class PaceMakerStateStorage implements IStateStorage {
         }
     }
 
+    /**
+     * Write the latest heartbeat back to the servers that returned an older one or none at all.
+     */
+    private void repairWorkerHb(String path, byte[] latest, int latestTimeSecs, Map<String, HBMessage> responsesByServer) {
+        List<String> stale = new ArrayList<>();
+        for (Map.Entry<String, HBMessage> entry : responsesByServer.entrySet()) {
+            HBMessage response = entry.getValue();
+            if (response.get_type() != HBServerMessageType.GET_PULSE_RESPONSE) {
+                continue;
+            }
+            byte[] details = response.get_data().get_pulse().get_details();
+            ClusterWorkerHeartbeat cwh = details == null ? null : Utils.deserialize(details, ClusterWorkerHeartbeat.class);
+            if (cwh == null || cwh.get_time_secs() < latestTimeSecs) {
+                stale.add(entry.getKey());
+            }
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+        HBPulse hbPulse = new HBPulse();
+        hbPulse.set_id(path);
+        hbPulse.set_details(latest);
+        try {
+            pacemakerClientPool.sendTo(stale, new HBMessage(HBServerMessageType.SEND_PULSE, HBMessageData.pulse(hbPulse)));
+            LOG.debug("Repaired heartbeat {} on {}", path, stale);
+        } catch (PacemakerConnectionException e) {
+            LOG.debug("Failed to repair heartbeat {} on {}", path, stale, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The key heartbeats are partitioned by, which is the topology id of paths like
+     * {@code /workerbeats/<topology-id>/<node>-<port>}.
+     *
+     * @return the topology id, or null for a path above the heartbeats of any topology.
+     */
+    static String partitionKey(String path) {
+        int start = path.indexOf('/', 1);
+        if (start < 0 || start == path.length() - 1) {
+            return null;
+        }
+        int end = path.indexOf('/', start + 1);
+        return path.substring(start + 1, end < 0 ? path.length() : end);
+    }
+
     @Override
     public void delete_worker_hb(String path) {
         int retry = maxRetries;
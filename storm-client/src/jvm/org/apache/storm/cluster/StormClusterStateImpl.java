@@ -69,6 +69,7 @@ public class StormClusterStateImpl implements IStormClusterState {
     private AtomicReference<Runnable> leaderInfoCallback;
     private AtomicReference<Runnable> assignmentsCallback;
     private ConcurrentHashMap<String, Runnable> stormBaseCallback;
+    private AtomicReference<Runnable> stormsCallback;
     private AtomicReference<Runnable> blobstoreCallback;
     private ConcurrentHashMap<String, Runnable> credentialsCallback;
     private ConcurrentHashMap<String, Runnable> logConfigCallback;
@@ -89,6 +90,7 @@ public class StormClusterStateImpl implements IStormClusterState {
         leaderInfoCallback = new AtomicReference<>();
         assignmentsCallback = new AtomicReference<>();
         stormBaseCallback = new ConcurrentHashMap<>();
+        stormsCallback = new AtomicReference<>();
         credentialsCallback = new ConcurrentHashMap<>();
         logConfigCallback = new ConcurrentHashMap<>();
         blobstoreCallback = new AtomicReference<>();
@@ -114,8 +116,12 @@ public class StormClusterStateImpl implements IStormClusterState {
                         issueCallback(supervisorsCallback);
                     } else if (root.equals(ClusterUtils.BLOBSTORE_ROOT)) {
                         issueCallback(blobstoreCallback);
-                    } else if (root.equals(ClusterUtils.STORMS_ROOT) && size > 1) {
-                        issueMapCallback(stormBaseCallback, toks.get(1));
+                    } else if (root.equals(ClusterUtils.STORMS_ROOT)) {
+                        if (size == 1) {
+                            issueCallback(stormsCallback);
+                        } else {
+                            issueMapCallback(stormBaseCallback, toks.get(1));
+                        }
                     } else if (root.equals(ClusterUtils.CREDENTIALS_ROOT) && size > 1) {
                         issueMapCallback(credentialsCallback, toks.get(1));
                     } else if (root.equals(ClusterUtils.LOGCONFIG_ROOT) && size > 1) {
@@ -310,6 +316,14 @@ public class StormClusterStateImpl implements IStormClusterState {
         return stateStorage.get_children(ClusterUtils.STORMS_SUBTREE, false);
     }
 
+    @Override
+    public List<String> activeStorms(Runnable callback) {
+        if (callback != null) {
+            stormsCallback.set(callback);
+        }
+        return stateStorage.get_children(ClusterUtils.STORMS_SUBTREE, callback != null);
+    }
+
     @Override
     public StormBase stormBase(String stormId, Runnable callback) {
         if (callback != null) {
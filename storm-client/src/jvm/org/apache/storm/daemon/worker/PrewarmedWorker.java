@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.daemon.worker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The main class of a JVM the supervisor starts before it knows which topology will run in it, so a worker can be launched without
+ * waiting for a JVM to start and for the storm classes to load.
+ *
+ * <p>The storm classes are loaded in a class loader of their own, not in the system class loader, so the topology jar can be added to the
+ * same class loader once the JVM is adopted, and classes loaded by name from storm code, like serializers, are found like in a worker that
+ * was launched with the topology jar on its classpath. The classes are loaded without being initialized, so nothing, like logging, is set
+ * up before the system properties of the worker are known.
+ *
+ * <p>The supervisor adopts the JVM by writing a {@link Properties} to its standard input and closing it:
+ * <ul>
+ *     <li>{@code sysprop.<name>} the system properties of the worker.</li>
+ *     <li>{@code classpath} the classpath to add, with the topology jar and its dependencies.</li>
+ *     <li>{@code main} the main class of the worker.</li>
+ *     <li>{@code arg.<i>} the arguments to the main class.</li>
+ * </ul>
+ * If standard input is closed without any properties, because the supervisor no longer needs the JVM or has exited, the JVM exits.
+ *
+ * <p>Once adopted, what the worker writes to {@link System#out} and {@link System#err} is logged like the {@link
+ * org.apache.storm.LogWriter} a worker launched in a new JVM is started with does, so it goes to the logs of the worker and not to the
+ * supervisor that started the JVM. Only what the JVM itself writes to its standard output and error, like when it crashes, still goes to
+ * the supervisor log.
+ *
+ * <p>This class only uses the JDK, so it does not load anything from the system class loader.
+ */
+public class PrewarmedWorker {
+    public static final String SYSPROP_PREFIX = "sysprop.";
+    public static final String CLASSPATH = "classpath";
+    public static final String MAIN = "main";
+    public static final String ARG_PREFIX = "arg.";
+    private static final String WORKER_CLASS = "org/apache/storm/daemon/worker/Worker.class";
+    // The logger LogWriter writes the output of the worker with
+    private static final String OUTPUT_LOGGER = "STDERR";
+
+    /**
+     * Start a JVM that waits for a worker to adopt it.
+     *
+     * @param args the directory to write the pid of the process to, so the supervisor can kill it.
+     */
+    public static void main(String[] args) throws Exception {
+        File pidsDir = new File(args[0]);
+        pidsDir.mkdirs();
+        String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+        new File(pidsDir, pid).createNewFile();
+
+        List<URL> urls = new ArrayList<>();
+        for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!path.isEmpty()) {
+                urls.add(new File(path).toURI().toURL());
+            }
+        }
+        WorkerClassLoader loader = new WorkerClassLoader(urls.toArray(new URL[0]), ClassLoader.getSystemClassLoader().getParent());
+        preload(loader);
+
+        Properties adoption = new Properties();
+        adoption.load(System.in);
+        if (adoption.isEmpty()) {
+            System.exit(0);
+        }
+        for (String name : adoption.stringPropertyNames()) {
+            if (name.startsWith(SYSPROP_PREFIX)) {
+                System.setProperty(name.substring(SYSPROP_PREFIX.length()), adoption.getProperty(name));
+            }
+        }
+        for (String path : adoption.getProperty(CLASSPATH, "").split(File.pathSeparator)) {
+            if (!path.isEmpty()) {
+                loader.addURL(new File(path).toURI().toURL());
+            }
+        }
+        List<String> workerArgs = new ArrayList<>();
+        for (int i = 0; adoption.containsKey(ARG_PREFIX + i); i++) {
+            workerArgs.add(adoption.getProperty(ARG_PREFIX + i));
+        }
+
+        Thread.currentThread().setContextClassLoader(loader);
+        redirectOutput(loader);
+        Method main = loader.loadClass(adoption.getProperty(MAIN)).getMethod("main", String[].class);
+        main.invoke(null, (Object) workerArgs.toArray(new String[0]));
+    }
+
+    /**
+     * Log what is written to {@link System#out} and {@link System#err} with the logger of the worker output, once the system properties
+     * of the worker that configure logging are set.
+     */
+    private static void redirectOutput(ClassLoader loader) throws Exception {
+        Class<?> loggerClass = loader.loadClass("org.slf4j.Logger");
+        Object logger = loader.loadClass("org.slf4j.LoggerFactory").getMethod("getLogger", String.class).invoke(null, OUTPUT_LOGGER);
+        Method info = loggerClass.getMethod("info", String.class);
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        System.setOut(new PrintStream(new LoggingOutputStream(logger, info, out), true));
+        System.setErr(new PrintStream(new LoggingOutputStream(logger, info, err), true));
+    }
+
+    /**
+     * Load, without initializing them, the classes of the jar the worker is in.
+     */
+    private static void preload(ClassLoader loader) {
+        URL worker = loader.getResource(WORKER_CLASS);
+        if (worker == null || !"jar".equals(worker.getProtocol())) {
+            return;
+        }
+        try (JarFile jar = new JarFile(new File(((JarURLConnection) worker.openConnection()).getJarFileURL().toURI()))) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(".class") && !name.startsWith("META-INF/") && !name.endsWith("module-info.class")) {
+                    try {
+                        Class.forName(name.substring(0, name.length() - ".class".length()).replace('/', '.'), false, loader);
+                    } catch (Throwable e) {
+                        // Optional dependencies may be missing, the worker does not need those classes.
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            // Nothing was loaded ahead of time, the worker loads the classes as it needs them.
+        }
+    }
+
+    /**
+     * Logs every line written to it, like {@link org.apache.storm.LogWriter} does for the lines a worker process writes.
+     */
+    private static class LoggingOutputStream extends OutputStream {
+        // Set while a line is logged, so what logging writes to the standard streams does not come back here
+        private static final ThreadLocal<Boolean> LOGGING = ThreadLocal.withInitial(() -> false);
+        private final Object logger;
+        private final Method info;
+        private final PrintStream original;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        LoggingOutputStream(Object logger, Method info, PrintStream original) {
+            this.logger = logger;
+            this.info = info;
+            this.original = original;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            if (LOGGING.get()) {
+                original.write(b);
+            } else if (b == '\n') {
+                logLine();
+            } else {
+                line.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        private void logLine() throws IOException {
+            String text = line.toString(Charset.defaultCharset().name());
+            line.reset();
+            if (text.endsWith("\r")) {
+                text = text.substring(0, text.length() - 1);
+            }
+            LOGGING.set(true);
+            try {
+                info.invoke(logger, text);
+            } catch (ReflectiveOperationException e) {
+                original.println(text);
+            } finally {
+                LOGGING.set(false);
+            }
+        }
+    }
+
+    private static class WorkerClassLoader extends URLClassLoader {
+        WorkerClassLoader(URL[] urls, ClassLoader parent) {
+            super(urls, parent);
+        }
+
+        @Override
+        protected void addURL(URL url) {
+            super.addURL(url);
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.apache.storm.executor.Executor;
 import org.apache.storm.executor.ExecutorShutdown;
 import org.apache.storm.executor.IRunningExecutor;
 import org.apache.storm.executor.LocalExecutor;
+import org.apache.storm.generated.ClusterWorkerHeartbeat;
 import org.apache.storm.generated.Credentials;
 import org.apache.storm.generated.ExecutorInfo;
 import org.apache.storm.generated.ExecutorStats;
@@ -409,10 +410,13 @@ public class Worker implements Shutdownable, DaemonCommon {
                                                                                          IRunningExecutor::renderStats)));
         }
         Map<String, Object> zkHb = ClientStatsUtil.mkZkWorkerHb(workerState.topologyId, stats, workerState.uptime.upTime());
+        ClusterWorkerHeartbeat workerHb = ClientStatsUtil.thriftifyZkWorkerHb(zkHb);
+        if (ObjectReader.getBoolean(topologyConf.get(Config.WORKER_HEARTBEAT_COMPACT_STATS), false)) {
+            ClientStatsUtil.compactWorkerHb(workerHb);
+        }
         try {
             workerState.stormClusterState
-                .workerHeartbeat(workerState.topologyId, workerState.assignmentId, (long) workerState.port,
-                                 ClientStatsUtil.thriftifyZkWorkerHb(zkHb));
+                .workerHeartbeat(workerState.topologyId, workerState.assignmentId, (long) workerState.port, workerHb);
         } catch (Exception ex) {
             LOG.error("Worker failed to write heartbeats to ZK or Pacemaker...will retry", ex);
         }
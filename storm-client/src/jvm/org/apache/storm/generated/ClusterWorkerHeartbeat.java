@@ -32,6 +32,7 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
   private static final org.apache.storm.thrift.protocol.TField EXECUTOR_STATS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("executor_stats", org.apache.storm.thrift.protocol.TType.MAP, (short)2);
   private static final org.apache.storm.thrift.protocol.TField TIME_SECS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("time_secs", org.apache.storm.thrift.protocol.TType.I32, (short)3);
   private static final org.apache.storm.thrift.protocol.TField UPTIME_SECS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("uptime_secs", org.apache.storm.thrift.protocol.TType.I32, (short)4);
+  private static final org.apache.storm.thrift.protocol.TField COMPACT_EXECUTOR_STATS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("compact_executor_stats", org.apache.storm.thrift.protocol.TType.STRING, (short)5);
 
   private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new ClusterWorkerHeartbeatStandardSchemeFactory();
   private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new ClusterWorkerHeartbeatTupleSchemeFactory();
@@ -40,13 +41,15 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<ExecutorInfo,ExecutorStats> executor_stats; // required
   private int time_secs; // required
   private int uptime_secs; // required
+  private @org.apache.storm.thrift.annotation.Nullable java.nio.ByteBuffer compact_executor_stats; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
     STORM_ID((short)1, "storm_id"),
     EXECUTOR_STATS((short)2, "executor_stats"),
     TIME_SECS((short)3, "time_secs"),
-    UPTIME_SECS((short)4, "uptime_secs");
+    UPTIME_SECS((short)4, "uptime_secs"),
+    COMPACT_EXECUTOR_STATS((short)5, "compact_executor_stats");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -70,6 +73,8 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
           return TIME_SECS;
         case 4: // UPTIME_SECS
           return UPTIME_SECS;
+        case 5: // COMPACT_EXECUTOR_STATS
+          return COMPACT_EXECUTOR_STATS;
         default:
           return null;
       }
@@ -114,6 +119,7 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
   private static final int __TIME_SECS_ISSET_ID = 0;
   private static final int __UPTIME_SECS_ISSET_ID = 1;
   private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.COMPACT_EXECUTOR_STATS};
   public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -127,6 +133,8 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
         new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I32)));
     tmpMap.put(_Fields.UPTIME_SECS, new org.apache.storm.thrift.meta_data.FieldMetaData("uptime_secs", org.apache.storm.thrift.TFieldRequirementType.REQUIRED, 
         new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.COMPACT_EXECUTOR_STATS, new org.apache.storm.thrift.meta_data.FieldMetaData("compact_executor_stats", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING        , true)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ClusterWorkerHeartbeat.class, metaDataMap);
   }
@@ -174,6 +182,9 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
     }
     this.time_secs = other.time_secs;
     this.uptime_secs = other.uptime_secs;
+    if (other.is_set_compact_executor_stats()) {
+      this.compact_executor_stats = org.apache.storm.thrift.TBaseHelper.copyBinary(other.compact_executor_stats);
+    }
   }
 
   public ClusterWorkerHeartbeat deepCopy() {
@@ -188,6 +199,7 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
     this.time_secs = 0;
     set_uptime_secs_isSet(false);
     this.uptime_secs = 0;
+    this.compact_executor_stats = null;
   }
 
   @org.apache.storm.thrift.annotation.Nullable
@@ -293,6 +305,38 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
     __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __UPTIME_SECS_ISSET_ID, value);
   }
 
+  public byte[] get_compact_executor_stats() {
+    set_compact_executor_stats(org.apache.storm.thrift.TBaseHelper.rightSize(compact_executor_stats));
+    return compact_executor_stats == null ? null : compact_executor_stats.array();
+  }
+
+  public java.nio.ByteBuffer buffer_for_compact_executor_stats() {
+    return org.apache.storm.thrift.TBaseHelper.copyBinary(compact_executor_stats);
+  }
+
+  public void set_compact_executor_stats(byte[] compact_executor_stats) {
+    this.compact_executor_stats = compact_executor_stats == null ? (java.nio.ByteBuffer)null   : java.nio.ByteBuffer.wrap(compact_executor_stats.clone());
+  }
+
+  public void set_compact_executor_stats(@org.apache.storm.thrift.annotation.Nullable java.nio.ByteBuffer compact_executor_stats) {
+    this.compact_executor_stats = org.apache.storm.thrift.TBaseHelper.copyBinary(compact_executor_stats);
+  }
+
+  public void unset_compact_executor_stats() {
+    this.compact_executor_stats = null;
+  }
+
+  /** Returns true if field compact_executor_stats is set (has been assigned a value) and false otherwise */
+  public boolean is_set_compact_executor_stats() {
+    return this.compact_executor_stats != null;
+  }
+
+  public void set_compact_executor_stats_isSet(boolean value) {
+    if (!value) {
+      this.compact_executor_stats = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case STORM_ID:
@@ -327,6 +371,18 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
       }
       break;
 
+    case COMPACT_EXECUTOR_STATS:
+      if (value == null) {
+        unset_compact_executor_stats();
+      } else {
+        if (value instanceof byte[]) {
+          set_compact_executor_stats((byte[])value);
+        } else {
+          set_compact_executor_stats((java.nio.ByteBuffer)value);
+        }
+      }
+      break;
+
     }
   }
 
@@ -345,6 +401,9 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
     case UPTIME_SECS:
       return get_uptime_secs();
 
+    case COMPACT_EXECUTOR_STATS:
+      return get_compact_executor_stats();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -364,6 +423,8 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
       return is_set_time_secs();
     case UPTIME_SECS:
       return is_set_uptime_secs();
+    case COMPACT_EXECUTOR_STATS:
+      return is_set_compact_executor_stats();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -419,6 +480,15 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
         return false;
     }
 
+    boolean this_present_compact_executor_stats = true && this.is_set_compact_executor_stats();
+    boolean that_present_compact_executor_stats = true && that.is_set_compact_executor_stats();
+    if (this_present_compact_executor_stats || that_present_compact_executor_stats) {
+      if (!(this_present_compact_executor_stats && that_present_compact_executor_stats))
+        return false;
+      if (!this.compact_executor_stats.equals(that.compact_executor_stats))
+        return false;
+    }
+
     return true;
   }
 
@@ -438,6 +508,10 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
 
     hashCode = hashCode * 8191 + uptime_secs;
 
+    hashCode = hashCode * 8191 + ((is_set_compact_executor_stats()) ? 131071 : 524287);
+    if (is_set_compact_executor_stats())
+      hashCode = hashCode * 8191 + compact_executor_stats.hashCode();
+
     return hashCode;
   }
 
@@ -489,6 +563,16 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(is_set_compact_executor_stats()).compareTo(other.is_set_compact_executor_stats());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_compact_executor_stats()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.compact_executor_stats, other.compact_executor_stats);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -533,6 +617,16 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
     sb.append("uptime_secs:");
     sb.append(this.uptime_secs);
     first = false;
+    if (is_set_compact_executor_stats()) {
+      if (!first) sb.append(", ");
+      sb.append("compact_executor_stats:");
+      if (this.compact_executor_stats == null) {
+        sb.append("null");
+      } else {
+        org.apache.storm.thrift.TBaseHelper.toString(this.compact_executor_stats, sb);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -640,6 +734,14 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
               org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 5: // COMPACT_EXECUTOR_STATS
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.STRING) {
+              struct.compact_executor_stats = iprot.readBinary();
+              struct.set_compact_executor_stats_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -677,6 +779,13 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
       oprot.writeFieldBegin(UPTIME_SECS_FIELD_DESC);
       oprot.writeI32(struct.uptime_secs);
       oprot.writeFieldEnd();
+      if (struct.compact_executor_stats != null) {
+        if (struct.is_set_compact_executor_stats()) {
+          oprot.writeFieldBegin(COMPACT_EXECUTOR_STATS_FIELD_DESC);
+          oprot.writeBinary(struct.compact_executor_stats);
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -705,6 +814,14 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
       }
       oprot.writeI32(struct.time_secs);
       oprot.writeI32(struct.uptime_secs);
+      java.util.BitSet optionals = new java.util.BitSet();
+      if (struct.is_set_compact_executor_stats()) {
+        optionals.set(0);
+      }
+      oprot.writeBitSet(optionals, 1);
+      if (struct.is_set_compact_executor_stats()) {
+        oprot.writeBinary(struct.compact_executor_stats);
+      }
     }
 
     @Override
@@ -731,6 +848,11 @@ public class ClusterWorkerHeartbeat implements org.apache.storm.thrift.TBase<Clu
       struct.set_time_secs_isSet(true);
       struct.uptime_secs = iprot.readI32();
       struct.set_uptime_secs_isSet(true);
+      java.util.BitSet incoming = iprot.readBitSet(1);
+      if (incoming.get(0)) {
+        struct.compact_executor_stats = iprot.readBinary();
+        struct.set_compact_executor_stats_isSet(true);
+      }
     }
   }
 
@@ -83,6 +83,8 @@ public class Nimbus {
 
     public BeginDownloadResult beginBlobDownload(java.lang.String key) throws AuthorizationException, KeyNotFoundException, org.apache.storm.thrift.TException;
 
+    public BeginDownloadResult beginBlobDownloadRange(java.lang.String key, long offset, long length) throws AuthorizationException, KeyNotFoundException, org.apache.storm.thrift.TException;
+
     public java.nio.ByteBuffer downloadBlobChunk(java.lang.String session) throws AuthorizationException, org.apache.storm.thrift.TException;
 
     public void deleteBlob(java.lang.String key) throws AuthorizationException, KeyNotFoundException, IllegalStateException, org.apache.storm.thrift.TException;
@@ -227,6 +229,8 @@ public class Nimbus {
 
     public void beginBlobDownload(java.lang.String key, org.apache.storm.thrift.async.AsyncMethodCallback<BeginDownloadResult> resultHandler) throws org.apache.storm.thrift.TException;
 
+    public void beginBlobDownloadRange(java.lang.String key, long offset, long length, org.apache.storm.thrift.async.AsyncMethodCallback<BeginDownloadResult> resultHandler) throws org.apache.storm.thrift.TException;
+
     public void downloadBlobChunk(java.lang.String session, org.apache.storm.thrift.async.AsyncMethodCallback<java.nio.ByteBuffer> resultHandler) throws org.apache.storm.thrift.TException;
 
     public void deleteBlob(java.lang.String key, org.apache.storm.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.storm.thrift.TException;
@@ -880,6 +884,37 @@ public class Nimbus {
       throw new org.apache.storm.thrift.TApplicationException(org.apache.storm.thrift.TApplicationException.MISSING_RESULT, "beginBlobDownload failed: unknown result");
     }
 
+    public BeginDownloadResult beginBlobDownloadRange(java.lang.String key, long offset, long length) throws AuthorizationException, KeyNotFoundException, org.apache.storm.thrift.TException
+    {
+      send_beginBlobDownloadRange(key, offset, length);
+      return recv_beginBlobDownloadRange();
+    }
+
+    public void send_beginBlobDownloadRange(java.lang.String key, long offset, long length) throws org.apache.storm.thrift.TException
+    {
+      beginBlobDownloadRange_args args = new beginBlobDownloadRange_args();
+      args.set_key(key);
+      args.set_offset(offset);
+      args.set_length(length);
+      sendBase("beginBlobDownloadRange", args);
+    }
+
+    public BeginDownloadResult recv_beginBlobDownloadRange() throws AuthorizationException, KeyNotFoundException, org.apache.storm.thrift.TException
+    {
+      beginBlobDownloadRange_result result = new beginBlobDownloadRange_result();
+      receiveBase(result, "beginBlobDownloadRange");
+      if (result.is_set_success()) {
+        return result.success;
+      }
+      if (result.aze != null) {
+        throw result.aze;
+      }
+      if (result.knf != null) {
+        throw result.knf;
+      }
+      throw new org.apache.storm.thrift.TApplicationException(org.apache.storm.thrift.TApplicationException.MISSING_RESULT, "beginBlobDownloadRange failed: unknown result");
+    }
+
     public java.nio.ByteBuffer downloadBlobChunk(java.lang.String session) throws AuthorizationException, org.apache.storm.thrift.TException
     {
       send_downloadBlobChunk(session);
@@ -2541,6 +2576,44 @@ public class Nimbus {
       }
     }
 
+    public void beginBlobDownloadRange(java.lang.String key, long offset, long length, org.apache.storm.thrift.async.AsyncMethodCallback<BeginDownloadResult> resultHandler) throws org.apache.storm.thrift.TException {
+      checkReady();
+      beginBlobDownloadRange_call method_call = new beginBlobDownloadRange_call(key, offset, length, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class beginBlobDownloadRange_call extends org.apache.storm.thrift.async.TAsyncMethodCall<BeginDownloadResult> {
+      private java.lang.String key;
+      private long offset;
+      private long length;
+      public beginBlobDownloadRange_call(java.lang.String key, long offset, long length, org.apache.storm.thrift.async.AsyncMethodCallback<BeginDownloadResult> resultHandler, org.apache.storm.thrift.async.TAsyncClient client, org.apache.storm.thrift.protocol.TProtocolFactory protocolFactory, org.apache.storm.thrift.transport.TNonblockingTransport transport) throws org.apache.storm.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.key = key;
+        this.offset = offset;
+        this.length = length;
+      }
+
+      public void write_args(org.apache.storm.thrift.protocol.TProtocol prot) throws org.apache.storm.thrift.TException {
+        prot.writeMessageBegin(new org.apache.storm.thrift.protocol.TMessage("beginBlobDownloadRange", org.apache.storm.thrift.protocol.TMessageType.CALL, 0));
+        beginBlobDownloadRange_args args = new beginBlobDownloadRange_args();
+        args.set_key(key);
+        args.set_offset(offset);
+        args.set_length(length);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public BeginDownloadResult getResult() throws AuthorizationException, KeyNotFoundException, org.apache.storm.thrift.TException {
+        if (getState() != org.apache.storm.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.storm.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.storm.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.storm.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_beginBlobDownloadRange();
+      }
+    }
+
     public void downloadBlobChunk(java.lang.String session, org.apache.storm.thrift.async.AsyncMethodCallback<java.nio.ByteBuffer> resultHandler) throws org.apache.storm.thrift.TException {
       checkReady();
       downloadBlobChunk_call method_call = new downloadBlobChunk_call(session, resultHandler, this, ___protocolFactory, ___transport);
@@ -3681,6 +3754,7 @@ public class Nimbus {
       processMap.put("getBlobMeta", new getBlobMeta());
       processMap.put("setBlobMeta", new setBlobMeta());
       processMap.put("beginBlobDownload", new beginBlobDownload());
+      processMap.put("beginBlobDownloadRange", new beginBlobDownloadRange());
       processMap.put("downloadBlobChunk", new downloadBlobChunk());
       processMap.put("deleteBlob", new deleteBlob());
       processMap.put("listBlobs", new listBlobs());
@@ -4347,6 +4421,37 @@ public class Nimbus {
       }
     }
 
+    public static class beginBlobDownloadRange<I extends Iface> extends org.apache.storm.thrift.ProcessFunction<I, beginBlobDownloadRange_args> {
+      public beginBlobDownloadRange() {
+        super("beginBlobDownloadRange");
+      }
+
+      public beginBlobDownloadRange_args getEmptyArgsInstance() {
+        return new beginBlobDownloadRange_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean rethrowUnhandledExceptions() {
+        return false;
+      }
+
+      public beginBlobDownloadRange_result getResult(I iface, beginBlobDownloadRange_args args) throws org.apache.storm.thrift.TException {
+        beginBlobDownloadRange_result result = new beginBlobDownloadRange_result();
+        try {
+          result.success = iface.beginBlobDownloadRange(args.key, args.offset, args.length);
+        } catch (AuthorizationException aze) {
+          result.aze = aze;
+        } catch (KeyNotFoundException knf) {
+          result.knf = knf;
+        }
+        return result;
+      }
+    }
+
     public static class downloadBlobChunk<I extends Iface> extends org.apache.storm.thrift.ProcessFunction<I, downloadBlobChunk_args> {
       public downloadBlobChunk() {
         super("downloadBlobChunk");
@@ -5393,6 +5498,7 @@ public class Nimbus {
       processMap.put("getBlobMeta", new getBlobMeta());
       processMap.put("setBlobMeta", new setBlobMeta());
       processMap.put("beginBlobDownload", new beginBlobDownload());
+      processMap.put("beginBlobDownloadRange", new beginBlobDownloadRange());
       processMap.put("downloadBlobChunk", new downloadBlobChunk());
       processMap.put("deleteBlob", new deleteBlob());
       processMap.put("listBlobs", new listBlobs());
@@ -6836,6 +6942,75 @@ public class Nimbus {
       }
     }
 
+    public static class beginBlobDownloadRange<I extends AsyncIface> extends org.apache.storm.thrift.AsyncProcessFunction<I, beginBlobDownloadRange_args, BeginDownloadResult> {
+      public beginBlobDownloadRange() {
+        super("beginBlobDownloadRange");
+      }
+
+      public beginBlobDownloadRange_args getEmptyArgsInstance() {
+        return new beginBlobDownloadRange_args();
+      }
+
+      public org.apache.storm.thrift.async.AsyncMethodCallback<BeginDownloadResult> getResultHandler(final org.apache.storm.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.storm.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.storm.thrift.async.AsyncMethodCallback<BeginDownloadResult>() { 
+          public void onComplete(BeginDownloadResult o) {
+            beginBlobDownloadRange_result result = new beginBlobDownloadRange_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb, result, org.apache.storm.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.storm.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.storm.thrift.protocol.TMessageType.REPLY;
+            org.apache.storm.thrift.TSerializable msg;
+            beginBlobDownloadRange_result result = new beginBlobDownloadRange_result();
+            if (e instanceof AuthorizationException) {
+              result.aze = (AuthorizationException) e;
+              result.set_aze_isSet(true);
+              msg = result;
+            } else if (e instanceof KeyNotFoundException) {
+              result.knf = (KeyNotFoundException) e;
+              result.set_knf_isSet(true);
+              msg = result;
+            } else if (e instanceof org.apache.storm.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.storm.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.storm.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.storm.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.storm.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.storm.thrift.TApplicationException(org.apache.storm.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, beginBlobDownloadRange_args args, org.apache.storm.thrift.async.AsyncMethodCallback<BeginDownloadResult> resultHandler) throws org.apache.storm.thrift.TException {
+        iface.beginBlobDownloadRange(args.key, args.offset, args.length,resultHandler);
+      }
+    }
+
     public static class downloadBlobChunk<I extends AsyncIface> extends org.apache.storm.thrift.AsyncProcessFunction<I, downloadBlobChunk_args, java.nio.ByteBuffer> {
       public downloadBlobChunk() {
         super("downloadBlobChunk");
@@ -28733,6 +28908,1145 @@ public class Nimbus {
     }
   }
 
+  public static class beginBlobDownloadRange_args implements org.apache.storm.thrift.TBase<beginBlobDownloadRange_args, beginBlobDownloadRange_args._Fields>, java.io.Serializable, Cloneable, Comparable<beginBlobDownloadRange_args>   {
+    private static final org.apache.storm.thrift.protocol.TStruct STRUCT_DESC = new org.apache.storm.thrift.protocol.TStruct("beginBlobDownloadRange_args");
+
+    private static final org.apache.storm.thrift.protocol.TField KEY_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("key", org.apache.storm.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.storm.thrift.protocol.TField OFFSET_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("offset", org.apache.storm.thrift.protocol.TType.I64, (short)2);
+    private static final org.apache.storm.thrift.protocol.TField LENGTH_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("length", org.apache.storm.thrift.protocol.TType.I64, (short)3);
+
+    private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new beginBlobDownloadRange_argsStandardSchemeFactory();
+    private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new beginBlobDownloadRange_argsTupleSchemeFactory();
+
+    private @org.apache.storm.thrift.annotation.Nullable java.lang.String key; // required
+    private long offset; // required
+    private long length; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
+      KEY((short)1, "key"),
+      OFFSET((short)2, "offset"),
+      LENGTH((short)3, "length");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.storm.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // KEY
+            return KEY;
+          case 2: // OFFSET
+            return OFFSET;
+          case 3: // LENGTH
+            return LENGTH;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.storm.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __OFFSET_ISSET_ID = 0;
+    private static final int __LENGTH_ISSET_ID = 1;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.KEY, new org.apache.storm.thrift.meta_data.FieldMetaData("key", org.apache.storm.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.OFFSET, new org.apache.storm.thrift.meta_data.FieldMetaData("offset", org.apache.storm.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I64)));
+      tmpMap.put(_Fields.LENGTH, new org.apache.storm.thrift.meta_data.FieldMetaData("length", org.apache.storm.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I64)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(beginBlobDownloadRange_args.class, metaDataMap);
+    }
+
+    public beginBlobDownloadRange_args() {
+    }
+
+    public beginBlobDownloadRange_args(
+      java.lang.String key,
+      long offset,
+      long length)
+    {
+      this();
+      this.key = key;
+      this.offset = offset;
+      set_offset_isSet(true);
+      this.length = length;
+      set_length_isSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public beginBlobDownloadRange_args(beginBlobDownloadRange_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      if (other.is_set_key()) {
+        this.key = other.key;
+      }
+      this.offset = other.offset;
+      this.length = other.length;
+    }
+
+    public beginBlobDownloadRange_args deepCopy() {
+      return new beginBlobDownloadRange_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.key = null;
+      set_offset_isSet(false);
+      this.offset = 0;
+      set_length_isSet(false);
+      this.length = 0;
+    }
+
+    @org.apache.storm.thrift.annotation.Nullable
+    public java.lang.String get_key() {
+      return this.key;
+    }
+
+    public void set_key(@org.apache.storm.thrift.annotation.Nullable java.lang.String key) {
+      this.key = key;
+    }
+
+    public void unset_key() {
+      this.key = null;
+    }
+
+    /** Returns true if field key is set (has been assigned a value) and false otherwise */
+    public boolean is_set_key() {
+      return this.key != null;
+    }
+
+    public void set_key_isSet(boolean value) {
+      if (!value) {
+        this.key = null;
+      }
+    }
+
+    public long get_offset() {
+      return this.offset;
+    }
+
+    public void set_offset(long offset) {
+      this.offset = offset;
+      set_offset_isSet(true);
+    }
+
+    public void unset_offset() {
+      __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __OFFSET_ISSET_ID);
+    }
+
+    /** Returns true if field offset is set (has been assigned a value) and false otherwise */
+    public boolean is_set_offset() {
+      return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __OFFSET_ISSET_ID);
+    }
+
+    public void set_offset_isSet(boolean value) {
+      __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __OFFSET_ISSET_ID, value);
+    }
+
+    public long get_length() {
+      return this.length;
+    }
+
+    public void set_length(long length) {
+      this.length = length;
+      set_length_isSet(true);
+    }
+
+    public void unset_length() {
+      __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __LENGTH_ISSET_ID);
+    }
+
+    /** Returns true if field length is set (has been assigned a value) and false otherwise */
+    public boolean is_set_length() {
+      return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __LENGTH_ISSET_ID);
+    }
+
+    public void set_length_isSet(boolean value) {
+      __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __LENGTH_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case KEY:
+        if (value == null) {
+          unset_key();
+        } else {
+          set_key((java.lang.String)value);
+        }
+        break;
+
+      case OFFSET:
+        if (value == null) {
+          unset_offset();
+        } else {
+          set_offset((java.lang.Long)value);
+        }
+        break;
+
+      case LENGTH:
+        if (value == null) {
+          unset_length();
+        } else {
+          set_length((java.lang.Long)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.storm.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case KEY:
+        return get_key();
+
+      case OFFSET:
+        return get_offset();
+
+      case LENGTH:
+        return get_length();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case KEY:
+        return is_set_key();
+      case OFFSET:
+        return is_set_offset();
+      case LENGTH:
+        return is_set_length();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof beginBlobDownloadRange_args)
+        return this.equals((beginBlobDownloadRange_args)that);
+      return false;
+    }
+
+    public boolean equals(beginBlobDownloadRange_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_key = true && this.is_set_key();
+      boolean that_present_key = true && that.is_set_key();
+      if (this_present_key || that_present_key) {
+        if (!(this_present_key && that_present_key))
+          return false;
+        if (!this.key.equals(that.key))
+          return false;
+      }
+
+      boolean this_present_offset = true;
+      boolean that_present_offset = true;
+      if (this_present_offset || that_present_offset) {
+        if (!(this_present_offset && that_present_offset))
+          return false;
+        if (this.offset != that.offset)
+          return false;
+      }
+
+      boolean this_present_length = true;
+      boolean that_present_length = true;
+      if (this_present_length || that_present_length) {
+        if (!(this_present_length && that_present_length))
+          return false;
+        if (this.length != that.length)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((is_set_key()) ? 131071 : 524287);
+      if (is_set_key())
+        hashCode = hashCode * 8191 + key.hashCode();
+
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(offset);
+
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(length);
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(beginBlobDownloadRange_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(is_set_key()).compareTo(other.is_set_key());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (is_set_key()) {
+        lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.key, other.key);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(is_set_offset()).compareTo(other.is_set_offset());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (is_set_offset()) {
+        lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.offset, other.offset);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(is_set_length()).compareTo(other.is_set_length());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (is_set_length()) {
+        lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.length, other.length);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.storm.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.storm.thrift.protocol.TProtocol iprot) throws org.apache.storm.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.storm.thrift.protocol.TProtocol oprot) throws org.apache.storm.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("beginBlobDownloadRange_args(");
+      boolean first = true;
+
+      sb.append("key:");
+      if (this.key == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.key);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("offset:");
+      sb.append(this.offset);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("length:");
+      sb.append(this.length);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.storm.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.storm.thrift.protocol.TCompactProtocol(new org.apache.storm.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.storm.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.storm.thrift.protocol.TCompactProtocol(new org.apache.storm.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.storm.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class beginBlobDownloadRange_argsStandardSchemeFactory implements org.apache.storm.thrift.scheme.SchemeFactory {
+      public beginBlobDownloadRange_argsStandardScheme getScheme() {
+        return new beginBlobDownloadRange_argsStandardScheme();
+      }
+    }
+
+    private static class beginBlobDownloadRange_argsStandardScheme extends org.apache.storm.thrift.scheme.StandardScheme<beginBlobDownloadRange_args> {
+
+      public void read(org.apache.storm.thrift.protocol.TProtocol iprot, beginBlobDownloadRange_args struct) throws org.apache.storm.thrift.TException {
+        org.apache.storm.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.storm.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // KEY
+              if (schemeField.type == org.apache.storm.thrift.protocol.TType.STRING) {
+                struct.key = iprot.readString();
+                struct.set_key_isSet(true);
+              } else { 
+                org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // OFFSET
+              if (schemeField.type == org.apache.storm.thrift.protocol.TType.I64) {
+                struct.offset = iprot.readI64();
+                struct.set_offset_isSet(true);
+              } else { 
+                org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // LENGTH
+              if (schemeField.type == org.apache.storm.thrift.protocol.TType.I64) {
+                struct.length = iprot.readI64();
+                struct.set_length_isSet(true);
+              } else { 
+                org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+        struct.validate();
+      }
+
+      public void write(org.apache.storm.thrift.protocol.TProtocol oprot, beginBlobDownloadRange_args struct) throws org.apache.storm.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.key != null) {
+          oprot.writeFieldBegin(KEY_FIELD_DESC);
+          oprot.writeString(struct.key);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(OFFSET_FIELD_DESC);
+        oprot.writeI64(struct.offset);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(LENGTH_FIELD_DESC);
+        oprot.writeI64(struct.length);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class beginBlobDownloadRange_argsTupleSchemeFactory implements org.apache.storm.thrift.scheme.SchemeFactory {
+      public beginBlobDownloadRange_argsTupleScheme getScheme() {
+        return new beginBlobDownloadRange_argsTupleScheme();
+      }
+    }
+
+    private static class beginBlobDownloadRange_argsTupleScheme extends org.apache.storm.thrift.scheme.TupleScheme<beginBlobDownloadRange_args> {
+
+      @Override
+      public void write(org.apache.storm.thrift.protocol.TProtocol prot, beginBlobDownloadRange_args struct) throws org.apache.storm.thrift.TException {
+        org.apache.storm.thrift.protocol.TTupleProtocol oprot = (org.apache.storm.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.is_set_key()) {
+          optionals.set(0);
+        }
+        if (struct.is_set_offset()) {
+          optionals.set(1);
+        }
+        if (struct.is_set_length()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.is_set_key()) {
+          oprot.writeString(struct.key);
+        }
+        if (struct.is_set_offset()) {
+          oprot.writeI64(struct.offset);
+        }
+        if (struct.is_set_length()) {
+          oprot.writeI64(struct.length);
+        }
+      }
+
+      @Override
+      public void read(org.apache.storm.thrift.protocol.TProtocol prot, beginBlobDownloadRange_args struct) throws org.apache.storm.thrift.TException {
+        org.apache.storm.thrift.protocol.TTupleProtocol iprot = (org.apache.storm.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.key = iprot.readString();
+          struct.set_key_isSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.offset = iprot.readI64();
+          struct.set_offset_isSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.length = iprot.readI64();
+          struct.set_length_isSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.storm.thrift.scheme.IScheme> S scheme(org.apache.storm.thrift.protocol.TProtocol proto) {
+      return (org.apache.storm.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class beginBlobDownloadRange_result implements org.apache.storm.thrift.TBase<beginBlobDownloadRange_result, beginBlobDownloadRange_result._Fields>, java.io.Serializable, Cloneable, Comparable<beginBlobDownloadRange_result>   {
+    private static final org.apache.storm.thrift.protocol.TStruct STRUCT_DESC = new org.apache.storm.thrift.protocol.TStruct("beginBlobDownloadRange_result");
+
+    private static final org.apache.storm.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("success", org.apache.storm.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.storm.thrift.protocol.TField AZE_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("aze", org.apache.storm.thrift.protocol.TType.STRUCT, (short)1);
+    private static final org.apache.storm.thrift.protocol.TField KNF_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("knf", org.apache.storm.thrift.protocol.TType.STRUCT, (short)2);
+
+    private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new beginBlobDownloadRange_resultStandardSchemeFactory();
+    private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new beginBlobDownloadRange_resultTupleSchemeFactory();
+
+    private @org.apache.storm.thrift.annotation.Nullable BeginDownloadResult success; // required
+    private @org.apache.storm.thrift.annotation.Nullable AuthorizationException aze; // required
+    private @org.apache.storm.thrift.annotation.Nullable KeyNotFoundException knf; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      AZE((short)1, "aze"),
+      KNF((short)2, "knf");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.storm.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // AZE
+            return AZE;
+          case 2: // KNF
+            return KNF;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.storm.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.storm.thrift.meta_data.FieldMetaData("success", org.apache.storm.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, BeginDownloadResult.class)));
+      tmpMap.put(_Fields.AZE, new org.apache.storm.thrift.meta_data.FieldMetaData("aze", org.apache.storm.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, AuthorizationException.class)));
+      tmpMap.put(_Fields.KNF, new org.apache.storm.thrift.meta_data.FieldMetaData("knf", org.apache.storm.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, KeyNotFoundException.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(beginBlobDownloadRange_result.class, metaDataMap);
+    }
+
+    public beginBlobDownloadRange_result() {
+    }
+
+    public beginBlobDownloadRange_result(
+      BeginDownloadResult success,
+      AuthorizationException aze,
+      KeyNotFoundException knf)
+    {
+      this();
+      this.success = success;
+      this.aze = aze;
+      this.knf = knf;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public beginBlobDownloadRange_result(beginBlobDownloadRange_result other) {
+      if (other.is_set_success()) {
+        this.success = new BeginDownloadResult(other.success);
+      }
+      if (other.is_set_aze()) {
+        this.aze = new AuthorizationException(other.aze);
+      }
+      if (other.is_set_knf()) {
+        this.knf = new KeyNotFoundException(other.knf);
+      }
+    }
+
+    public beginBlobDownloadRange_result deepCopy() {
+      return new beginBlobDownloadRange_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.aze = null;
+      this.knf = null;
+    }
+
+    @org.apache.storm.thrift.annotation.Nullable
+    public BeginDownloadResult get_success() {
+      return this.success;
+    }
+
+    public void set_success(@org.apache.storm.thrift.annotation.Nullable BeginDownloadResult success) {
+      this.success = success;
+    }
+
+    public void unset_success() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean is_set_success() {
+      return this.success != null;
+    }
+
+    public void set_success_isSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    @org.apache.storm.thrift.annotation.Nullable
+    public AuthorizationException get_aze() {
+      return this.aze;
+    }
+
+    public void set_aze(@org.apache.storm.thrift.annotation.Nullable AuthorizationException aze) {
+      this.aze = aze;
+    }
+
+    public void unset_aze() {
+      this.aze = null;
+    }
+
+    /** Returns true if field aze is set (has been assigned a value) and false otherwise */
+    public boolean is_set_aze() {
+      return this.aze != null;
+    }
+
+    public void set_aze_isSet(boolean value) {
+      if (!value) {
+        this.aze = null;
+      }
+    }
+
+    @org.apache.storm.thrift.annotation.Nullable
+    public KeyNotFoundException get_knf() {
+      return this.knf;
+    }
+
+    public void set_knf(@org.apache.storm.thrift.annotation.Nullable KeyNotFoundException knf) {
+      this.knf = knf;
+    }
+
+    public void unset_knf() {
+      this.knf = null;
+    }
+
+    /** Returns true if field knf is set (has been assigned a value) and false otherwise */
+    public boolean is_set_knf() {
+      return this.knf != null;
+    }
+
+    public void set_knf_isSet(boolean value) {
+      if (!value) {
+        this.knf = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unset_success();
+        } else {
+          set_success((BeginDownloadResult)value);
+        }
+        break;
+
+      case AZE:
+        if (value == null) {
+          unset_aze();
+        } else {
+          set_aze((AuthorizationException)value);
+        }
+        break;
+
+      case KNF:
+        if (value == null) {
+          unset_knf();
+        } else {
+          set_knf((KeyNotFoundException)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.storm.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return get_success();
+
+      case AZE:
+        return get_aze();
+
+      case KNF:
+        return get_knf();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return is_set_success();
+      case AZE:
+        return is_set_aze();
+      case KNF:
+        return is_set_knf();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof beginBlobDownloadRange_result)
+        return this.equals((beginBlobDownloadRange_result)that);
+      return false;
+    }
+
+    public boolean equals(beginBlobDownloadRange_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true && this.is_set_success();
+      boolean that_present_success = true && that.is_set_success();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_aze = true && this.is_set_aze();
+      boolean that_present_aze = true && that.is_set_aze();
+      if (this_present_aze || that_present_aze) {
+        if (!(this_present_aze && that_present_aze))
+          return false;
+        if (!this.aze.equals(that.aze))
+          return false;
+      }
+
+      boolean this_present_knf = true && this.is_set_knf();
+      boolean that_present_knf = true && that.is_set_knf();
+      if (this_present_knf || that_present_knf) {
+        if (!(this_present_knf && that_present_knf))
+          return false;
+        if (!this.knf.equals(that.knf))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((is_set_success()) ? 131071 : 524287);
+      if (is_set_success())
+        hashCode = hashCode * 8191 + success.hashCode();
+
+      hashCode = hashCode * 8191 + ((is_set_aze()) ? 131071 : 524287);
+      if (is_set_aze())
+        hashCode = hashCode * 8191 + aze.hashCode();
+
+      hashCode = hashCode * 8191 + ((is_set_knf()) ? 131071 : 524287);
+      if (is_set_knf())
+        hashCode = hashCode * 8191 + knf.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(beginBlobDownloadRange_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(is_set_success()).compareTo(other.is_set_success());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (is_set_success()) {
+        lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(is_set_aze()).compareTo(other.is_set_aze());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (is_set_aze()) {
+        lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.aze, other.aze);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(is_set_knf()).compareTo(other.is_set_knf());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (is_set_knf()) {
+        lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.knf, other.knf);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.storm.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.storm.thrift.protocol.TProtocol iprot) throws org.apache.storm.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.storm.thrift.protocol.TProtocol oprot) throws org.apache.storm.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("beginBlobDownloadRange_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("aze:");
+      if (this.aze == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.aze);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("knf:");
+      if (this.knf == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.knf);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.storm.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.storm.thrift.protocol.TCompactProtocol(new org.apache.storm.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.storm.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.storm.thrift.protocol.TCompactProtocol(new org.apache.storm.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.storm.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class beginBlobDownloadRange_resultStandardSchemeFactory implements org.apache.storm.thrift.scheme.SchemeFactory {
+      public beginBlobDownloadRange_resultStandardScheme getScheme() {
+        return new beginBlobDownloadRange_resultStandardScheme();
+      }
+    }
+
+    private static class beginBlobDownloadRange_resultStandardScheme extends org.apache.storm.thrift.scheme.StandardScheme<beginBlobDownloadRange_result> {
+
+      public void read(org.apache.storm.thrift.protocol.TProtocol iprot, beginBlobDownloadRange_result struct) throws org.apache.storm.thrift.TException {
+        org.apache.storm.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.storm.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.storm.thrift.protocol.TType.STRUCT) {
+                struct.success = new BeginDownloadResult();
+                struct.success.read(iprot);
+                struct.set_success_isSet(true);
+              } else { 
+                org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // AZE
+              if (schemeField.type == org.apache.storm.thrift.protocol.TType.STRUCT) {
+                struct.aze = new AuthorizationException();
+                struct.aze.read(iprot);
+                struct.set_aze_isSet(true);
+              } else { 
+                org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // KNF
+              if (schemeField.type == org.apache.storm.thrift.protocol.TType.STRUCT) {
+                struct.knf = new KeyNotFoundException();
+                struct.knf.read(iprot);
+                struct.set_knf_isSet(true);
+              } else { 
+                org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+        struct.validate();
+      }
+
+      public void write(org.apache.storm.thrift.protocol.TProtocol oprot, beginBlobDownloadRange_result struct) throws org.apache.storm.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.aze != null) {
+          oprot.writeFieldBegin(AZE_FIELD_DESC);
+          struct.aze.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        if (struct.knf != null) {
+          oprot.writeFieldBegin(KNF_FIELD_DESC);
+          struct.knf.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class beginBlobDownloadRange_resultTupleSchemeFactory implements org.apache.storm.thrift.scheme.SchemeFactory {
+      public beginBlobDownloadRange_resultTupleScheme getScheme() {
+        return new beginBlobDownloadRange_resultTupleScheme();
+      }
+    }
+
+    private static class beginBlobDownloadRange_resultTupleScheme extends org.apache.storm.thrift.scheme.TupleScheme<beginBlobDownloadRange_result> {
+
+      @Override
+      public void write(org.apache.storm.thrift.protocol.TProtocol prot, beginBlobDownloadRange_result struct) throws org.apache.storm.thrift.TException {
+        org.apache.storm.thrift.protocol.TTupleProtocol oprot = (org.apache.storm.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.is_set_success()) {
+          optionals.set(0);
+        }
+        if (struct.is_set_aze()) {
+          optionals.set(1);
+        }
+        if (struct.is_set_knf()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.is_set_success()) {
+          struct.success.write(oprot);
+        }
+        if (struct.is_set_aze()) {
+          struct.aze.write(oprot);
+        }
+        if (struct.is_set_knf()) {
+          struct.knf.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.storm.thrift.protocol.TProtocol prot, beginBlobDownloadRange_result struct) throws org.apache.storm.thrift.TException {
+        org.apache.storm.thrift.protocol.TTupleProtocol iprot = (org.apache.storm.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.success = new BeginDownloadResult();
+          struct.success.read(iprot);
+          struct.set_success_isSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.aze = new AuthorizationException();
+          struct.aze.read(iprot);
+          struct.set_aze_isSet(true);
+        }
+        if (incoming.get(2)) {
+          struct.knf = new KeyNotFoundException();
+          struct.knf.read(iprot);
+          struct.set_knf_isSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.storm.thrift.scheme.IScheme> S scheme(org.apache.storm.thrift.protocol.TProtocol proto) {
+      return (org.apache.storm.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
   public static class downloadBlobChunk_args implements org.apache.storm.thrift.TBase<downloadBlobChunk_args, downloadBlobChunk_args._Fields>, java.io.Serializable, Cloneable, Comparable<downloadBlobChunk_args>   {
     private static final org.apache.storm.thrift.protocol.TStruct STRUCT_DESC = new org.apache.storm.thrift.protocol.TStruct("downloadBlobChunk_args");
 
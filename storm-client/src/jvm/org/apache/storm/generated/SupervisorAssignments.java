@@ -29,15 +29,27 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
   private static final org.apache.storm.thrift.protocol.TStruct STRUCT_DESC = new org.apache.storm.thrift.protocol.TStruct("SupervisorAssignments");
 
   private static final org.apache.storm.thrift.protocol.TField STORM_ASSIGNMENT_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("storm_assignment", org.apache.storm.thrift.protocol.TType.MAP, (short)1);
+  private static final org.apache.storm.thrift.protocol.TField VERSION_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("version", org.apache.storm.thrift.protocol.TType.I64, (short)2);
+  private static final org.apache.storm.thrift.protocol.TField BASE_VERSION_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("base_version", org.apache.storm.thrift.protocol.TType.I64, (short)3);
+  private static final org.apache.storm.thrift.protocol.TField REMOVED_ENTRIES_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("removed_entries", org.apache.storm.thrift.protocol.TType.MAP, (short)4);
+  private static final org.apache.storm.thrift.protocol.TField REMOVED_TOPOLOGIES_FIELD_DESC = new org.apache.storm.thrift.protocol.TField("removed_topologies", org.apache.storm.thrift.protocol.TType.LIST, (short)5);
 
   private static final org.apache.storm.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new SupervisorAssignmentsStandardSchemeFactory();
   private static final org.apache.storm.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new SupervisorAssignmentsTupleSchemeFactory();
 
   private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,Assignment> storm_assignment; // optional
+  private long version; // optional
+  private long base_version; // optional
+  private @org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,Assignment> removed_entries; // optional
+  private @org.apache.storm.thrift.annotation.Nullable java.util.List<java.lang.String> removed_topologies; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.storm.thrift.TFieldIdEnum {
-    STORM_ASSIGNMENT((short)1, "storm_assignment");
+    STORM_ASSIGNMENT((short)1, "storm_assignment"),
+    VERSION((short)2, "version"),
+    BASE_VERSION((short)3, "base_version"),
+    REMOVED_ENTRIES((short)4, "removed_entries"),
+    REMOVED_TOPOLOGIES((short)5, "removed_topologies");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -55,6 +67,14 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
       switch(fieldId) {
         case 1: // STORM_ASSIGNMENT
           return STORM_ASSIGNMENT;
+        case 2: // VERSION
+          return VERSION;
+        case 3: // BASE_VERSION
+          return BASE_VERSION;
+        case 4: // REMOVED_ENTRIES
+          return REMOVED_ENTRIES;
+        case 5: // REMOVED_TOPOLOGIES
+          return REMOVED_TOPOLOGIES;
         default:
           return null;
       }
@@ -96,7 +116,10 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
   }
 
   // isset id assignments
-  private static final _Fields optionals[] = {_Fields.STORM_ASSIGNMENT};
+  private static final int __VERSION_ISSET_ID = 0;
+  private static final int __BASE_VERSION_ISSET_ID = 1;
+  private byte __isset_bitfield = 0;
+  private static final _Fields optionals[] = {_Fields.STORM_ASSIGNMENT,_Fields.VERSION,_Fields.BASE_VERSION,_Fields.REMOVED_ENTRIES,_Fields.REMOVED_TOPOLOGIES};
   public static final java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.storm.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -104,6 +127,17 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
         new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
             new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
             new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, Assignment.class))));
+    tmpMap.put(_Fields.VERSION, new org.apache.storm.thrift.meta_data.FieldMetaData("version", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.BASE_VERSION, new org.apache.storm.thrift.meta_data.FieldMetaData("base_version", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.REMOVED_ENTRIES, new org.apache.storm.thrift.meta_data.FieldMetaData("removed_entries", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.MapMetaData(org.apache.storm.thrift.protocol.TType.MAP, 
+            new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING), 
+            new org.apache.storm.thrift.meta_data.StructMetaData(org.apache.storm.thrift.protocol.TType.STRUCT, Assignment.class))));
+    tmpMap.put(_Fields.REMOVED_TOPOLOGIES, new org.apache.storm.thrift.meta_data.FieldMetaData("removed_topologies", org.apache.storm.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.storm.thrift.meta_data.ListMetaData(org.apache.storm.thrift.protocol.TType.LIST, 
+            new org.apache.storm.thrift.meta_data.FieldValueMetaData(org.apache.storm.thrift.protocol.TType.STRING))));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.storm.thrift.meta_data.FieldMetaData.addStructMetaDataMap(SupervisorAssignments.class, metaDataMap);
   }
@@ -117,6 +151,7 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
    * Performs a deep copy on <i>other</i>.
    */
   public SupervisorAssignments(SupervisorAssignments other) {
+    __isset_bitfield = other.__isset_bitfield;
     if (other.is_set_storm_assignment()) {
       java.util.Map<java.lang.String,Assignment> __this__storm_assignment = new java.util.HashMap<java.lang.String,Assignment>(other.storm_assignment.size());
       for (java.util.Map.Entry<java.lang.String, Assignment> other_element : other.storm_assignment.entrySet()) {
@@ -132,6 +167,27 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
       }
       this.storm_assignment = __this__storm_assignment;
     }
+    this.version = other.version;
+    this.base_version = other.base_version;
+    if (other.is_set_removed_entries()) {
+      java.util.Map<java.lang.String,Assignment> __this__removed_entries = new java.util.HashMap<java.lang.String,Assignment>(other.removed_entries.size());
+      for (java.util.Map.Entry<java.lang.String, Assignment> other_element : other.removed_entries.entrySet()) {
+
+        java.lang.String other_element_key = other_element.getKey();
+        Assignment other_element_value = other_element.getValue();
+
+        java.lang.String __this__removed_entries_copy_key = other_element_key;
+
+        Assignment __this__removed_entries_copy_value = new Assignment(other_element_value);
+
+        __this__removed_entries.put(__this__removed_entries_copy_key, __this__removed_entries_copy_value);
+      }
+      this.removed_entries = __this__removed_entries;
+    }
+    if (other.is_set_removed_topologies()) {
+      java.util.List<java.lang.String> __this__removed_topologies = new java.util.ArrayList<java.lang.String>(other.removed_topologies);
+      this.removed_topologies = __this__removed_topologies;
+    }
   }
 
   public SupervisorAssignments deepCopy() {
@@ -142,6 +198,12 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
   public void clear() {
     this.storm_assignment = new java.util.HashMap<java.lang.String,Assignment>();
 
+    set_version_isSet(false);
+    this.version = 0;
+    set_base_version_isSet(false);
+    this.base_version = 0;
+    this.removed_entries = null;
+    this.removed_topologies = null;
   }
 
   public int get_storm_assignment_size() {
@@ -179,6 +241,125 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
     }
   }
 
+  public long get_version() {
+    return this.version;
+  }
+
+  public void set_version(long version) {
+    this.version = version;
+    set_version_isSet(true);
+  }
+
+  public void unset_version() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __VERSION_ISSET_ID);
+  }
+
+  /** Returns true if field version is set (has been assigned a value) and false otherwise */
+  public boolean is_set_version() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __VERSION_ISSET_ID);
+  }
+
+  public void set_version_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __VERSION_ISSET_ID, value);
+  }
+
+  public long get_base_version() {
+    return this.base_version;
+  }
+
+  public void set_base_version(long base_version) {
+    this.base_version = base_version;
+    set_base_version_isSet(true);
+  }
+
+  public void unset_base_version() {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.clearBit(__isset_bitfield, __BASE_VERSION_ISSET_ID);
+  }
+
+  /** Returns true if field base_version is set (has been assigned a value) and false otherwise */
+  public boolean is_set_base_version() {
+    return org.apache.storm.thrift.EncodingUtils.testBit(__isset_bitfield, __BASE_VERSION_ISSET_ID);
+  }
+
+  public void set_base_version_isSet(boolean value) {
+    __isset_bitfield = org.apache.storm.thrift.EncodingUtils.setBit(__isset_bitfield, __BASE_VERSION_ISSET_ID, value);
+  }
+
+  public int get_removed_entries_size() {
+    return (this.removed_entries == null) ? 0 : this.removed_entries.size();
+  }
+
+  public void put_to_removed_entries(java.lang.String key, Assignment val) {
+    if (this.removed_entries == null) {
+      this.removed_entries = new java.util.HashMap<java.lang.String,Assignment>();
+    }
+    this.removed_entries.put(key, val);
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.Map<java.lang.String,Assignment> get_removed_entries() {
+    return this.removed_entries;
+  }
+
+  public void set_removed_entries(@org.apache.storm.thrift.annotation.Nullable java.util.Map<java.lang.String,Assignment> removed_entries) {
+    this.removed_entries = removed_entries;
+  }
+
+  public void unset_removed_entries() {
+    this.removed_entries = null;
+  }
+
+  /** Returns true if field removed_entries is set (has been assigned a value) and false otherwise */
+  public boolean is_set_removed_entries() {
+    return this.removed_entries != null;
+  }
+
+  public void set_removed_entries_isSet(boolean value) {
+    if (!value) {
+      this.removed_entries = null;
+    }
+  }
+
+  public int get_removed_topologies_size() {
+    return (this.removed_topologies == null) ? 0 : this.removed_topologies.size();
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.Iterator<java.lang.String> get_removed_topologies_iterator() {
+    return (this.removed_topologies == null) ? null : this.removed_topologies.iterator();
+  }
+
+  public void add_to_removed_topologies(java.lang.String elem) {
+    if (this.removed_topologies == null) {
+      this.removed_topologies = new java.util.ArrayList<java.lang.String>();
+    }
+    this.removed_topologies.add(elem);
+  }
+
+  @org.apache.storm.thrift.annotation.Nullable
+  public java.util.List<java.lang.String> get_removed_topologies() {
+    return this.removed_topologies;
+  }
+
+  public void set_removed_topologies(@org.apache.storm.thrift.annotation.Nullable java.util.List<java.lang.String> removed_topologies) {
+    this.removed_topologies = removed_topologies;
+  }
+
+  public void unset_removed_topologies() {
+    this.removed_topologies = null;
+  }
+
+  /** Returns true if field removed_topologies is set (has been assigned a value) and false otherwise */
+  public boolean is_set_removed_topologies() {
+    return this.removed_topologies != null;
+  }
+
+  public void set_removed_topologies_isSet(boolean value) {
+    if (!value) {
+      this.removed_topologies = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, @org.apache.storm.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case STORM_ASSIGNMENT:
@@ -189,6 +370,38 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
       }
       break;
 
+    case VERSION:
+      if (value == null) {
+        unset_version();
+      } else {
+        set_version((java.lang.Long)value);
+      }
+      break;
+
+    case BASE_VERSION:
+      if (value == null) {
+        unset_base_version();
+      } else {
+        set_base_version((java.lang.Long)value);
+      }
+      break;
+
+    case REMOVED_ENTRIES:
+      if (value == null) {
+        unset_removed_entries();
+      } else {
+        set_removed_entries((java.util.Map<java.lang.String,Assignment>)value);
+      }
+      break;
+
+    case REMOVED_TOPOLOGIES:
+      if (value == null) {
+        unset_removed_topologies();
+      } else {
+        set_removed_topologies((java.util.List<java.lang.String>)value);
+      }
+      break;
+
     }
   }
 
@@ -198,6 +411,18 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
     case STORM_ASSIGNMENT:
       return get_storm_assignment();
 
+    case VERSION:
+      return get_version();
+
+    case BASE_VERSION:
+      return get_base_version();
+
+    case REMOVED_ENTRIES:
+      return get_removed_entries();
+
+    case REMOVED_TOPOLOGIES:
+      return get_removed_topologies();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -211,6 +436,14 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
     switch (field) {
     case STORM_ASSIGNMENT:
       return is_set_storm_assignment();
+    case VERSION:
+      return is_set_version();
+    case BASE_VERSION:
+      return is_set_base_version();
+    case REMOVED_ENTRIES:
+      return is_set_removed_entries();
+    case REMOVED_TOPOLOGIES:
+      return is_set_removed_topologies();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -239,6 +472,42 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
         return false;
     }
 
+    boolean this_present_version = true && this.is_set_version();
+    boolean that_present_version = true && that.is_set_version();
+    if (this_present_version || that_present_version) {
+      if (!(this_present_version && that_present_version))
+        return false;
+      if (this.version != that.version)
+        return false;
+    }
+
+    boolean this_present_base_version = true && this.is_set_base_version();
+    boolean that_present_base_version = true && that.is_set_base_version();
+    if (this_present_base_version || that_present_base_version) {
+      if (!(this_present_base_version && that_present_base_version))
+        return false;
+      if (this.base_version != that.base_version)
+        return false;
+    }
+
+    boolean this_present_removed_entries = true && this.is_set_removed_entries();
+    boolean that_present_removed_entries = true && that.is_set_removed_entries();
+    if (this_present_removed_entries || that_present_removed_entries) {
+      if (!(this_present_removed_entries && that_present_removed_entries))
+        return false;
+      if (!this.removed_entries.equals(that.removed_entries))
+        return false;
+    }
+
+    boolean this_present_removed_topologies = true && this.is_set_removed_topologies();
+    boolean that_present_removed_topologies = true && that.is_set_removed_topologies();
+    if (this_present_removed_topologies || that_present_removed_topologies) {
+      if (!(this_present_removed_topologies && that_present_removed_topologies))
+        return false;
+      if (!this.removed_topologies.equals(that.removed_topologies))
+        return false;
+    }
+
     return true;
   }
 
@@ -250,6 +519,22 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
     if (is_set_storm_assignment())
       hashCode = hashCode * 8191 + storm_assignment.hashCode();
 
+    hashCode = hashCode * 8191 + ((is_set_version()) ? 131071 : 524287);
+    if (is_set_version())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(version);
+
+    hashCode = hashCode * 8191 + ((is_set_base_version()) ? 131071 : 524287);
+    if (is_set_base_version())
+      hashCode = hashCode * 8191 + org.apache.storm.thrift.TBaseHelper.hashCode(base_version);
+
+    hashCode = hashCode * 8191 + ((is_set_removed_entries()) ? 131071 : 524287);
+    if (is_set_removed_entries())
+      hashCode = hashCode * 8191 + removed_entries.hashCode();
+
+    hashCode = hashCode * 8191 + ((is_set_removed_topologies()) ? 131071 : 524287);
+    if (is_set_removed_topologies())
+      hashCode = hashCode * 8191 + removed_topologies.hashCode();
+
     return hashCode;
   }
 
@@ -271,6 +556,46 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.valueOf(is_set_version()).compareTo(other.is_set_version());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_version()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.version, other.version);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_base_version()).compareTo(other.is_set_base_version());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_base_version()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.base_version, other.base_version);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_removed_entries()).compareTo(other.is_set_removed_entries());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_removed_entries()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.removed_entries, other.removed_entries);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.valueOf(is_set_removed_topologies()).compareTo(other.is_set_removed_topologies());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (is_set_removed_topologies()) {
+      lastComparison = org.apache.storm.thrift.TBaseHelper.compareTo(this.removed_topologies, other.removed_topologies);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -301,6 +626,38 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
       }
       first = false;
     }
+    if (is_set_version()) {
+      if (!first) sb.append(", ");
+      sb.append("version:");
+      sb.append(this.version);
+      first = false;
+    }
+    if (is_set_base_version()) {
+      if (!first) sb.append(", ");
+      sb.append("base_version:");
+      sb.append(this.base_version);
+      first = false;
+    }
+    if (is_set_removed_entries()) {
+      if (!first) sb.append(", ");
+      sb.append("removed_entries:");
+      if (this.removed_entries == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.removed_entries);
+      }
+      first = false;
+    }
+    if (is_set_removed_topologies()) {
+      if (!first) sb.append(", ");
+      sb.append("removed_topologies:");
+      if (this.removed_topologies == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.removed_topologies);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -320,6 +677,8 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
 
   private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
     try {
+      // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+      __isset_bitfield = 0;
       read(new org.apache.storm.thrift.protocol.TCompactProtocol(new org.apache.storm.thrift.transport.TIOStreamTransport(in)));
     } catch (org.apache.storm.thrift.TException te) {
       throw new java.io.IOException(te);
@@ -365,6 +724,61 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
               org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 2: // VERSION
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.I64) {
+              struct.version = iprot.readI64();
+              struct.set_version_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 3: // BASE_VERSION
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.I64) {
+              struct.base_version = iprot.readI64();
+              struct.set_base_version_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 4: // REMOVED_ENTRIES
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.MAP) {
+              {
+                org.apache.storm.thrift.protocol.TMap _map946 = iprot.readMapBegin();
+                struct.removed_entries = new java.util.HashMap<java.lang.String,Assignment>(2*_map946.size);
+                @org.apache.storm.thrift.annotation.Nullable java.lang.String _key947;
+                @org.apache.storm.thrift.annotation.Nullable Assignment _val948;
+                for (int _i949 = 0; _i949 < _map946.size; ++_i949)
+                {
+                  _key947 = iprot.readString();
+                  _val948 = new Assignment();
+                  _val948.read(iprot);
+                  struct.removed_entries.put(_key947, _val948);
+                }
+                iprot.readMapEnd();
+              }
+              struct.set_removed_entries_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 5: // REMOVED_TOPOLOGIES
+            if (schemeField.type == org.apache.storm.thrift.protocol.TType.LIST) {
+              {
+                org.apache.storm.thrift.protocol.TList _list950 = iprot.readListBegin();
+                struct.removed_topologies = new java.util.ArrayList<java.lang.String>(_list950.size);
+                @org.apache.storm.thrift.annotation.Nullable java.lang.String _elem951;
+                for (int _i952 = 0; _i952 < _list950.size; ++_i952)
+                {
+                  _elem951 = iprot.readString();
+                  struct.removed_topologies.add(_elem951);
+                }
+                iprot.readListEnd();
+              }
+              struct.set_removed_topologies_isSet(true);
+            } else { 
+              org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.storm.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -393,6 +807,45 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
           oprot.writeFieldEnd();
         }
       }
+      if (struct.is_set_version()) {
+        oprot.writeFieldBegin(VERSION_FIELD_DESC);
+        oprot.writeI64(struct.version);
+        oprot.writeFieldEnd();
+      }
+      if (struct.is_set_base_version()) {
+        oprot.writeFieldBegin(BASE_VERSION_FIELD_DESC);
+        oprot.writeI64(struct.base_version);
+        oprot.writeFieldEnd();
+      }
+      if (struct.removed_entries != null) {
+        if (struct.is_set_removed_entries()) {
+          oprot.writeFieldBegin(REMOVED_ENTRIES_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.STRUCT, struct.removed_entries.size()));
+            for (java.util.Map.Entry<java.lang.String, Assignment> _iter953 : struct.removed_entries.entrySet())
+            {
+              oprot.writeString(_iter953.getKey());
+              _iter953.getValue().write(oprot);
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.removed_topologies != null) {
+        if (struct.is_set_removed_topologies()) {
+          oprot.writeFieldBegin(REMOVED_TOPOLOGIES_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.storm.thrift.protocol.TList(org.apache.storm.thrift.protocol.TType.STRING, struct.removed_topologies.size()));
+            for (java.lang.String _iter954 : struct.removed_topologies)
+            {
+              oprot.writeString(_iter954);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -414,7 +867,19 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
       if (struct.is_set_storm_assignment()) {
         optionals.set(0);
       }
-      oprot.writeBitSet(optionals, 1);
+      if (struct.is_set_version()) {
+        optionals.set(1);
+      }
+      if (struct.is_set_base_version()) {
+        optionals.set(2);
+      }
+      if (struct.is_set_removed_entries()) {
+        optionals.set(3);
+      }
+      if (struct.is_set_removed_topologies()) {
+        optionals.set(4);
+      }
+      oprot.writeBitSet(optionals, 5);
       if (struct.is_set_storm_assignment()) {
         {
           oprot.writeI32(struct.storm_assignment.size());
@@ -425,12 +890,37 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
           }
         }
       }
+      if (struct.is_set_version()) {
+        oprot.writeI64(struct.version);
+      }
+      if (struct.is_set_base_version()) {
+        oprot.writeI64(struct.base_version);
+      }
+      if (struct.is_set_removed_entries()) {
+        {
+          oprot.writeI32(struct.removed_entries.size());
+          for (java.util.Map.Entry<java.lang.String, Assignment> _iter955 : struct.removed_entries.entrySet())
+          {
+            oprot.writeString(_iter955.getKey());
+            _iter955.getValue().write(oprot);
+          }
+        }
+      }
+      if (struct.is_set_removed_topologies()) {
+        {
+          oprot.writeI32(struct.removed_topologies.size());
+          for (java.lang.String _iter956 : struct.removed_topologies)
+          {
+            oprot.writeString(_iter956);
+          }
+        }
+      }
     }
 
     @Override
     public void read(org.apache.storm.thrift.protocol.TProtocol prot, SupervisorAssignments struct) throws org.apache.storm.thrift.TException {
       org.apache.storm.thrift.protocol.TTupleProtocol iprot = (org.apache.storm.thrift.protocol.TTupleProtocol) prot;
-      java.util.BitSet incoming = iprot.readBitSet(1);
+      java.util.BitSet incoming = iprot.readBitSet(5);
       if (incoming.get(0)) {
         {
           org.apache.storm.thrift.protocol.TMap _map942 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.STRUCT, iprot.readI32());
@@ -447,6 +937,43 @@ public class SupervisorAssignments implements org.apache.storm.thrift.TBase<Supe
         }
         struct.set_storm_assignment_isSet(true);
       }
+      if (incoming.get(1)) {
+        struct.version = iprot.readI64();
+        struct.set_version_isSet(true);
+      }
+      if (incoming.get(2)) {
+        struct.base_version = iprot.readI64();
+        struct.set_base_version_isSet(true);
+      }
+      if (incoming.get(3)) {
+        {
+          org.apache.storm.thrift.protocol.TMap _map957 = new org.apache.storm.thrift.protocol.TMap(org.apache.storm.thrift.protocol.TType.STRING, org.apache.storm.thrift.protocol.TType.STRUCT, iprot.readI32());
+          struct.removed_entries = new java.util.HashMap<java.lang.String,Assignment>(2*_map957.size);
+          @org.apache.storm.thrift.annotation.Nullable java.lang.String _key958;
+          @org.apache.storm.thrift.annotation.Nullable Assignment _val959;
+          for (int _i960 = 0; _i960 < _map957.size; ++_i960)
+          {
+            _key958 = iprot.readString();
+            _val959 = new Assignment();
+            _val959.read(iprot);
+            struct.removed_entries.put(_key958, _val959);
+          }
+        }
+        struct.set_removed_entries_isSet(true);
+      }
+      if (incoming.get(4)) {
+        {
+          org.apache.storm.thrift.protocol.TList _list961 = new org.apache.storm.thrift.protocol.TList(org.apache.storm.thrift.protocol.TType.STRING, iprot.readI32());
+          struct.removed_topologies = new java.util.ArrayList<java.lang.String>(_list961.size);
+          @org.apache.storm.thrift.annotation.Nullable java.lang.String _elem962;
+          for (int _i963 = 0; _i963 < _list961.size; ++_i963)
+          {
+            _elem962 = iprot.readString();
+            struct.removed_topologies.add(_elem962);
+          }
+        }
+        struct.set_removed_topologies_isSet(true);
+      }
     }
   }
 
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.pacemaker;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Maps keys to servers by consistent hashing, so that adding or removing a server only moves the keys of that server. Each server is put
+ * on the ring at several points, to spread the keys evenly.
+ */
+public class ConsistentHashRing {
+    private static final int POINTS_PER_SERVER = 128;
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final int numServers;
+
+    public ConsistentHashRing(Collection<String> servers) {
+        TreeSet<String> distinct = new TreeSet<>(servers);
+        for (String server : distinct) {
+            for (int i = 0; i < POINTS_PER_SERVER; i++) {
+                ring.put(hash(server + "#" + i), server);
+            }
+        }
+        numServers = distinct.size();
+    }
+
+    /**
+     * Get the servers a key is on.
+     *
+     * @param key the key
+     * @param count the number of servers to get
+     * @return up to count distinct servers, the first server after the key on the ring first.
+     */
+    public List<String> getServers(String key, int count) {
+        count = Math.min(count, numServers);
+        List<String> ret = new ArrayList<>(count);
+        if (count <= 0) {
+            return ret;
+        }
+        long hash = hash(key);
+        if (!addServers(ring.tailMap(hash).values(), ret, count)) {
+            addServers(ring.headMap(hash).values(), ret, count);
+        }
+        return ret;
+    }
+
+    /**
+     * Add servers that are not in the list yet, until it has count servers.
+     *
+     * @return true if the list has count servers.
+     */
+    private static boolean addServers(Collection<String> servers, List<String> ret, int count) {
+        for (String server : servers) {
+            if (!ret.contains(server)) {
+                ret.add(server);
+                if (ret.size() == count) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long ret = 0;
+            for (int i = 0; i < 8; i++) {
+                ret = (ret << 8) | (digest[i] & 0xFF);
+            }
+            return ret;
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
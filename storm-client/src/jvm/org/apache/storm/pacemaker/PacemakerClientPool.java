@@ -14,12 +14,14 @@ package org.apache.storm.pacemaker;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.storm.Config;
 import org.apache.storm.generated.HBMessage;
+import org.apache.storm.utils.ObjectReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +32,8 @@ public class PacemakerClientPool {
     private ConcurrentHashMap<String, PacemakerClient> clientForServer = new ConcurrentHashMap<>();
     private ConcurrentLinkedQueue<String> servers;
     private Map<String, Object> config;
+    private ConsistentHashRing ring;
+    private int replicationFactor;
 
     public PacemakerClientPool(Map<String, Object> config) {
         this.config = config;
@@ -45,6 +49,32 @@ public class PacemakerClientPool {
         } else {
             servers = new ConcurrentLinkedQueue<>();
         }
+        Object replication = config.get(Config.PACEMAKER_REPLICATION_FACTOR);
+        if (replication != null) {
+            replicationFactor = ObjectReader.getInt(replication);
+            ring = new ConsistentHashRing(serverList);
+            LOG.info("Partitioning heartbeats across {} with replication factor {}", serverList, replicationFactor);
+        }
+    }
+
+    /**
+     * Whether heartbeats are partitioned across the servers, see {@link Config#PACEMAKER_REPLICATION_FACTOR}.
+     */
+    public boolean isPartitioned() {
+        return ring != null;
+    }
+
+    /**
+     * Get the servers that hold the heartbeats for a key if heartbeats are partitioned.
+     *
+     * @param key the key the heartbeats are partitioned by.
+     * @return the servers for the key, or all of the servers if the key is null.
+     */
+    public List<String> getServersFor(String key) {
+        if (key == null || ring == null) {
+            return new ArrayList<>(servers);
+        }
+        return ring.getServers(key, replicationFactor);
     }
 
     public HBMessage send(HBMessage m) throws PacemakerConnectionException, InterruptedException {
@@ -74,6 +104,27 @@ public class PacemakerClientPool {
         return responses;
     }
 
+    /**
+     * Send a message to some of the servers.
+     *
+     * @return the responses of the servers that could be reached, by server.
+     */
+    public Map<String, HBMessage> sendTo(List<String> toServers, HBMessage m) throws PacemakerConnectionException, InterruptedException {
+        Map<String, HBMessage> responses = new HashMap<>();
+        for (String s : toServers) {
+            try {
+                responses.put(s, getClientForServer(s).send(m));
+            } catch (PacemakerConnectionException e) {
+                LOG.warn("Failed to connect to the pacemaker server {}, attempting to reconnect", s);
+                getClientForServer(s).reconnect();
+            }
+        }
+        if (responses.isEmpty()) {
+            throw new PacemakerConnectionException("Failed to connect to any of the Pacemakers " + toServers);
+        }
+        return responses;
+    }
+
     public void close() {
         for (PacemakerClient client : clientForServer.values()) {
             client.shutdown();
@@ -40,10 +40,14 @@ public class SupervisorSimpleACLAuthorizer implements IAuthorizer {
         "sendSupervisorWorkerHeartbeat"));
     protected Set<String> nimbusCommands = new HashSet<>(Arrays.asList(
         "sendSupervisorAssignments"));
+    protected Set<String> supervisorCommands = new HashSet<>(Arrays.asList(
+        "getBlobChunkManifest",
+        "getBlobChunk"));
 
     protected Set<String> admins;
     protected Set<String> adminsGroups;
     protected Set<String> nimbus;
+    protected Set<String> supervisors;
     protected IPrincipalToLocal ptol;
     protected IGroupMappingServiceProvider groupMappingServiceProvider;
 
@@ -57,6 +61,7 @@ public class SupervisorSimpleACLAuthorizer implements IAuthorizer {
         admins = new HashSet<>();
         adminsGroups = new HashSet<>();
         nimbus = new HashSet<>();
+        supervisors = new HashSet<>();
 
         if (conf.containsKey(Config.NIMBUS_ADMINS)) {
             admins.addAll((Collection<String>) conf.get(Config.NIMBUS_ADMINS));
@@ -77,6 +82,10 @@ public class SupervisorSimpleACLAuthorizer implements IAuthorizer {
             LOG.error("Could not find {} things might now work correctly...", Config.NIMBUS_DAEMON_USERS);
         }
 
+        if (conf.containsKey(Config.NIMBUS_SUPERVISOR_USERS)) {
+            supervisors.addAll((Collection<String>) conf.get(Config.NIMBUS_SUPERVISOR_USERS));
+        }
+
         ptol = ClientAuthUtils.getPrincipalToLocalPlugin(conf);
         groupMappingServiceProvider = ClientAuthUtils.getGroupMappingServiceProviderPlugin(conf);
     }
@@ -107,6 +116,11 @@ public class SupervisorSimpleACLAuthorizer implements IAuthorizer {
             return true;
         }
 
+        //Other supervisors download topology blobs from this one
+        if ((supervisors.contains(principal) || supervisors.contains(user)) && supervisorCommands.contains(operation)) {
+            return true;
+        }
+
         if (nimbus.contains(principal) || nimbus.contains(user)) {
             return nimbusCommands.contains(operation);
         }
@@ -138,6 +138,29 @@ public class ClientStatsUtil {
         return ret;
     }
 
+    /**
+     * Replace the executor stats in a worker heartbeat with their compact form.
+     * @param heartbeat the heartbeat, which is modified
+     * @return the heartbeat
+     */
+    public static ClusterWorkerHeartbeat compactWorkerHb(ClusterWorkerHeartbeat heartbeat) {
+        heartbeat.set_compact_executor_stats(ExecutorStatsCodec.encode(heartbeat.get_executor_stats()));
+        heartbeat.set_executor_stats(new HashMap<>());
+        return heartbeat;
+    }
+
+    /**
+     * Get the executor stats in a worker heartbeat, whether they were sent in the compact form or not.
+     * @param heartbeat the heartbeat
+     * @return the stats of each executor
+     */
+    public static Map<ExecutorInfo, ExecutorStats> getExecutorStats(ClusterWorkerHeartbeat heartbeat) {
+        if (heartbeat.is_set_compact_executor_stats()) {
+            return ExecutorStatsCodec.decode(heartbeat.get_compact_executor_stats());
+        }
+        return heartbeat.get_executor_stats();
+    }
+
     /**
      * Converts stats to be over given windows of time.
      * @param stats the stats
@@ -0,0 +1,421 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.stats;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.generated.BoltStats;
+import org.apache.storm.generated.ExecutorInfo;
+import org.apache.storm.generated.ExecutorSpecificStats;
+import org.apache.storm.generated.ExecutorStats;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.generated.SpoutStats;
+
+/**
+ * A compact binary encoding of the executor stats in a worker heartbeat.
+ *
+ * <p>Every string (time windows, component ids and stream ids) is written once and referred to by its index afterwards. Numbers are
+ * written as variable length integers. The time windows of a stat are written from the smallest to the largest, and each value is
+ * written as the difference from the same value in the window before it, so values that are the same in several windows take a single
+ * byte, and a window that is the same as the one before it takes a single byte in all.
+ */
+public class ExecutorStatsCodec {
+    private static final int VERSION = 1;
+    private static final int NO_SPECIFIC_STATS = 0;
+    private static final int BOLT_STATS = 1;
+    private static final int SPOUT_STATS = 2;
+
+    /**
+     * Order windows from the smallest to the largest, with ":all-time" and anything else that is not a number of seconds last.
+     */
+    private static final Comparator<String> WINDOW_ORDER = Comparator.comparingLong(ExecutorStatsCodec::windowSecs)
+                                                                     .thenComparing(Comparator.naturalOrder());
+
+    private static final ValueCodec<Long> COUNTS = new ValueCodec<Long>() {
+        @Override
+        long toBits(Long value) {
+            return value;
+        }
+
+        @Override
+        Long fromBits(long bits) {
+            return bits;
+        }
+
+        @Override
+        long pack(long bits, long base) {
+            return zigZag(bits - base);
+        }
+
+        @Override
+        long unpack(long packed, long base) {
+            return base + unZigZag(packed);
+        }
+    };
+
+    private static final ValueCodec<Double> AVERAGES = new ValueCodec<Double>() {
+        @Override
+        long toBits(Double value) {
+            return Double.doubleToLongBits(value);
+        }
+
+        @Override
+        Double fromBits(long bits) {
+            return Double.longBitsToDouble(bits);
+        }
+
+        @Override
+        long pack(long bits, long base) {
+            return bits ^ base;
+        }
+
+        @Override
+        long unpack(long packed, long base) {
+            return packed ^ base;
+        }
+    };
+
+    private static final KeyCodec<String> STREAM_KEYS = new KeyCodec<String>() {
+        @Override
+        void write(Encoder encoder, String key) {
+            encoder.writeString(key);
+        }
+
+        @Override
+        String read(Decoder decoder) {
+            return decoder.readString();
+        }
+    };
+
+    private static final KeyCodec<GlobalStreamId> GLOBAL_STREAM_KEYS = new KeyCodec<GlobalStreamId>() {
+        @Override
+        void write(Encoder encoder, GlobalStreamId key) {
+            encoder.writeString(key.get_componentId());
+            encoder.writeString(key.get_streamId());
+        }
+
+        @Override
+        GlobalStreamId read(Decoder decoder) {
+            String componentId = decoder.readString();
+            return new GlobalStreamId(componentId, decoder.readString());
+        }
+    };
+
+    /**
+     * Encode the stats of the executors in a worker.
+     *
+     * @param executorStats the stats to encode
+     * @return the encoded stats
+     */
+    public static byte[] encode(Map<ExecutorInfo, ExecutorStats> executorStats) {
+        Encoder encoder = new Encoder();
+        encoder.writeVarLong(executorStats.size());
+        for (Map.Entry<ExecutorInfo, ExecutorStats> entry : executorStats.entrySet()) {
+            // the system executor has negative task ids
+            encoder.writeVarLong(zigZag(entry.getKey().get_task_start()));
+            encoder.writeVarLong(zigZag(entry.getKey().get_task_end()));
+            encoder.writeStats(entry.getValue());
+        }
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Decode stats that were encoded with {@link #encode(Map)}.
+     *
+     * @param encoded the encoded stats
+     * @return the stats of each executor
+     * @throws IllegalArgumentException if the stats could not be decoded
+     */
+    public static Map<ExecutorInfo, ExecutorStats> decode(byte[] encoded) {
+        Decoder decoder = new Decoder(encoded);
+        int numExecutors = decoder.readSize();
+        Map<ExecutorInfo, ExecutorStats> ret = new HashMap<>(2 * numExecutors);
+        for (int i = 0; i < numExecutors; i++) {
+            int taskStart = (int) unZigZag(decoder.readVarLong());
+            int taskEnd = (int) unZigZag(decoder.readVarLong());
+            ret.put(new ExecutorInfo(taskStart, taskEnd), decoder.readStats());
+        }
+        return ret;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long windowSecs(String window) {
+        try {
+            return Long.parseLong(window);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private abstract static class ValueCodec<V> {
+        abstract long toBits(V value);
+
+        abstract V fromBits(long bits);
+
+        abstract long pack(long bits, long base);
+
+        abstract long unpack(long packed, long base);
+    }
+
+    private abstract static class KeyCodec<K> {
+        abstract void write(Encoder encoder, K key);
+
+        abstract K read(Decoder decoder);
+    }
+
+    private static class Encoder {
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        void writeStats(ExecutorStats stats) {
+            writeWindows(stats.get_emitted(), STREAM_KEYS, COUNTS);
+            writeWindows(stats.get_transferred(), STREAM_KEYS, COUNTS);
+            writeFixedLong(Double.doubleToLongBits(stats.get_rate()));
+            ExecutorSpecificStats specific = stats.get_specific();
+            if (specific != null && specific.is_set_bolt()) {
+                BoltStats bolt = specific.get_bolt();
+                writeVarLong(BOLT_STATS);
+                writeWindows(bolt.get_acked(), GLOBAL_STREAM_KEYS, COUNTS);
+                writeWindows(bolt.get_failed(), GLOBAL_STREAM_KEYS, COUNTS);
+                writeWindows(bolt.get_process_ms_avg(), GLOBAL_STREAM_KEYS, AVERAGES);
+                writeWindows(bolt.get_executed(), GLOBAL_STREAM_KEYS, COUNTS);
+                writeWindows(bolt.get_execute_ms_avg(), GLOBAL_STREAM_KEYS, AVERAGES);
+            } else if (specific != null && specific.is_set_spout()) {
+                SpoutStats spout = specific.get_spout();
+                writeVarLong(SPOUT_STATS);
+                writeWindows(spout.get_acked(), STREAM_KEYS, COUNTS);
+                writeWindows(spout.get_failed(), STREAM_KEYS, COUNTS);
+                writeWindows(spout.get_complete_ms_avg(), STREAM_KEYS, AVERAGES);
+            } else {
+                writeVarLong(NO_SPECIFIC_STATS);
+            }
+        }
+
+        /**
+         * Write the windows from the smallest to the largest. The size of each window is written plus one, with 0 meaning that the window
+         * is the same as the one before it.
+         */
+        <K, V> void writeWindows(Map<String, Map<K, V>> windows, KeyCodec<K> keys, ValueCodec<V> values) {
+            if (windows == null) {
+                writeVarLong(0);
+                return;
+            }
+            List<String> order = new ArrayList<>(windows.keySet());
+            order.sort(WINDOW_ORDER);
+            writeVarLong(order.size());
+            Map<K, V> previous = null;
+            for (String window : order) {
+                writeString(window);
+                Map<K, V> current = windows.get(window);
+                if (current == null) {
+                    current = new HashMap<>();
+                }
+                if (previous != null && previous.equals(current)) {
+                    writeVarLong(0);
+                } else {
+                    writeVarLong(current.size() + 1);
+                    for (Map.Entry<K, V> entry : current.entrySet()) {
+                        keys.write(this, entry.getKey());
+                        V base = previous == null ? null : previous.get(entry.getKey());
+                        writeVarLong(values.pack(values.toBits(entry.getValue()), base == null ? 0 : values.toBits(base)));
+                    }
+                }
+                previous = current;
+            }
+        }
+
+        void writeString(String value) {
+            Integer id = stringIds.get(value);
+            if (id == null) {
+                id = strings.size();
+                stringIds.put(value, id);
+                strings.add(value);
+            }
+            writeVarLong(id);
+        }
+
+        void writeVarLong(long value) {
+            writeVarLong(body, value);
+        }
+
+        void writeFixedLong(long value) {
+            for (int i = 56; i >= 0; i -= 8) {
+                body.write((int) (value >>> i));
+            }
+        }
+
+        byte[] toByteArray() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() + 16 * strings.size());
+            writeVarLong(out, VERSION);
+            writeVarLong(out, strings.size());
+            for (String value : strings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(out, bytes.length);
+                out.write(bytes, 0, bytes.length);
+            }
+            out.write(body.toByteArray(), 0, body.size());
+            return out.toByteArray();
+        }
+
+        private static void writeVarLong(ByteArrayOutputStream out, long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+
+    private static class Decoder {
+        private final byte[] encoded;
+        private int pos = 0;
+        private final String[] strings;
+
+        Decoder(byte[] encoded) {
+            this.encoded = encoded;
+            int version = readSize();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported compact executor stats version " + version);
+            }
+            strings = new String[readSize()];
+            for (int i = 0; i < strings.length; i++) {
+                int length = readSize();
+                if (length > encoded.length - pos) {
+                    throw new IllegalArgumentException("Truncated compact executor stats");
+                }
+                strings[i] = new String(encoded, pos, length, StandardCharsets.UTF_8);
+                pos += length;
+            }
+        }
+
+        ExecutorStats readStats() {
+            ExecutorStats stats = new ExecutorStats();
+            stats.set_emitted(readWindows(STREAM_KEYS, COUNTS));
+            stats.set_transferred(readWindows(STREAM_KEYS, COUNTS));
+            stats.set_rate(Double.longBitsToDouble(readFixedLong()));
+            int specific = readSize();
+            switch (specific) {
+                case BOLT_STATS:
+                    BoltStats bolt = new BoltStats();
+                    bolt.set_acked(readWindows(GLOBAL_STREAM_KEYS, COUNTS));
+                    bolt.set_failed(readWindows(GLOBAL_STREAM_KEYS, COUNTS));
+                    bolt.set_process_ms_avg(readWindows(GLOBAL_STREAM_KEYS, AVERAGES));
+                    bolt.set_executed(readWindows(GLOBAL_STREAM_KEYS, COUNTS));
+                    bolt.set_execute_ms_avg(readWindows(GLOBAL_STREAM_KEYS, AVERAGES));
+                    stats.set_specific(ExecutorSpecificStats.bolt(bolt));
+                    break;
+                case SPOUT_STATS:
+                    SpoutStats spout = new SpoutStats();
+                    spout.set_acked(readWindows(STREAM_KEYS, COUNTS));
+                    spout.set_failed(readWindows(STREAM_KEYS, COUNTS));
+                    spout.set_complete_ms_avg(readWindows(STREAM_KEYS, AVERAGES));
+                    stats.set_specific(ExecutorSpecificStats.spout(spout));
+                    break;
+                case NO_SPECIFIC_STATS:
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown executor specific stats type " + specific);
+            }
+            return stats;
+        }
+
+        <K, V> Map<String, Map<K, V>> readWindows(KeyCodec<K> keys, ValueCodec<V> values) {
+            int numWindows = readSize();
+            Map<String, Map<K, V>> ret = new HashMap<>(2 * numWindows);
+            Map<K, V> previous = null;
+            for (int i = 0; i < numWindows; i++) {
+                String window = readString();
+                int size = readSize();
+                Map<K, V> current;
+                if (size == 0) {
+                    if (previous == null) {
+                        throw new IllegalArgumentException("The first window of compact executor stats refers to a previous window");
+                    }
+                    current = new HashMap<>(previous);
+                } else {
+                    current = new HashMap<>(2 * (size - 1));
+                    for (int j = 1; j < size; j++) {
+                        K key = keys.read(this);
+                        V base = previous == null ? null : previous.get(key);
+                        current.put(key, values.fromBits(values.unpack(readVarLong(), base == null ? 0 : values.toBits(base))));
+                    }
+                }
+                ret.put(window, current);
+                previous = current;
+            }
+            return ret;
+        }
+
+        String readString() {
+            int id = readSize();
+            if (id >= strings.length) {
+                throw new IllegalArgumentException("Unknown string " + id + " in compact executor stats");
+            }
+            return strings[id];
+        }
+
+        int readSize() {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid size " + value + " in compact executor stats");
+            }
+            return (int) value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Invalid variable length integer in compact executor stats");
+        }
+
+        long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        private byte readByte() {
+            if (pos >= encoded.length) {
+                throw new IllegalArgumentException("Truncated compact executor stats");
+            }
+            return encoded[pos++];
+        }
+    }
+}
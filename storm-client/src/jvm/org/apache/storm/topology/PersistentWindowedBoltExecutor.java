@@ -33,6 +33,7 @@ import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.base.BaseWindowedBolt;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 import org.apache.storm.windowing.DefaultEvictionContext;
 import org.apache.storm.windowing.EventImpl;
 import org.apache.storm.windowing.WindowLifecycleListener;
@@ -136,7 +137,9 @@ public class PersistentWindowedBoltExecutor<T extends State> extends WindowedBol
         }
         super.execute(input);
         // StatefulBoltExecutor does the actual ack when the state is saved.
-        outputCollector.ack(input);
+        if (!TupleUtils.isTick(input)) {
+            outputCollector.ack(input);
+        }
     }
 
     @Override
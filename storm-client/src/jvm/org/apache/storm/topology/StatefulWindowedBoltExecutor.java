@@ -24,6 +24,7 @@ import org.apache.storm.state.StateFactory;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 import org.apache.storm.windowing.WindowLifecycleListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,7 +85,10 @@ public class StatefulWindowedBoltExecutor<T extends State> extends WindowedBoltE
         if (!isStateInitialized()) {
             throw new IllegalStateException("execute invoked before initState with input tuple " + input);
         } else if (isRecovering()) {
-            handleRecovery(input);
+            // triggers are started only after the recovery is complete
+            if (!TupleUtils.isTick(input)) {
+                handleRecovery(input);
+            }
         } else {
             super.execute(input);
         }
@@ -15,8 +15,10 @@ package org.apache.storm.topology;
 import static org.apache.storm.topology.base.BaseWindowedBolt.Count;
 import static org.apache.storm.topology.base.BaseWindowedBolt.Duration;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -24,7 +26,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.apache.storm.Config;
@@ -36,6 +37,7 @@ import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.TupleUtils;
 import org.apache.storm.windowing.CountEvictionPolicy;
 import org.apache.storm.windowing.CountTriggerPolicy;
 import org.apache.storm.windowing.Event;
@@ -65,6 +67,7 @@ public class WindowedBoltExecutor implements IRichBolt {
     private static final Logger LOG = LoggerFactory.getLogger(WindowedBoltExecutor.class);
     private static final int DEFAULT_WATERMARK_EVENT_INTERVAL_MS = 1000; // 1s
     private static final int DEFAULT_MAX_LAG_MS = 0; // no lag
+    private static final int DEFAULT_TICK_TUPLE_FREQ_SECS = 1;
     private final IWindowedBolt bolt;
     // package level for unit tests
     transient WaterMarkEventGenerator<Tuple> waterMarkEventGenerator;
@@ -284,10 +287,10 @@ public class WindowedBoltExecutor implements IRichBolt {
 
     @Override
     public void prepare(Map<String, Object> topoConf, TopologyContext context, OutputCollector collector) {
-        doPrepare(topoConf, context, collector, new ConcurrentLinkedQueue<>(), false);
+        doPrepare(topoConf, context, collector, new ArrayDeque<>(), false);
     }
 
-    // NOTE: the queue has to be thread safe.
+    // NOTE: the queue is only accessed from the executor thread.
     protected void doPrepare(Map<String, Object> topoConf, TopologyContext context, OutputCollector collector,
                              Collection<Event<Tuple>> queue, boolean stateful) {
         Objects.requireNonNull(topoConf);
@@ -304,7 +307,9 @@ public class WindowedBoltExecutor implements IRichBolt {
 
     @Override
     public void execute(Tuple input) {
-        if (isTupleTs()) {
+        if (TupleUtils.isTick(input)) {
+            onTick();
+        } else if (isTupleTs()) {
             long ts = timestampExtractor.extractTimestamp(input);
             if (waterMarkEventGenerator.track(input.getSourceGlobalStreamId(), ts)) {
                 windowManager.add(input, ts);
@@ -316,11 +321,23 @@ public class WindowedBoltExecutor implements IRichBolt {
                 }
                 windowedOutputCollector.ack(input);
             }
+            waterMarkEventGenerator.emitPendingWaterMark();
         } else {
             windowManager.add(input);
         }
     }
 
+    /**
+     * Fires the watermarks and time triggers that became due since the last tuple. The watermark timer only flags them as due and the time
+     * triggers are checked against the clock, so that all the window processing happens on the executor thread.
+     */
+    protected void onTick() {
+        if (waterMarkEventGenerator != null) {
+            waterMarkEventGenerator.emitPendingWaterMark();
+        }
+        windowManager.onTick();
+    }
+
     @Override
     public void cleanup() {
         if (waterMarkEventGenerator != null) {
@@ -346,7 +363,18 @@ public class WindowedBoltExecutor implements IRichBolt {
 
     @Override
     public Map<String, Object> getComponentConfiguration() {
-        return bolt.getComponentConfiguration() != null ? bolt.getComponentConfiguration() : Collections.emptyMap();
+        Map<String, Object> conf = bolt.getComponentConfiguration() != null ? bolt.getComponentConfiguration() : Collections.emptyMap();
+        /*
+         * Time triggers and watermarks are fired from the executor thread, so make sure the
+         * executor gets woken up by tick tuples even when no tuples are arriving. The component
+         * setting takes precedence over a topology wide topology.tick.tuple.freq.secs, which is
+         * fine as the tick tuples are consumed here and never reach the windowed bolt.
+         */
+        if ((isTupleTs() || conf.containsKey(Config.TOPOLOGY_BOLTS_SLIDING_INTERVAL_DURATION_MS))
+            && !conf.containsKey(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS)) {
+            conf = TupleUtils.putTickFrequencyIntoComponentConfig(new HashMap<>(conf), DEFAULT_TICK_TUPLE_FREQ_SECS);
+        }
+        return conf;
     }
 
     protected WindowLifecycleListener<Tuple> newWindowLifecycleListener() {
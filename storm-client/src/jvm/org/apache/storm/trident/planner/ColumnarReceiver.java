@@ -0,0 +1,23 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.planner;
+
+import org.apache.storm.trident.tuple.ColumnarBatch;
+
+/**
+ * A {@link TupleReceiver} that can also take a segment of a batch at once, held column by column. Segments are only produced when {@link
+ * org.apache.storm.Config#TOPOLOGY_TRIDENT_COLUMNAR_SEGMENT_SIZE} is set, and a receiver must handle both forms for the same batch.
+ */
+public interface ColumnarReceiver extends TupleReceiver {
+    void executeColumnar(ProcessorContext processorContext, String streamId, ColumnarBatch segment);
+}
@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.apache.storm.Config;
 import org.apache.storm.coordination.BatchOutputCollector;
 import org.apache.storm.generated.GlobalStreamId;
 import org.apache.storm.shade.org.jgrapht.DirectedGraph;
@@ -30,6 +31,7 @@ import org.apache.storm.trident.planner.processor.TridentContext;
 import org.apache.storm.trident.state.State;
 import org.apache.storm.trident.topology.BatchInfo;
 import org.apache.storm.trident.topology.ITridentBatchBolt;
+import org.apache.storm.trident.tuple.ColumnarBatch;
 import org.apache.storm.trident.tuple.TridentTuple;
 import org.apache.storm.trident.tuple.TridentTuple.Factory;
 import org.apache.storm.trident.tuple.TridentTupleView.ProjectionFactory;
@@ -38,6 +40,7 @@ import org.apache.storm.trident.util.IndexedEdge;
 import org.apache.storm.trident.util.TridentUtils;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.ObjectReader;
 
 /**
  * A Bolt that does processing for a subsection of the complete graph.
@@ -148,6 +151,15 @@ public class SubtopologyBolt implements ITridentBatchBolt {
             }
             stateIndex++;
         }
+
+        int segmentSize = ObjectReader.getInt(conf.get(Config.TOPOLOGY_TRIDENT_COLUMNAR_SEGMENT_SIZE), 0);
+        if (segmentSize > 0) {
+            // the segment being built for a batch is kept in the batch state, after the state of the nodes
+            int segmentIndex = nodes.size();
+            for (InitialReceiver ir : roots.values()) {
+                ir.enableSegments(segmentSize, segmentIndex++);
+            }
+        }
     }
 
     private Fields getSourceOutputFields(TopologyContext context, String sourceStream) {
@@ -171,6 +183,9 @@ public class SubtopologyBolt implements ITridentBatchBolt {
 
     @Override
     public void finishBatch(BatchInfo batchInfo) {
+        for (InitialReceiver ir : roots.values()) {
+            ir.finishBatch((ProcessorContext) batchInfo.state);
+        }
         for (TridentProcessor p : myTopologicallyOrdered.get(batchInfo.batchGroup)) {
             p.finishBatch((ProcessorContext) batchInfo.state);
         }
@@ -178,7 +193,7 @@ public class SubtopologyBolt implements ITridentBatchBolt {
 
     @Override
     public Object initBatchState(String batchGroup, Object batchId) {
-        ProcessorContext ret = new ProcessorContext(batchId, new Object[nodes.size()]);
+        ProcessorContext ret = new ProcessorContext(batchId, new Object[nodes.size() + roots.size()]);
         for (TridentProcessor p : myTopologicallyOrdered.get(batchGroup)) {
             p.startBatch(ret);
         }
@@ -212,6 +227,9 @@ public class SubtopologyBolt implements ITridentBatchBolt {
         RootFactory factory;
         ProjectionFactory project;
         String stream;
+        Fields segmentFields;
+        int segmentSize;
+        int segmentIndex = -1;
 
         public InitialReceiver(String stream, Fields allFields) {
             this.stream = stream;
@@ -219,15 +237,60 @@ public class SubtopologyBolt implements ITridentBatchBolt {
             List<String> projected = new ArrayList<>(allFields.toList());
             projected.remove(0);
             project = new ProjectionFactory(factory, new Fields(projected));
+            segmentFields = new Fields(projected);
+        }
+
+        /**
+         * Buffer the received tuples into segments when every receiver takes segments. The segment being built for a batch is kept in
+         * the {@code segmentIndex} slot of the batch state.
+         */
+        public void enableSegments(int segmentSize, int segmentIndex) {
+            for (TridentProcessor r : receivers) {
+                if (!(r instanceof ColumnarReceiver)) {
+                    return;
+                }
+            }
+            this.segmentSize = segmentSize;
+            this.segmentIndex = segmentIndex;
         }
 
         public void receive(ProcessorContext context, Tuple tuple) {
+            if (segmentIndex >= 0) {
+                ColumnarBatch segment = (ColumnarBatch) context.state[segmentIndex];
+                if (segment == null) {
+                    segment = new ColumnarBatch(segmentFields, segmentSize);
+                    context.state[segmentIndex] = segment;
+                }
+                // skip the $batchId field, like the projection does
+                segment.add(tuple.getValues(), 1);
+                if (segment.isFull()) {
+                    context.state[segmentIndex] = null;
+                    emitSegment(context, segment);
+                }
+                return;
+            }
             TridentTuple t = project.create(factory.create(tuple));
             for (TridentProcessor r : receivers) {
                 r.execute(context, stream, t);
             }
         }
 
+        public void finishBatch(ProcessorContext context) {
+            if (segmentIndex >= 0) {
+                ColumnarBatch segment = (ColumnarBatch) context.state[segmentIndex];
+                if (segment != null) {
+                    context.state[segmentIndex] = null;
+                    emitSegment(context, segment);
+                }
+            }
+        }
+
+        private void emitSegment(ProcessorContext context, ColumnarBatch segment) {
+            for (TridentProcessor r : receivers) {
+                ((ColumnarReceiver) r).executeColumnar(context, stream, segment);
+            }
+        }
+
         public void addReceiver(TridentProcessor p) {
             receivers.add(p);
         }
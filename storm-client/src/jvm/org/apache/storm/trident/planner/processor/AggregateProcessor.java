@@ -17,15 +17,17 @@ import java.util.Map;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.trident.operation.Aggregator;
 import org.apache.storm.trident.operation.TridentOperationContext;
+import org.apache.storm.trident.planner.ColumnarReceiver;
 import org.apache.storm.trident.planner.ProcessorContext;
 import org.apache.storm.trident.planner.TridentProcessor;
+import org.apache.storm.trident.tuple.ColumnarBatch;
 import org.apache.storm.trident.tuple.TridentTuple;
 import org.apache.storm.trident.tuple.TridentTuple.Factory;
 import org.apache.storm.trident.tuple.TridentTupleView.ProjectionFactory;
 import org.apache.storm.tuple.Fields;
 
 
-public class AggregateProcessor implements TridentProcessor {
+public class AggregateProcessor implements TridentProcessor, ColumnarReceiver {
     Aggregator agg;
     TridentContext context;
     FreshCollector collector;
@@ -66,6 +68,16 @@ public class AggregateProcessor implements TridentProcessor {
         agg.aggregate(processorContext.state[context.getStateIndex()], projection.create(tuple), collector);
     }
 
+    @Override
+    public void executeColumnar(ProcessorContext processorContext, String streamId, ColumnarBatch segment) {
+        collector.setContext(processorContext);
+        Object state = processorContext.state[context.getStateIndex()];
+        ColumnarBatch input = segment.project(inputFields);
+        for (int row = 0; row < input.size(); row++) {
+            agg.aggregate(state, input.row(row), collector);
+        }
+    }
+
     @Override
     public void flush() {
         collector.flush();
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.planner.processor;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.storm.trident.operation.TridentCollector;
+import org.apache.storm.trident.planner.TupleReceiver;
+import org.apache.storm.trident.tuple.ColumnarBatch;
+import org.apache.storm.trident.util.TridentUtils;
+import org.apache.storm.tuple.Fields;
+
+/**
+ * The segment counterpart of {@link AppendCollector}. Emitted values are gathered into new columns, remembering which input row each
+ * output row came from, and the output segment is built once the whole input segment has been processed.
+ */
+public class ColumnarAppendCollector implements TridentCollector {
+    TridentContext triContext;
+    Fields outputFields;
+    int numSelfFields;
+    ColumnarBatch input;
+    int row;
+    int[] parentRows = new int[0];
+    Object[][] selfColumns;
+    int size;
+
+    public ColumnarAppendCollector(TridentContext context) {
+        triContext = context;
+        Fields parentFields = new Fields(context.getParentTupleFactories().get(0).getOutputFields());
+        outputFields = TridentUtils.fieldsConcat(parentFields, context.getSelfOutputFields());
+        numSelfFields = context.getSelfOutputFields().size();
+    }
+
+    public void startSegment(ColumnarBatch input) {
+        this.input = input;
+        size = 0;
+        int capacity = Math.max(1, input.size());
+        if (parentRows.length < capacity) {
+            parentRows = new int[capacity];
+        }
+        // the self columns end up in the output segment, so they can not be reused for the next one
+        selfColumns = new Object[numSelfFields][parentRows.length];
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public ColumnarBatch finishSegment() {
+        ColumnarBatch ret = input.appendColumns(parentRows, size, outputFields, selfColumns);
+        input = null;
+        selfColumns = null;
+        return ret;
+    }
+
+    @Override
+    public void emit(List<Object> values) {
+        if (size == parentRows.length) {
+            int capacity = size * 2;
+            parentRows = Arrays.copyOf(parentRows, capacity);
+            for (int c = 0; c < numSelfFields; c++) {
+                selfColumns[c] = Arrays.copyOf(selfColumns[c], capacity);
+            }
+        }
+        parentRows[size] = row;
+        for (int c = 0; c < numSelfFields; c++) {
+            selfColumns[c][size] = values.get(c);
+        }
+        size++;
+    }
+
+    @Override
+    public void flush() {
+        for (TupleReceiver r : triContext.getReceivers()) {
+            r.flush();
+        }
+    }
+
+    @Override
+    public void reportError(Throwable t) {
+        triContext.getDelegateCollector().reportError(t);
+    }
+}
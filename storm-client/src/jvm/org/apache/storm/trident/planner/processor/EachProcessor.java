@@ -17,20 +17,24 @@ import java.util.Map;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.trident.operation.Function;
 import org.apache.storm.trident.operation.TridentOperationContext;
+import org.apache.storm.trident.planner.ColumnarReceiver;
 import org.apache.storm.trident.planner.ProcessorContext;
 import org.apache.storm.trident.planner.TridentProcessor;
+import org.apache.storm.trident.tuple.ColumnarBatch;
 import org.apache.storm.trident.tuple.TridentTuple;
 import org.apache.storm.trident.tuple.TridentTuple.Factory;
 import org.apache.storm.trident.tuple.TridentTupleView.ProjectionFactory;
 import org.apache.storm.tuple.Fields;
 
 
-public class EachProcessor implements TridentProcessor {
+public class EachProcessor implements TridentProcessor, ColumnarReceiver {
     Function function;
     TridentContext context;
     AppendCollector collector;
     Fields inputFields;
     ProjectionFactory projection;
+    ColumnarAppendCollector columnarCollector;
+    SegmentEmitter segmentEmitter;
 
     public EachProcessor(Fields inputFields, Function function) {
         this.function = function;
@@ -46,6 +50,8 @@ public class EachProcessor implements TridentProcessor {
         this.context = tridentContext;
         collector = new AppendCollector(tridentContext);
         projection = new ProjectionFactory(parents.get(0), inputFields);
+        columnarCollector = new ColumnarAppendCollector(tridentContext);
+        segmentEmitter = new SegmentEmitter(tridentContext, collector.getOutputFactory());
         function.prepare(conf, new TridentOperationContext(context, projection));
     }
 
@@ -65,6 +71,17 @@ public class EachProcessor implements TridentProcessor {
         function.execute(projection.create(tuple), collector);
     }
 
+    @Override
+    public void executeColumnar(ProcessorContext processorContext, String streamId, ColumnarBatch segment) {
+        ColumnarBatch input = segment.project(inputFields);
+        columnarCollector.startSegment(segment);
+        for (int row = 0; row < segment.size(); row++) {
+            columnarCollector.setRow(row);
+            function.execute(input.row(row), columnarCollector);
+        }
+        segmentEmitter.emit(processorContext, columnarCollector.finishSegment());
+    }
+
 
     @Override
     public void startBatch(ProcessorContext processorContext) {
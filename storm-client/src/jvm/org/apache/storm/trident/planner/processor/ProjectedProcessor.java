@@ -14,19 +14,22 @@ package org.apache.storm.trident.planner.processor;
 
 import java.util.Map;
 import org.apache.storm.task.TopologyContext;
+import org.apache.storm.trident.planner.ColumnarReceiver;
 import org.apache.storm.trident.planner.ProcessorContext;
 import org.apache.storm.trident.planner.TridentProcessor;
 import org.apache.storm.trident.planner.TupleReceiver;
+import org.apache.storm.trident.tuple.ColumnarBatch;
 import org.apache.storm.trident.tuple.TridentTuple;
 import org.apache.storm.trident.tuple.TridentTuple.Factory;
 import org.apache.storm.trident.tuple.TridentTupleView.ProjectionFactory;
 import org.apache.storm.tuple.Fields;
 
 
-public class ProjectedProcessor implements TridentProcessor {
+public class ProjectedProcessor implements TridentProcessor, ColumnarReceiver {
     Fields projectFields;
     ProjectionFactory factory;
     TridentContext context;
+    SegmentEmitter segmentEmitter;
 
     public ProjectedProcessor(Fields projectFields) {
         this.projectFields = projectFields;
@@ -39,6 +42,7 @@ public class ProjectedProcessor implements TridentProcessor {
         }
         this.context = tridentContext;
         factory = new ProjectionFactory(tridentContext.getParentTupleFactories().get(0), projectFields);
+        segmentEmitter = new SegmentEmitter(tridentContext, factory);
     }
 
     @Override
@@ -57,6 +61,12 @@ public class ProjectedProcessor implements TridentProcessor {
         }
     }
 
+    @Override
+    public void executeColumnar(ProcessorContext processorContext, String streamId, ColumnarBatch segment) {
+        // a projection of a segment only selects columns, no per tuple work
+        segmentEmitter.emit(processorContext, segment.project(projectFields));
+    }
+
     @Override
     public void flush() {
         for (TupleReceiver r : context.getReceivers()) {
@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.planner.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.storm.trident.planner.ColumnarReceiver;
+import org.apache.storm.trident.planner.ProcessorContext;
+import org.apache.storm.trident.planner.TupleReceiver;
+import org.apache.storm.trident.tuple.ColumnarBatch;
+import org.apache.storm.trident.tuple.TridentTuple;
+import org.apache.storm.trident.tuple.TridentTuple.Factory;
+import org.apache.storm.trident.tuple.TridentTupleView.ColumnarRowFactory;
+import org.apache.storm.tuple.Fields;
+
+/**
+ * Hands the output segments of a processor to its receivers, as a whole to the ones that take segments and row by row to the others.
+ */
+public class SegmentEmitter {
+    TridentContext triContext;
+    List<ColumnarReceiver> columnarReceivers = new ArrayList<>();
+    List<TupleReceiver> rowReceivers = new ArrayList<>();
+    ColumnarRowFactory rowFactory;
+
+    public SegmentEmitter(TridentContext triContext, Factory outputFactory) {
+        this.triContext = triContext;
+        for (TupleReceiver r : triContext.getReceivers()) {
+            if (r instanceof ColumnarReceiver) {
+                columnarReceivers.add((ColumnarReceiver) r);
+            } else {
+                rowReceivers.add(r);
+            }
+        }
+        if (!rowReceivers.isEmpty()) {
+            rowFactory = new ColumnarRowFactory(outputFactory, new Fields(outputFactory.getOutputFields()));
+        }
+    }
+
+    public void emit(ProcessorContext processorContext, ColumnarBatch segment) {
+        if (segment.size() == 0) {
+            return;
+        }
+        String streamId = triContext.getOutStreamId();
+        for (ColumnarReceiver r : columnarReceivers) {
+            r.executeColumnar(processorContext, streamId, segment);
+        }
+        if (!rowReceivers.isEmpty()) {
+            for (int row = 0; row < segment.size(); row++) {
+                TridentTuple toEmit = rowFactory.create(segment, row);
+                for (TupleReceiver r : rowReceivers) {
+                    r.execute(processorContext, streamId, toEmit);
+                }
+            }
+        }
+    }
+}
@@ -165,7 +165,11 @@ public class RichSpoutBatchExecutor implements ITridentSpout<Object> {
                 spout.open(conf, context, new SpoutOutputCollector(this.collector));
                 prepared = true;
             }
-            for (int i = 0; i < maxBatchSize; i++) {
+            int batchSize = maxBatchSize;
+            if (tx.getBatchSizeHint() != TransactionAttempt.NO_BATCH_SIZE_HINT) {
+                batchSize = Math.min(batchSize, tx.getBatchSizeHint());
+            }
+            for (int i = 0; i < batchSize; i++) {
                 spout.nextTuple();
                 if (this.collector.numEmitted < i) {
                     break;
@@ -31,15 +31,29 @@ public class CachedBatchReadsMap<T> {
     }
 
     public List<RetVal<T>> multiGet(List<List<Object>> keys) {
-        // TODO: can optimize further by only querying backing map for keys not in the cache
-        List<T> vals = delegate.multiGet(keys);
-        List<RetVal<T>> ret = new ArrayList(vals.size());
+        List<RetVal<T>> ret = new ArrayList<>(keys.size());
+        List<List<Object>> toGet = null;
+        int[] toGetIndexes = null;
         for (int i = 0; i < keys.size(); i++) {
             List<Object> key = keys.get(i);
-            if (cached.containsKey(key)) {
-                ret.add(new RetVal(cached.get(key), true));
+            T val = cached.get(key);
+            if (val != null || cached.containsKey(key)) {
+                ret.add(new RetVal<>(val, true));
             } else {
-                ret.add(new RetVal(vals.get(i), false));
+                if (toGet == null) {
+                    toGet = new ArrayList<>();
+                    toGetIndexes = new int[keys.size()];
+                }
+                toGetIndexes[toGet.size()] = i;
+                toGet.add(key);
+                ret.add(null);
+            }
+        }
+        // only query the backing map for the keys not written in this batch
+        if (toGet != null) {
+            List<T> vals = delegate.multiGet(toGet);
+            for (int i = 0; i < toGet.size(); i++) {
+                ret.set(toGetIndexes[i], new RetVal<>(vals.get(i), false));
             }
         }
         return ret;
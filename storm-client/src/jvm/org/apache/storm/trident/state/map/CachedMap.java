@@ -13,46 +13,83 @@
 package org.apache.storm.trident.state.map;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import org.apache.storm.trident.util.LRUMap;
+import org.apache.storm.task.IMetricsContext;
+import org.apache.storm.trident.util.TinyLfuCache;
 
 /**
  * Useful to layer over a map that communicates with a database. you generally layer opaque map over this over your database store.
+ *
+ * <p>The cache uses the W-TinyLFU policy (see {@link TinyLfuCache}), so keys that are read once do not flush out the frequently used ones.
+ * Keys that are not found in the backing map are cached as well.
  */
 public class CachedMap<T> implements IBackingMap<T> {
-    LRUMap<List<Object>, T> cache;
+    private static final Object ABSENT = new Object();
+    TinyLfuCache<List<Object>, T> cache;
     IBackingMap<T> delegate;
 
     public CachedMap(IBackingMap<T> delegate, int cacheSize) {
-        cache = new LRUMap<List<Object>, T>(cacheSize);
+        this(delegate, new TinyLfuCache<>(cacheSize));
+    }
+
+    /**
+     * Creates a cached map that bounds the cache by the total weight of the cached values, for example their size in bytes.
+     *
+     * @param delegate      the backing map
+     * @param maximumWeight the maximum total weight of the cached entries
+     * @param weigher       computes the weight of an entry
+     */
+    public CachedMap(IBackingMap<T> delegate, long maximumWeight, TinyLfuCache.Weigher<? super List<Object>, ? super T> weigher) {
+        this(delegate, new TinyLfuCache<>(maximumWeight, weigher));
+    }
+
+    private CachedMap(IBackingMap<T> delegate, TinyLfuCache<List<Object>, T> cache) {
+        this.cache = cache;
         this.delegate = delegate;
     }
 
+    /**
+     * Registers gauges for the cache hits, misses, evictions and size under the given name.
+     *
+     * @param metrics the metrics context passed to {@link org.apache.storm.trident.state.StateFactory#makeState}
+     * @param name    the prefix of the metric names
+     */
+    public void registerMetrics(IMetricsContext metrics, String name) {
+        metrics.registerGauge(name + ".hits", cache::hitCount);
+        metrics.registerGauge(name + ".misses", cache::missCount);
+        metrics.registerGauge(name + ".evictions", cache::evictionCount);
+        metrics.registerGauge(name + ".size", cache::size);
+    }
+
     @Override
+    @SuppressWarnings("unchecked")
     public List<T> multiGet(List<List<Object>> keys) {
-        Map<List<Object>, T> results = new HashMap<List<Object>, T>();
-        List<List<Object>> toGet = new ArrayList<List<Object>>();
-        for (List<Object> key : keys) {
-            if (cache.containsKey(key)) {
-                results.put(key, cache.get(key));
-            } else {
+        List<T> ret = new ArrayList<T>(keys.size());
+        List<List<Object>> toGet = null;
+        int[] toGetIndexes = null;
+        for (int i = 0; i < keys.size(); i++) {
+            List<Object> key = keys.get(i);
+            T val = cache.getOrDefault(key, (T) ABSENT);
+            if (val == ABSENT) {
+                if (toGet == null) {
+                    toGet = new ArrayList<List<Object>>();
+                    toGetIndexes = new int[keys.size()];
+                }
+                toGetIndexes[toGet.size()] = i;
                 toGet.add(key);
+                ret.add(null);
+            } else {
+                ret.add(val);
             }
         }
 
-        List<T> fetchedVals = delegate.multiGet(toGet);
-        for (int i = 0; i < toGet.size(); i++) {
-            List<Object> key = toGet.get(i);
-            T val = fetchedVals.get(i);
-            cache.put(key, val);
-            results.put(key, val);
-        }
-
-        List<T> ret = new ArrayList<T>(keys.size());
-        for (List<Object> key : keys) {
-            ret.add(results.get(key));
+        if (toGet != null) {
+            List<T> fetchedVals = delegate.multiGet(toGet);
+            for (int i = 0; i < toGet.size(); i++) {
+                T val = fetchedVals.get(i);
+                cache.put(toGet.get(i), val);
+                ret.set(toGetIndexes[i], val);
+            }
         }
         return ret;
     }
@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.topology;
+
+/**
+ * Steers the size of Trident batches and the interval between them towards a target batch latency. The latency of a batch is the time
+ * between the master coordinator emitting it and the batch being fully processed, which grows with the number of tuples in the batch.
+ *
+ * <p>The controller is additive-increase/multiplicative-decrease on a smoothed latency. When batches complete faster than the target the
+ * emit interval is first brought back to its configured value and then the batch size hint is grown by a fixed step. When batches are
+ * slower than the target the batch size hint is halved, and once it is at its minimum the emit interval is doubled so fewer batches compete
+ * for the topology. The batch size is only a hint: it is handed to the emitters through {@link TransactionAttempt#getBatchSizeHint()} and
+ * emitters that can not bound their batches simply ignore it.
+ *
+ * <p>Not thread safe, it is only used from the master coordinator spout.
+ */
+public class BatchSizeController {
+    static final int INCREASE_STEPS = 16;
+    static final int MAX_INTERVAL_FACTOR = 16;
+    private static final double SMOOTHING = 0.25;
+
+    private final long targetLatencyMillis;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final int increaseStep;
+    private final long minEmitIntervalMillis;
+    private final long maxEmitIntervalMillis;
+
+    private int batchSizeHint;
+    private long emitIntervalMillis;
+    private double smoothedLatencyMillis = -1;
+
+    public BatchSizeController(long targetLatencyMillis, int minBatchSize, int maxBatchSize, long emitIntervalMillis) {
+        if (targetLatencyMillis <= 0) {
+            throw new IllegalArgumentException("Target latency must be positive, got " + targetLatencyMillis);
+        }
+        if (minBatchSize <= 0 || maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException("Invalid batch size range [" + minBatchSize + ", " + maxBatchSize + "]");
+        }
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.increaseStep = Math.max(1, (maxBatchSize - minBatchSize) / INCREASE_STEPS);
+        this.minEmitIntervalMillis = Math.max(1, emitIntervalMillis);
+        this.maxEmitIntervalMillis = minEmitIntervalMillis * MAX_INTERVAL_FACTOR;
+        // Start from the configured behaviour: the emitters' own batch size and the configured emit interval.
+        this.batchSizeHint = maxBatchSize;
+        this.emitIntervalMillis = minEmitIntervalMillis;
+    }
+
+    /**
+     * Record the latency of a batch that finished processing and adjust the batch size hint and emit interval.
+     */
+    public void batchProcessed(long latencyMillis) {
+        if (smoothedLatencyMillis < 0) {
+            smoothedLatencyMillis = latencyMillis;
+        } else {
+            smoothedLatencyMillis += SMOOTHING * (latencyMillis - smoothedLatencyMillis);
+        }
+
+        if (smoothedLatencyMillis > targetLatencyMillis) {
+            if (batchSizeHint > minBatchSize) {
+                batchSizeHint = Math.max(minBatchSize, batchSizeHint / 2);
+            } else {
+                emitIntervalMillis = Math.min(maxEmitIntervalMillis, emitIntervalMillis * 2);
+            }
+        } else {
+            if (emitIntervalMillis > minEmitIntervalMillis) {
+                emitIntervalMillis = Math.max(minEmitIntervalMillis, emitIntervalMillis / 2);
+            } else {
+                batchSizeHint = Math.min(maxBatchSize, batchSizeHint + increaseStep);
+            }
+        }
+    }
+
+    public int getBatchSizeHint() {
+        return batchSizeHint;
+    }
+
+    public long getEmitIntervalMillis() {
+        return emitIntervalMillis;
+    }
+
+    public long getSmoothedLatencyMillis() {
+        return Math.max(0, Math.round(smoothedLatencyMillis));
+    }
+
+    @Override
+    public String toString() {
+        return "BatchSizeController{"
+                + "targetLatencyMillis=" + targetLatencyMillis
+                + ", batchSizeHint=" + batchSizeHint
+                + ", emitIntervalMillis=" + emitIntervalMillis
+                + ", smoothedLatencyMillis=" + getSmoothedLatencyMillis()
+                + "}";
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.storm.trident.spout.ITridentSpout;
 import org.apache.storm.trident.topology.state.TransactionalState;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.ObjectReader;
 import org.apache.storm.utils.WindowedTimeThrottler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,10 +48,12 @@ public class MasterBatchCoordinator extends BaseRichSpout {
     TreeMap<Long, Integer> attemptIds;
     Long currTransaction;
     int maxTransactionActive;
+    boolean pipelinedCommits;
     List<ITridentSpout.BatchCoordinator> coordinators = new ArrayList();
     List<String> managedSpoutIds;
     List<ITridentSpout> spouts;
     WindowedTimeThrottler throttler;
+    BatchSizeController batchSizeController;
     boolean active = true;
     private List<TransactionalState> states = new ArrayList();
     private SpoutOutputCollector collector;
@@ -93,7 +96,18 @@ public class MasterBatchCoordinator extends BaseRichSpout {
         } else {
             maxTransactionActive = active.intValue();
         }
-        attemptIds = getStoredCurrAttempts(currTransaction, maxTransactionActive);
+        pipelinedCommits = ObjectReader.getBoolean(conf.get(Config.TOPOLOGY_TRIDENT_PIPELINED_COMMITS), false);
+        int targetLatency = ObjectReader.getInt(conf.get(Config.TOPOLOGY_TRIDENT_BATCH_TARGET_LATENCY_MILLIS), 0);
+        if (targetLatency > 0) {
+            batchSizeController = new BatchSizeController(targetLatency,
+                                                          ObjectReader.getInt(conf.get(Config.TOPOLOGY_TRIDENT_BATCH_SIZE_HINT_MIN), 100),
+                                                          ObjectReader.getInt(conf.get(Config.TOPOLOGY_TRIDENT_BATCH_SIZE_HINT_MAX), 10000),
+                                                          throttler.getWindowMillis());
+            context.registerGauge("trident.batchSizeHint", () -> batchSizeController.getBatchSizeHint());
+            context.registerGauge("trident.batchEmitIntervalMs", () -> batchSizeController.getEmitIntervalMillis());
+            context.registerGauge("trident.batchLatencyMs", () -> batchSizeController.getSmoothedLatencyMillis());
+        }
+        attemptIds = getStoredCurrAttempts(currTransaction, pipelinedCommits ? maxTransactionActive + 1 : maxTransactionActive);
 
 
         for (int i = 0; i < spouts.size(); i++) {
@@ -125,6 +139,11 @@ public class MasterBatchCoordinator extends BaseRichSpout {
             if (status.status == AttemptStatus.PROCESSING) {
                 status.status = AttemptStatus.PROCESSED;
                 LOG.debug("Changed status. [tx_attempt = {}] [tx_status = {}]", tx, status);
+                if (batchSizeController != null) {
+                    batchSizeController.batchProcessed(System.currentTimeMillis() - status.emitTimeMillis);
+                    throttler.setWindowMillis(batchSizeController.getEmitIntervalMillis());
+                    LOG.debug("Adapted batching. [{}]", batchSizeController);
+                }
             } else if (status.status == AttemptStatus.COMMITTING) {
                 activeTx.remove(tx.getTransactionId());
                 attemptIds.remove(tx.getTransactionId());
@@ -172,9 +191,10 @@ public class MasterBatchCoordinator extends BaseRichSpout {
         }
 
         if (active) {
-            if (activeTx.size() < maxTransactionActive) {
+            int maxActive = maxActiveTransactions();
+            if (activeTx.size() < maxActive) {
                 Long curr = currTransaction;
-                for (int i = 0; i < maxTransactionActive; i++) {
+                for (int i = 0; i < maxActive; i++) {
                     if (!activeTx.containsKey(curr) && isReady(curr)) {
                         // by using a monotonically increasing attempt id, downstream tasks
                         // can be memory efficient by clearing out state for old attempts
@@ -190,7 +210,9 @@ public class MasterBatchCoordinator extends BaseRichSpout {
                             state.setData(CURRENT_ATTEMPTS, attemptIds);
                         }
 
-                        TransactionAttempt attempt = new TransactionAttempt(curr, attemptId);
+                        TransactionAttempt attempt = batchSizeController == null
+                            ? new TransactionAttempt(curr, attemptId)
+                            : new TransactionAttempt(curr, attemptId, batchSizeController.getBatchSizeHint());
                         final TransactionStatus newTransactionStatus = new TransactionStatus(attempt);
                         activeTx.put(curr, newTransactionStatus);
                         collector.emit(BATCH_STREAM_ID, new Values(attempt), attempt);
@@ -204,6 +226,21 @@ public class MasterBatchCoordinator extends BaseRichSpout {
         }
     }
 
+    /**
+     * With pipelined commits the transaction that is being committed does not count against max spout pending, so the next batches are
+     * processed while its commit is in flight. Only the current transaction can be committing, and the later ones can not commit before
+     * it succeeds, so commits still happen in order.
+     */
+    private int maxActiveTransactions() {
+        if (pipelinedCommits) {
+            TransactionStatus curr = activeTx.get(currTransaction);
+            if (curr != null && curr.status == AttemptStatus.COMMITTING) {
+                return maxTransactionActive + 1;
+            }
+        }
+        return maxTransactionActive;
+    }
+
     private boolean isReady(long txid) {
         if (throttler.isThrottled()) {
             return false;
@@ -278,10 +315,12 @@ public class MasterBatchCoordinator extends BaseRichSpout {
                 + ", collector=" + collector
                 + ", currTransaction=" + currTransaction
                 + ", maxTransactionActive=" + maxTransactionActive
+                + ", pipelinedCommits=" + pipelinedCommits
                 + ", coordinators=" + coordinators
                 + ", managedSpoutIds=" + managedSpoutIds
                 + ", spouts=" + spouts
                 + ", throttler=" + throttler
+                + ", batchSizeController=" + batchSizeController
                 + ", active=" + active
                 + "}";
     }
@@ -295,10 +334,12 @@ public class MasterBatchCoordinator extends BaseRichSpout {
     private static class TransactionStatus {
         TransactionAttempt attempt;
         AttemptStatus status;
+        long emitTimeMillis;
 
         TransactionStatus(TransactionAttempt attempt) {
             this.attempt = attempt;
             this.status = AttemptStatus.PROCESSING;
+            this.emitTimeMillis = System.currentTimeMillis();
         }
 
         @Override
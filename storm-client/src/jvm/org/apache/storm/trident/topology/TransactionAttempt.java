@@ -16,8 +16,11 @@ import org.apache.storm.trident.spout.IBatchID;
 
 
 public class TransactionAttempt implements IBatchID {
+    public static final int NO_BATCH_SIZE_HINT = 0;
+
     Long txid;
     int attemptId;
+    int batchSizeHint = NO_BATCH_SIZE_HINT;
 
 
     // for kryo compatibility
@@ -30,6 +33,11 @@ public class TransactionAttempt implements IBatchID {
         this.attemptId = attemptId;
     }
 
+    public TransactionAttempt(Long txid, int attemptId, int batchSizeHint) {
+        this(txid, attemptId);
+        this.batchSizeHint = batchSizeHint;
+    }
+
     public Long getTransactionId() {
         return txid;
     }
@@ -44,6 +52,17 @@ public class TransactionAttempt implements IBatchID {
         return attemptId;
     }
 
+    /**
+     * The number of tuples the master coordinator would like this batch to hold, see {@link
+     * org.apache.storm.Config#TOPOLOGY_TRIDENT_BATCH_TARGET_LATENCY_MILLIS}. Emitters that can bound the size of their batches should emit
+     * at most this many tuples. The hint is not part of the identity of the attempt.
+     *
+     * @return the batch size hint, or {@link #NO_BATCH_SIZE_HINT} if the batch size is not being adapted
+     */
+    public int getBatchSizeHint() {
+        return batchSizeHint;
+    }
+
     @Override
     public int hashCode() {
         return txid.hashCode();
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.tuple;
+
+import java.util.List;
+import org.apache.storm.tuple.Fields;
+
+/**
+ * A segment of a Trident batch held column by column, one array of values per field. Processors that take segments (see {@link
+ * org.apache.storm.trident.planner.ColumnarReceiver}) work on whole columns: a projection only picks column arrays and an each keeps the
+ * columns of its input when every input tuple produced exactly one output. User operations still see one tuple at a time through {@link
+ * #row(int)}.
+ *
+ * <p>A segment is only appended to while it is being built. Once it has been handed to a receiver it must not be modified, since
+ * projections, derived segments and row views share its column arrays.
+ */
+public class ColumnarBatch {
+    private static final Fields NO_FIELDS = new Fields();
+
+    private final Fields fields;
+    private final Object[][] columns;
+    private final int capacity;
+    private int size;
+
+    public ColumnarBatch(Fields fields, int capacity) {
+        this(fields, new Object[fields.size()][capacity], capacity, 0);
+    }
+
+    private ColumnarBatch(Fields fields, Object[][] columns, int capacity, int size) {
+        this.fields = fields;
+        this.columns = columns;
+        this.capacity = capacity;
+        this.size = size;
+    }
+
+    public Fields getFields() {
+        return fields;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    public Object get(int column, int row) {
+        return columns[column][row];
+    }
+
+    /**
+     * Append a row taking the values of the fields, in order, from {@code values} starting at {@code offset}.
+     */
+    public void add(List<Object> values, int offset) {
+        if (isFull()) {
+            throw new IllegalStateException("Segment is full, capacity " + capacity);
+        }
+        for (int c = 0; c < columns.length; c++) {
+            columns[c][size] = values.get(offset + c);
+        }
+        size++;
+    }
+
+    /**
+     * Select some of the fields of this segment. The returned segment shares the column arrays with this one.
+     */
+    public ColumnarBatch project(Fields projection) {
+        if (projection == null) {
+            projection = NO_FIELDS;
+        }
+        Object[][] projected = new Object[projection.size()][];
+        for (int i = 0; i < projected.length; i++) {
+            projected[i] = columns[fields.fieldIndex(projection.get(i))];
+        }
+        return new ColumnarBatch(projection, projected, size, size);
+    }
+
+    /**
+     * Build the segment that has, for each {@code i < count}, the values of row {@code parentRows[i]} of this segment followed by the
+     * values of row {@code i} of {@code selfColumns}. When the rows are exactly the rows of this segment in order the column arrays are
+     * shared instead of copied.
+     *
+     * @param outputFields the fields of this segment followed by the fields of {@code selfColumns}
+     */
+    public ColumnarBatch appendColumns(int[] parentRows, int count, Fields outputFields, Object[][] selfColumns) {
+        Object[][] out = new Object[columns.length + selfColumns.length][];
+        boolean sameRows = count == size;
+        for (int i = 0; sameRows && i < count; i++) {
+            sameRows = parentRows[i] == i;
+        }
+        for (int c = 0; c < columns.length; c++) {
+            if (sameRows) {
+                out[c] = columns[c];
+            } else {
+                Object[] parentColumn = columns[c];
+                Object[] gathered = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    gathered[i] = parentColumn[parentRows[i]];
+                }
+                out[c] = gathered;
+            }
+        }
+        System.arraycopy(selfColumns, 0, out, columns.length, selfColumns.length);
+        return new ColumnarBatch(outputFields, out, count, count);
+    }
+
+    /**
+     * A tuple view of one row of this segment.
+     */
+    public TridentTuple row(int row) {
+        return new ColumnarTupleView(this, row);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarBatch{fields=" + fields + ", size=" + size + "}";
+    }
+}
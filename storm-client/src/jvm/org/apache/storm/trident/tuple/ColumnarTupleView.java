@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.tuple;
+
+import java.util.AbstractList;
+import java.util.List;
+import org.apache.storm.tuple.Fields;
+
+/**
+ * A row of a {@link ColumnarBatch}. Like {@link TridentTupleView} it extends AbstractList so that it can be emitted directly as a Storm
+ * tuple.
+ */
+public class ColumnarTupleView extends AbstractList<Object> implements TridentTuple {
+    private final ColumnarBatch batch;
+    private final int row;
+
+    ColumnarTupleView(ColumnarBatch batch, int row) {
+        this.batch = batch;
+        this.row = row;
+    }
+
+    @Override
+    public List<Object> getValues() {
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return batch.getFields().size();
+    }
+
+    @Override
+    public boolean contains(String field) {
+        return batch.getFields().contains(field);
+    }
+
+    @Override
+    public Fields getFields() {
+        return batch.getFields();
+    }
+
+    @Override
+    public int fieldIndex(String field) {
+        return batch.getFields().fieldIndex(field);
+    }
+
+    @Override
+    public List<Object> select(Fields selector) {
+        return batch.getFields().select(selector, this);
+    }
+
+    @Override
+    public Object get(int i) {
+        return getValue(i);
+    }
+
+    @Override
+    public Object getValue(int i) {
+        return batch.get(i, row);
+    }
+
+    @Override
+    public String getString(int i) {
+        return (String) getValue(i);
+    }
+
+    @Override
+    public Integer getInteger(int i) {
+        return (Integer) getValue(i);
+    }
+
+    @Override
+    public Long getLong(int i) {
+        return (Long) getValue(i);
+    }
+
+    @Override
+    public Boolean getBoolean(int i) {
+        return (Boolean) getValue(i);
+    }
+
+    @Override
+    public Short getShort(int i) {
+        return (Short) getValue(i);
+    }
+
+    @Override
+    public Byte getByte(int i) {
+        return (Byte) getValue(i);
+    }
+
+    @Override
+    public Double getDouble(int i) {
+        return (Double) getValue(i);
+    }
+
+    @Override
+    public Float getFloat(int i) {
+        return (Float) getValue(i);
+    }
+
+    @Override
+    public byte[] getBinary(int i) {
+        return (byte[]) getValue(i);
+    }
+
+    @Override
+    public Object getValueByField(String field) {
+        return batch.get(batch.getFields().fieldIndex(field), row);
+    }
+
+    @Override
+    public String getStringByField(String field) {
+        return (String) getValueByField(field);
+    }
+
+    @Override
+    public Integer getIntegerByField(String field) {
+        return (Integer) getValueByField(field);
+    }
+
+    @Override
+    public Long getLongByField(String field) {
+        return (Long) getValueByField(field);
+    }
+
+    @Override
+    public Boolean getBooleanByField(String field) {
+        return (Boolean) getValueByField(field);
+    }
+
+    @Override
+    public Short getShortByField(String field) {
+        return (Short) getValueByField(field);
+    }
+
+    @Override
+    public Byte getByteByField(String field) {
+        return (Byte) getValueByField(field);
+    }
+
+    @Override
+    public Double getDoubleByField(String field) {
+        return (Double) getValueByField(field);
+    }
+
+    @Override
+    public Float getFloatByField(String field) {
+        return (Float) getValueByField(field);
+    }
+
+    @Override
+    public byte[] getBinaryByField(String field) {
+        return (byte[]) getValueByField(field);
+    }
+}
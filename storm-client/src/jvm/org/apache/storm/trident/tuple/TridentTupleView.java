@@ -321,6 +321,47 @@ public class TridentTupleView extends AbstractList<Object> implements TridentTup
         }
     }
 
+    /**
+     * Turns the rows of a {@link ColumnarBatch} into tuples laid out like the ones created by another factory, for receivers that only take
+     * a tuple at a time.
+     */
+    public static class ColumnarRowFactory {
+        ValuePointer[] index;
+        Map<String, ValuePointer> fieldIndex;
+        ValuePointer[] pointers;
+        int[] columns;
+        int[] delegateSizes;
+
+        public ColumnarRowFactory(Factory target, Fields segmentFields) {
+            fieldIndex = target.getFieldIndex();
+            index = ValuePointer.buildIndex(new Fields(target.getOutputFields()), fieldIndex);
+            pointers = fieldIndex.values().toArray(new ValuePointer[0]);
+            columns = new int[pointers.length];
+            delegateSizes = new int[target.numDelegates()];
+            for (int i = 0; i < pointers.length; i++) {
+                ValuePointer ptr = pointers[i];
+                columns[i] = segmentFields.fieldIndex(ptr.field);
+                delegateSizes[ptr.delegateIndex] = Math.max(delegateSizes[ptr.delegateIndex], ptr.index + 1);
+            }
+        }
+
+        public TridentTuple create(ColumnarBatch batch, int row) {
+            Object[][] values = new Object[delegateSizes.length][];
+            for (int d = 0; d < values.length; d++) {
+                values[d] = new Object[delegateSizes[d]];
+            }
+            for (int i = 0; i < pointers.length; i++) {
+                ValuePointer ptr = pointers[i];
+                values[ptr.delegateIndex][ptr.index] = batch.get(columns[i], row);
+            }
+            List<List<Object>> delegates = new ArrayList<>(values.length);
+            for (Object[] v : values) {
+                delegates.add(Arrays.asList(v));
+            }
+            return new TridentTupleView(delegates, index, fieldIndex);
+        }
+    }
+
     public static class RootFactory implements Factory {
         ValuePointer[] index;
         Map<String, ValuePointer> fieldIndex;
@@ -0,0 +1,504 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread safe cache using the W-TinyLFU policy.
+ *
+ * <p>New entries go to a small LRU admission window. Entries falling out of the window compete with the least recently used entry of the
+ * main region, and only the one that was accessed more often according to a count-min frequency sketch is kept. The main region is a
+ * segmented LRU, so entries accessed again after admission are protected from entries that were only seen once. This keeps the hit rate
+ * high for skewed workloads where a plain LRU is flushed by one-off keys.
+ *
+ * <p>The cache is split into shards by key hash, each guarded by its own monitor. Entries are tracked with intrusive linked nodes, so a hit
+ * does not allocate. The capacity is expressed as a total weight, which by default is the number of entries.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values, null values are allowed and cached
+ */
+public class TinyLfuCache<K, V> {
+    private static final int MAX_SHARDS = 16;
+    private static final long MIN_SHARD_WEIGHT = 1024;
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final Weigher<? super K, ? super V> weigher;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding up to maximumSize entries.
+     *
+     * @param maximumSize the maximum number of entries
+     */
+    public TinyLfuCache(long maximumSize) {
+        this(maximumSize, (key, value) -> 1);
+    }
+
+    /**
+     * Creates a cache bounded by the total weight of its entries.
+     *
+     * @param maximumWeight the maximum total weight of the entries
+     * @param weigher       computes the weight of an entry, it must be non-negative and not change while the entry is cached
+     */
+    @SuppressWarnings("unchecked")
+    public TinyLfuCache(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive, got " + maximumWeight);
+        }
+        this.weigher = weigher;
+        int numShards = 1;
+        while (numShards < MAX_SHARDS && maximumWeight / (numShards * 2) >= MIN_SHARD_WEIGHT) {
+            numShards *= 2;
+        }
+        shards = (Shard[]) new TinyLfuCache.Shard[numShards];
+        for (int i = 0; i < numShards; i++) {
+            long shardWeight = maximumWeight / numShards + (i < maximumWeight % numShards ? 1 : 0);
+            shards[i] = new Shard(shardWeight);
+        }
+        shardMask = numShards - 1;
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private Shard shardFor(int hash) {
+        // use the high bits of a multiplicative hash, the low bits are used by the frequency sketch
+        return shards[((hash * 0x9E3779B9) >>> 28) & shardMask];
+    }
+
+    /**
+     * Returns the value cached for the key, or defaultValue if the key is not cached. Passing a sentinel as defaultValue distinguishes a
+     * cached null value from an absent key.
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        int hash = spread(key);
+        return shardFor(hash).get(key, hash, defaultValue);
+    }
+
+    /**
+     * Returns the value cached for the key, or null if the key is not cached.
+     */
+    public V get(K key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Caches the value for the key, replacing any previously cached value. An entry heavier than the capacity of its shard is not cached.
+     */
+    public void put(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight " + weight + " for key " + key);
+        }
+        int hash = spread(key);
+        shardFor(hash).put(key, hash, value, weight);
+    }
+
+    /**
+     * Removes the key from the cache.
+     */
+    public void remove(K key) {
+        int hash = spread(key);
+        shardFor(hash).remove(key);
+    }
+
+    /**
+     * Removes all the entries from the cache. The statistics are not reset.
+     */
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    /**
+     * Returns the number of cached entries.
+     */
+    public long size() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the total weight of the cached entries.
+     */
+    public long weightedSize() {
+        long weight = 0;
+        for (Shard shard : shards) {
+            weight += shard.weightedSize();
+        }
+        return weight;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Computes the weight of a cache entry.
+     */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final int hash;
+        V value;
+        int weight;
+        byte queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, int hash, V value, int weight) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes in access order, least recently used first.
+     */
+    private static final class AccessOrderDeque<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        Node<K, V> peekFirst() {
+            return head;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+
+    /**
+     * A count-min sketch with 4-bit counters that estimates how often a key was accessed. The counters are halved periodically so that
+     * the estimate favours recent popularity.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(long expectedSize) {
+            int capacity = (int) Math.min(Math.max(expectedSize, 1), 1 << 24);
+            int tableSize = Integer.highestOneBit(capacity);
+            if (tableSize < capacity) {
+                tableSize <<= 1;
+            }
+            table = new long[tableSize];
+            tableMask = tableSize - 1;
+            sampleSize = 10 * capacity;
+        }
+
+        int frequency(int hash) {
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++size == sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            int odd = 0;
+            for (int i = 0; i < table.length; i++) {
+                odd += Long.bitCount(table[i] & ONE_MASK);
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size = (size >>> 1) - (odd >>> 2);
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & tableMask;
+        }
+    }
+
+    private final class Shard {
+        private final Map<K, Node<K, V>> data = new HashMap<>();
+        private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+        private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+        private final AccessOrderDeque<K, V> protectedDeque = new AccessOrderDeque<>();
+        private final FrequencySketch sketch;
+        private final long maximum;
+        private final long windowMaximum;
+        private final long mainMaximum;
+        private final long protectedMaximum;
+        private long windowWeight;
+        private long probationWeight;
+        private long protectedWeight;
+
+        Shard(long maximum) {
+            this.maximum = maximum;
+            windowMaximum = Math.max(1, maximum / 100);
+            mainMaximum = Math.max(0, maximum - windowMaximum);
+            protectedMaximum = mainMaximum * 4 / 5;
+            sketch = new FrequencySketch(maximum);
+        }
+
+        synchronized V get(K key, int hash, V defaultValue) {
+            sketch.increment(hash);
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                misses.increment();
+                return defaultValue;
+            }
+            hits.increment();
+            onAccess(node);
+            return node.value;
+        }
+
+        synchronized void put(K key, int hash, V value, int weight) {
+            Node<K, V> node = data.get(key);
+            if (weight > maximum) {
+                // too heavy to cache, make sure a stale value is not served
+                if (node != null) {
+                    unlink(node);
+                    data.remove(key);
+                }
+                return;
+            }
+            sketch.increment(hash);
+            if (node == null) {
+                node = new Node<>(key, hash, value, weight);
+                data.put(key, node);
+                node.queue = WINDOW;
+                window.addLast(node);
+                windowWeight += weight;
+            } else {
+                unlink(node);
+                node.value = value;
+                node.weight = weight;
+                relink(node);
+                onAccess(node);
+            }
+            evictEntries();
+        }
+
+        synchronized void remove(K key) {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        }
+
+        synchronized void clear() {
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedDeque.clear();
+            windowWeight = 0;
+            probationWeight = 0;
+            protectedWeight = 0;
+        }
+
+        synchronized int size() {
+            return data.size();
+        }
+
+        synchronized long weightedSize() {
+            return windowWeight + probationWeight + protectedWeight;
+        }
+
+        private void onAccess(Node<K, V> node) {
+            switch (node.queue) {
+                case WINDOW:
+                    window.moveToBack(node);
+                    break;
+                case PROBATION:
+                    unlink(node);
+                    node.queue = PROTECTED;
+                    relink(node);
+                    demoteFromProtected();
+                    break;
+                default:
+                    protectedDeque.moveToBack(node);
+                    break;
+            }
+        }
+
+        private void demoteFromProtected() {
+            while (protectedWeight > protectedMaximum) {
+                Node<K, V> demoted = protectedDeque.peekFirst();
+                unlink(demoted);
+                demoted.queue = PROBATION;
+                relink(demoted);
+            }
+        }
+
+        private void evictEntries() {
+            while (windowWeight > windowMaximum) {
+                Node<K, V> candidate = window.peekFirst();
+                unlink(candidate);
+                admit(candidate);
+            }
+            // an update of a cached value may have made the main region heavier
+            while (probationWeight + protectedWeight > mainMaximum) {
+                Node<K, V> victim = probation.peekFirst() != null ? probation.peekFirst() : protectedDeque.peekFirst();
+                unlink(victim);
+                evict(victim);
+            }
+        }
+
+        /**
+         * Moves a candidate evicted from the window into the main region if it is accessed more often than the entries it would replace.
+         */
+        private void admit(Node<K, V> candidate) {
+            if (candidate.weight > mainMaximum) {
+                evict(candidate);
+                return;
+            }
+            while (probationWeight + protectedWeight + candidate.weight > mainMaximum) {
+                Node<K, V> victim = probation.peekFirst() != null ? probation.peekFirst() : protectedDeque.peekFirst();
+                if (sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+                    evict(candidate);
+                    return;
+                }
+                unlink(victim);
+                evict(victim);
+            }
+            candidate.queue = PROBATION;
+            relink(candidate);
+        }
+
+        private void evict(Node<K, V> node) {
+            data.remove(node.key);
+            evictions.increment();
+        }
+
+        private void unlink(Node<K, V> node) {
+            switch (node.queue) {
+                case WINDOW:
+                    window.remove(node);
+                    windowWeight -= node.weight;
+                    break;
+                case PROBATION:
+                    probation.remove(node);
+                    probationWeight -= node.weight;
+                    break;
+                default:
+                    protectedDeque.remove(node);
+                    protectedWeight -= node.weight;
+                    break;
+            }
+        }
+
+        private void relink(Node<K, V> node) {
+            switch (node.queue) {
+                case WINDOW:
+                    window.addLast(node);
+                    windowWeight += node.weight;
+                    break;
+                case PROBATION:
+                    probation.addLast(node);
+                    probationWeight += node.weight;
+                    break;
+                default:
+                    protectedDeque.addLast(node);
+                    protectedWeight += node.weight;
+                    break;
+            }
+        }
+    }
+}
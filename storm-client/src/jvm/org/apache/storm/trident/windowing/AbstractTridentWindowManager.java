@@ -133,6 +133,11 @@ public abstract class AbstractTridentWindowManager<T> implements ITridentWindowM
      */
     protected abstract List<TridentTuple> getTridentTuples(List<T> tupleEvents);
 
+    @Override
+    public void fireDueTriggers() {
+        windowManager.onTick();
+    }
+
     @Override
     public Queue<TriggerResult> getPendingTriggers() {
         return pendingTriggers;
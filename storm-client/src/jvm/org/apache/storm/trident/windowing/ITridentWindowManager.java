@@ -39,6 +39,13 @@ public interface ITridentWindowManager {
      */
     void addTuplesBatch(Object batchId, List<TridentTuple> tuples);
 
+    /**
+     * Fire the time based triggers that became due, adding their results to the pending triggers. Time based triggers are fired from the
+     * executor thread, this is invoked from {@code WindowTridentProcessor} before it collects the pending triggers at the end of a batch.
+     */
+    default void fireDueTriggers() {
+    }
+
     /**
      * Returns pending triggers to be emitted.
      */
@@ -197,6 +197,7 @@ public class WindowTridentProcessor implements TridentProcessor {
         // if there are no trigger values in earlier attempts or this is a new batch, emit pending triggers.
         if (triggerValues == null) {
             pendingTriggerIds = new ArrayList<>();
+            tridentWindowManager.fireDueTriggers();
             Queue<StoreBasedTridentWindowManager.TriggerResult> pendingTriggers = tridentWindowManager.getPendingTriggers();
             LOG.debug("pending triggers at batch: [{}] and triggers.size: [{}] ", batchId, pendingTriggers.size());
             try {
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.apache.storm.Config;
 import org.apache.storm.generated.LSApprovedWorkers;
 import org.apache.storm.generated.LSSupervisorAssignments;
 import org.apache.storm.generated.LSSupervisorId;
@@ -38,6 +39,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A simple, durable, atomic K/V database. *Very inefficient*, should only be used for occasional reads/writes. Every read/write hits disk.
+ *
+ * <p>By default every change writes a snapshot of the whole state to a new file. It can instead append the change to a log, see
+ * {@link LocalStateLog}. The state is read from the log when there is one, so switching between the two keeps the state: the first change
+ * made with the other one writes the state it read in its own format, and removes the files of the other one.
  */
 public class LocalState {
     public static final Logger LOG = LoggerFactory.getLogger(LocalState.class);
@@ -47,10 +52,33 @@ public class LocalState {
     public static final String LS_APPROVED_WORKERS = "approved-workers";
     public static final String LS_TOPO_HISTORY = "topo-hist";
     private VersionedStore versionedStore;
+    private final String backingDir;
+    private final boolean useLog;
+    private LocalStateLog log;
 
     public LocalState(String backingDir, boolean createBackingDir) throws IOException {
+        this(backingDir, createBackingDir, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param backingDir the directory the state is kept in.
+     * @param createBackingDir true to create the directory if it does not exist.
+     * @param useLog true to append changes to a log, false to write a snapshot of the whole state for every change.
+     */
+    public LocalState(String backingDir, boolean createBackingDir, boolean useLog) throws IOException {
         LOG.debug("New Local State for {}", backingDir);
         versionedStore = new VersionedStore(backingDir, createBackingDir);
+        this.backingDir = backingDir;
+        this.useLog = useLog;
+    }
+
+    /**
+     * Get the local state the configuration says to use.
+     */
+    public static LocalState create(Map<String, Object> conf, String backingDir, boolean createBackingDir) throws IOException {
+        return new LocalState(backingDir, createBackingDir, ObjectReader.getBoolean(conf.get(Config.STORM_LOCAL_STATE_LOG_ENABLE), false));
     }
 
     public synchronized Map<String, TBase> snapshot() {
@@ -95,6 +123,10 @@ public class LocalState {
 
     private Map<String, ThriftSerializedObject> partialDeserializeLatestVersion(TDeserializer td) {
         try {
+            LocalStateLog stateLog = getLog();
+            if (stateLog != null && stateLog.exists()) {
+                return new HashMap<>(stateLog.read());
+            }
             String latestPath = versionedStore.mostRecentVersionPath();
             Map<String, ThriftSerializedObject> result = new HashMap<>();
             if (latestPath != null) {
@@ -150,9 +182,14 @@ public class LocalState {
     }
 
     public synchronized void put(String key, TBase val, boolean cleanup) {
-        Map<String, ThriftSerializedObject> curr = partialSnapshot(null);
         TSerializer ser = new TSerializer();
-        curr.put(key, serialize(val, ser));
+        ThriftSerializedObject serialized = serialize(val, ser);
+        if (useLog) {
+            appendToLog(key, serialized, cleanup);
+            return;
+        }
+        Map<String, ThriftSerializedObject> curr = partialSnapshot(null);
+        curr.put(key, serialized);
         persistInternal(curr, ser, cleanup);
     }
 
@@ -161,13 +198,24 @@ public class LocalState {
     }
 
     public synchronized void remove(String key, boolean cleanup) {
+        if (useLog) {
+            appendToLog(key, null, cleanup);
+            return;
+        }
         Map<String, ThriftSerializedObject> curr = partialSnapshot(null);
         curr.remove(key);
         persistInternal(curr, null, cleanup);
     }
 
     public synchronized void cleanup(int keepVersions) throws IOException {
-        versionedStore.cleanup(keepVersions);
+        if (useLog) {
+            LocalStateLog stateLog = getLog();
+            if (stateLog.exists()) {
+                stateLog.maybeCompact();
+            }
+        } else {
+            versionedStore.cleanup(keepVersions);
+        }
     }
 
     public List<LSTopoHistory> getTopoHistoryList() {
@@ -264,6 +312,11 @@ public class LocalState {
                                       + file.length() + " bytes were written.");
             }
             versionedStore.succeedVersion(newPath);
+            // The state was read from the log if there was one, the snapshot has it now
+            LocalStateLog stateLog = getLog();
+            if (stateLog != null) {
+                stateLog.delete();
+            }
             if (cleanup) {
                 versionedStore.cleanup(4);
             }
@@ -272,6 +325,35 @@ public class LocalState {
         }
     }
 
+    private void appendToLog(String key, ThriftSerializedObject serialized, boolean cleanup) {
+        try {
+            LocalStateLog stateLog = getLog();
+            if (!stateLog.exists()) {
+                // Start the log from the latest snapshot, which is not needed after that
+                stateLog.rewrite(partialSnapshot(null));
+                versionedStore.cleanup(0);
+            }
+            stateLog.append(key, serialized);
+            if (cleanup) {
+                stateLog.maybeCompact();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The log of the state, it is only created when changes are appended to it or there is one to read.
+     *
+     * @return the log, or null if there is none and changes are not appended to it.
+     */
+    private synchronized LocalStateLog getLog() {
+        if (log == null && (useLog || LocalStateLog.exists(backingDir))) {
+            log = new LocalStateLog(backingDir);
+        }
+        return log;
+    }
+
     private ThriftSerializedObject serialize(TBase o, TSerializer ser) {
         try {
             return new ThriftSerializedObject(o.getClass().getName(), ByteBuffer.wrap(ser.serialize(o)));
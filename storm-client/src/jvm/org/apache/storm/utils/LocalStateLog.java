@@ -0,0 +1,299 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.apache.storm.generated.ThriftSerializedObject;
+import org.apache.storm.shade.com.google.common.collect.Interner;
+import org.apache.storm.shade.com.google.common.collect.Interners;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The state of a {@link LocalState} kept as an append-only log of the changes made to it, so a change writes a single record instead of
+ * the whole state.
+ *
+ * <p>The log starts with a header holding its generation, followed by records that each have their length and a CRC32 checksum. A
+ * record that is cut short or does not match its checksum, like one that is still being written or was being written when the process
+ * died, ends the log. Readers keep the state they read, so reading again only reads the records appended since. The log is compacted
+ * by writing the current state to a new file with a new generation and moving it in place of the old one, which tells readers to read it
+ * from the start.
+ *
+ * <p>Only one process should write a given log, like the old snapshots any number of processes may read it.
+ */
+class LocalStateLog {
+    static final String FILE_NAME = "localstate.log";
+    private static final Logger LOG = LoggerFactory.getLogger(LocalStateLog.class);
+    private static final int MAGIC = 0x4c534c47;
+    // magic and generation
+    private static final int HEADER_SIZE = 12;
+    // length and checksum
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // The log is compacted once it is larger than this and more than twice the size of the records that are still current
+    private static final long MIN_COMPACTION_SIZE = 64 * 1024;
+    // Instances for the same log in this process write one at a time, holding the same path instance as the lock. It is only kept while
+    // there are instances for the log, like the ones for the state of workers that are gone.
+    private static final Interner<Path> WRITE_LOCKS = Interners.newWeakInterner();
+
+    private final Path path;
+    private final Object writeLock;
+    private final Map<String, ThriftSerializedObject> state = new HashMap<>();
+    private final Map<String, Integer> recordSizes = new HashMap<>();
+    private long liveSize = HEADER_SIZE;
+    private long generation = -1;
+    private long end = 0;
+
+    LocalStateLog(String dir) {
+        path = WRITE_LOCKS.intern(Paths.get(dir, FILE_NAME).toAbsolutePath().normalize());
+        writeLock = path;
+    }
+
+    static boolean exists(String dir) {
+        return Files.exists(Paths.get(dir, FILE_NAME));
+    }
+
+    boolean exists() {
+        return Files.exists(path);
+    }
+
+    /**
+     * Read the changes appended to the log since it was last read.
+     *
+     * @return the current state, it is changed by the next read or write.
+     */
+    synchronized Map<String, ThriftSerializedObject> read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                LOG.warn("LocalState log '{}' has no valid header, resetting state", path);
+                reset(-1);
+                end = channel.size();
+                return state;
+            }
+            long gen = header.getLong(4);
+            long size = channel.size();
+            if (gen != generation || size < end) {
+                reset(gen);
+            }
+            if (size > end) {
+                ByteBuffer buf = ByteBuffer.allocate((int) (size - end));
+                readFully(channel, buf, end);
+                //Through Buffer, ByteBuffer only overrides flip() and position(int) since java 9
+                ((Buffer) buf).flip();
+                readRecords(buf, end);
+                end += buf.position();
+            }
+        } catch (NoSuchFileException e) {
+            reset(-1);
+        }
+        return state;
+    }
+
+    /**
+     * Append a change to the log, which has to exist.
+     *
+     * @param key the key that changed.
+     * @param value the new value, or null if the key was removed.
+     */
+    void append(String key, ThriftSerializedObject value) throws IOException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                read();
+                if (generation < 0) {
+                    rewrite(new HashMap<>(state));
+                }
+                byte[] record = encode(key, value);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    if (channel.size() > end) {
+                        LOG.warn("Dropping {} bytes of incomplete records at the end of {}", channel.size() - end, path);
+                        channel.truncate(end);
+                    }
+                    ByteBuffer buf = ByteBuffer.wrap(record);
+                    long position = end;
+                    while (buf.hasRemaining()) {
+                        position += channel.write(buf, position);
+                    }
+                }
+                apply(key, value, record.length);
+                end += record.length;
+            }
+        }
+    }
+
+    /**
+     * Replace the log with one holding only the given state.
+     */
+    void rewrite(Map<String, ThriftSerializedObject> newState) throws IOException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                if (exists()) {
+                    read();
+                }
+                // Readers of the previous log must not take the new one for it
+                long newGeneration = Math.max(generation + 1, Time.currentTimeMillis());
+                Files.createDirectories(path.getParent());
+                Path tmp = Paths.get(path + ".tmp");
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(MAGIC);
+                out.writeLong(newGeneration);
+                reset(newGeneration);
+                for (Map.Entry<String, ThriftSerializedObject> entry : newState.entrySet()) {
+                    byte[] record = encode(entry.getKey(), entry.getValue());
+                    out.write(record);
+                    apply(entry.getKey(), entry.getValue(), record.length);
+                }
+                out.flush();
+                Files.write(tmp, bytes.toByteArray());
+                Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                end = bytes.size();
+            }
+        }
+    }
+
+    /**
+     * Compact the log if most of it is changes that were overwritten since.
+     */
+    void maybeCompact() throws IOException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                read();
+                if (end > MIN_COMPACTION_SIZE && end > 2 * liveSize) {
+                    LOG.debug("Compacting {} from {} to {} bytes", path, end, liveSize);
+                    rewrite(new HashMap<>(state));
+                }
+            }
+        }
+    }
+
+    void delete() throws IOException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                Files.deleteIfExists(path);
+                reset(-1);
+            }
+        }
+    }
+
+    private void reset(long newGeneration) {
+        state.clear();
+        recordSizes.clear();
+        liveSize = HEADER_SIZE;
+        generation = newGeneration;
+        end = HEADER_SIZE;
+    }
+
+    /**
+     * Read from the position of the channel until the buffer is full or the end of the file.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Read the complete records from the position of the buffer, and leave it at the end of the last one.
+     *
+     * @param offset the offset in the file of the start of the buffer.
+     */
+    private void readRecords(ByteBuffer buf, long offset) throws IOException {
+        CRC32 crc = new CRC32();
+        while (buf.remaining() >= RECORD_HEADER_SIZE) {
+            int start = buf.position();
+            int length = buf.getInt();
+            int checksum = buf.getInt();
+            if (length <= 0 || length > buf.remaining()) {
+                ((Buffer) buf).position(start);
+                return;
+            }
+            byte[] payload = new byte[length];
+            buf.get(payload);
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != checksum) {
+                LOG.debug("Record at {} of {} does not match its checksum, it ends the log", offset + start, path);
+                ((Buffer) buf).position(start);
+                return;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte op = in.readByte();
+            String key = in.readUTF();
+            ThriftSerializedObject value = null;
+            if (op == PUT) {
+                String name = in.readUTF();
+                byte[] bits = new byte[in.readInt()];
+                in.readFully(bits);
+                value = new ThriftSerializedObject(name, ByteBuffer.wrap(bits));
+            }
+            apply(key, value, length + RECORD_HEADER_SIZE);
+        }
+    }
+
+    private void apply(String key, ThriftSerializedObject value, int recordSize) {
+        Integer previous = recordSizes.remove(key);
+        if (previous != null) {
+            liveSize -= previous;
+        }
+        if (value == null) {
+            state.remove(key);
+        } else {
+            state.put(key, value);
+            recordSizes.put(key, recordSize);
+            liveSize += recordSize;
+        }
+    }
+
+    private static byte[] encode(String key, ThriftSerializedObject value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        // the length and the checksum are filled in once the record is written
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeByte(value == null ? REMOVE : PUT);
+        out.writeUTF(key);
+        if (value != null) {
+            byte[] bits = value.get_bits();
+            out.writeUTF(value.get_name());
+            out.writeInt(bits.length);
+            out.write(bits);
+        }
+        out.flush();
+        byte[] record = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(record, RECORD_HEADER_SIZE, record.length - RECORD_HEADER_SIZE);
+        ByteBuffer.wrap(record).putInt(record.length - RECORD_HEADER_SIZE).putInt((int) crc.getValue());
+        return record;
+    }
+}
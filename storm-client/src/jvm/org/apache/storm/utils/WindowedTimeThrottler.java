@@ -29,6 +29,14 @@ public class WindowedTimeThrottler {
         return windowEvents >= maxAmt;
     }
 
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
     //returns void if the event should continue, false if the event should not be done
     public void markEvent() {
         resetIfNecessary();
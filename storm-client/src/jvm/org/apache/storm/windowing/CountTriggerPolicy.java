@@ -13,6 +13,7 @@
 package org.apache.storm.windowing;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.storm.utils.Time;
 
 /**
  * A trigger that tracks event counts and calls back {@link TriggerHandler#onTrigger()} when the count threshold is hit.
@@ -38,7 +39,7 @@ public class CountTriggerPolicy<T> implements TriggerPolicy<T, Integer> {
     public void track(Event<T> event) {
         if (started && !event.isWatermark()) {
             if (currentCount.incrementAndGet() >= count) {
-                evictionPolicy.setContext(new DefaultEvictionContext(System.currentTimeMillis()));
+                evictionPolicy.setContext(new DefaultEvictionContext(Time.currentTimeMillis()));
                 handler.onTrigger();
             }
         }
@@ -37,8 +37,8 @@ public class StatefulWindowManager<T> extends WindowManager<T> {
      * Constructs a {@link StatefulWindowManager}.
      *
      * @param lifecycleListener the {@link WindowLifecycleListener}
-     * @param queue             a collection where the events in the window can be enqueued. <br/>
-     *                          <b>Note:</b> This collection has to be thread safe.
+     * @param queue             a collection where the events in the window can be enqueued. The collection is only accessed from the
+     *                          thread that adds the events, so it need not be thread safe.
      */
     public StatefulWindowManager(WindowLifecycleListener<T> lifecycleListener, Collection<Event<T>> queue) {
         super(lifecycleListener, queue);
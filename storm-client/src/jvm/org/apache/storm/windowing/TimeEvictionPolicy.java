@@ -12,6 +12,7 @@
 
 package org.apache.storm.windowing;
 
+import org.apache.storm.utils.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,7 +40,7 @@ public class TimeEvictionPolicy<T> implements EvictionPolicy<T, EvictionContext>
      */
     @Override
     public Action evict(Event<T> event) {
-        long now = evictionContext == null ? System.currentTimeMillis() : evictionContext.getReferenceTime();
+        long now = evictionContext == null ? Time.currentTimeMillis() : evictionContext.getReferenceTime();
         long diff = now - event.getTimestamp();
         if (diff >= (windowLength + delta)) {
             return Action.EXPIRE;
@@ -12,27 +12,24 @@
 
 package org.apache.storm.windowing;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
-import org.apache.storm.shade.com.google.common.util.concurrent.ThreadFactoryBuilder;
-import org.apache.storm.topology.FailedException;
+import org.apache.storm.utils.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Invokes {@link TriggerHandler#onTrigger()} after the duration.
+ *
+ * <p>There is no timer thread touching the window. The triggers that are due are fired from the thread that tracks the events, on the
+ * next {@link #track(Event)} or {@link #onTick()}. Every trigger that became due in between is fired, in order, each with the time it
+ * became due as the reference time for the eviction policy, so a late {@link #onTick()} gives the same windows as triggers fired on time.
  */
 public class TimeTriggerPolicy<T> implements TriggerPolicy<T, Void> {
     private static final Logger LOG = LoggerFactory.getLogger(TimeTriggerPolicy.class);
     private final TriggerHandler handler;
-    private final ScheduledExecutorService executor;
     private final EvictionPolicy<T, ?> evictionPolicy;
     private long duration;
-    private ScheduledFuture<?> executorFuture;
+    // the time the next trigger is due, none until the policy is started
+    private long nextTriggerTs = Long.MAX_VALUE;
 
     public TimeTriggerPolicy(long millis, TriggerHandler handler) {
         this(millis, handler, null);
@@ -41,40 +38,32 @@ public class TimeTriggerPolicy<T> implements TriggerPolicy<T, Void> {
     public TimeTriggerPolicy(long millis, TriggerHandler handler, EvictionPolicy<T, ?> evictionPolicy) {
         this.duration = millis;
         this.handler = handler;
-        ThreadFactory threadFactory = new ThreadFactoryBuilder()
-            .setNameFormat("time-trigger-policy-%d")
-            .setDaemon(true)
-            .build();
-        this.executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
         this.evictionPolicy = evictionPolicy;
     }
 
     @Override
     public void track(Event<T> event) {
-        checkFailures();
+        fireDueTriggers();
+    }
+
+    @Override
+    public void onTick() {
+        fireDueTriggers();
     }
 
     @Override
     public void reset() {
-        checkFailures();
+        // NOOP
     }
 
     @Override
     public void start() {
-        executorFuture = executor.scheduleAtFixedRate(newTriggerTask(), duration, duration, TimeUnit.MILLISECONDS);
+        nextTriggerTs = Time.currentTimeMillis() + duration;
     }
 
     @Override
     public void shutdown() {
-        executor.shutdown();
-        try {
-            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
-                executor.shutdownNow();
-            }
-        } catch (InterruptedException ie) {
-            executor.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        // NOOP
     }
 
     @Override
@@ -85,48 +74,25 @@ public class TimeTriggerPolicy<T> implements TriggerPolicy<T, Void> {
     }
 
     /*
-     * Check for uncaught exceptions during the execution
-     * of the trigger and fail fast.
-     * The uncaught exceptions will be wrapped in
-     * ExecutionException and thrown when future.get() is invoked.
+     * Fires the triggers that became due since the last call. This runs on
+     * the thread that tracks the events, so any failure in the trigger
+     * propagates directly to the caller.
      */
-    private void checkFailures() {
-        if (executorFuture != null && executorFuture.isDone()) {
-            try {
-                executorFuture.get();
-            } catch (InterruptedException ex) {
-                LOG.error("Got exception ", ex);
-                throw new FailedException(ex);
-            } catch (ExecutionException ex) {
-                LOG.error("Got exception ", ex);
-                throw new FailedException(ex.getCause());
-            }
+    private void fireDueTriggers() {
+        long now = Time.currentTimeMillis();
+        if (now - nextTriggerTs >= duration) {
+            LOG.debug("Firing {} triggers that became due since {}", (now - nextTriggerTs) / duration + 1, nextTriggerTs);
+        }
+        while (now >= nextTriggerTs) {
+            /*
+             * set the time the trigger became due as the reference time for the eviction policy
+             * to evict the events, leaving out that very timestamp since tuples might still arrive with it
+             */
+            long ts = nextTriggerTs - 1;
+            nextTriggerTs += duration;
+            evictionPolicy.setContext(new DefaultEvictionContext(ts, null, null, duration));
+            handler.onTrigger();
         }
-    }
-
-    private Runnable newTriggerTask() {
-        return new Runnable() {
-            @Override
-            public void run() {
-                // do not process current timestamp since tuples might arrive while the trigger is executing
-                long now = System.currentTimeMillis() - 1;
-                try {
-                    /*
-                     * set the current timestamp as the reference time for the eviction policy
-                     * to evict the events
-                     */
-                    evictionPolicy.setContext(new DefaultEvictionContext(now, null, null, duration));
-                    handler.onTrigger();
-                } catch (Throwable th) {
-                    LOG.error("handler.onTrigger failed ", th);
-                    /*
-                     * propagate it so that task gets canceled and the exception
-                     * can be retrieved from executorFuture.get()
-                     */
-                    throw th;
-                }
-            }
-        };
     }
 
     @Override
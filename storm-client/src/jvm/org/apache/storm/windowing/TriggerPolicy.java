@@ -25,6 +25,14 @@ public interface TriggerPolicy<T, S> {
      */
     void track(Event<T> event);
 
+    /**
+     * Invoked periodically from the thread that tracks the events, so that time driven policies can fire the triggers that became due
+     * while no events arrived. Policies that only fire from {@link #track(Event)} need not override this.
+     */
+    default void onTick() {
+        // NOOP
+    }
+
     /**
      * resets the trigger policy.
      */
@@ -12,18 +12,15 @@
 
 package org.apache.storm.windowing;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import org.apache.storm.generated.GlobalStreamId;
 import org.apache.storm.shade.com.google.common.util.concurrent.ThreadFactoryBuilder;
-import org.apache.storm.topology.FailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +28,9 @@ import org.slf4j.LoggerFactory;
  * Tracks tuples across input streams and periodically emits watermark events. Watermark event timestamp is the minimum of the latest tuple
  * timestamps across all the input streams (minus the lag). Once a watermark event is emitted any tuple coming with an earlier timestamp can
  * be considered as late events.
+ *
+ * <p>The timer only flags that a watermark is due; the watermark is computed and submitted to the window manager by
+ * {@link #emitPendingWaterMark()} on the thread that feeds the window manager, so that window processing stays on that thread.
  */
 public class WaterMarkEventGenerator<T> implements Runnable {
     private static final Logger LOG = LoggerFactory.getLogger(WaterMarkEventGenerator.class);
@@ -40,8 +40,8 @@ public class WaterMarkEventGenerator<T> implements Runnable {
     private final Map<GlobalStreamId, Long> streamToTs;
     private final ScheduledExecutorService executorService;
     private final int interval;
-    private ScheduledFuture<?> executorFuture;
-    private volatile long lastWaterMarkTs;
+    private volatile boolean waterMarkDue;
+    private long lastWaterMarkTs;
 
     /**
      * Creates a new WatermarkEventGenerator.
@@ -54,7 +54,7 @@ public class WaterMarkEventGenerator<T> implements Runnable {
     public WaterMarkEventGenerator(WindowManager<T> windowManager, int intervalMs,
                                    int eventTsLagMs, Set<GlobalStreamId> inputStreams) {
         this.windowManager = windowManager;
-        streamToTs = new ConcurrentHashMap<>();
+        streamToTs = new HashMap<>();
 
         ThreadFactory threadFactory = new ThreadFactoryBuilder()
             .setNameFormat("watermark-event-generator-%d")
@@ -76,10 +76,20 @@ public class WaterMarkEventGenerator<T> implements Runnable {
         if (currentVal == null || ts > currentVal) {
             streamToTs.put(stream, ts);
         }
-        checkFailures();
         return ts >= lastWaterMarkTs;
     }
 
+    /**
+     * Computes and submits a watermark event if the timer has flagged one as due since the last call. This must be invoked from the
+     * thread that adds events to the window manager.
+     */
+    public void emitPendingWaterMark() {
+        if (waterMarkDue) {
+            waterMarkDue = false;
+            run();
+        }
+    }
+
     @Override
     public void run() {
         try {
@@ -109,22 +119,8 @@ public class WaterMarkEventGenerator<T> implements Runnable {
         return ts - eventTsLag;
     }
 
-    private void checkFailures() {
-        if (executorFuture != null && executorFuture.isDone()) {
-            try {
-                executorFuture.get();
-            } catch (InterruptedException ex) {
-                LOG.error("Got exception ", ex);
-                throw new FailedException(ex);
-            } catch (ExecutionException ex) {
-                LOG.error("Got exception ", ex);
-                throw new FailedException(ex.getCause());
-            }
-        }
-    }
-
     public void start() {
-        this.executorFuture = executorService.scheduleAtFixedRate(this, interval, interval, TimeUnit.MILLISECONDS);
+        executorService.scheduleAtFixedRate(() -> waterMarkDue = true, interval, interval, TimeUnit.MILLISECONDS);
     }
 
     public void shutdown() {
@@ -16,6 +16,7 @@ import static org.apache.storm.windowing.EvictionPolicy.Action.EXPIRE;
 import static org.apache.storm.windowing.EvictionPolicy.Action.PROCESS;
 import static org.apache.storm.windowing.EvictionPolicy.Action.STOP;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -24,10 +25,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
 import org.apache.storm.shade.com.google.common.collect.ImmutableMap;
+import org.apache.storm.utils.Time;
 import org.apache.storm.windowing.EvictionPolicy.Action;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +35,10 @@ import org.slf4j.LoggerFactory;
  * Tracks a window of events and fires {@link WindowLifecycleListener} callbacks on expiry of events or activation of the window due to
  * {@link TriggerPolicy}.
  *
+ * <p>The window manager is not thread safe. Events are added, and triggers are fired, only from the thread that owns the window (the
+ * executor thread for a windowed bolt). Time driven policies like {@link TimeTriggerPolicy} fire the triggers that became due from that
+ * thread, on the next {@link #add(Event)} or {@link #onTick()}.
+ *
  * @param <T> the type of event in the window.
  */
 public class WindowManager<T> implements TriggerHandler {
@@ -53,30 +56,26 @@ public class WindowManager<T> implements TriggerHandler {
     protected final WindowLifecycleListener<T> windowLifecycleListener;
     private final List<T> expiredEvents;
     private final Set<Event<T>> prevWindowEvents;
-    private final AtomicInteger eventsSinceLastExpiry;
-    private final ReentrantLock lock;
+    private int eventsSinceLastExpiry;
     protected EvictionPolicy<T, ?> evictionPolicy;
     protected TriggerPolicy<T, ?> triggerPolicy;
 
     public WindowManager(WindowLifecycleListener<T> lifecycleListener) {
-        this(lifecycleListener, new ConcurrentLinkedQueue<>());
+        this(lifecycleListener, new ArrayDeque<>());
     }
 
     /**
      * Constructs a {@link WindowManager}.
      *
      * @param lifecycleListener the {@link WindowLifecycleListener}
-     * @param queue             a collection where the events in the window can be enqueued. <br/>
-     *                          <b>Note:</b> This collection has to be thread safe.
+     * @param queue             a collection where the events in the window can be enqueued. The collection is only accessed from the
+     *                          thread that adds the events, so it need not be thread safe.
      */
     public WindowManager(WindowLifecycleListener<T> lifecycleListener, Collection<Event<T>> queue) {
         windowLifecycleListener = lifecycleListener;
         this.queue = queue;
         expiredEvents = new ArrayList<>();
         prevWindowEvents = new HashSet<>();
-        eventsSinceLastExpiry = new AtomicInteger();
-        lock = new ReentrantLock(true);
-
     }
 
     public void setEvictionPolicy(EvictionPolicy<T, ?> evictionPolicy) {
@@ -88,12 +87,12 @@ public class WindowManager<T> implements TriggerHandler {
     }
 
     /**
-     * Add an event into the window, with {@link System#currentTimeMillis()} as the tracking ts.
+     * Add an event into the window, with {@link Time#currentTimeMillis()} as the tracking ts.
      *
      * @param event the event to add
      */
     public void add(T event) {
-        add(event, System.currentTimeMillis());
+        add(event, Time.currentTimeMillis());
     }
 
     /**
@@ -122,25 +121,26 @@ public class WindowManager<T> implements TriggerHandler {
         compactWindow();
     }
 
+    /**
+     * Gives the trigger policy a chance to fire a trigger that became due while no events were arriving. This has to be invoked
+     * periodically from the thread that adds the events, e.g. on receiving a tick tuple.
+     */
+    public void onTick() {
+        triggerPolicy.onTick();
+    }
+
     /**
      * The callback invoked by the trigger policy.
      */
     @Override
     public boolean onTrigger() {
-        List<Event<T>> windowEvents = null;
-        List<T> expired = null;
-        try {
-            lock.lock();
-            /*
-             * scan the entire window to handle out of order events in
-             * the case of time based windows.
-             */
-            windowEvents = scanEvents(true);
-            expired = new ArrayList<>(expiredEvents);
-            expiredEvents.clear();
-        } finally {
-            lock.unlock();
-        }
+        /*
+         * scan the entire window to handle out of order events in
+         * the case of time based windows.
+         */
+        List<Event<T>> windowEvents = scanEvents(true);
+        List<T> expired = new ArrayList<>(expiredEvents);
+        expiredEvents.clear();
         List<T> events = new ArrayList<>();
         List<T> newEvents = new ArrayList<>();
         for (Event<T> event : windowEvents) {
@@ -172,7 +172,7 @@ public class WindowManager<T> implements TriggerHandler {
      * expires events that fall out of the window every EXPIRE_EVENTS_THRESHOLD so that the window does not grow too big.
      */
     protected void compactWindow() {
-        if (eventsSinceLastExpiry.incrementAndGet() >= EXPIRE_EVENTS_THRESHOLD) {
+        if (++eventsSinceLastExpiry >= EXPIRE_EVENTS_THRESHOLD) {
             scanEvents(false);
         }
     }
@@ -196,26 +196,21 @@ public class WindowManager<T> implements TriggerHandler {
         LOG.debug("Scan events, eviction policy {}", evictionPolicy);
         List<T> eventsToExpire = new ArrayList<>();
         List<Event<T>> eventsToProcess = new ArrayList<>();
-        try {
-            lock.lock();
-            Iterator<Event<T>> it = queue.iterator();
-            while (it.hasNext()) {
-                Event<T> windowEvent = it.next();
-                Action action = evictionPolicy.evict(windowEvent);
-                if (action == EXPIRE) {
-                    eventsToExpire.add(windowEvent.get());
-                    it.remove();
-                } else if (!fullScan || action == STOP) {
-                    break;
-                } else if (action == PROCESS) {
-                    eventsToProcess.add(windowEvent);
-                }
+        Iterator<Event<T>> it = queue.iterator();
+        while (it.hasNext()) {
+            Event<T> windowEvent = it.next();
+            Action action = evictionPolicy.evict(windowEvent);
+            if (action == EXPIRE) {
+                eventsToExpire.add(windowEvent.get());
+                it.remove();
+            } else if (!fullScan || action == STOP) {
+                break;
+            } else if (action == PROCESS) {
+                eventsToProcess.add(windowEvent);
             }
-            expiredEvents.addAll(eventsToExpire);
-        } finally {
-            lock.unlock();
         }
-        eventsSinceLastExpiry.set(0);
+        expiredEvents.addAll(eventsToExpire);
+        eventsSinceLastExpiry = 0;
         LOG.debug("[{}] events expired from window.", eventsToExpire.size());
         if (!eventsToExpire.isEmpty()) {
             LOG.debug("invoking windowLifecycleListener.onExpiry");
@@ -231,6 +231,16 @@ class Iface(object):
         """
         pass
 
+    def beginBlobDownloadRange(self, key, offset, length):
+        """
+        Parameters:
+         - key
+         - offset
+         - length
+
+        """
+        pass
+
     def downloadBlobChunk(self, session):
         """
         Parameters:
@@ -1267,6 +1277,46 @@ class Client(Iface):
             raise result.knf
         raise TApplicationException(TApplicationException.MISSING_RESULT, "beginBlobDownload failed: unknown result")
 
+    def beginBlobDownloadRange(self, key, offset, length):
+        """
+        Parameters:
+         - key
+         - offset
+         - length
+
+        """
+        self.send_beginBlobDownloadRange(key, offset, length)
+        return self.recv_beginBlobDownloadRange()
+
+    def send_beginBlobDownloadRange(self, key, offset, length):
+        self._oprot.writeMessageBegin('beginBlobDownloadRange', TMessageType.CALL, self._seqid)
+        args = beginBlobDownloadRange_args()
+        args.key = key
+        args.offset = offset
+        args.length = length
+        args.write(self._oprot)
+        self._oprot.writeMessageEnd()
+        self._oprot.trans.flush()
+
+    def recv_beginBlobDownloadRange(self):
+        iprot = self._iprot
+        (fname, mtype, rseqid) = iprot.readMessageBegin()
+        if mtype == TMessageType.EXCEPTION:
+            x = TApplicationException()
+            x.read(iprot)
+            iprot.readMessageEnd()
+            raise x
+        result = beginBlobDownloadRange_result()
+        result.read(iprot)
+        iprot.readMessageEnd()
+        if result.success is not None:
+            return result.success
+        if result.aze is not None:
+            raise result.aze
+        if result.knf is not None:
+            raise result.knf
+        raise TApplicationException(TApplicationException.MISSING_RESULT, "beginBlobDownloadRange failed: unknown result")
+
     def downloadBlobChunk(self, session):
         """
         Parameters:
@@ -2467,6 +2517,7 @@ class Processor(Iface, TProcessor):
         self._processMap["getBlobMeta"] = Processor.process_getBlobMeta
         self._processMap["setBlobMeta"] = Processor.process_setBlobMeta
         self._processMap["beginBlobDownload"] = Processor.process_beginBlobDownload
+        self._processMap["beginBlobDownloadRange"] = Processor.process_beginBlobDownloadRange
         self._processMap["downloadBlobChunk"] = Processor.process_downloadBlobChunk
         self._processMap["deleteBlob"] = Processor.process_deleteBlob
         self._processMap["listBlobs"] = Processor.process_listBlobs
@@ -3111,6 +3162,35 @@ class Processor(Iface, TProcessor):
         oprot.writeMessageEnd()
         oprot.trans.flush()
 
+    def process_beginBlobDownloadRange(self, seqid, iprot, oprot):
+        args = beginBlobDownloadRange_args()
+        args.read(iprot)
+        iprot.readMessageEnd()
+        result = beginBlobDownloadRange_result()
+        try:
+            result.success = self._handler.beginBlobDownloadRange(args.key, args.offset, args.length)
+            msg_type = TMessageType.REPLY
+        except TTransport.TTransportException:
+            raise
+        except AuthorizationException as aze:
+            msg_type = TMessageType.REPLY
+            result.aze = aze
+        except KeyNotFoundException as knf:
+            msg_type = TMessageType.REPLY
+            result.knf = knf
+        except TApplicationException as ex:
+            logging.exception('TApplication exception in handler')
+            msg_type = TMessageType.EXCEPTION
+            result = ex
+        except Exception:
+            logging.exception('Unexpected exception in handler')
+            msg_type = TMessageType.EXCEPTION
+            result = TApplicationException(TApplicationException.INTERNAL_ERROR, 'Internal error')
+        oprot.writeMessageBegin("beginBlobDownloadRange", msg_type, seqid)
+        result.write(oprot)
+        oprot.writeMessageEnd()
+        oprot.trans.flush()
+
     def process_downloadBlobChunk(self, seqid, iprot, oprot):
         args = downloadBlobChunk_args()
         args.read(iprot)
@@ -7161,6 +7241,180 @@ beginBlobDownload_result.thrift_spec = (
 )
 
 
+class beginBlobDownloadRange_args(object):
+    """
+    Attributes:
+     - key
+     - offset
+     - length
+
+    """
+
+
+    def __init__(self, key=None, offset=None, length=None,):
+        self.key = key
+        self.offset = offset
+        self.length = length
+
+    def read(self, iprot):
+        if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
+            iprot._fast_decode(self, iprot, [self.__class__, self.thrift_spec])
+            return
+        iprot.readStructBegin()
+        while True:
+            (fname, ftype, fid) = iprot.readFieldBegin()
+            if ftype == TType.STOP:
+                break
+            if fid == 1:
+                if ftype == TType.STRING:
+                    self.key = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 2:
+                if ftype == TType.I64:
+                    self.offset = iprot.readI64()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 3:
+                if ftype == TType.I64:
+                    self.length = iprot.readI64()
+                else:
+                    iprot.skip(ftype)
+            else:
+                iprot.skip(ftype)
+            iprot.readFieldEnd()
+        iprot.readStructEnd()
+
+    def write(self, oprot):
+        if oprot._fast_encode is not None and self.thrift_spec is not None:
+            oprot.trans.write(oprot._fast_encode(self, [self.__class__, self.thrift_spec]))
+            return
+        oprot.writeStructBegin('beginBlobDownloadRange_args')
+        if self.key is not None:
+            oprot.writeFieldBegin('key', TType.STRING, 1)
+            oprot.writeString(self.key.encode('utf-8') if sys.version_info[0] == 2 else self.key)
+            oprot.writeFieldEnd()
+        if self.offset is not None:
+            oprot.writeFieldBegin('offset', TType.I64, 2)
+            oprot.writeI64(self.offset)
+            oprot.writeFieldEnd()
+        if self.length is not None:
+            oprot.writeFieldBegin('length', TType.I64, 3)
+            oprot.writeI64(self.length)
+            oprot.writeFieldEnd()
+        oprot.writeFieldStop()
+        oprot.writeStructEnd()
+
+    def validate(self):
+        return
+
+    def __repr__(self):
+        L = ['%s=%r' % (key, value)
+             for key, value in self.__dict__.items()]
+        return '%s(%s)' % (self.__class__.__name__, ', '.join(L))
+
+    def __eq__(self, other):
+        return isinstance(other, self.__class__) and self.__dict__ == other.__dict__
+
+    def __ne__(self, other):
+        return not (self == other)
+all_structs.append(beginBlobDownloadRange_args)
+beginBlobDownloadRange_args.thrift_spec = (
+    None,  # 0
+    (1, TType.STRING, 'key', 'UTF8', None, ),  # 1
+    (2, TType.I64, 'offset', None, None, ),  # 2
+    (3, TType.I64, 'length', None, None, ),  # 3
+)
+
+
+class beginBlobDownloadRange_result(object):
+    """
+    Attributes:
+     - success
+     - aze
+     - knf
+
+    """
+
+
+    def __init__(self, success=None, aze=None, knf=None,):
+        self.success = success
+        self.aze = aze
+        self.knf = knf
+
+    def read(self, iprot):
+        if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
+            iprot._fast_decode(self, iprot, [self.__class__, self.thrift_spec])
+            return
+        iprot.readStructBegin()
+        while True:
+            (fname, ftype, fid) = iprot.readFieldBegin()
+            if ftype == TType.STOP:
+                break
+            if fid == 0:
+                if ftype == TType.STRUCT:
+                    self.success = BeginDownloadResult()
+                    self.success.read(iprot)
+                else:
+                    iprot.skip(ftype)
+            elif fid == 1:
+                if ftype == TType.STRUCT:
+                    self.aze = AuthorizationException()
+                    self.aze.read(iprot)
+                else:
+                    iprot.skip(ftype)
+            elif fid == 2:
+                if ftype == TType.STRUCT:
+                    self.knf = KeyNotFoundException()
+                    self.knf.read(iprot)
+                else:
+                    iprot.skip(ftype)
+            else:
+                iprot.skip(ftype)
+            iprot.readFieldEnd()
+        iprot.readStructEnd()
+
+    def write(self, oprot):
+        if oprot._fast_encode is not None and self.thrift_spec is not None:
+            oprot.trans.write(oprot._fast_encode(self, [self.__class__, self.thrift_spec]))
+            return
+        oprot.writeStructBegin('beginBlobDownloadRange_result')
+        if self.success is not None:
+            oprot.writeFieldBegin('success', TType.STRUCT, 0)
+            self.success.write(oprot)
+            oprot.writeFieldEnd()
+        if self.aze is not None:
+            oprot.writeFieldBegin('aze', TType.STRUCT, 1)
+            self.aze.write(oprot)
+            oprot.writeFieldEnd()
+        if self.knf is not None:
+            oprot.writeFieldBegin('knf', TType.STRUCT, 2)
+            self.knf.write(oprot)
+            oprot.writeFieldEnd()
+        oprot.writeFieldStop()
+        oprot.writeStructEnd()
+
+    def validate(self):
+        return
+
+    def __repr__(self):
+        L = ['%s=%r' % (key, value)
+             for key, value in self.__dict__.items()]
+        return '%s(%s)' % (self.__class__.__name__, ', '.join(L))
+
+    def __eq__(self, other):
+        return isinstance(other, self.__class__) and self.__dict__ == other.__dict__
+
+    def __ne__(self, other):
+        return not (self == other)
+all_structs.append(beginBlobDownloadRange_result)
+beginBlobDownloadRange_result.thrift_spec = (
+    (0, TType.STRUCT, 'success', [BeginDownloadResult, None], None, ),  # 0
+    (1, TType.STRUCT, 'aze', [AuthorizationException, None], None, ),  # 1
+    (2, TType.STRUCT, 'knf', [KeyNotFoundException, None], None, ),  # 2
+)
+
+
 class downloadBlobChunk_args(object):
     """
     Attributes:
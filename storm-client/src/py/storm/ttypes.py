@@ -7416,15 +7416,17 @@ class ClusterWorkerHeartbeat(object):
      - executor_stats
      - time_secs
      - uptime_secs
+     - compact_executor_stats
 
     """
 
 
-    def __init__(self, storm_id=None, executor_stats=None, time_secs=None, uptime_secs=None,):
+    def __init__(self, storm_id=None, executor_stats=None, time_secs=None, uptime_secs=None, compact_executor_stats=None,):
         self.storm_id = storm_id
         self.executor_stats = executor_stats
         self.time_secs = time_secs
         self.uptime_secs = uptime_secs
+        self.compact_executor_stats = compact_executor_stats
 
     def read(self, iprot):
         if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
@@ -7463,6 +7465,11 @@ class ClusterWorkerHeartbeat(object):
                     self.uptime_secs = iprot.readI32()
                 else:
                     iprot.skip(ftype)
+            elif fid == 5:
+                if ftype == TType.STRING:
+                    self.compact_executor_stats = iprot.readBinary()
+                else:
+                    iprot.skip(ftype)
             else:
                 iprot.skip(ftype)
             iprot.readFieldEnd()
@@ -7493,6 +7500,10 @@ class ClusterWorkerHeartbeat(object):
             oprot.writeFieldBegin('uptime_secs', TType.I32, 4)
             oprot.writeI32(self.uptime_secs)
             oprot.writeFieldEnd()
+        if self.compact_executor_stats is not None:
+            oprot.writeFieldBegin('compact_executor_stats', TType.STRING, 5)
+            oprot.writeBinary(self.compact_executor_stats)
+            oprot.writeFieldEnd()
         oprot.writeFieldStop()
         oprot.writeStructEnd()
 
@@ -9065,16 +9076,24 @@ class SupervisorAssignments(object):
     """
     Attributes:
      - storm_assignment
+     - version
+     - base_version
+     - removed_entries
+     - removed_topologies
 
     """
 
 
     def __init__(self, storm_assignment={
-    },):
+    }, version=None, base_version=None, removed_entries=None, removed_topologies=None,):
         if storm_assignment is self.thrift_spec[1][4]:
             storm_assignment = {
             }
         self.storm_assignment = storm_assignment
+        self.version = version
+        self.base_version = base_version
+        self.removed_entries = removed_entries
+        self.removed_topologies = removed_topologies
 
     def read(self, iprot):
         if iprot._fast_decode is not None and isinstance(iprot.trans, TTransport.CReadableTransport) and self.thrift_spec is not None:
@@ -9097,6 +9116,38 @@ class SupervisorAssignments(object):
                     iprot.readMapEnd()
                 else:
                     iprot.skip(ftype)
+            elif fid == 2:
+                if ftype == TType.I64:
+                    self.version = iprot.readI64()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 3:
+                if ftype == TType.I64:
+                    self.base_version = iprot.readI64()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 4:
+                if ftype == TType.MAP:
+                    self.removed_entries = {}
+                    (_ktype846, _vtype847, _size845) = iprot.readMapBegin()
+                    for _i849 in range(_size845):
+                        _key850 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                        _val851 = Assignment()
+                        _val851.read(iprot)
+                        self.removed_entries[_key850] = _val851
+                    iprot.readMapEnd()
+                else:
+                    iprot.skip(ftype)
+            elif fid == 5:
+                if ftype == TType.LIST:
+                    self.removed_topologies = []
+                    (_etype855, _size852) = iprot.readListBegin()
+                    for _i856 in range(_size852):
+                        _elem857 = iprot.readString().decode('utf-8') if sys.version_info[0] == 2 else iprot.readString()
+                        self.removed_topologies.append(_elem857)
+                    iprot.readListEnd()
+                else:
+                    iprot.skip(ftype)
             else:
                 iprot.skip(ftype)
             iprot.readFieldEnd()
@@ -9115,6 +9166,29 @@ class SupervisorAssignments(object):
                 viter844.write(oprot)
             oprot.writeMapEnd()
             oprot.writeFieldEnd()
+        if self.version is not None:
+            oprot.writeFieldBegin('version', TType.I64, 2)
+            oprot.writeI64(self.version)
+            oprot.writeFieldEnd()
+        if self.base_version is not None:
+            oprot.writeFieldBegin('base_version', TType.I64, 3)
+            oprot.writeI64(self.base_version)
+            oprot.writeFieldEnd()
+        if self.removed_entries is not None:
+            oprot.writeFieldBegin('removed_entries', TType.MAP, 4)
+            oprot.writeMapBegin(TType.STRING, TType.STRUCT, len(self.removed_entries))
+            for kiter858, viter859 in self.removed_entries.items():
+                oprot.writeString(kiter858.encode('utf-8') if sys.version_info[0] == 2 else kiter858)
+                viter859.write(oprot)
+            oprot.writeMapEnd()
+            oprot.writeFieldEnd()
+        if self.removed_topologies is not None:
+            oprot.writeFieldBegin('removed_topologies', TType.LIST, 5)
+            oprot.writeListBegin(TType.STRING, len(self.removed_topologies))
+            for iter860 in self.removed_topologies:
+                oprot.writeString(iter860.encode('utf-8') if sys.version_info[0] == 2 else iter860)
+            oprot.writeListEnd()
+            oprot.writeFieldEnd()
         oprot.writeFieldStop()
         oprot.writeStructEnd()
 
@@ -12933,6 +13007,7 @@ ClusterWorkerHeartbeat.thrift_spec = (
     (2, TType.MAP, 'executor_stats', (TType.STRUCT, [ExecutorInfo, None], TType.STRUCT, [ExecutorStats, None], False), None, ),  # 2
     (3, TType.I32, 'time_secs', None, None, ),  # 3
     (4, TType.I32, 'uptime_secs', None, None, ),  # 4
+    (5, TType.STRING, 'compact_executor_stats', 'BINARY', None, ),  # 5
 )
 all_structs.append(ThriftSerializedObject)
 ThriftSerializedObject.thrift_spec = (
@@ -13062,6 +13137,10 @@ SupervisorAssignments.thrift_spec = (
     None,  # 0
     (1, TType.MAP, 'storm_assignment', (TType.STRING, 'UTF8', TType.STRUCT, [Assignment, None], False), {
     }, ),  # 1
+    (2, TType.I64, 'version', None, None, ),  # 2
+    (3, TType.I64, 'base_version', None, None, ),  # 3
+    (4, TType.MAP, 'removed_entries', (TType.STRING, 'UTF8', TType.STRUCT, [Assignment, None], False), None, ),  # 4
+    (5, TType.LIST, 'removed_topologies', (TType.STRING, 'UTF8', False), None, ),  # 5
 )
 all_structs.append(WorkerMetricPoint)
 WorkerMetricPoint.thrift_spec = (
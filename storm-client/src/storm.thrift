@@ -552,6 +552,8 @@ struct ClusterWorkerHeartbeat {
     2: required map<ExecutorInfo,ExecutorStats> executor_stats;
     3: required i32 time_secs;
     4: required i32 uptime_secs;
+    // executor_stats encoded by ExecutorStatsCodec, executor_stats is left empty when this is set
+    5: optional binary compact_executor_stats;
 }
 
 struct ThriftSerializedObject {
@@ -697,6 +699,13 @@ struct SupervisorWorkerHeartbeats {
 
 struct SupervisorAssignments {
   1: optional map<string, Assignment> storm_assignment = {}
+  // Set when the assignments are versioned. If base_version is also set, this is a delta against the assignments
+  // sent with that version: storm_assignment only holds new or changed entries, removed_entries holds the keys of
+  // the entries removed from each topology, and removed_topologies the topologies that are gone.
+  2: optional i64 version;
+  3: optional i64 base_version;
+  4: optional map<string, Assignment> removed_entries;
+  5: optional list<string> removed_topologies;
 }
 
 struct WorkerMetricPoint {
@@ -757,6 +766,7 @@ service Nimbus {
   ReadableBlobMeta getBlobMeta(1: string key) throws (1: AuthorizationException aze, 2: KeyNotFoundException knf);
   void setBlobMeta(1: string key, 2: SettableBlobMeta meta) throws (1: AuthorizationException aze, 2: KeyNotFoundException knf);
   BeginDownloadResult beginBlobDownload(1: string key) throws (1: AuthorizationException aze, 2: KeyNotFoundException knf);
+  BeginDownloadResult beginBlobDownloadRange(1: string key, 2: i64 offset, 3: i64 length) throws (1: AuthorizationException aze, 2: KeyNotFoundException knf); //the chunks of the range are read with downloadBlobChunk
   binary downloadBlobChunk(1: string session) throws (1: AuthorizationException aze);
   void deleteBlob(1: string key) throws (1: AuthorizationException aze, 2: KeyNotFoundException knf, 3: IllegalStateException ise);
   ListBlobsResult listBlobs(1: string session); //empty string "" means start at the beginning
@@ -920,6 +930,14 @@ service Supervisor {
    * Send worker heartbeat to local supervisor
    */
   void sendSupervisorWorkerHeartbeat(1: SupervisorWorkerHeartbeat heartbeat) throws (1: AuthorizationException aze);
+  /**
+   * Get the manifest of the chunks of a topology blob this supervisor has, empty if it does not have the blob
+   */
+  binary getBlobChunkManifest(1: string key) throws (1: AuthorizationException aze);
+  /**
+   * Get a chunk of a topology blob this supervisor has by the hex SHA-256 digest of the chunk, empty if it does not have it
+   */
+  binary getBlobChunk(1: string digest) throws (1: AuthorizationException aze);
 }
 
 # WorkerTokens are used as credentials that allow a Worker to authenticate with DRPC, Nimbus, or other storm processes that we add in here.
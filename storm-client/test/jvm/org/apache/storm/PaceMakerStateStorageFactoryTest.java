@@ -23,8 +23,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.storm.cluster.PaceMakerStateStorage;
 import org.apache.storm.generated.ClusterWorkerHeartbeat;
 import org.apache.storm.generated.HBMessage;
@@ -138,6 +141,38 @@ public class PaceMakerStateStorageFactoryTest {
         stateStorage.get_worker_hb_children("/foo", false);
     }
 
+    @Test
+    public void testGetWorkerHbPartitionedRepairsStaleServers() throws Exception {
+        Map<String, Object> config = new HashMap<>();
+        config.put(Config.PACEMAKER_SERVERS, Arrays.asList("pm-1", "pm-2", "pm-3"));
+        config.put(Config.PACEMAKER_REPLICATION_FACTOR, 2);
+        List<String> repaired = new ArrayList<>();
+        PacemakerClientPool pool = new PacemakerClientPool(config) {
+            @Override
+            public Map<String, HBMessage> sendTo(List<String> toServers, HBMessage m) {
+                Map<String, HBMessage> responses = new HashMap<>();
+                if (m.get_type() == HBServerMessageType.SEND_PULSE) {
+                    repaired.addAll(toServers);
+                    return responses;
+                }
+                for (int i = 0; i < toServers.size(); i++) {
+                    HBPulse hbPulse = new HBPulse();
+                    hbPulse.set_id(m.get_data().get_path());
+                    hbPulse.set_details(Utils.serialize(new ClusterWorkerHeartbeat("topo-1", new HashMap(), i + 1, 1)));
+                    responses.put(toServers.get(i), new HBMessage(HBServerMessageType.GET_PULSE_RESPONSE, HBMessageData.pulse(hbPulse)));
+                }
+                return responses;
+            }
+        };
+        List<String> replicas = pool.getServersFor("topo-1");
+        Assert.assertEquals(2, replicas.size());
+
+        stateStorage = new PaceMakerStateStorage(pool, null);
+        byte[] hb = stateStorage.get_worker_hb("/workerbeats/topo-1/node-6700", false);
+        Assert.assertEquals(2, Utils.deserialize(hb, ClusterWorkerHeartbeat.class).get_time_secs());
+        Assert.assertEquals(Collections.singletonList(replicas.get(0)), repaired);
+    }
+
     private class PacemakerClientPoolProxy extends PacemakerClientPool {
         public PacemakerClientPoolProxy() {
             super(new HashMap<>());
@@ -0,0 +1,243 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.blobstore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.storm.generated.ReadableBlobMeta;
+import org.apache.storm.generated.SettableBlobMeta;
+import org.apache.storm.testing.TmpPath;
+import org.apache.storm.utils.NimbusClient;
+import org.junit.Test;
+
+public class ParallelBlobDownloaderTest {
+    private static final String KEY = "key";
+
+    private final byte[] data = new byte[1000];
+    private volatile long version = 1;
+    // The number of times reading a range from an offset fails, after the bytes to read before failing
+    private final Map<Long, Integer> failures = new ConcurrentHashMap<>();
+    private volatile int readBeforeFailure = 10;
+    private final Queue<Long> requestedOffsets = new ConcurrentLinkedQueue<>();
+
+    public ParallelBlobDownloaderTest() {
+        new Random(42).nextBytes(data);
+    }
+
+    private Path download(TmpPath tmp, int maxRetries) throws Exception {
+        Files.createDirectories(tmp.getFile().toPath());
+        Path dest = tmp.getFile().toPath().resolve("blob");
+        ParallelBlobDownloader downloader = new ParallelBlobDownloader(TestBlobStore::new, 3, 100, maxRetries);
+        try (TestBlobStore store = new TestBlobStore()) {
+            assertEquals(data.length, downloader.download(KEY, store.getBlob(KEY, 0, downloader.getPartSize()), dest));
+        }
+        return dest;
+    }
+
+    @Test
+    public void testDownload() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            failures.put(300L, 1);
+            failures.put(700L, 1);
+            Path dest = download(tmp, 1);
+            assertArrayEquals(data, Files.readAllBytes(dest));
+            //The parts that failed were resumed from where they stopped
+            assertTrue(requestedOffsets.contains(310L));
+            assertTrue(requestedOffsets.contains(710L));
+        }
+    }
+
+    @Test
+    public void testRetriesReset() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            //Every attempt makes progress, so it does not count against the retries
+            failures.put(500L, 1);
+            failures.put(510L, 1);
+            failures.put(520L, 1);
+            assertArrayEquals(data, Files.readAllBytes(download(tmp, 1)));
+        }
+    }
+
+    @Test
+    public void testTooManyRetries() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            readBeforeFailure = 0;
+            failures.put(500L, 2);
+            download(tmp, 1);
+            fail("The download should have failed");
+        } catch (IOException e) {
+            assertEquals(2, requestedOffsets.stream().filter(offset -> offset == 500L).count());
+        }
+    }
+
+    @Test
+    public void testVersionChanged() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Files.createDirectories(tmp.getFile().toPath());
+            ParallelBlobDownloader downloader = new ParallelBlobDownloader(TestBlobStore::new, 3, 100, 3);
+            try (TestBlobStore store = new TestBlobStore()) {
+                InputStreamWithMeta firstPart = store.getBlob(KEY, 0, downloader.getPartSize());
+                version = 2;
+                downloader.download(KEY, firstPart, tmp.getFile().toPath().resolve("blob"));
+                fail("The download should have failed");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("changed"));
+            }
+        }
+    }
+
+    private class TestInputStream extends InputStreamWithMeta {
+        private final ByteArrayInputStream in = new ByteArrayInputStream(data);
+        private final long version;
+        private int beforeFailure;
+
+        TestInputStream(long version, int beforeFailure) {
+            this.version = version;
+            this.beforeFailure = beforeFailure;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public long getFileLength() {
+            return data.length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (beforeFailure == 0) {
+                throw new IOException("Connection lost");
+            }
+            int ret = in.read(b, off, beforeFailure > 0 ? Math.min(len, beforeFailure) : len);
+            if (beforeFailure > 0 && ret > 0) {
+                beforeFailure -= ret;
+            }
+            return ret;
+        }
+
+        @Override
+        public long skip(long n) {
+            return in.skip(n);
+        }
+    }
+
+    private class TestBlobStore extends ClientBlobStore {
+
+        @Override
+        public InputStreamWithMeta getBlob(String key) {
+            return new TestInputStream(version, -1);
+        }
+
+        @Override
+        public InputStreamWithMeta getBlob(String key, long offset, long length) throws IOException {
+            requestedOffsets.add(offset);
+            int beforeFailure = -1;
+            Integer remaining = failures.computeIfPresent(offset, (k, v) -> v - 1);
+            if (remaining != null && remaining >= 0) {
+                beforeFailure = readBeforeFailure;
+            }
+            return new BlobRangeInputStream(new TestInputStream(version, beforeFailure), offset, length);
+        }
+
+        @Override
+        public void prepare(Map<String, Object> conf) {
+        }
+
+        @Override
+        protected AtomicOutputStream createBlobToExtend(String key, SettableBlobMeta meta) {
+            return null;
+        }
+
+        @Override
+        public AtomicOutputStream updateBlob(String key) {
+            return null;
+        }
+
+        @Override
+        public ReadableBlobMeta getBlobMeta(String key) {
+            return null;
+        }
+
+        @Override
+        public boolean isRemoteBlobExists(String blobKey) {
+            return true;
+        }
+
+        @Override
+        protected void setBlobMetaToExtend(String key, SettableBlobMeta meta) {
+        }
+
+        @Override
+        public void deleteBlob(String key) {
+        }
+
+        @Override
+        public Iterator<String> listKeys() {
+            return null;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int getBlobReplication(String key) {
+            return -1;
+        }
+
+        @Override
+        public int updateBlobReplication(String key, int replication) {
+            return -1;
+        }
+
+        @Override
+        public boolean setClient(Map<String, Object> conf, NimbusClient client) {
+            return false;
+        }
+
+        @Override
+        public void createStateInZookeeper(String key) {
+        }
+
+        @Override
+        public long getRemoteBlobstoreUpdateTime() {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.pacemaker;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConsistentHashRingTest {
+
+    @Test
+    public void testGetServers() {
+        List<String> servers = Arrays.asList("pm-1", "pm-2", "pm-3");
+        ConsistentHashRing ring = new ConsistentHashRing(servers);
+        List<String> replicas = ring.getServers("topo-1", 2);
+        Assert.assertEquals(2, replicas.size());
+        Assert.assertEquals(2, new HashSet<>(replicas).size());
+        Assert.assertTrue(servers.containsAll(replicas));
+        // the same key always maps to the same servers, whatever order the servers are in
+        Assert.assertEquals(replicas, new ConsistentHashRing(Arrays.asList("pm-3", "pm-1", "pm-2")).getServers("topo-1", 2));
+        // never more servers than there are
+        Assert.assertEquals(3, ring.getServers("topo-1", 5).size());
+    }
+
+    @Test
+    public void testAddingServerMovesFewKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList("pm-1", "pm-2", "pm-3", "pm-4"));
+        ConsistentHashRing grown = new ConsistentHashRing(Arrays.asList("pm-1", "pm-2", "pm-3", "pm-4", "pm-5"));
+        Map<String, Integer> keysPerServer = new HashMap<>();
+        int moved = 0;
+        int numKeys = 10000;
+        for (int i = 0; i < numKeys; i++) {
+            String key = "topo-" + i;
+            String server = grown.getServers(key, 1).get(0);
+            keysPerServer.merge(server, 1, Integer::sum);
+            if (!server.equals(ring.getServers(key, 1).get(0))) {
+                Assert.assertEquals("pm-5", server);
+                moved++;
+            }
+        }
+        Assert.assertTrue("moved " + moved, moved < numKeys / 3);
+        for (int count : keysPerServer.values()) {
+            Assert.assertTrue("unbalanced " + keysPerServer, count > numKeys / 10);
+        }
+    }
+}
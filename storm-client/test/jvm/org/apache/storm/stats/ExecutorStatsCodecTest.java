@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.storm.generated.BoltStats;
+import org.apache.storm.generated.ClusterWorkerHeartbeat;
+import org.apache.storm.generated.ExecutorInfo;
+import org.apache.storm.generated.ExecutorSpecificStats;
+import org.apache.storm.generated.ExecutorStats;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.generated.SpoutStats;
+import org.apache.storm.utils.Utils;
+import org.junit.Test;
+
+public class ExecutorStatsCodecTest {
+    private static final String[] WINDOWS = {"600", "10800", "86400", ":all-time"};
+
+    @SafeVarargs
+    private static <K, V> Map<String, Map<K, V>> windows(K key, V... values) {
+        Map<String, Map<K, V>> ret = new HashMap<>();
+        for (int i = 0; i < WINDOWS.length; i++) {
+            Map<K, V> window = new HashMap<>();
+            window.put(key, values[i]);
+            ret.put(WINDOWS[i], window);
+        }
+        return ret;
+    }
+
+    private static ExecutorStats boltStats() {
+        GlobalStreamId input = new GlobalStreamId("spout", "default");
+        BoltStats bolt = new BoltStats(windows(input, 10L, 100L, 100L, 100L), windows(input, 0L, 0L, 0L, 3L),
+                                       windows(input, 1.5, 2.25, 2.25, 2.25), windows(input, 10L, 100L, 100L, 100L),
+                                       windows(input, 0.5, 0.75, 0.75, 0.75));
+        return new ExecutorStats(windows("default", 20L, 200L, 200L, 200L), windows("default", 20L, 200L, 200L, 200L),
+                                 ExecutorSpecificStats.bolt(bolt), 0.2);
+    }
+
+    private static ExecutorStats spoutStats() {
+        SpoutStats spout = new SpoutStats(windows("default", 5L, 50L, 500L, 5000L), windows("default", 0L, 0L, 0L, 0L),
+                                          windows("default", 12.0, 12.0, 13.5, 14.0));
+        return new ExecutorStats(windows("default", 5L, 50L, 500L, 5000L), windows("default", -1L, 50L, 500L, 5000L),
+                                 ExecutorSpecificStats.spout(spout), 1.0);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Map<ExecutorInfo, ExecutorStats> stats = new HashMap<>();
+        stats.put(new ExecutorInfo(1, 2), boltStats());
+        stats.put(new ExecutorInfo(3, 3), spoutStats());
+        stats.put(new ExecutorInfo(-1, -1), new ExecutorStats(new HashMap<>(), new HashMap<>(), null, 0.0));
+
+        assertEquals(stats, ExecutorStatsCodec.decode(ExecutorStatsCodec.encode(stats)));
+    }
+
+    @Test
+    public void testCompactWorkerHbIsSmaller() {
+        Map<ExecutorInfo, ExecutorStats> stats = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            stats.put(new ExecutorInfo(2 * i, 2 * i), boltStats());
+            stats.put(new ExecutorInfo(2 * i + 1, 2 * i + 1), spoutStats());
+        }
+        ClusterWorkerHeartbeat full = new ClusterWorkerHeartbeat("topo-1", stats, 1000, 10);
+        ClusterWorkerHeartbeat compact = ClientStatsUtil.compactWorkerHb(new ClusterWorkerHeartbeat(full));
+
+        assertEquals(0, compact.get_executor_stats_size());
+        // Utils.serialize is what goes to ZK/Pacemaker and gzips the payload, which already removes much of
+        // the repetition in the full stats maps.
+        byte[] serialized = Utils.serialize(compact);
+        assertTrue(serialized.length * 2 < Utils.serialize(full).length);
+        ClusterWorkerHeartbeat read = Utils.deserialize(serialized, ClusterWorkerHeartbeat.class);
+        assertEquals(stats, ClientStatsUtil.getExecutorStats(read));
+        assertEquals(stats, ClientStatsUtil.getExecutorStats(full));
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.planner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.storm.Config;
+import org.apache.storm.coordination.BatchOutputCollector;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.shade.org.jgrapht.graph.DefaultDirectedGraph;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.trident.operation.BaseAggregator;
+import org.apache.storm.trident.operation.BaseFunction;
+import org.apache.storm.trident.operation.TridentCollector;
+import org.apache.storm.trident.planner.processor.AggregateProcessor;
+import org.apache.storm.trident.planner.processor.EachProcessor;
+import org.apache.storm.trident.planner.processor.MapProcessor;
+import org.apache.storm.trident.planner.processor.ProjectedProcessor;
+import org.apache.storm.trident.topology.BatchInfo;
+import org.apache.storm.trident.topology.TransactionAttempt;
+import org.apache.storm.trident.tuple.TridentTuple;
+import org.apache.storm.trident.util.ErrorEdgeFactory;
+import org.apache.storm.trident.util.IndexedEdge;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Runs the same each/project/aggregate pipeline through a {@link SubtopologyBolt} with and without columnar segments.
+ */
+public class SubtopologyBoltTest {
+
+    /**
+     * Emits {@code a % 3} tuples for each input, so some inputs are filtered out and others are repeated.
+     */
+    private static class Repeat extends BaseFunction {
+        @Override
+        public void execute(TridentTuple tuple, TridentCollector collector) {
+            int a = tuple.getInteger(0);
+            for (int i = 0; i < a % 3; i++) {
+                collector.emit(new Values(a * 10 + i));
+            }
+        }
+    }
+
+    private static class PlusOne extends BaseFunction {
+        @Override
+        public void execute(TridentTuple tuple, TridentCollector collector) {
+            collector.emit(new Values(tuple.getInteger(0) + 1));
+        }
+    }
+
+    private static class Describe extends BaseFunction {
+        @Override
+        public void execute(TridentTuple tuple, TridentCollector collector) {
+            collector.emit(new Values(tuple.getStringByField("b") + ":" + tuple.getIntegerByField("d")));
+        }
+    }
+
+    private static class SumAndCount extends BaseAggregator<long[]> {
+        @Override
+        public long[] init(Object batchId, TridentCollector collector) {
+            return new long[2];
+        }
+
+        @Override
+        public void aggregate(long[] state, TridentTuple tuple, TridentCollector collector) {
+            state[0] += tuple.getInteger(0);
+            state[1]++;
+        }
+
+        @Override
+        public void complete(long[] state, TridentCollector collector) {
+            collector.emit(new Values(state[0], state[1]));
+        }
+    }
+
+    private static ProcessorNode addProcessor(DefaultDirectedGraph<Node, IndexedEdge> graph, Set<Node> nodes, Node parent,
+                                              ProcessorNode node) {
+        graph.addVertex(node);
+        graph.addEdge(parent, node, new IndexedEdge(parent, node, 0));
+        nodes.add(node);
+        return node;
+    }
+
+    private static void addOutput(DefaultDirectedGraph<Node, IndexedEdge> graph, Node parent) {
+        Node out = new Node(parent.streamId + "-out", null, parent.allOutputFields);
+        graph.addVertex(out);
+        graph.addEdge(parent, out, new IndexedEdge(parent, out, 0));
+    }
+
+    /**
+     * Process a batch of tuples with {@code a} from 1 to 5.
+     *
+     * <pre>
+     * s -> each(a: c) -> project(b, c) -> each(c: d) -> aggregate(d: sum, count)
+     *                                                -> map(b, d: desc)
+     * </pre>
+     *
+     * @return the tuples emitted by the bolt, by stream
+     */
+    private static Map<String, List<List<Object>>> run(int segmentSize) {
+        DefaultDirectedGraph<Node, IndexedEdge> graph = new DefaultDirectedGraph<Node, IndexedEdge>(new ErrorEdgeFactory());
+        Set<Node> nodes = new HashSet<>();
+        Node spout = new Node("s", null, new Fields("a", "b"));
+        graph.addVertex(spout);
+        ProcessorNode repeat = addProcessor(graph, nodes, spout, new ProcessorNode("repeat", null, new Fields("a", "b", "c"),
+            new Fields("c"), new EachProcessor(new Fields("a"), new Repeat())));
+        ProcessorNode project = addProcessor(graph, nodes, repeat, new ProcessorNode("project", null, new Fields("b", "c"),
+            new Fields(), new ProjectedProcessor(new Fields("b", "c"))));
+        ProcessorNode plusOne = addProcessor(graph, nodes, project, new ProcessorNode("plusOne", null, new Fields("b", "c", "d"),
+            new Fields("d"), new EachProcessor(new Fields("c"), new PlusOne())));
+        ProcessorNode aggregate = addProcessor(graph, nodes, plusOne, new ProcessorNode("aggregate", null, new Fields("sum", "count"),
+            new Fields("sum", "count"), new AggregateProcessor(new Fields("d"), new SumAndCount())));
+        // the map does not take segments, it gets rows rebuilt from the segments of its parent
+        ProcessorNode describe = addProcessor(graph, nodes, plusOne, new ProcessorNode("describe", null, new Fields("desc"),
+            new Fields("desc"), new MapProcessor(new Fields("b", "d"), new Describe())));
+        addOutput(graph, plusOne);
+        addOutput(graph, aggregate);
+        addOutput(graph, describe);
+        Map<Node, String> batchGroups = new HashMap<>();
+        for (Node n : nodes) {
+            batchGroups.put(n, "bg");
+        }
+
+        TopologyContext context = Mockito.mock(TopologyContext.class);
+        Mockito.when(context.getThisComponentId()).thenReturn("bolt");
+        Mockito.when(context.getComponentTasks("bolt")).thenReturn(Collections.singletonList(1));
+        GlobalStreamId source = new GlobalStreamId("spout", "s");
+        Mockito.when(context.getThisSources()).thenReturn(Collections.singletonMap(source, null));
+        Mockito.when(context.getComponentOutputFields(source)).thenReturn(new Fields("$batchId", "a", "b"));
+        Map<String, List<List<Object>>> emitted = new HashMap<>();
+        BatchOutputCollector collector = new BatchOutputCollector() {
+            @Override
+            public List<Integer> emit(String streamId, List<Object> tuple) {
+                // the batch id is followed by the values of the tuple
+                emitted.computeIfAbsent(streamId, s -> new ArrayList<>()).add(new ArrayList<>(tuple.subList(1, tuple.size())));
+                return Collections.emptyList();
+            }
+
+            @Override
+            public void emitDirect(int taskId, String streamId, List<Object> tuple) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void reportError(Throwable error) {
+                throw new RuntimeException(error);
+            }
+        };
+
+        Map<String, Object> conf = new HashMap<>();
+        conf.put(Config.TOPOLOGY_TRIDENT_COLUMNAR_SEGMENT_SIZE, segmentSize);
+        SubtopologyBolt bolt = new SubtopologyBolt(graph, nodes, batchGroups);
+        bolt.prepare(conf, context, collector);
+        assertEquals(segmentSize > 0, bolt.roots.get("s").segmentIndex >= 0);
+
+        TransactionAttempt batchId = new TransactionAttempt(1L, 0);
+        BatchInfo batch = new BatchInfo("bg", batchId, bolt.initBatchState("bg", batchId));
+        for (int a = 1; a <= 5; a++) {
+            Tuple tuple = Mockito.mock(Tuple.class);
+            Mockito.when(tuple.getSourceStreamId()).thenReturn("s");
+            Mockito.when(tuple.getValues()).thenReturn(new Values(batchId, a, "b" + a));
+            bolt.execute(batch, tuple);
+        }
+        bolt.finishBatch(batch);
+        return emitted;
+    }
+
+    @Test
+    public void testColumnarSegmentsMatchRows() {
+        Map<String, List<List<Object>>> rows = run(0);
+        // a = 3 emits nothing, a = 2 and a = 5 emit twice
+        assertEquals(Arrays.asList(Arrays.asList("b1", 10, 11), Arrays.asList("b2", 20, 21), Arrays.asList("b2", 21, 22),
+                                   Arrays.asList("b4", 40, 41), Arrays.asList("b5", 50, 51), Arrays.asList("b5", 51, 52)),
+                     rows.get("plusOne"));
+        assertEquals(Arrays.asList("b1:11", "b2:21", "b2:22", "b4:41", "b5:51", "b5:52"),
+                     rows.get("describe").stream().map(t -> t.get(0)).collect(Collectors.toList()));
+        assertEquals(Collections.singletonList(Arrays.asList(198L, 6L)), rows.get("aggregate"));
+
+        // segments that are full, partly filled at the end of the batch, and larger than the batch
+        for (int segmentSize : new int[]{1, 2, 100}) {
+            Map<String, List<List<Object>>> columnar = run(segmentSize);
+            assertEquals("segment size " + segmentSize, rows, columnar);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.topology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link BatchSizeController}.
+ */
+public class BatchSizeControllerTest {
+
+    @Test
+    public void testStartsAtConfiguredBehaviour() {
+        BatchSizeController controller = new BatchSizeController(100, 10, 1000, 50);
+        assertEquals(1000, controller.getBatchSizeHint());
+        assertEquals(50, controller.getEmitIntervalMillis());
+    }
+
+    @Test
+    public void testShrinksBatchesThenBacksOffInterval() {
+        BatchSizeController controller = new BatchSizeController(100, 10, 1000, 50);
+        controller.batchProcessed(500);
+        assertEquals(500, controller.getBatchSizeHint());
+        assertEquals(50, controller.getEmitIntervalMillis());
+        for (int i = 0; i < 20; i++) {
+            controller.batchProcessed(500);
+        }
+        assertEquals(10, controller.getBatchSizeHint());
+        assertEquals(50 * BatchSizeController.MAX_INTERVAL_FACTOR, controller.getEmitIntervalMillis());
+    }
+
+    @Test
+    public void testRecoversIntervalBeforeGrowingBatches() {
+        BatchSizeController controller = new BatchSizeController(100, 10, 1000, 50);
+        for (int i = 0; i < 10; i++) {
+            controller.batchProcessed(1000);
+        }
+        assertEquals(10, controller.getBatchSizeHint());
+        long backedOffInterval = controller.getEmitIntervalMillis();
+        // drive the smoothed latency well below the target
+        while (controller.getSmoothedLatencyMillis() > 100) {
+            controller.batchProcessed(0);
+        }
+        while (controller.getEmitIntervalMillis() > 50) {
+            assertEquals(10, controller.getBatchSizeHint());
+            controller.batchProcessed(0);
+        }
+        assertTrue(backedOffInterval > 50);
+        int step = (1000 - 10) / BatchSizeController.INCREASE_STEPS;
+        controller.batchProcessed(0);
+        assertEquals(10 + step, controller.getBatchSizeHint());
+        for (int i = 0; i < 2 * BatchSizeController.INCREASE_STEPS; i++) {
+            controller.batchProcessed(0);
+        }
+        assertEquals(1000, controller.getBatchSizeHint());
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.tuple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import org.apache.storm.trident.tuple.TridentTupleView.ColumnarRowFactory;
+import org.apache.storm.trident.tuple.TridentTupleView.OperationOutputFactory;
+import org.apache.storm.trident.tuple.TridentTupleView.ProjectionFactory;
+import org.apache.storm.trident.tuple.TridentTupleView.RootFactory;
+import org.apache.storm.tuple.Fields;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ColumnarBatch}.
+ */
+public class ColumnarBatchTest {
+
+    private static ColumnarBatch newSegment() {
+        ColumnarBatch segment = new ColumnarBatch(new Fields("a", "b", "c"), 3);
+        segment.add(Arrays.asList("skipped", 1, "x", 10L), 1);
+        segment.add(Arrays.asList("skipped", 2, "y", 20L), 1);
+        segment.add(Arrays.asList("skipped", 3, "z", 30L), 1);
+        return segment;
+    }
+
+    @Test
+    public void testAddAndRowViews() {
+        ColumnarBatch segment = newSegment();
+        assertEquals(3, segment.size());
+        assertTrue(segment.isFull());
+        TridentTuple row = segment.row(1);
+        assertEquals(Arrays.asList(2, "y", 20L), row);
+        assertEquals("y", row.getStringByField("b"));
+        assertEquals(Long.valueOf(20L), row.getLong(2));
+        assertEquals(Arrays.<Object>asList(20L, 2), row.select(new Fields("c", "a")));
+    }
+
+    @Test
+    public void testProjectSharesColumns() {
+        ColumnarBatch projected = newSegment().project(new Fields("c", "a"));
+        assertEquals(new Fields("c", "a").toList(), projected.getFields().toList());
+        assertEquals(3, projected.size());
+        assertEquals(Arrays.asList(30L, 3), projected.row(2));
+        assertEquals(0, newSegment().project(null).row(0).size());
+    }
+
+    @Test
+    public void testAppendColumns() {
+        ColumnarBatch segment = newSegment();
+        Fields out = new Fields("a", "b", "c", "d");
+        ColumnarBatch same = segment.appendColumns(new int[]{0, 1, 2}, 3, out, new Object[][]{{"p", "q", "r"}});
+        assertEquals(Arrays.asList(2, "y", 20L, "q"), same.row(1));
+
+        // row 0 filtered out, row 2 emitted twice
+        ColumnarBatch gathered = segment.appendColumns(new int[]{1, 2, 2}, 3, out, new Object[][]{{"q", "r1", "r2"}});
+        assertEquals(Arrays.asList(2, "y", 20L, "q"), gathered.row(0));
+        assertEquals(Arrays.asList(3, "z", 30L, "r1"), gathered.row(1));
+        assertEquals(Arrays.asList(3, "z", 30L, "r2"), gathered.row(2));
+    }
+
+    @Test
+    public void testRowFactoryMatchesFactoryLayout() {
+        RootFactory root = new RootFactory(new Fields("a", "b", "c"));
+        ProjectionFactory projection = new ProjectionFactory(root, new Fields("c", "a"));
+        OperationOutputFactory each = new OperationOutputFactory(projection, new Fields("d"));
+        ColumnarBatch segment = newSegment().project(new Fields("c", "a"))
+            .appendColumns(new int[]{0, 1, 2}, 3, new Fields("c", "a", "d"), new Object[][]{{"p", "q", "r"}});
+
+        TridentTuple row = new ColumnarRowFactory(each, segment.getFields()).create(segment, 1);
+        assertEquals(Arrays.asList(20L, 2, "q"), row);
+        // the tuple can be used by factories built on the target factory
+        ProjectionFactory downstream = new ProjectionFactory(each, new Fields("d", "a"));
+        assertEquals(Arrays.asList("q", 2), downstream.create(row));
+    }
+}
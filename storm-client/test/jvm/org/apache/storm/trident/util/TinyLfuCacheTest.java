@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TinyLfuCache}.
+ */
+public class TinyLfuCacheTest {
+
+    @Test
+    public void testGetAndPut() {
+        TinyLfuCache<String, Integer> cache = new TinyLfuCache<>(10);
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        cache.put("b", null);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        // a cached null is distinguishable from an absent key
+        assertNull(cache.getOrDefault("b", -1));
+        assertEquals(Integer.valueOf(-1), cache.getOrDefault("c", -1));
+        cache.put("a", 2);
+        assertEquals(Integer.valueOf(2), cache.get("a"));
+        cache.remove("a");
+        assertNull(cache.get("a"));
+        assertEquals(3, cache.hitCount());
+        assertEquals(3, cache.missCount());
+    }
+
+    @Test
+    public void testBoundedSize() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(100);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.evictionCount());
+    }
+
+    @Test
+    public void testFrequentKeysSurviveScan() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<>(100);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        // keys read only once must not flush out the frequently read ones
+        for (int i = 1000; i < 10_000; i++) {
+            if (cache.get(i) == null) {
+                cache.put(i, i);
+            }
+        }
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get(i) != null) {
+                retained++;
+            }
+        }
+        assertTrue("Only " + retained + " frequent keys retained", retained >= 45);
+    }
+
+    @Test
+    public void testWeightedEviction() {
+        TinyLfuCache<Integer, String> cache = new TinyLfuCache<>(100, (key, value) -> value.length());
+        for (int i = 0; i < 3; i++) {
+            cache.put(i, "0123456789012345678901234567890");
+        }
+        assertEquals(3, cache.size());
+        assertEquals(93, cache.weightedSize());
+        for (int i = 3; i < 10; i++) {
+            cache.put(i, "0123456789012345678901234567890");
+            assertTrue(cache.weightedSize() <= 100);
+        }
+        // heavier than the whole cache, never cached and replaces a stale value
+        cache.put(0, new String(new char[101]));
+        assertNull(cache.get(0));
+        assertTrue(cache.weightedSize() <= 100);
+    }
+}
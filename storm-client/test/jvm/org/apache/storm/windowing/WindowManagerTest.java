@@ -19,6 +19,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import org.apache.storm.utils.Time;
+import org.apache.storm.utils.Time.SimulatedTime;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -255,6 +257,35 @@ public class WindowManagerTest {
 
     }
 
+    @Test
+    public void testTimeTriggerFiresEveryDueTrigger() throws Exception {
+        try (SimulatedTime t = new SimulatedTime()) {
+            EvictionPolicy<Integer, ?> evictionPolicy = new TimeEvictionPolicy<Integer>(20);
+            windowManager.setEvictionPolicy(evictionPolicy);
+            TriggerPolicy<Integer, ?> triggerPolicy = new TimeTriggerPolicy<Integer>(10, windowManager, evictionPolicy);
+            windowManager.setTriggerPolicy(triggerPolicy);
+            triggerPolicy.start();
+            Time.advanceTime(2);
+            windowManager.add(1);
+            windowManager.add(2, 15);
+            windowManager.add(3, 25);
+            Time.advanceTime(7);
+            windowManager.onTick();
+            assertTrue(listener.allOnActivationEvents.isEmpty());
+
+            // the triggers are only fired from the tracking thread, the ones that became due in between are all fired in order
+            Time.advanceTime(26);
+            windowManager.onTick();
+            assertEquals(Arrays.asList(seq(1), seq(1, 2), seq(2, 3)), listener.allOnActivationEvents);
+            assertEquals(Arrays.asList(9L, 19L, 29L), listener.allOnActivationTimestamps);
+
+            Time.advanceTime(5);
+            windowManager.add(4);
+            assertEquals(seq(3), listener.onActivationEvents);
+            assertEquals(Arrays.asList(9L, 19L, 29L, 39L), listener.allOnActivationTimestamps);
+        }
+    }
+
     @Test
     public void testTumblingWindow() throws Exception {
         EvictionPolicy<Integer, ?> evictionPolicy = new CountEvictionPolicy<Integer>(3);
@@ -578,6 +609,7 @@ public class WindowManagerTest {
         List<List<Integer>> allOnActivationEvents = new ArrayList<>();
         List<List<Integer>> allOnActivationNewEvents = new ArrayList<>();
         List<List<Integer>> allOnActivationExpiredEvents = new ArrayList<>();
+        List<Long> allOnActivationTimestamps = new ArrayList<>();
 
         @Override
         public void onExpiry(List<Integer> events) {
@@ -593,6 +625,7 @@ public class WindowManagerTest {
             allOnActivationNewEvents.add(newEvents);
             onActivationExpiredEvents = expired;
             allOnActivationExpiredEvents.add(expired);
+            allOnActivationTimestamps.add(timestamp);
         }
 
         void clear() {
@@ -605,6 +638,7 @@ public class WindowManagerTest {
             allOnActivationEvents.clear();
             allOnActivationNewEvents.clear();
             allOnActivationExpiredEvents.clear();
+            allOnActivationTimestamps.clear();
         }
     }
 }
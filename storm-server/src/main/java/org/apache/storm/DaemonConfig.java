@@ -36,6 +36,7 @@ import static org.apache.storm.validation.ConfigValidationAnnotations.Password;
 import java.util.ArrayList;
 import java.util.Map;
 import org.apache.storm.container.ResourceIsolationInterface;
+import org.apache.storm.nimbus.IClusterRebalancer;
 import org.apache.storm.nimbus.ITopologyActionNotifierPlugin;
 import org.apache.storm.scheduler.blacklist.reporters.IReporter;
 import org.apache.storm.scheduler.blacklist.strategies.IBlacklistStrategy;
@@ -214,6 +215,83 @@ public class DaemonConfig implements Validated {
     @IsPositiveNumber
     public static final String NIMBUS_MONITOR_FREQ_SECS = "nimbus.monitor.freq.secs";
 
+    /**
+     * Whether nimbus should keep the storm bases and topology details of the active topologies between scheduling rounds, and only re-read
+     * the topologies that changed, instead of reading all of them from ZooKeeper every round.
+     */
+    @IsBoolean
+    public static final String NIMBUS_TOPOLOGY_STATE_CACHE_ENABLE = "nimbus.topology.state.cache.enable";
+
+    /**
+     * How often nimbus re-reads all the topologies when {@link #NIMBUS_TOPOLOGY_STATE_CACHE_ENABLE} is set, in case a change
+     * notification from ZooKeeper was missed.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String NIMBUS_TOPOLOGY_STATE_CACHE_FULL_REFRESH_SECS = "nimbus.topology.state.cache.full.refresh.secs";
+
+    /**
+     * A local directory nimbus writes snapshots of the scheduler input to, for replaying with
+     * {@link org.apache.storm.scheduler.resource.simulation.SchedulerReplay}. Snapshots include the cluster and topology
+     * configurations without the values that look like secrets, and are only readable by the nimbus user. Not set by default, in which
+     * case no snapshots are written.
+     */
+    @IsString
+    public static final String NIMBUS_SCHEDULER_SNAPSHOT_DIR = "nimbus.scheduler.snapshot.dir";
+
+    /**
+     * How often nimbus writes a snapshot of the scheduler input when {@link #NIMBUS_SCHEDULER_SNAPSHOT_DIR} is set.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String NIMBUS_SCHEDULER_SNAPSHOT_INTERVAL_SECS = "nimbus.scheduler.snapshot.interval.secs";
+
+    /**
+     * How many of the newest scheduler snapshots nimbus keeps in {@link #NIMBUS_SCHEDULER_SNAPSHOT_DIR}, older ones are deleted.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String NIMBUS_SCHEDULER_SNAPSHOT_RETAINED_COUNT = "nimbus.scheduler.snapshot.retained.count";
+
+    /**
+     * FQCN of a class that implements {@code IClusterRebalancer} @see org.apache.storm.nimbus.IClusterRebalancer for details. Nimbus
+     * does not move running topologies on its own unless this is set.
+     */
+    @IsImplementationOfClass(implementsClass = IClusterRebalancer.class)
+    public static final String NIMBUS_CLUSTER_REBALANCER_PLUGIN = "nimbus.cluster.rebalancer.plugin.class";
+
+    /**
+     * How often nimbus asks the {@link #NIMBUS_CLUSTER_REBALANCER_PLUGIN} for a topology to rebalance. At most one topology is rebalanced
+     * each time.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String NIMBUS_CLUSTER_REBALANCER_INTERVAL_SECS = "nimbus.cluster.rebalancer.interval.secs";
+
+    /**
+     * How long the {@link #NIMBUS_CLUSTER_REBALANCER_PLUGIN} may look for a topology to rebalance. Nimbus runs it in the background and
+     * interrupts it after this long, and nothing is rebalanced until the next interval.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String NIMBUS_CLUSTER_REBALANCER_MAX_TIME_SECS = "nimbus.cluster.rebalancer.max.time.secs";
+
+    /**
+     * The minimum number of nodes that rescheduling a topology has to free for the
+     * {@code org.apache.storm.scheduler.resource.DefragmentingRebalancer} to rebalance it.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String NIMBUS_DEFRAGMENTING_REBALANCER_MIN_NODES_FREED = "nimbus.defragmenting.rebalancer.min.nodes.freed";
+
+    /**
+     * How long the {@code org.apache.storm.scheduler.resource.DefragmentingRebalancer} leaves a topology alone after rebalancing it.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String NIMBUS_DEFRAGMENTING_REBALANCER_TOPOLOGY_COOLDOWN_SECS =
+        "nimbus.defragmenting.rebalancer.topology.cooldown.secs";
+
     /**
      * How often nimbus should wake the cleanup thread to clean the inbox.
      *
@@ -312,6 +390,15 @@ public class DaemonConfig implements Validated {
     @IsInteger
     public static final String NIMBUS_ASSIGNMENTS_SERVICE_THREAD_QUEUE_SIZE = "nimbus.assignments.service.thread.queue.size";
 
+    /**
+     * Whether nimbus sends supervisors only what changed in their assignments since the last assignments it sent them, instead of all
+     * of their assignments every time. A supervisor that did not get the last assignments syncs all of them from nimbus instead.
+     * Only enable this once all supervisors in the cluster support it. Supervisors with NUMA zones always sync all of their
+     * assignments.
+     */
+    @IsBoolean
+    public static final String NIMBUS_ASSIGNMENTS_SERVICE_SEND_DELTAS = "nimbus.assignments.service.send.deltas";
+
     /**
      * class controls heartbeats recovery strategy.
      */
@@ -769,6 +856,23 @@ public class DaemonConfig implements Validated {
     @IsInteger
     public static final String SUPERVISOR_LOCALIZER_UPDATE_BLOB_INTERVAL_SECS = "supervisor.localizer.update.blob.interval.secs";
 
+    /**
+     * Whether the supervisor should keep topology jars by the digest of their content, so a jar it already has for another topology of
+     * the same user is linked instead of downloaded again. Jars no topology uses any more are evicted least recently used first to stay
+     * under supervisor.localizer.cache.target.size.mb. This needs hard links, so the supervisor local dir has to be on a file system that
+     * supports them.
+     */
+    @IsBoolean
+    public static final String SUPERVISOR_LOCALIZER_CONTENT_CACHE_ENABLED = "supervisor.localizer.content.cache.enabled";
+
+    /**
+     * How many threads the supervisor should use to extract the resources of a topology jar that could not be extracted while it was
+     * downloaded.
+     */
+    @IsPositiveNumber
+    @IsInteger
+    public static final String SUPERVISOR_LOCALIZER_EXTRACTION_THREAD_COUNT = "supervisor.localizer.extraction.thread.count";
+
     /**
      * What blobstore download parallelism the supervisor should use.
      */
@@ -783,6 +887,31 @@ public class DaemonConfig implements Validated {
     @IsInteger
     public static final String SUPERVISOR_BLOBSTORE_DOWNLOAD_MAX_RETRIES = "supervisor.blobstore.download.max_retries";
 
+    /**
+     * The number of ranges of a blob the supervisor downloads at the same time, each over its own connection to the blob store. Only
+     * blobs larger than supervisor.blobstore.download.range.size.mb are downloaded in ranges, and a range that fails is downloaded again
+     * from where it stopped, up to supervisor.blobstore.download.max_retries times in a row. 1 downloads blobs in a single stream.
+     */
+    @IsPositiveNumber
+    @IsInteger
+    public static final String SUPERVISOR_BLOBSTORE_DOWNLOAD_RANGE_PARALLELISM = "supervisor.blobstore.download.range.parallelism";
+
+    /**
+     * The size in MB of the ranges blobs are downloaded in, when supervisor.blobstore.download.range.parallelism is more than 1.
+     */
+    @IsPositiveNumber
+    @IsInteger
+    public static final String SUPERVISOR_BLOBSTORE_DOWNLOAD_RANGE_SIZE_MB = "supervisor.blobstore.download.range.size.mb";
+
+    /**
+     * Whether supervisors should download topology blobs (storm.jar and stormcode.ser) from the other supervisors the topology is
+     * assigned to, instead of having every supervisor download them from nimbus. Nimbus is still asked for the version of each blob, and
+     * is used for the download when no other supervisor has the blob, or when what the other supervisors have does not match the digest
+     * nimbus recorded in stormconf.ser, which is always downloaded from nimbus.
+     */
+    @IsBoolean
+    public static final String SUPERVISOR_BLOBSTORE_PEER_DISTRIBUTION_ENABLED = "supervisor.blobstore.peer.distribution.enabled";
+
     /**
      * A map with keys mapped to each NUMA Node on the supervisor that will be used
      * by scheduler. CPUs, memory and ports available on each NUMA node will be provided.
@@ -858,6 +987,33 @@ public class DaemonConfig implements Validated {
     @NotNull
     public static final String SUPERVISOR_WORKER_START_TIMEOUT_SECS = "supervisor.worker.start.timeout.secs";
 
+    /**
+     * How many JVMs the supervisor should keep started ahead of time to launch workers in, so a worker does not have to wait for a JVM to
+     * start and load the storm classes, like when a worker of a topology dies and is launched again. A JVM can only be used for a worker
+     * with the same JVM options as the worker it was started for, and is not used when workers run as the user, with resource isolation,
+     * with a topology environment or classpath prefix, or with native libraries in the topology jar. 0 disables it.
+     */
+    @IsInteger
+    @IsPositiveNumber(includeZero = true)
+    public static final String SUPERVISOR_WORKER_PREWARMED_POOL_SIZE = "supervisor.worker.prewarmed.pool.size";
+
+    /**
+     * Whether the supervisor should build an application class data sharing archive for each version of a topology jar, from the classes
+     * the first worker launched with it loads, and launch the workers after it with the archive so they start faster. This needs workers
+     * to run on java 11 or later, and is not used when workers run as the user or in containers.
+     */
+    @IsBoolean
+    public static final String SUPERVISOR_WORKER_CLASS_DATA_SHARING_ENABLE = "supervisor.worker.class.data.sharing.enable";
+
+    /**
+     * How long after the first worker launched with a version of a topology jar started to build the class data sharing archive from the
+     * classes it loaded. Classes the worker loads after that are not in the archive.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String SUPERVISOR_WORKER_CLASS_DATA_SHARING_BUILD_DELAY_SECS =
+        "supervisor.worker.class.data.sharing.build.delay.secs";
+
     /**
      * Whether or not the supervisor should launch workers assigned to it. Defaults to true -- and you should probably never change this
      * value. This configuration is used in the Storm unit tests.
@@ -1013,6 +1169,17 @@ public class DaemonConfig implements Validated {
     public static final String RESOURCE_AWARE_SCHEDULER_MAX_TOPOLOGY_SCHEDULING_ATTEMPTS =
         "resource.aware.scheduler.max.topology.scheduling.attempts";
 
+    /**
+     * The number of threads the RAS uses to schedule topologies in parallel. With more than one thread every topology that needs
+     * scheduling is scheduled speculatively against a snapshot of the cluster and the results are committed in priority order, falling
+     * back to sequential scheduling when a result conflicts with an earlier commit. The default is 1, which schedules one topology at
+     * a time.
+     */
+    @IsInteger
+    @IsPositiveNumber
+    public static final String RESOURCE_AWARE_SCHEDULER_PARALLEL_SCHEDULING_THREADS =
+        "resource.aware.scheduler.parallel.scheduling.threads";
+
     /*
      * The maximum number of states that will be searched looking for a solution in the constraint solver strategy
      */
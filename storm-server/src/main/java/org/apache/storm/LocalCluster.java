@@ -929,6 +929,12 @@ public class LocalCluster implements ILocalClusterTrackedTopologyAware, Iface {
         throw new WrappedKeyNotFoundException("BLOBS NOT SUPPORTED IN LOCAL MODE");
     }
 
+    @Override
+    public BeginDownloadResult beginBlobDownloadRange(String key, long offset, long length)
+        throws AuthorizationException, KeyNotFoundException, TException {
+        throw new WrappedKeyNotFoundException("BLOBS NOT SUPPORTED IN LOCAL MODE");
+    }
+
     @Override
     public ByteBuffer downloadBlobChunk(String session) throws AuthorizationException, TException {
         throw new RuntimeException("BLOBS NOT SUPPORTED IN LOCAL MODE");
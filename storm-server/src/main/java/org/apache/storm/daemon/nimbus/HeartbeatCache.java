@@ -19,73 +19,110 @@
 package org.apache.storm.daemon.nimbus;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import org.apache.storm.generated.Assignment;
 import org.apache.storm.generated.ExecutorInfo;
 import org.apache.storm.generated.SupervisorWorkerHeartbeat;
 import org.apache.storm.shade.com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.stats.ClientStatsUtil;
-import org.apache.storm.stats.StatsUtil;
 import org.apache.storm.utils.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Holds a cache of heartbeats from the workers.
+ *
+ * <p>Heartbeats sent by supervisors are only queued by the threads handling the RPCs. The cache itself is only changed by one thread at
+ * a time, which applies everything queued before it changes or reads anything, so heartbeats for many executors of a topology end up in
+ * a single update of that topology, and the RPC threads never wait on each other or on nimbus computing assignments. What is cached for a
+ * topology is an immutable map that is replaced as a whole on every change, so it can be read without any locking.
  */
 public class HeartbeatCache {
     private static final Logger LOG = LoggerFactory.getLogger(HeartbeatCache.class);
-    private static final Function<String, ConcurrentHashMap<List<Integer>, ExecutorCache>> MAKE_MAP = (k) -> new ConcurrentHashMap<>();
+    // Apply the queued heartbeats from an RPC thread when this many are queued, so they do not pile up when nobody reads the cache
+    private static final int MAX_PENDING_BEATS = 1024;
 
     private static class ExecutorCache {
-        private Boolean isTimedOut;
-        private Integer nimbusTimeSecs;
-        private Integer executorReportedTimeSecs;
+        private final boolean isTimedOut;
+        private final int nimbusTimeSecs;
+        private final int executorReportedTimeSecs;
+
+        ExecutorCache(int executorReportedTimeSecs, int nimbusTimeSecs, boolean isTimedOut) {
+            this.executorReportedTimeSecs = executorReportedTimeSecs;
+            this.nimbusTimeSecs = nimbusTimeSecs;
+            this.isTimedOut = isTimedOut;
+        }
 
-        ExecutorCache(Map<String, Object> newBeat) {
-            if (newBeat != null) {
-                executorReportedTimeSecs = (Integer) newBeat.getOrDefault(ClientStatsUtil.TIME_SECS, 0);
+        /**
+         * Apply a heartbeat.
+         *
+         * @param curr what was cached before, or null.
+         * @param newReportedTimeSecs the time reported by the executor, or null if it did not send a heartbeat.
+         * @param nowSecs the time at which nimbus got the heartbeat.
+         * @param timeout the timeout.
+         * @return what is cached after the heartbeat.
+         */
+        static ExecutorCache updateFromHb(ExecutorCache curr, Integer newReportedTimeSecs, int nowSecs, int timeout) {
+            int reportedTimeSecs;
+            int nimbusTimeSecs;
+            if (curr == null) {
+                reportedTimeSecs = newReportedTimeSecs == null ? 0 : newReportedTimeSecs;
+                nimbusTimeSecs = nowSecs;
             } else {
-                executorReportedTimeSecs = 0;
+                reportedTimeSecs = curr.executorReportedTimeSecs;
+                nimbusTimeSecs = curr.nimbusTimeSecs;
+                if (newReportedTimeSecs != null && newReportedTimeSecs != reportedTimeSecs) {
+                    reportedTimeSecs = newReportedTimeSecs;
+                    nimbusTimeSecs = nowSecs;
+                }
             }
-
-            nimbusTimeSecs = Time.currentTimeSecs();
-            isTimedOut = false;
+            return new ExecutorCache(reportedTimeSecs, nimbusTimeSecs, nowSecs - nimbusTimeSecs >= timeout);
         }
 
-        public synchronized Boolean isTimedOut() {
-            return isTimedOut;
+        ExecutorCache updateTimeout(int nowSecs, int timeout) {
+            boolean timedOut = nowSecs - nimbusTimeSecs >= timeout;
+            return timedOut == isTimedOut ? this : new ExecutorCache(executorReportedTimeSecs, nimbusTimeSecs, timedOut);
         }
 
-        public synchronized Integer getNimbusTimeSecs() {
-            return nimbusTimeSecs;
+        @Override
+        public String toString() {
+            return "{reported: " + executorReportedTimeSecs + ", nimbus: " + nimbusTimeSecs + ", timed out: " + isTimedOut + "}";
         }
+    }
 
-        public synchronized void updateTimeout(Integer timeout) {
-            isTimedOut = Time.deltaSecs(getNimbusTimeSecs()) >= timeout;
-        }
+    /**
+     * A heartbeat from a worker waiting to be applied to the cache.
+     */
+    private static class PendingBeat {
+        private final String topoId;
+        private final List<ExecutorInfo> executors;
+        private final int reportedTimeSecs;
+        private final int receivedTimeSecs;
+        private final int timeoutSecs;
 
-        public synchronized void updateFromHb(Integer timeout, Map<String, Object> newBeat) {
-            if (newBeat != null) {
-                Integer newReportedTime = (Integer) newBeat.getOrDefault(ClientStatsUtil.TIME_SECS, 0);
-                if (!newReportedTime.equals(executorReportedTimeSecs)) {
-                    nimbusTimeSecs = Time.currentTimeSecs();
-                }
-                executorReportedTimeSecs = newReportedTime;
-            }
-            updateTimeout(timeout);
+        PendingBeat(SupervisorWorkerHeartbeat workerHeartbeat, int receivedTimeSecs, int timeoutSecs) {
+            this.topoId = workerHeartbeat.get_storm_id();
+            this.executors = workerHeartbeat.get_executors();
+            this.reportedTimeSecs = workerHeartbeat.get_time_secs();
+            this.receivedTimeSecs = receivedTimeSecs;
+            this.timeoutSecs = timeoutSecs;
         }
     }
 
-    //Topology Id -> executor ids -> component -> stats(...)
-    private final ConcurrentHashMap<String, ConcurrentHashMap<List<Integer>, ExecutorCache>> cache;
+    //Topology Id -> executor ids -> what is known about the executor. Each value is immutable and only replaced by the writer.
+    private final ConcurrentHashMap<String, Map<List<Integer>, ExecutorCache>> cache;
+    private final ConcurrentLinkedQueue<PendingBeat> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger numPending = new AtomicInteger();
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     /**
      * Create an empty cache.
@@ -100,7 +137,13 @@ public class HeartbeatCache {
      */
     @VisibleForTesting
     public void addEmptyTopoForTests(String topoId) {
-        cache.put(topoId, new ConcurrentHashMap<>());
+        writeLock.lock();
+        try {
+            applyPending();
+            cache.put(topoId, Collections.emptyMap());
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -109,7 +152,7 @@ public class HeartbeatCache {
      */
     @VisibleForTesting
     public int getNumToposCached() {
-        return cache.size();
+        return getTopologyIds().size();
     }
 
     /**
@@ -118,6 +161,12 @@ public class HeartbeatCache {
      */
     @VisibleForTesting
     public Set<String> getTopologyIds() {
+        writeLock.lock();
+        try {
+            applyPending();
+        } finally {
+            writeLock.unlock();
+        }
         return cache.keySet();
     }
 
@@ -126,7 +175,13 @@ public class HeartbeatCache {
      * @param topoId the id of the topology to remove.
      */
     public void removeTopo(String topoId) {
-        cache.remove(topoId);
+        writeLock.lock();
+        try {
+            applyPending();
+            cache.remove(topoId);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -135,9 +190,15 @@ public class HeartbeatCache {
      * @param taskTimeoutSecs the timeout to know if they are too old.
      */
     public void timeoutOldHeartbeats(String topoId, Integer taskTimeoutSecs) {
-        Map<List<Integer>, ExecutorCache> topoCache = cache.computeIfAbsent(topoId, MAKE_MAP);
-        for (ExecutorCache ec : topoCache.values()) {
-            ec.updateTimeout(taskTimeoutSecs);
+        writeLock.lock();
+        try {
+            applyPending();
+            int nowSecs = Time.currentTimeSecs();
+            Map<List<Integer>, ExecutorCache> topoCache = new HashMap<>(cache.getOrDefault(topoId, Collections.emptyMap()));
+            topoCache.replaceAll((exec, ec) -> ec.updateTimeout(nowSecs, taskTimeoutSecs));
+            cache.put(topoId, Collections.unmodifiableMap(topoCache));
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -150,33 +211,66 @@ public class HeartbeatCache {
      */
     public void updateFromZkHeartbeat(String topoId, Map<List<Integer>, Map<String, Object>> executorBeats,
                                       Set<List<Integer>> allExecutors, Integer timeout) {
-        Map<List<Integer>, ExecutorCache> topoCache = cache.computeIfAbsent(topoId, MAKE_MAP);
         if (executorBeats == null) {
             executorBeats = new HashMap<>();
         }
 
-        for (List<Integer> executor : allExecutors) {
-            final Map<String, Object> newBeat = executorBeats.get(executor);
-            ExecutorCache currBeat = topoCache.computeIfAbsent(executor, (k) -> new ExecutorCache(newBeat));
-            currBeat.updateFromHb(timeout, newBeat);
+        writeLock.lock();
+        try {
+            applyPending();
+            int nowSecs = Time.currentTimeSecs();
+            Map<List<Integer>, ExecutorCache> topoCache = new HashMap<>(cache.getOrDefault(topoId, Collections.emptyMap()));
+            for (List<Integer> executor : allExecutors) {
+                Map<String, Object> newBeat = executorBeats.get(executor);
+                Integer reportedTimeSecs = newBeat == null ? null : (Integer) newBeat.getOrDefault(ClientStatsUtil.TIME_SECS, 0);
+                topoCache.put(executor, ExecutorCache.updateFromHb(topoCache.get(executor), reportedTimeSecs, nowSecs, timeout));
+            }
+            cache.put(topoId, Collections.unmodifiableMap(topoCache));
+        } finally {
+            writeLock.unlock();
         }
     }
 
     /**
-     * Update the heartbeats for a given worker.
+     * Update the heartbeats for a given worker. The heartbeats are only queued, they are applied the next time the cache is read or
+     * changed otherwise.
      * @param workerHeartbeat the heartbeats from the worker.
      * @param taskTimeoutSecs the timeout we should be looking at.
      */
     public void updateHeartbeat(SupervisorWorkerHeartbeat workerHeartbeat, Integer taskTimeoutSecs) {
-        Map<List<Integer>, Map<String, Object>> executorBeats = StatsUtil.convertWorkerBeats(workerHeartbeat);
-        String topoId = workerHeartbeat.get_storm_id();
-        Map<List<Integer>, ExecutorCache> topoCache = cache.computeIfAbsent(topoId, MAKE_MAP);
+        pending.add(new PendingBeat(workerHeartbeat, Time.currentTimeSecs(), taskTimeoutSecs));
+        if (numPending.incrementAndGet() >= MAX_PENDING_BEATS && writeLock.tryLock()) {
+            try {
+                applyPending();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
 
-        for (ExecutorInfo executorInfo : workerHeartbeat.get_executors()) {
-            List<Integer> executor = Arrays.asList(executorInfo.get_task_start(), executorInfo.get_task_end());
-            final Map<String, Object> newBeat = executorBeats.get(executor);
-            ExecutorCache currBeat = topoCache.computeIfAbsent(executor, (k) -> new ExecutorCache(newBeat));
-            currBeat.updateFromHb(taskTimeoutSecs, newBeat);
+    /**
+     * Apply all of the queued heartbeats, copying the cache of each topology they are for only once. Must hold the write lock.
+     */
+    private void applyPending() {
+        if (numPending.get() == 0) {
+            return;
+        }
+        Map<String, Map<List<Integer>, ExecutorCache>> updated = new HashMap<>();
+        PendingBeat beat;
+        while ((beat = pending.poll()) != null) {
+            numPending.decrementAndGet();
+            Map<List<Integer>, ExecutorCache> topoCache = updated.computeIfAbsent(beat.topoId,
+                (id) -> new HashMap<>(cache.getOrDefault(id, Collections.emptyMap())));
+            for (ExecutorInfo executorInfo : beat.executors) {
+                List<Integer> executor = new ArrayList<>(2);
+                executor.add(executorInfo.get_task_start());
+                executor.add(executorInfo.get_task_end());
+                topoCache.put(executor, ExecutorCache.updateFromHb(topoCache.get(executor), beat.reportedTimeSecs,
+                    beat.receivedTimeSecs, beat.timeoutSecs));
+            }
+        }
+        for (Map.Entry<String, Map<List<Integer>, ExecutorCache>> entry : updated.entrySet()) {
+            cache.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
         }
     }
 
@@ -189,7 +283,13 @@ public class HeartbeatCache {
      * @return the set of tasks that are alive.
      */
     public Set<List<Integer>> getAliveExecutors(String topoId, Set<List<Integer>> allExecutors, Assignment assignment, int taskLaunchSecs) {
-        Map<List<Integer>, ExecutorCache> topoCache = cache.computeIfAbsent(topoId, MAKE_MAP);
+        writeLock.lock();
+        try {
+            applyPending();
+        } finally {
+            writeLock.unlock();
+        }
+        Map<List<Integer>, ExecutorCache> topoCache = cache.getOrDefault(topoId, Collections.emptyMap());
         LOG.debug("Computing alive executors for {}\nExecutors: {}\nAssignment: {}\nHeartbeat cache: {}",
             topoId, allExecutors, assignment, topoCache);
 
@@ -204,8 +304,8 @@ public class HeartbeatCache {
 
             Long startTime = execToStartTimes.get(longExec);
             ExecutorCache executorCache = topoCache.get(exec);
-            //null isTimedOut means worker never reported any heartbeat
-            boolean isTimedOut = executorCache == null ? true : executorCache.isTimedOut();
+            //null executorCache means worker never reported any heartbeat
+            boolean isTimedOut = executorCache == null ? true : executorCache.isTimedOut;
             Integer delta = startTime == null ? null : Time.deltaSecs(startTime.intValue());
             if (startTime != null && ((delta < taskLaunchSecs) || !isTimedOut)) {
                 ret.add(exec);
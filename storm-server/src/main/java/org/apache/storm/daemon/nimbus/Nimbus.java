@@ -37,6 +37,8 @@ import java.net.ServerSocket;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -52,6 +54,9 @@ import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -155,6 +160,7 @@ import org.apache.storm.metricstore.MetricStore;
 import org.apache.storm.metricstore.MetricStoreConfig;
 import org.apache.storm.nimbus.AssignmentDistributionService;
 import org.apache.storm.nimbus.DefaultTopologyValidator;
+import org.apache.storm.nimbus.IClusterRebalancer;
 import org.apache.storm.nimbus.ILeaderElector;
 import org.apache.storm.nimbus.ITopologyActionNotifierPlugin;
 import org.apache.storm.nimbus.ITopologyValidator;
@@ -172,13 +178,16 @@ import org.apache.storm.scheduler.SupervisorDetails;
 import org.apache.storm.scheduler.SupervisorResources;
 import org.apache.storm.scheduler.Topologies;
 import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.TopologyTraffic;
 import org.apache.storm.scheduler.WorkerSlot;
 import org.apache.storm.scheduler.blacklist.BlacklistScheduler;
 import org.apache.storm.scheduler.multitenant.MultitenantScheduler;
 import org.apache.storm.scheduler.resource.ResourceAwareScheduler;
 import org.apache.storm.scheduler.resource.ResourceUtils;
 import org.apache.storm.scheduler.resource.normalization.NormalizedResourceRequest;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResources;
 import org.apache.storm.scheduler.resource.normalization.ResourceMetrics;
+import org.apache.storm.scheduler.resource.simulation.SchedulerSnapshot;
 import org.apache.storm.security.INimbusCredentialPlugin;
 import org.apache.storm.security.auth.ClientAuthUtils;
 import org.apache.storm.security.auth.IAuthorizer;
@@ -195,6 +204,7 @@ import org.apache.storm.shade.com.google.common.base.Strings;
 import org.apache.storm.shade.com.google.common.collect.ImmutableMap;
 import org.apache.storm.shade.com.google.common.collect.MapDifference;
 import org.apache.storm.shade.com.google.common.collect.Maps;
+import org.apache.storm.shade.com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.storm.shade.org.apache.curator.framework.CuratorFramework;
 import org.apache.storm.shade.org.apache.zookeeper.ZooDefs;
 import org.apache.storm.shade.org.apache.zookeeper.data.ACL;
@@ -240,6 +250,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
     private final Meter killTopologyWithOptsCalls;
     private final Meter killTopologyCalls;
     private final Meter rebalanceCalls;
+    private final Meter clusterRebalances;
     private final Meter activateCalls;
     private final Meter deactivateCalls;
     private final Meter debugCalls;
@@ -280,6 +291,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
     private final Timer schedulingDuration;
     //Scheduler histogram
     private final Histogram numAddedExecPerScheduling;
+    private final Histogram numTopologiesReadPerScheduling;
     private final Histogram numAddedSlotPerScheduling;
     private final Histogram numRemovedExecPerScheduling;
     private final Histogram numRemovedSlotPerScheduling;
@@ -311,6 +323,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         IStormClusterState state = nimbus.getStormClusterState();
         Assignment oldAssignment = state.assignmentInfo(topoId, null);
         state.removeStorm(topoId);
+        nimbus.invalidateTopologyState(topoId);
         notifySupervisorsAsKilled(state, oldAssignment, nimbus.getAssignmentsDistributer(), nimbus.getMetricsRegistry());
         nimbus.heartbeatsCache.removeTopo(topoId);
         nimbus.getIdToExecutors().getAndUpdate(new Dissoc<>(topoId));
@@ -419,6 +432,11 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
     private final Object schedLock = new Object();
     private final Object credUpdateLock = new Object();
     private final HeartbeatCache heartbeatsCache;
+    private final TopologyStateCache topologyStateCache;
+    private final String schedulerSnapshotDir;
+    private final long schedulerSnapshotIntervalMs;
+    private final int schedulerSnapshotsRetained;
+    private long lastSchedulerSnapshotMs = 0;
     private final AtomicBoolean heartbeatsReadyFlag;
     private final IWorkerHeartbeatsRecoveryStrategy heartbeatsRecoveryStrategy;
     @SuppressWarnings("deprecation")
@@ -453,6 +471,13 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
     private final LocalState topologyHistoryState;
     private final Collection<INimbusCredentialPlugin> nimbusAutocredPlugins;
     private final ITopologyActionNotifierPlugin nimbusTopologyActionNotifier;
+    private final IClusterRebalancer clusterRebalancer;
+    // the cluster as it was last scheduled, only kept when there is a clusterRebalancer to look at it
+    private final AtomicReference<Cluster> lastScheduledCluster = new AtomicReference<>();
+    // the clusterRebalancer can take as long as scheduling every topology again, so it runs here instead of on the timer that schedules
+    private final ExecutorService clusterRebalancerExecutor;
+    // the current run of the clusterRebalancer, only used on the timer thread
+    private Future<?> clusterRebalancing;
     private final List<ClusterMetricsConsumerExecutor> clusterConsumerExceutors;
     private final IGroupMappingServiceProvider groupMapper;
     private final IPrincipalToLocal principalToLocal;
@@ -491,6 +516,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         this.killTopologyWithOptsCalls = metricsRegistry.registerMeter("nimbus:num-killTopologyWithOpts-calls");
         this.killTopologyCalls = metricsRegistry.registerMeter("nimbus:num-killTopology-calls");
         this.rebalanceCalls = metricsRegistry.registerMeter("nimbus:num-rebalance-calls");
+        this.clusterRebalances = metricsRegistry.registerMeter("nimbus:num-cluster-rebalances");
         this.activateCalls = metricsRegistry.registerMeter("nimbus:num-activate-calls");
         this.deactivateCalls = metricsRegistry.registerMeter("nimbus:num-deactivate-calls");
         this.debugCalls = metricsRegistry.registerMeter("nimbus:num-debug-calls");
@@ -531,6 +557,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         this.fileUploadDuration = metricsRegistry.registerTimer("nimbus:files-upload-duration-ms");
         this.schedulingDuration = metricsRegistry.registerTimer("nimbus:topology-scheduling-duration-ms");
         this.numAddedExecPerScheduling = metricsRegistry.registerHistogram("nimbus:num-added-executors-per-scheduling");
+        this.numTopologiesReadPerScheduling = metricsRegistry.registerHistogram("nimbus:num-topologies-read-per-scheduling");
         this.numAddedSlotPerScheduling = metricsRegistry.registerHistogram("nimbus:num-added-slots-per-scheduling");
         this.numRemovedExecPerScheduling = metricsRegistry.registerHistogram("nimbus:num-removed-executors-per-scheduling");
         this.numRemovedSlotPerScheduling = metricsRegistry.registerHistogram("nimbus:num-removed-slots-per-scheduling");
@@ -563,6 +590,16 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         }
         this.stormClusterState = stormClusterState;
         this.heartbeatsCache = new HeartbeatCache();
+        if (ObjectReader.getBoolean(conf.get(DaemonConfig.NIMBUS_TOPOLOGY_STATE_CACHE_ENABLE), false)) {
+            this.topologyStateCache = new TopologyStateCache(stormClusterState,
+                ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_TOPOLOGY_STATE_CACHE_FULL_REFRESH_SECS), 300));
+        } else {
+            this.topologyStateCache = null;
+        }
+        this.schedulerSnapshotDir = (String) conf.get(DaemonConfig.NIMBUS_SCHEDULER_SNAPSHOT_DIR);
+        this.schedulerSnapshotIntervalMs =
+            TimeUnit.SECONDS.toMillis(ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_SCHEDULER_SNAPSHOT_INTERVAL_SECS), 600));
+        this.schedulerSnapshotsRetained = ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_SCHEDULER_SNAPSHOT_RETAINED_COUNT), 24);
         this.heartbeatsReadyFlag = new AtomicBoolean(false);
         this.heartbeatsRecoveryStrategy = WorkerHeartbeatsRecoveryStrategyFactory.getStrategy(conf);
         this.downloaders = fileCacheMap(conf);
@@ -577,6 +614,11 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
             LOG.error("Error while processing event", e);
             Utils.exitProcess(20, "Error while processing event");
         });
+        // Give the generic resources configured for the cluster their fixed positions before anything gets scheduled
+        NormalizedResources.registerResourceNames(
+            (Map<String, Number>) conf.getOrDefault(Config.SUPERVISOR_RESOURCES_MAP, Collections.emptyMap()));
+        NormalizedResources.registerResourceNames(
+            (Map<String, Number>) conf.getOrDefault(Config.TOPOLOGY_COMPONENT_RESOURCES_MAP, Collections.emptyMap()));
         this.underlyingScheduler = makeScheduler(conf, inimbus);
         this.scheduler = wrapAsBlacklistScheduler(conf, underlyingScheduler, metricsRegistry);
         this.zkClient = makeZKClient(conf);
@@ -608,6 +650,9 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         this.topologyHistoryState = ServerConfigUtils.nimbusTopoHistoryState(conf);
         this.nimbusAutocredPlugins = ClientAuthUtils.getNimbusAutoCredPlugins(conf);
         this.nimbusTopologyActionNotifier = createTopologyActionNotifier(conf);
+        this.clusterRebalancer = createClusterRebalancer(conf);
+        this.clusterRebalancerExecutor = clusterRebalancer == null ? null : Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("nimbus-cluster-rebalancer").setDaemon(true).build());
         this.clusterConsumerExceutors = makeClusterMetricsConsumerExecutors(conf);
         if (groupMapper == null) {
             groupMapper = ClientAuthUtils.getGroupMappingServiceProviderPlugin(conf);
@@ -708,6 +753,21 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         return new TimeCacheMap<>(ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_BLOBSTORE_EXPIRATION_SECS), 600));
     }
 
+    private static IClusterRebalancer createClusterRebalancer(Map<String, Object> conf) {
+        String clazz = (String) conf.get(DaemonConfig.NIMBUS_CLUSTER_REBALANCER_PLUGIN);
+        IClusterRebalancer ret = null;
+        if (clazz != null && !clazz.isEmpty()) {
+            ret = ReflectionUtils.newInstance(clazz);
+            try {
+                ret.prepare(conf);
+            } catch (Exception e) {
+                LOG.warn("Ignoring exception, Could not initialize {}", clazz, e);
+                ret = null;
+            }
+        }
+        return ret;
+    }
+
     private static ITopologyActionNotifierPlugin createTopologyActionNotifier(Map<String, Object> conf) {
         String clazz = (String) conf.get(DaemonConfig.NIMBUS_TOPOLOGY_ACTION_NOTIFIER_PLUGIN);
         ITopologyActionNotifierPlugin ret = null;
@@ -1368,6 +1428,10 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
                     try {
                         boolean isLeader = isLeader();
                         if (isLeader && !wasLeader) {
+                            if (topologyStateCache != null) {
+                                // we may have missed changes made by the previous leader
+                                topologyStateCache.invalidateAll();
+                            }
                             for (String topoId : state.activeStorms()) {
                                 transition(topoId, TopologyActions.GAIN_LEADERSHIP, null);
                             }
@@ -1478,6 +1542,20 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
                 });
 
             timer.scheduleRecurring(5, 5, clusterMetricSet);
+
+            if (clusterRebalancer != null) {
+                final int rebalancerIntervalSecs = ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_CLUSTER_REBALANCER_INTERVAL_SECS), 600);
+                timer.scheduleRecurring(rebalancerIntervalSecs, rebalancerIntervalSecs,
+                    () -> {
+                        try {
+                            if (isLeader()) {
+                                startClusterRebalancing();
+                            }
+                        } catch (Exception e) {
+                            LOG.warn("Could not rebalance the cluster", e);
+                        }
+                    });
+            }
         } catch (Exception e) {
             if (Utils.exceptionCauseIsInstanceOf(InterruptedException.class, e)) {
                 throw e;
@@ -1690,6 +1768,17 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         return metricsRegistry;
     }
 
+    private void invalidateTopologyState(String topoId) {
+        if (topologyStateCache != null) {
+            topologyStateCache.invalidate(topoId);
+        }
+    }
+
+    @VisibleForTesting
+    TopologyStateCache getTopologyStateCache() {
+        return topologyStateCache;
+    }
+
     @VisibleForTesting
     public HeartbeatCache getHeartbeatsCache() {
         return heartbeatsCache;
@@ -1776,6 +1865,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         stormClusterState.updateStorm(topoId, updated);
         updateBlobStore(topoId, rbo, ServerUtils.principalNameToSubject(rbo.get_principal()));
         idToExecutors.getAndUpdate(new Dissoc<>(topoId)); // remove the executors cache to let it recompute.
+        invalidateTopologyState(topoId);
         mkAssignments(topoId);
     }
 
@@ -1819,6 +1909,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
                 StormBase updates = transition.transition(eventArg, this, topoId, base);
                 if (updates != null) {
                     clusterState.updateStorm(topoId, updates);
+                    invalidateTopologyState(topoId);
                 }
             }
         }
@@ -1835,18 +1926,34 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
             try (FileInputStream fin = new FileInputStream(tmpJarLocation)) {
                 store.createBlob(jarKey, fin, new SettableBlobMeta(BlobStoreAclHandler.DEFAULT), subject);
             }
+            long jarVersion = store.getBlobMeta(jarKey, subject).get_version();
+            topoConf.put(Config.TOPOLOGY_JAR_DIGEST, ServerUtils.sha256Hex(Paths.get(tmpJarLocation)) + ":" + jarVersion);
+        } else {
+            topoConf.remove(Config.TOPOLOGY_JAR_DIGEST);
         }
 
-        topoCache.addTopoConf(topoId, subject, topoConf);
+        //The conf holds the digest of the code, so it is written last
         topoCache.addTopology(topoId, subject, topology);
+        topoConf.put(Config.TOPOLOGY_CODE_DIGEST, codeDigest(topoId, topology, subject));
+        topoCache.addTopoConf(topoId, subject, topoConf);
     }
 
-    private void updateTopologyResources(String topoId, Map<String, Map<String, Double>> resourceOverrides, Subject subject)
+    /**
+     * Get the digest of the topology as it is in the code blob, with the version of the blob, for {@link Config#TOPOLOGY_CODE_DIGEST}.
+     */
+    private String codeDigest(String topoId, StormTopology topology, Subject subject)
+        throws AuthorizationException, KeyNotFoundException {
+        long codeVersion = blobStore.getBlobMeta(ConfigUtils.masterStormCodeKey(topoId), subject).get_version();
+        return ServerUtils.sha256Hex(Utils.serialize(topology)) + ":" + codeVersion;
+    }
+
+    private StormTopology updateTopologyResources(String topoId, Map<String, Map<String, Double>> resourceOverrides, Subject subject)
         throws AuthorizationException, IOException, KeyNotFoundException {
         StormTopology topo = topoCache.readTopology(topoId, subject);
         topo = topo.deepCopy();
         ResourceUtils.updateStormTopologyResources(topo, resourceOverrides);
         topoCache.updateTopology(topoId, subject, topo);
+        return topo;
     }
 
     private void updateTopologyConf(String topoId, Map<String, Object> configOverride, Subject subject)
@@ -1858,13 +1965,21 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
 
     private void updateBlobStore(String topoId, RebalanceOptions rbo, Subject subject)
         throws AuthorizationException, IOException, KeyNotFoundException {
+        Map<String, Object> confOverride = new HashMap<>();
+        String confOverrideJson = rbo.get_topology_conf_overrides();
+        if (confOverrideJson != null && !confOverrideJson.isEmpty()) {
+            confOverride.putAll(Utils.parseJson(confOverrideJson));
+        }
+        //Only nimbus knows what is in the blobs
+        confOverride.remove(Config.TOPOLOGY_JAR_DIGEST);
+        confOverride.remove(Config.TOPOLOGY_CODE_DIGEST);
         Map<String, Map<String, Double>> resourceOverrides = rbo.get_topology_resources_overrides();
         if (resourceOverrides != null && !resourceOverrides.isEmpty()) {
-            updateTopologyResources(topoId, resourceOverrides, subject);
+            StormTopology topo = updateTopologyResources(topoId, resourceOverrides, subject);
+            confOverride.put(Config.TOPOLOGY_CODE_DIGEST, codeDigest(topoId, topo, subject));
         }
-        String confOverride = rbo.get_topology_conf_overrides();
-        if (confOverride != null && !confOverride.isEmpty()) {
-            updateTopologyConf(topoId, Utils.parseJson(confOverride), subject);
+        if (!confOverride.isEmpty()) {
+            updateTopologyConf(topoId, confOverride, subject);
         }
     }
 
@@ -2219,6 +2334,65 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         return ret;
     }
 
+    /**
+     * Start {@link #rebalanceCluster(Cluster)} in the background, unless the last run is still going. A run is interrupted once it takes
+     * longer than {@link DaemonConfig#NIMBUS_CLUSTER_REBALANCER_MAX_TIME_SECS}.
+     */
+    private void startClusterRebalancing() {
+        if (clusterRebalancing != null && !clusterRebalancing.isDone()) {
+            LOG.debug("The cluster rebalancer is still running");
+            return;
+        }
+        Cluster cluster = lastScheduledCluster.get();
+        if (cluster == null) {
+            return;
+        }
+        //Copied on the timer thread, which is the one that schedules, so the copy is not made while the cluster changes
+        Cluster copy = new Cluster(cluster);
+        Future<?> rebalancing = clusterRebalancerExecutor.submit(() -> {
+            try {
+                rebalanceCluster(copy);
+            } catch (Exception e) {
+                LOG.warn("Could not rebalance the cluster", e);
+            }
+        });
+        clusterRebalancing = rebalancing;
+        int maxTimeSecs = ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_CLUSTER_REBALANCER_MAX_TIME_SECS), 120);
+        timer.schedule(maxTimeSecs, () -> {
+            //Strategies that do not check for interruption still run until their own time limit, but nothing is rebalanced
+            if (rebalancing.cancel(true)) {
+                LOG.warn("Interrupted the cluster rebalancer after {} seconds", maxTimeSecs);
+            }
+        });
+    }
+
+    /**
+     * Ask the {@link IClusterRebalancer} for a topology to rebalance and rebalance it, unless a topology is still being rebalanced.
+     *
+     * @param cluster a copy of the cluster as it was last scheduled.
+     */
+    private void rebalanceCluster(Cluster cluster) throws Exception {
+        for (Entry<String, StormBase> entry : stormClusterState.topologyBases().entrySet()) {
+            if (entry.getValue().get_status() == TopologyStatus.REBALANCING) {
+                LOG.debug("Not looking for a topology to rebalance while {} is being rebalanced", entry.getKey());
+                return;
+            }
+        }
+        String topoId = clusterRebalancer.selectTopologyToRebalance(cluster);
+        if (topoId == null || Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        TopologyDetails td = cluster.getTopologies().getById(topoId);
+        if (td == null) {
+            LOG.warn("{} selected {}, which is not running", clusterRebalancer.getClass().getName(), topoId);
+            return;
+        }
+        LOG.info("Rebalancing {} selected by {}", topoId, clusterRebalancer.getClass().getName());
+        assertTopoActive(td.getName(), true);
+        clusterRebalances.mark();
+        rebalanceTopology(td.getName(), new RebalanceOptions());
+    }
+
     private boolean isFragmented(SupervisorResources supervisorResources) {
         double minMemory = ObjectReader.getDouble(conf.get(Config.TOPOLOGY_COMPONENT_RESOURCES_ONHEAP_MEMORY_MB), 256.0)
                            + ObjectReader.getDouble(conf.get(Config.TOPOLOGY_ACKER_RESOURCES_ONHEAP_MEMORY_MB), 128.0);
@@ -2240,9 +2414,32 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         return res.intValue();
     }
 
+    /**
+     * Write what the scheduler is about to be given to {@link DaemonConfig#NIMBUS_SCHEDULER_SNAPSHOT_DIR}, if it is set and the last
+     * snapshot is old enough. A snapshot that cannot be written is only logged, it must not get in the way of scheduling.
+     */
+    private void maybeWriteSchedulerSnapshot(Cluster cluster) {
+        long now = Time.currentTimeMillis();
+        if (schedulerSnapshotDir == null || now - lastSchedulerSnapshotMs < schedulerSnapshotIntervalMs) {
+            return;
+        }
+        lastSchedulerSnapshotMs = now;
+        File dir = new File(schedulerSnapshotDir);
+        File file = SchedulerSnapshot.getFile(dir, now);
+        try {
+            Files.createDirectories(dir.toPath());
+            SchedulerSnapshot.fromCluster(cluster, now).write(file);
+            LOG.info("Wrote scheduler snapshot {}", file);
+            SchedulerSnapshot.deleteOldSnapshots(dir, schedulerSnapshotsRetained);
+        } catch (Exception e) {
+            LOG.warn("Could not write scheduler snapshot {}", file, e);
+        }
+    }
+
     private Map<String, SchedulerAssignment> computeNewSchedulerAssignments(Map<String, Assignment> existingAssignments,
                                                                             Topologies topologies, Map<String, StormBase> bases,
-                                                                            String scratchTopologyId)
+                                                                            String scratchTopologyId,
+                                                                            Map<String, TopologyTraffic> topologyTraffic)
         throws KeyNotFoundException, AuthorizationException, InvalidTopologyException, IOException {
 
         Map<String, Set<List<Integer>>> topoToExec = computeTopologyToExecutors(bases);
@@ -2276,6 +2473,8 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
             readAllSupervisorDetails(supervisorToDeadPorts, topologies, missingAssignmentTopologies);
         Cluster cluster = new Cluster(inimbus, resourceMetrics, supervisors, topoToSchedAssignment, topologies, conf);
         cluster.setStatusMap(idToSchedStatus.get());
+        topologyTraffic.forEach(cluster::setTopologyTraffic);
+        maybeWriteSchedulerSnapshot(cluster);
 
         schedulingStartTimeNs.set(Time.nanoTime());
         scheduler.schedule(topologies, cluster);
@@ -2289,6 +2488,9 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         //merge with existing statuses
         idToSchedStatus.set(Utils.merge(idToSchedStatus.get(), cluster.getStatusMap()));
         nodeIdToResources.set(cluster.getSupervisorsResourcesMap());
+        if (clusterRebalancer != null) {
+            lastScheduledCluster.set(cluster);
+        }
 
         // This is a hack for non-ras scheduler topology and worker resources
         Map<String, TopologyResources> resources = cluster.getTopologyResourcesMap();
@@ -2400,23 +2602,19 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
             Map<String, StormBase> bases;
             Map<String, TopologyDetails> tds = new HashMap<>();
             synchronized (submitLock) {
-                // should promote: only fetch storm bases of topologies that need scheduling.
-                bases = state.topologyBases();
-
-                for (Iterator<Entry<String, StormBase>> it = bases.entrySet().iterator(); it.hasNext(); ) {
-                    Entry<String, StormBase> entry = it.next();
-                    String id = entry.getKey();
-                    StormBase base = entry.getValue();
-                    try {
-                        tds.put(id, readTopologyDetails(id, base));
-                    } catch (KeyNotFoundException e) {
-                        //A race happened and it is probably not running
-                        it.remove();
-                    }
+                if (topologyStateCache != null) {
+                    // only the topologies that changed since the last round are read again
+                    numTopologiesReadPerScheduling.update(topologyStateCache.refresh(this::readTopologyDetails));
+                    bases = topologyStateCache.getBases();
+                    tds = topologyStateCache.getTopologyDetails();
+                } else {
+                    bases = readTopologyBasesAndDetails(state, tds);
                 }
             }
+
             List<String> assignedTopologyIds = state.assignments(null);
             Map<String, Assignment> existingAssignments = new HashMap<>();
+            Map<String, TopologyTraffic> topologyTraffic = new HashMap<>();
             for (String id : assignedTopologyIds) {
                 //for the topology which wants rebalance (specified by the scratchTopoId)
                 // we exclude its assignment, meaning that all the slots occupied by its assignment
@@ -2431,25 +2629,64 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
                         }
                     }
                     existingAssignments.put(id, currentAssignment);
+                } else {
+                    // the executors of a rebalanced topology are all placed again, let strategies see how they talked so far
+                    readTopologyTraffic(state, id, tds.get(id), topologyTraffic);
                 }
             }
 
             // make the new assignments for topologies
-            lockingMkAssignments(existingAssignments, bases, scratchTopoId, assignedTopologyIds, state, tds);
+            lockingMkAssignments(existingAssignments, bases, scratchTopoId, assignedTopologyIds, state, tds, topologyTraffic);
         } catch (Exception e) {
             this.mkAssignmentsErrors.mark();
             throw e;
         }
     }
 
+    private Map<String, StormBase> readTopologyBasesAndDetails(IStormClusterState state, Map<String, TopologyDetails> tds)
+        throws Exception {
+        Map<String, StormBase> bases = state.topologyBases();
+        for (Iterator<Entry<String, StormBase>> it = bases.entrySet().iterator(); it.hasNext(); ) {
+            Entry<String, StormBase> entry = it.next();
+            String id = entry.getKey();
+            StormBase base = entry.getValue();
+            try {
+                tds.put(id, readTopologyDetails(id, base));
+            } catch (KeyNotFoundException e) {
+                //A race happened and it is probably not running
+                it.remove();
+            }
+        }
+        return bases;
+    }
+
+    private void readTopologyTraffic(IStormClusterState state, String topoId, TopologyDetails td,
+                                     Map<String, TopologyTraffic> topologyTraffic) {
+        if (td == null) {
+            return;
+        }
+        try {
+            Assignment assignment = state.assignmentInfo(topoId, null);
+            if (assignment != null && assignment.is_set_executor_node_port()) {
+                TopologyTraffic traffic = TopologyTraffic.fromExecutorBeats(td,
+                    state.executorBeats(topoId, assignment.get_executor_node_port()));
+                if (!traffic.isEmpty()) {
+                    topologyTraffic.put(topoId, traffic);
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Could not read the traffic of {}, it will be scheduled without it", topoId, e);
+        }
+    }
+
     private void lockingMkAssignments(Map<String, Assignment> existingAssignments, Map<String, StormBase> bases,
                                       String scratchTopoId, List<String> assignedTopologyIds, IStormClusterState state,
-                                      Map<String, TopologyDetails> tds) throws Exception {
+                                      Map<String, TopologyDetails> tds, Map<String, TopologyTraffic> topologyTraffic) throws Exception {
         Topologies topologies = new Topologies(tds);
 
         synchronized (schedLock) {
             Map<String, SchedulerAssignment> newSchedulerAssignments =
-                    computeNewSchedulerAssignments(existingAssignments, topologies, bases, scratchTopoId);
+                    computeNewSchedulerAssignments(existingAssignments, topologies, bases, scratchTopoId, topologyTraffic);
 
             Map<String, Map<List<Long>, List<Object>>> topologyToExecutorToNodePort =
                     computeTopoToExecToNodePort(newSchedulerAssignments, assignedTopologyIds);
@@ -2649,6 +2886,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         base.set_component_debug(new HashMap<>());
         IStormClusterState state = stormClusterState;
         state.activateStorm(topoId, base, topoConf);
+        invalidateTopologyState(topoId);
         idToExecutors.getAndUpdate(new Assoc<>(topoId,
             new HashSet<>(computeExecutors(base, topoConf, stormTopology))));
         notifyTopologyActionListener(topoName, "activate");
@@ -3451,8 +3689,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
                 options.set_principal(subject.getPrincipals().iterator().next().getName());
             }
 
-            transitionName(topoName, TopologyActions.REBALANCE, options, true);
-            notifyTopologyActionListener(topoName, operation);
+            rebalanceTopology(topoName, options);
         } catch (Exception e) {
             LOG.warn("rebalance topology exception. (topology name='{}')", topoName, e);
             if (e instanceof TException) {
@@ -3462,6 +3699,14 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         }
     }
 
+    /**
+     * Rebalance a topology once the request was checked, for users and for the {@link IClusterRebalancer} alike.
+     */
+    private void rebalanceTopology(String topoName, RebalanceOptions options) throws Exception {
+        transitionName(topoName, TopologyActions.REBALANCE, options, true);
+        notifyTopologyActionListener(topoName, "rebalance");
+    }
+
     @Override
     public void setLogConfig(String topoId, LogConfig config) throws TException {
         try {
@@ -3576,6 +3821,7 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
                      enable, topoName, topoId, spct);
             synchronized (submitLock) {
                 state.updateStorm(topoId, updates);
+                invalidateTopologyState(topoId);
             }
         } catch (Exception e) {
             LOG.warn("debug topology exception. (topology name='{}')", topoName, e);
@@ -3859,6 +4105,30 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         }
     }
 
+    @SuppressWarnings("deprecation")
+    @Override
+    public BeginDownloadResult beginBlobDownloadRange(String key, long offset, long length)
+        throws AuthorizationException, KeyNotFoundException, TException {
+        try {
+            InputStreamWithMeta is = blobStore.getBlob(key, getSubject(), offset, length);
+            String sessionId = Utils.uuid();
+            BeginDownloadResult ret = new BeginDownloadResult(is.getVersion(), sessionId);
+            ret.set_data_size(is.getFileLength());
+            blobDownloaders.put(sessionId, new BufferInputStream(is,
+                                                                 (int) conf
+                                                                     .getOrDefault(Config.STORM_BLOBSTORE_INPUTSTREAM_BUFFER_SIZE_BYTES,
+                                                                                   65536)));
+            LOG.info("Created download session {} for {} offset {} length {}", sessionId, key, offset, length);
+            return ret;
+        } catch (Exception e) {
+            LOG.warn("begin blob download range exception.", e);
+            if (e instanceof TException) {
+                throw (TException) e;
+            }
+            throw new RuntimeException(e);
+        }
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public ByteBuffer downloadBlobChunk(String session) throws AuthorizationException, TException {
@@ -4971,9 +5241,8 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
         checkAuthorization(null, null, "getSupervisorAssignments");
         try {
             if (isLeader() && isAssignmentsRecovered()) {
-                SupervisorAssignments supervisorAssignments = new SupervisorAssignments();
-                supervisorAssignments.set_storm_assignment(assignmentsForNodeId(stormClusterState.assignmentsInfo(), nodeId));
-                return supervisorAssignments;
+                return assignmentsDistributer.getAssignmentsForNode(nodeId,
+                                                                    assignmentsForNodeId(stormClusterState.assignmentsInfo(), nodeId));
             }
         } catch (Exception e) {
             LOG.debug("Exception when node {} fetching assignments", nodeId);
@@ -5047,6 +5316,10 @@ public class Nimbus implements Iface, Shutdownable, DaemonCommon {
             if (actionNotifier != null) {
                 actionNotifier.cleanup();
             }
+            if (clusterRebalancer != null) {
+                clusterRebalancerExecutor.shutdownNow();
+                clusterRebalancer.cleanup();
+            }
             zkClient.close();
             if (metricsStore != null) {
                 metricsStore.close();
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.daemon.nimbus;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.storm.cluster.IStormClusterState;
+import org.apache.storm.generated.KeyNotFoundException;
+import org.apache.storm.generated.StormBase;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the {@link StormBase} and {@link TopologyDetails} of the active topologies between scheduling rounds, so that a round does not
+ * have to read every storm base from ZooKeeper and rebuild every {@link TopologyDetails}.
+ *
+ * <p>A topology is re-read when it is dirty. ZooKeeper watches on the storms subtree mark topologies dirty when they are added, removed or
+ * their base changes, and Nimbus invalidates a topology itself right after changing it, so a round that follows the change does not depend
+ * on when the watch fires. Watches are best effort (they are lost when the ZooKeeper session expires, for example), so everything is
+ * re-read when a full refresh is due as well.
+ *
+ * <p>The cached {@link TopologyDetails} are handed out to every round until their topology changes, so they must not be changed. Schedulers
+ * only read the details of the topologies, and a strategy that schedules a topology concurrently with others works on a copy of it, see
+ * {@link org.apache.storm.scheduler.SingleTopologyCluster}.
+ */
+public class TopologyStateCache {
+    private static final Logger LOG = LoggerFactory.getLogger(TopologyStateCache.class);
+
+    /**
+     * Builds the {@link TopologyDetails} of a topology from its base.
+     */
+    public interface DetailsReader {
+        TopologyDetails read(String topoId, StormBase base) throws Exception;
+    }
+
+    private final IStormClusterState state;
+    private final long fullRefreshMs;
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean topologiesChanged = true;
+    private volatile boolean fullRefreshDue = true;
+    private long lastFullRefreshMs;
+    private final Set<String> topoIds = new HashSet<>();
+    private final Map<String, StormBase> bases = new HashMap<>();
+    private final Map<String, TopologyDetails> details = new HashMap<>();
+
+    public TopologyStateCache(IStormClusterState state, int fullRefreshSecs) {
+        this.state = state;
+        this.fullRefreshMs = fullRefreshSecs * 1000L;
+    }
+
+    /**
+     * Mark a topology as changed, it will be re-read by the next refresh.
+     */
+    public void invalidate(String topoId) {
+        dirty.add(topoId);
+    }
+
+    /**
+     * Re-read everything on the next refresh.
+     */
+    public void invalidateAll() {
+        fullRefreshDue = true;
+    }
+
+    /**
+     * Bring the cache up to date with the cluster state.
+     *
+     * @param reader used to build the details of the topologies that changed
+     * @return the number of topologies that were re-read
+     */
+    public synchronized int refresh(DetailsReader reader) throws Exception {
+        long now = Time.currentTimeMillis();
+        boolean fullRefresh = fullRefreshDue || now - lastFullRefreshMs >= fullRefreshMs;
+        if (fullRefresh || topologiesChanged) {
+            // reset the flag before reading, so a change that happens while reading is picked up by the next refresh
+            topologiesChanged = false;
+            List<String> active = state.activeStorms(() -> topologiesChanged = true);
+            Set<String> activeIds = active == null ? new HashSet<>() : new HashSet<>(active);
+            for (String topoId : topoIds) {
+                if (!activeIds.contains(topoId)) {
+                    dirty.add(topoId);
+                }
+            }
+            for (String topoId : activeIds) {
+                if (fullRefresh || !topoIds.contains(topoId)) {
+                    dirty.add(topoId);
+                }
+            }
+            topoIds.clear();
+            topoIds.addAll(activeIds);
+            if (fullRefresh) {
+                fullRefreshDue = false;
+                lastFullRefreshMs = now;
+            }
+        }
+
+        int reloaded = 0;
+        Set<String> retry = new HashSet<>();
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String topoId = it.next();
+            it.remove();
+            if (!topoIds.contains(topoId)) {
+                bases.remove(topoId);
+                details.remove(topoId);
+                continue;
+            }
+            reloaded++;
+            StormBase base = state.stormBase(topoId, () -> dirty.add(topoId));
+            if (base == null) {
+                // removed after we listed the topologies
+                topoIds.remove(topoId);
+                bases.remove(topoId);
+                details.remove(topoId);
+                continue;
+            }
+            try {
+                details.put(topoId, reader.read(topoId, base));
+                bases.put(topoId, base);
+            } catch (KeyNotFoundException e) {
+                //A race happened and it is probably not running, look at it again next time
+                LOG.debug("Could not read details of {}", topoId, e);
+                bases.remove(topoId);
+                details.remove(topoId);
+                retry.add(topoId);
+            } catch (Exception e) {
+                dirty.add(topoId);
+                dirty.addAll(retry);
+                throw e;
+            }
+        }
+        dirty.addAll(retry);
+        return reloaded;
+    }
+
+    /**
+     * Get the bases of the topologies as of the last refresh.
+     */
+    public synchronized Map<String, StormBase> getBases() {
+        return new HashMap<>(bases);
+    }
+
+    /**
+     * Get the details of the topologies as of the last refresh. The map is the caller's to change, the details are shared and must not be
+     * changed.
+     */
+    public synchronized Map<String, TopologyDetails> getTopologyDetails() {
+        return new HashMap<>(details);
+    }
+}
@@ -34,17 +34,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang.StringUtils;
 import org.apache.storm.Config;
 import org.apache.storm.DaemonConfig;
 import org.apache.storm.ServerConstants;
 import org.apache.storm.container.ResourceIsolationInterface;
 import org.apache.storm.container.oci.OciContainerManager;
+import org.apache.storm.daemon.supervisor.PrewarmedWorkerPool.PrewarmedJvm;
+import org.apache.storm.daemon.worker.PrewarmedWorker;
 import org.apache.storm.generated.LocalAssignment;
 import org.apache.storm.generated.ProfileAction;
 import org.apache.storm.generated.ProfileRequest;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.generated.WorkerResources;
+import org.apache.storm.localizer.LocallyCachedTopologyBlob.TopologyBlobType;
 import org.apache.storm.metric.StormMetricsRegistry;
 import org.apache.storm.shade.com.google.common.base.Joiner;
 import org.apache.storm.shade.com.google.common.collect.Lists;
@@ -66,6 +71,7 @@ import org.slf4j.LoggerFactory;
  */
 public class BasicContainer extends Container {
     static final TopoMetaLruCache TOPO_META_CACHE = new TopoMetaLruCache();
+    static final WorkerClassDataSharing CLASS_DATA_SHARING = new WorkerClassDataSharing();
     private static final Logger LOG = LoggerFactory.getLogger(BasicContainer.class);
     private static final Joiner CPJ = Joiner.on(File.pathSeparator).skipNulls();
     protected final LocalState localState;
@@ -79,6 +85,8 @@ public class BasicContainer extends Container {
     protected volatile boolean exitedEarly = false;
     protected volatile long memoryLimitMb;
     protected volatile long memoryLimitExceededStart = -1;
+    protected final PrewarmedWorkerPool prewarmedWorkers;
+    private PrewarmedJvm prewarmedJvm;
 
     /**
      * Create a new BasicContainer.
@@ -100,7 +108,31 @@ public class BasicContainer extends Container {
                           LocalState localState, String workerId, StormMetricsRegistry metricsRegistry, 
                           ContainerMemoryTracker containerMemoryTracker) throws IOException {
         this(type, conf, supervisorId, supervisorPort, port, assignment, resourceIsolationManager, localState,
-             workerId, metricsRegistry, containerMemoryTracker, null, null, null);
+             workerId, metricsRegistry, containerMemoryTracker, null);
+    }
+
+    /**
+     * Create a new BasicContainer.
+     *
+     * @param type                     the type of container being made.
+     * @param conf                     the supervisor config
+     * @param supervisorId             the ID of the supervisor this is a part of.
+     * @param supervisorPort           the thrift server port of the supervisor this is a part of.
+     * @param port                     the port the container is on.  Should be <= 0 if only a partial recovery
+     * @param assignment               the assignment for this container. Should be null if only a partial recovery.
+     * @param resourceIsolationManager used to isolate resources for a container can be null if no isolation is used.
+     * @param localState               the local state of the supervisor.  May be null if partial recovery
+     * @param workerId                 the id of the worker to use.  Must not be null if doing a partial recovery.
+     * @param metricsRegistry          The metrics registry.
+     * @param containerMemoryTracker   The shared memory tracker for the supervisor's containers
+     * @param prewarmedWorkers         JVMs the worker can be launched in, null to always launch it in a new JVM.
+     */
+    public BasicContainer(ContainerType type, Map<String, Object> conf, String supervisorId, int supervisorPort,
+                          int port, LocalAssignment assignment, ResourceIsolationInterface resourceIsolationManager,
+                          LocalState localState, String workerId, StormMetricsRegistry metricsRegistry,
+                          ContainerMemoryTracker containerMemoryTracker, PrewarmedWorkerPool prewarmedWorkers) throws IOException {
+        this(type, conf, supervisorId, supervisorPort, port, assignment, resourceIsolationManager, localState,
+             workerId, metricsRegistry, containerMemoryTracker, null, null, null, prewarmedWorkers);
     }
 
     /**
@@ -128,10 +160,19 @@ public class BasicContainer extends Container {
         LocalAssignment assignment, ResourceIsolationInterface resourceIsolationManager, LocalState localState, String workerId,
         StormMetricsRegistry metricsRegistry, ContainerMemoryTracker containerMemoryTracker, Map<String, Object> topoConf,
         AdvancedFSOps ops, String profileCmd) throws IOException {
+        this(type, conf, supervisorId, supervisorPort, port, assignment, resourceIsolationManager, localState, workerId,
+             metricsRegistry, containerMemoryTracker, topoConf, ops, profileCmd, null);
+    }
+
+    private BasicContainer(ContainerType type, Map<String, Object> conf, String supervisorId, int supervisorPort, int port,
+        LocalAssignment assignment, ResourceIsolationInterface resourceIsolationManager, LocalState localState, String workerId,
+        StormMetricsRegistry metricsRegistry, ContainerMemoryTracker containerMemoryTracker, Map<String, Object> topoConf,
+        AdvancedFSOps ops, String profileCmd, PrewarmedWorkerPool prewarmedWorkers) throws IOException {
         super(type, conf, supervisorId, supervisorPort, port, assignment,
             resourceIsolationManager, workerId, topoConf, ops, metricsRegistry, containerMemoryTracker);
         assert (localState != null);
         this.localState = localState;
+        this.prewarmedWorkers = prewarmedWorkers;
 
         if (type.isRecovery() && !type.isOnlyKillable()) {
             synchronized (this.localState) {
@@ -223,10 +264,66 @@ public class BasicContainer extends Container {
         }
     }
 
+    /**
+     * Use the worker ID of a prewarmed JVM for this process instead of the one that was created for it, because the JVM already runs in
+     * the directory of that worker. Call this before setting up the worker.
+     */
+    void useWorkerId(String newWorkerId) {
+        synchronized (localState) {
+            Map<String, Integer> workerToPort = localState.getApprovedWorkers();
+            if (workerToPort == null) {
+                workerToPort = new HashMap<>(1);
+            }
+            removeWorkersOn(workerToPort, port);
+            workerToPort.put(newWorkerId, port);
+            localState.setApprovedWorkers(workerToPort);
+            LOG.info("Using Worker ID {} of a prewarmed JVM instead of {}", newWorkerId, workerId);
+            workerId = newWorkerId;
+        }
+    }
+
+    @Override
+    protected void setup() throws IOException {
+        if (prewarmedWorkers != null) {
+            final String stormRoot = ConfigUtils.supervisorStormDistRoot(conf, topologyId);
+            List<String> command = mkPrewarmedCommand(stormRoot);
+            prewarmedJvm = command == null ? null : prewarmedWorkers.take(command, getPrewarmedEnvironment());
+            if (prewarmedJvm != null) {
+                useWorkerId(prewarmedJvm.getWorkerId());
+                moveArtifactsOfPrewarmedJvm();
+            }
+        }
+        super.setup();
+    }
+
+    /**
+     * Move what the prewarmed JVM wrote to the artifacts directory of its worker directory to the artifacts of the worker, which that
+     * directory is replaced with a link to.
+     */
+    void moveArtifactsOfPrewarmedJvm() throws IOException {
+        File prewarmedArtifacts = new File(ConfigUtils.workerArtifactsSymlink(conf, workerId));
+        File workerArtifacts = new File(ConfigUtils.workerArtifactsRoot(conf, topologyId, port));
+        File[] files = prewarmedArtifacts.listFiles();
+        if (files != null) {
+            ops.forceMkdir(workerArtifacts);
+            for (File file : files) {
+                File dest = new File(workerArtifacts, file.getName());
+                ops.deleteIfExists(dest);
+                ops.moveFile(file, dest);
+            }
+        }
+        ops.deleteIfExists(prewarmedArtifacts);
+    }
+
     @Override
     public void cleanUpForRestart() throws IOException {
         String origWorkerId = workerId;
-        super.cleanUpForRestart();
+        try {
+            super.cleanUpForRestart();
+        } finally {
+            //Killable.cleanUp comes through here too, release the class list even if a directory could not be deleted yet
+            CLASS_DATA_SHARING.workerExited(origWorkerId);
+        }
         synchronized (localState) {
             Map<String, Integer> workersToPort = localState.getApprovedWorkers();
             if (workersToPort != null) {
@@ -255,6 +352,41 @@ public class BasicContainer extends Container {
         return exitedEarly;
     }
 
+    @Override
+    public void workerStarted() {
+        try {
+            final String stormRoot = ConfigUtils.supervisorStormDistRoot(conf, topologyId);
+            final long jarVersion = getTopologyJarVersion(stormRoot);
+            if (jarVersion >= 0) {
+                final String classpath = getClassPathParams(stormRoot, getTopologyVersion(stormRoot)).get(1);
+                long buildDelayMs = TimeUnit.SECONDS.toMillis(
+                    ObjectReader.getInt(conf.get(DaemonConfig.SUPERVISOR_WORKER_CLASS_DATA_SHARING_BUILD_DELAY_SECS), 120));
+                CLASS_DATA_SHARING.workerStarted(workerId, javaCmd("java"), stormRoot, jarVersion, classpath, buildDelayMs);
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not build the class data sharing archive for {}", topologyId, e);
+        }
+    }
+
+    /**
+     * Get the version of the topology jar to keep a class data sharing archive for.
+     *
+     * @return the version, or -1 if class data sharing is not used for this worker.
+     */
+    private long getTopologyJarVersion(String stormRoot) throws IOException {
+        if (!ObjectReader.getBoolean(conf.get(DaemonConfig.SUPERVISOR_WORKER_CLASS_DATA_SHARING_ENABLE), false)
+            // The supervisor and the worker have to be able to read and write the same files
+            || ObjectReader.getBoolean(conf.get(Config.SUPERVISOR_RUN_WORKER_AS_USER), false)
+            || resourceIsolationManager instanceof OciContainerManager) {
+            return -1;
+        }
+        File versionFile = new File(stormRoot, TopologyBlobType.TOPO_JAR.getVersionFileName());
+        if (!ops.fileExists(versionFile)) {
+            return -1;
+        }
+        return Long.parseLong(ops.slurpString(versionFile).trim());
+    }
+
     @Override
     public boolean runProfiling(ProfileRequest request, boolean stop) throws IOException, InterruptedException {
         type.assertFull();
@@ -347,14 +479,18 @@ public class BasicContainer extends Container {
      */
     protected String javaLibraryPath(String stormRoot, Map<String, Object> conf) {
         String resourceRoot = stormRoot + File.separator + ServerConfigUtils.RESOURCES_SUBDIR;
-        String os = System.getProperty("os.name").replaceAll("\\s+", "_");
-        String arch = System.getProperty("os.arch");
-        String archResourceRoot = resourceRoot + File.separator + os + "-" + arch;
-        String ret = CPJ.join(archResourceRoot, resourceRoot,
+        String ret = CPJ.join(archResourceRoot(stormRoot), resourceRoot,
                               conf.get(DaemonConfig.JAVA_LIBRARY_PATH));
         return ret;
     }
 
+    private static String archResourceRoot(String stormRoot) {
+        String resourceRoot = stormRoot + File.separator + ServerConfigUtils.RESOURCES_SUBDIR;
+        String os = System.getProperty("os.name").replaceAll("\\s+", "_");
+        String arch = System.getProperty("os.arch");
+        return resourceRoot + File.separator + os + "-" + arch;
+    }
+
     /**
      * Returns a path with a wildcard as the final element, so that the JVM will expand that to all JARs in the directory.
      *
@@ -601,23 +737,14 @@ public class BasicContainer extends Container {
     private List<String> mkLaunchCommand(final int memOnheap, final int memOffheap, final String stormRoot,
                                          final String jlp, final String numaId) throws IOException {
         final String javaCmd = javaCmd("java");
-        final String stormOptions = ConfigUtils.concatIfNotNull(System.getProperty("storm.options"));
-        final String topoConfFile = ConfigUtils.concatIfNotNull(System.getProperty("storm.conf.file"));
         final String workerTmpDir = ConfigUtils.workerTmpRoot(conf, workerId);
-        String topoVersionString = getStormVersionFor(conf, topologyId, ops, stormRoot);
-        if (topoVersionString == null) {
-            topoVersionString = (String) conf.getOrDefault(Config.SUPERVISOR_WORKER_DEFAULT_VERSION, VersionInfo.getVersion());
-        }
-        final SimpleVersion topoVersion = new SimpleVersion(topoVersionString);
+        final SimpleVersion topoVersion = getTopologyVersion(stormRoot);
 
         List<String> classPathParams = getClassPathParams(stormRoot, topoVersion);
         List<String> commonParams = getCommonParams();
 
         String log4jConfigurationFile = getWorkerLoggingConfigFile();
-        String workerLog4jConfig = log4jConfigurationFile;
-        if (topoConf.get(Config.TOPOLOGY_LOGGING_CONFIG_FILE) != null) {
-            workerLog4jConfig = workerLog4jConfig + "," + topoConf.get(Config.TOPOLOGY_LOGGING_CONFIG_FILE);
-        }
+        String workerLog4jConfig = getWorkerLog4jConfig(log4jConfigurationFile);
 
         List<String> commandList = new ArrayList<>();
         String logWriter = getWorkerLogWriter(topoVersion);
@@ -636,18 +763,59 @@ public class BasicContainer extends Container {
         commandList.add("-server");
         commandList.addAll(commonParams);
         commandList.add("-Dlog4j.configurationFile=" + workerLog4jConfig);
-        commandList.addAll(substituteChildopts(conf.get(Config.WORKER_CHILDOPTS), memOnheap, memOffheap));
-        commandList.addAll(substituteChildopts(topoConf.get(Config.TOPOLOGY_WORKER_CHILDOPTS), memOnheap, memOffheap));
-        commandList.addAll(substituteChildopts(Utils.OR(
-            topoConf.get(Config.TOPOLOGY_WORKER_GC_CHILDOPTS),
-            conf.get(Config.WORKER_GC_CHILDOPTS)), memOnheap, memOffheap));
-        commandList.addAll(getWorkerProfilerChildOpts(memOnheap, memOffheap));
+        commandList.addAll(getWorkerChildopts(memOnheap, memOffheap));
+        final long jarVersion = getTopologyJarVersion(stormRoot);
+        if (jarVersion >= 0) {
+            commandList.addAll(CLASS_DATA_SHARING.getWorkerOptions(stormRoot, jarVersion, workerId));
+        }
         commandList.add("-Djava.library.path=" + jlp);
-        commandList.add("-Dstorm.conf.file=" + topoConfFile);
-        commandList.add("-Dstorm.options=" + stormOptions);
+        commandList.addAll(getStormConfParams());
         commandList.add("-Djava.io.tmpdir=" + workerTmpDir);
         commandList.addAll(classPathParams);
         commandList.add(getWorkerMain(topoVersion));
+        commandList.addAll(getWorkerArgs(topoVersion, numaId));
+
+        return commandList;
+    }
+
+    private SimpleVersion getTopologyVersion(String stormRoot) throws IOException {
+        String topoVersionString = getStormVersionFor(conf, topologyId, ops, stormRoot);
+        if (topoVersionString == null) {
+            topoVersionString = (String) conf.getOrDefault(Config.SUPERVISOR_WORKER_DEFAULT_VERSION, VersionInfo.getVersion());
+        }
+        return new SimpleVersion(topoVersionString);
+    }
+
+    private String getWorkerLog4jConfig(String log4jConfigurationFile) {
+        String workerLog4jConfig = log4jConfigurationFile;
+        if (topoConf.get(Config.TOPOLOGY_LOGGING_CONFIG_FILE) != null) {
+            workerLog4jConfig = workerLog4jConfig + "," + topoConf.get(Config.TOPOLOGY_LOGGING_CONFIG_FILE);
+        }
+        return workerLog4jConfig;
+    }
+
+    /**
+     * Get the JVM options of the worker process, from the supervisor and the topology configs.
+     */
+    private List<String> getWorkerChildopts(int memOnheap, int memOffheap) {
+        List<String> childopts = new ArrayList<>();
+        childopts.addAll(substituteChildopts(conf.get(Config.WORKER_CHILDOPTS), memOnheap, memOffheap));
+        childopts.addAll(substituteChildopts(topoConf.get(Config.TOPOLOGY_WORKER_CHILDOPTS), memOnheap, memOffheap));
+        childopts.addAll(substituteChildopts(Utils.OR(
+            topoConf.get(Config.TOPOLOGY_WORKER_GC_CHILDOPTS),
+            conf.get(Config.WORKER_GC_CHILDOPTS)), memOnheap, memOffheap));
+        childopts.addAll(getWorkerProfilerChildOpts(memOnheap, memOffheap));
+        return childopts;
+    }
+
+    private List<String> getStormConfParams() {
+        final String stormOptions = ConfigUtils.concatIfNotNull(System.getProperty("storm.options"));
+        final String topoConfFile = ConfigUtils.concatIfNotNull(System.getProperty("storm.conf.file"));
+        return Arrays.asList("-Dstorm.conf.file=" + topoConfFile, "-Dstorm.options=" + stormOptions);
+    }
+
+    private List<String> getWorkerArgs(SimpleVersion topoVersion, String numaId) {
+        List<String> commandList = new ArrayList<>();
         commandList.add(topologyId);
         String supervisorId = this.supervisorId;
         if (numaId != null) {
@@ -667,6 +835,106 @@ public class BasicContainer extends Container {
         return commandList;
     }
 
+    /**
+     * Create the command to start a JVM from the {@link PrewarmedWorkerPool} that this worker can be launched in. It has the options the
+     * worker process would be launched with that cannot change once the JVM is running, what is specific to the topology or to this
+     * worker is given to the JVM when the worker is launched in it, see {@link #mkPrewarmedAdoption(String)}.
+     *
+     * @param stormRoot the root dist dir for the topology
+     * @return the command, or null if the worker cannot be launched in a JVM that was started before and has to be launched in a new one.
+     *
+     * @throws IOException on any error.
+     */
+    List<String> mkPrewarmedCommand(final String stormRoot) throws IOException {
+        @SuppressWarnings("unchecked")
+        Map<String, String> environment = (Map<String, String>) topoConf.get(Config.TOPOLOGY_ENVIRONMENT);
+        if (resourceIsolationManager.isResourceManaged()
+            || resourceIsolationManager instanceof OciContainerManager
+            || ObjectReader.getBoolean(conf.get(Config.SUPERVISOR_RUN_WORKER_AS_USER), false)
+            || SupervisorUtils.getNumaIdForPort(port, conf) != null
+            || (environment != null && !environment.isEmpty())
+            || !asStringList(topoConf.get(Config.TOPOLOGY_CLASSPATH_BEGINNING)).isEmpty()
+            // native libraries of the topology have to be on the java.library.path when the JVM starts
+            || new File(archResourceRoot(stormRoot)).exists()
+            || hasNativeLibraries(new File(stormRoot, ServerConfigUtils.RESOURCES_SUBDIR))) {
+            return null;
+        }
+        // The JVM runs the main class of this version of storm
+        final SimpleVersion topoVersion = getTopologyVersion(stormRoot);
+        final List<String> frameworkClasspath = frameworkClasspath(topoVersion);
+        if (!frameworkClasspath.equals(frameworkClasspath(new SimpleVersion(VersionInfo.getVersion())))) {
+            return null;
+        }
+        final WorkerResources resources = assignment.get_resources();
+        final List<String> childopts = getWorkerChildopts(getMemOnHeap(resources), getMemOffHeap(resources));
+        if (String.join(" ", childopts).contains(workerId)) {
+            return null;
+        }
+
+        List<String> commandList = new ArrayList<>();
+        commandList.add(javaCmd("java"));
+        commandList.add("-server");
+        commandList.addAll(childopts);
+        commandList.add("-Djava.library.path=" + getPrewarmedEnvironment().get("LD_LIBRARY_PATH"));
+        commandList.addAll(getStormConfParams());
+        commandList.add("-cp");
+        commandList.add(CPJ.join(frameworkClasspath));
+        commandList.add(PrewarmedWorker.class.getName());
+        return commandList;
+    }
+
+    private static boolean hasNativeLibraries(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (file.isFile() && (name.endsWith(".so") || name.contains(".so.") || name.endsWith(".dylib") || name.endsWith(".jnilib")
+                                      || name.endsWith(".dll"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Map<String, String> getPrewarmedEnvironment() {
+        Map<String, String> environment = new HashMap<>();
+        environment.put("LD_LIBRARY_PATH", OR((String) conf.get(DaemonConfig.JAVA_LIBRARY_PATH), ""));
+        return environment;
+    }
+
+    /**
+     * Create what a JVM from the {@link PrewarmedWorkerPool} needs to launch this worker.
+     *
+     * @param stormRoot the root dist dir for the topology
+     * @return the system properties, classpath, main class and arguments of the worker, see {@link PrewarmedWorker}.
+     *
+     * @throws IOException on any error.
+     */
+    Properties mkPrewarmedAdoption(final String stormRoot) throws IOException {
+        final SimpleVersion topoVersion = getTopologyVersion(stormRoot);
+        List<String> systemProperties = new ArrayList<>(getCommonParams());
+        systemProperties.add("-Dlog4j.configurationFile=" + getWorkerLog4jConfig(getWorkerLoggingConfigFile()));
+        systemProperties.add("-Djava.io.tmpdir=" + ConfigUtils.workerTmpRoot(conf, workerId));
+
+        Properties adoption = new Properties();
+        for (String property : systemProperties) {
+            int index = property.indexOf('=');
+            adoption.setProperty(PrewarmedWorker.SYSPROP_PREFIX + property.substring("-D".length(), index), property.substring(index + 1));
+        }
+        List<String> classpath = new ArrayList<>();
+        classpath.add(ConfigUtils.supervisorStormJarPath(stormRoot));
+        classpath.addAll(getDependencyLocationsFor(conf, topologyId, ops, stormRoot));
+        classpath.addAll(asStringList(topoConf.get(Config.TOPOLOGY_CLASSPATH)));
+        adoption.setProperty(PrewarmedWorker.CLASSPATH, CPJ.join(classpath));
+        adoption.setProperty(PrewarmedWorker.MAIN, getWorkerMain(topoVersion));
+        List<String> args = getWorkerArgs(topoVersion, null);
+        for (int i = 0; i < args.size(); i++) {
+            adoption.setProperty(PrewarmedWorker.ARG_PREFIX + i, args.get(i));
+        }
+        return adoption;
+    }
+
     @Override
     public boolean isMemoryLimitViolated(LocalAssignment withUpdatedLimits) throws IOException {
         if (super.isMemoryLimitViolated(withUpdatedLimits)) {
@@ -841,16 +1109,37 @@ public class BasicContainer extends Container {
             resourceIsolationManager.reserveResourcesForWorker(workerId, (int) memoryLimitMb, cpu, numaId);
         }
 
+        String logPrefix = "Worker Process " + workerId;
+        ProcessExitCallback processExitCallback = new ProcessExitCallback(logPrefix);
+        if (prewarmedJvm != null) {
+            PrewarmedJvm jvm = prewarmedJvm;
+            prewarmedJvm = null;
+            try {
+                Properties adoption = mkPrewarmedAdoption(stormRoot);
+                LOG.info("Launching worker in a prewarmed JVM with: {}", adoption);
+                jvm.adopt(adoption, processExitCallback);
+                return;
+            } catch (IOException e) {
+                LOG.warn("Could not launch worker {} in a prewarmed JVM, launching it in a new JVM", workerId, e);
+            }
+        }
+
         List<String> commandList = mkLaunchCommand(memOnHeap, memOffHeap, stormRoot, jlp, numaId);
 
         LOG.info("Launching worker with command: {}. ", ServerUtils.shellCmd(commandList));
 
         String workerDir = ConfigUtils.workerRoot(conf, workerId);
 
-        String logPrefix = "Worker Process " + workerId;
-        ProcessExitCallback processExitCallback = new ProcessExitCallback(logPrefix);
         resourceIsolationManager.launchWorkerProcess(getWorkerUser(), topologyId, topoConf, port, workerId,
             commandList, topEnvironment, logPrefix, processExitCallback, new File(workerDir));
+
+        if (prewarmedWorkers != null) {
+            //Have a JVM ready in case this worker has to be launched again
+            List<String> prewarmedCommand = mkPrewarmedCommand(stormRoot);
+            if (prewarmedCommand != null) {
+                prewarmedWorkers.prepare(prewarmedCommand, getPrewarmedEnvironment());
+            }
+        }
     }
 
     private static class TopologyMetaData {
@@ -14,11 +14,13 @@ package org.apache.storm.daemon.supervisor;
 
 import java.io.IOException;
 import java.util.Map;
+import org.apache.storm.DaemonConfig;
 import org.apache.storm.container.ResourceIsolationInterface;
 import org.apache.storm.daemon.supervisor.Container.ContainerType;
 import org.apache.storm.generated.LocalAssignment;
 import org.apache.storm.metric.StormMetricsRegistry;
 import org.apache.storm.utils.LocalState;
+import org.apache.storm.utils.ObjectReader;
 
 /**
  * Launch containers with no security using standard java commands.
@@ -30,6 +32,7 @@ public class BasicContainerLauncher extends ContainerLauncher {
     private final int supervisorPort;
     private final StormMetricsRegistry metricsRegistry;
     private final ContainerMemoryTracker containerMemoryTracker;
+    private final PrewarmedWorkerPool prewarmedWorkers;
 
     public BasicContainerLauncher(Map<String, Object> conf, String supervisorId, int supervisorPort,
                                   ResourceIsolationInterface resourceIsolationManager, StormMetricsRegistry metricsRegistry,
@@ -40,13 +43,15 @@ public class BasicContainerLauncher extends ContainerLauncher {
         this.resourceIsolationManager = resourceIsolationManager;
         this.metricsRegistry = metricsRegistry;
         this.containerMemoryTracker = containerMemoryTracker;
+        int prewarmedPoolSize = ObjectReader.getInt(conf.get(DaemonConfig.SUPERVISOR_WORKER_PREWARMED_POOL_SIZE), 0);
+        this.prewarmedWorkers = prewarmedPoolSize > 0 ? new PrewarmedWorkerPool(conf, prewarmedPoolSize, metricsRegistry) : null;
     }
 
     @Override
     public Container launchContainer(int port, LocalAssignment assignment, LocalState state) throws IOException {
         Container container = new BasicContainer(ContainerType.LAUNCH, conf, supervisorId, supervisorPort, port,
             assignment, resourceIsolationManager, state, null, metricsRegistry,
-            containerMemoryTracker);
+            containerMemoryTracker, prewarmedWorkers);
         container.setup();
         container.launch();
         return container;
@@ -55,7 +60,7 @@ public class BasicContainerLauncher extends ContainerLauncher {
     @Override
     public Container recoverContainer(int port, LocalAssignment assignment, LocalState state) throws IOException {
         return new BasicContainer(ContainerType.RECOVER_FULL, conf, supervisorId, supervisorPort, port, assignment,
-                resourceIsolationManager, state, null, metricsRegistry, containerMemoryTracker);
+                resourceIsolationManager, state, null, metricsRegistry, containerMemoryTracker, prewarmedWorkers);
     }
 
     @Override
@@ -63,4 +68,11 @@ public class BasicContainerLauncher extends ContainerLauncher {
         return new BasicContainer(ContainerType.RECOVER_PARTIAL, conf, supervisorId, supervisorPort, -1, null,
                 resourceIsolationManager, localState, workerId, metricsRegistry, containerMemoryTracker);
     }
+
+    @Override
+    public void close() {
+        if (prewarmedWorkers != null) {
+            prewarmedWorkers.close();
+        }
+    }
 }
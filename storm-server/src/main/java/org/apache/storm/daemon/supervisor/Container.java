@@ -561,6 +561,13 @@ public abstract class Container implements Killable {
      */
     public abstract boolean didMainProcessExit();
 
+    /**
+     * Called when the worker sent its first heartbeat after it was launched or relaunched.
+     */
+    public void workerStarted() {
+        //NOOP by default
+    }
+
     /**
      * Run a profiling request.
      *
@@ -30,7 +30,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Launches containers.
  */
-public abstract class ContainerLauncher {
+public abstract class ContainerLauncher implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(ContainerLauncher.class);
 
     protected ContainerLauncher() {
@@ -111,4 +111,12 @@ public abstract class ContainerLauncher {
      * @throws ContainerRecoveryException if the Container could not be recovered
      */
     public abstract Killable recoverContainer(String workerId, LocalState localState) throws IOException, ContainerRecoveryException;
+
+    /**
+     * Release what the launcher holds on to, the containers it launched keep running.
+     */
+    @Override
+    public void close() {
+        //Empty
+    }
 }
@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.daemon.supervisor;
+
+import com.codahale.metrics.Meter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.commons.io.FileUtils;
+import org.apache.storm.daemon.worker.PrewarmedWorker;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.utils.ConfigUtils;
+import org.apache.storm.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of JVMs that are started before it is known which topology will run in them, so a worker can be launched in a JVM that already
+ * started and loaded the storm classes, see {@link PrewarmedWorker}.
+ *
+ * <p>A JVM can only be used for a worker when it was started with the same command the worker needs, because the options of a JVM, like
+ * its heap size, cannot change once it is running. So the pool keeps a JVM ready for the commands of the workers that were launched most
+ * recently, and when a worker is launched in a JVM from the pool another one is started for the next worker launched like that, like when
+ * a worker of the same topology dies.
+ *
+ * <p>Each JVM runs in a worker directory of its own, that becomes the directory of the worker launched in it. The directory belongs to the
+ * worker as soon as the JVM is taken for it, so it is kept when the JVM exits after that, even if the worker could not be launched in it.
+ */
+public class PrewarmedWorkerPool implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(PrewarmedWorkerPool.class);
+
+    private final Map<String, Object> conf;
+    private final int maxSize;
+    // Least recently started first
+    private final LinkedList<PrewarmedJvm> idle = new LinkedList<>();
+    private final Meter numStarted;
+    private final Meter numAdopted;
+    private boolean closed = false;
+
+    /**
+     * Create a new pool.
+     *
+     * @param conf the supervisor config.
+     * @param maxSize the most JVMs to keep ready.
+     * @param metricsRegistry the metrics registry.
+     */
+    public PrewarmedWorkerPool(Map<String, Object> conf, int maxSize, StormMetricsRegistry metricsRegistry) {
+        this.conf = conf;
+        this.maxSize = maxSize;
+        this.numStarted = metricsRegistry.registerMeter("supervisor:num-prewarmed-workers-started");
+        this.numAdopted = metricsRegistry.registerMeter("supervisor:num-prewarmed-workers-adopted");
+    }
+
+    /**
+     * Take a JVM to launch a worker in, and start another one like it for the next worker.
+     *
+     * @param command the command the JVM has to be started with, see {@link PrewarmedWorker}.
+     * @param env the environment the JVM has to be started with.
+     * @return the JVM, or null if there is none ready and the worker has to be launched in a new JVM.
+     */
+    public PrewarmedJvm take(List<String> command, Map<String, String> env) {
+        PrewarmedJvm found = null;
+        synchronized (this) {
+            for (Iterator<PrewarmedJvm> it = idle.iterator(); it.hasNext(); ) {
+                PrewarmedJvm jvm = it.next();
+                if (jvm.isLike(command, env)) {
+                    it.remove();
+                    jvm.taken = true;
+                    found = jvm;
+                    break;
+                }
+            }
+        }
+        if (found != null) {
+            numAdopted.mark();
+            prepare(command, env);
+        }
+        return found;
+    }
+
+    /**
+     * Make sure there is a JVM ready for the next worker launched with a command, stopping the least recently started JVM if the pool is
+     * full.
+     *
+     * @param command the command the JVM has to be started with, see {@link PrewarmedWorker}.
+     * @param env the environment the JVM has to be started with.
+     */
+    public void prepare(List<String> command, Map<String, String> env) {
+        PrewarmedJvm evicted = null;
+        synchronized (this) {
+            if (closed || maxSize <= 0) {
+                return;
+            }
+            for (PrewarmedJvm jvm : idle) {
+                if (jvm.isLike(command, env)) {
+                    return;
+                }
+            }
+            if (idle.size() >= maxSize) {
+                evicted = idle.removeFirst();
+            }
+            try {
+                idle.add(start(command, env));
+            } catch (IOException e) {
+                LOG.warn("Could not start a JVM for workers", e);
+            }
+        }
+        if (evicted != null) {
+            evicted.stop();
+        }
+    }
+
+    private PrewarmedJvm start(List<String> command, Map<String, String> env) throws IOException {
+        String workerId = Utils.uuid();
+        File workerDir = new File(ConfigUtils.workerRoot(conf, workerId));
+        // JVM options may write to the artifacts of the worker when the JVM starts, like the GC log.
+        FileUtils.forceMkdir(new File(ConfigUtils.workerArtifactsSymlink(conf, workerId)));
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add(ConfigUtils.workerPidsRoot(conf, workerId));
+        PrewarmedJvm jvm = new PrewarmedJvm(workerId, command, env);
+        LOG.info("Starting a JVM for workers with id {} and command {}", workerId, fullCommand);
+        jvm.process = ClientSupervisorUtils.launchProcess(fullCommand, env, "Prewarmed Worker " + workerId,
+            exitCode -> exited(jvm, exitCode), workerDir);
+        numStarted.mark();
+        return jvm;
+    }
+
+    private void exited(PrewarmedJvm jvm, int exitCode) {
+        try {
+            ExitCodeCallback onExit = jvm.onExit;
+            if (onExit != null) {
+                onExit.call(exitCode);
+                return;
+            }
+            synchronized (this) {
+                if (jvm.taken) {
+                    // The worker it was taken for uses its directory, even when the worker could not be launched in it
+                    LOG.warn("JVM for workers {} exited with code {} before the worker it was taken for was launched in it",
+                        jvm.workerId, exitCode);
+                    return;
+                }
+                if (idle.remove(jvm)) {
+                    LOG.warn("JVM for workers {} exited with code {} before a worker was launched in it", jvm.workerId, exitCode);
+                }
+            }
+            FileUtils.deleteQuietly(new File(ConfigUtils.workerRoot(conf, jvm.workerId)));
+        } finally {
+            jvm.exited = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        List<PrewarmedJvm> toStop;
+        synchronized (this) {
+            closed = true;
+            toStop = new ArrayList<>(idle);
+            idle.clear();
+        }
+        for (PrewarmedJvm jvm : toStop) {
+            jvm.stop();
+        }
+    }
+
+    /**
+     * A JVM in the pool.
+     */
+    public static class PrewarmedJvm {
+        private final String workerId;
+        private final List<String> command;
+        private final Map<String, String> env;
+        private volatile Process process;
+        private volatile ExitCodeCallback onExit;
+        // Guarded by the pool, a JVM that was taken for a worker no longer belongs to the pool
+        private boolean taken = false;
+        private volatile boolean exited = false;
+
+        PrewarmedJvm(String workerId, List<String> command, Map<String, String> env) {
+            this.workerId = workerId;
+            this.command = command;
+            this.env = env == null ? new HashMap<>() : env;
+        }
+
+        boolean isLike(List<String> command, Map<String, String> env) {
+            return this.command.equals(command) && this.env.equals(env == null ? new HashMap<>() : env);
+        }
+
+        /**
+         * Get the id of the worker this JVM is for, the worker has to use it because the JVM already runs in its directory.
+         */
+        public String getWorkerId() {
+            return workerId;
+        }
+
+        /**
+         * Launch a worker in this JVM.
+         *
+         * @param adoption what the worker needs, see {@link PrewarmedWorker}.
+         * @param onExit called when the worker exits.
+         * @throws IOException if the JVM could not be given the worker, it is stopped and the worker has to be launched in a new JVM. The
+         *     worker keeps the directory of this JVM.
+         */
+        public void adopt(Properties adoption, ExitCodeCallback onExit) throws IOException {
+            this.onExit = onExit;
+            try (OutputStream out = process.getOutputStream()) {
+                adoption.store(out, null);
+            } catch (IOException e) {
+                this.onExit = null;
+                process.destroy();
+                throw e;
+            }
+        }
+
+        boolean hasExited() {
+            return exited;
+        }
+
+        void stop() {
+            try {
+                // The JVM exits when nothing is written to it
+                process.getOutputStream().close();
+            } catch (IOException e) {
+                process.destroy();
+            }
+        }
+    }
+}
@@ -349,6 +349,7 @@ public class ReadClusterState implements Runnable, AutoCloseable {
                 LOG.error("Error trying to shutdown {}", slot, e);
             }
         }
+        launcher.close();
     }
 
 }
@@ -644,6 +644,9 @@ public class Slot extends Thread implements AutoCloseable, BlobChangingCallback
             long hbAgeMs = (Time.currentTimeSecs() - hb.get_time_secs()) * 1000;
             long hbTimeoutMs = getHbTimeoutMs(staticState, dynamicState);
             if (hbAgeMs <= hbTimeoutMs) {
+                staticState.slotMetrics.workerStartToFirstHeartbeat.update(Time.currentTimeMillis() - dynamicState.startTime,
+                                                                           TimeUnit.MILLISECONDS);
+                dynamicState.container.workerStarted();
                 return dynamicState.withState(MachineState.RUNNING);
             }
         }
@@ -24,9 +24,12 @@ import java.io.IOException;
 import java.net.BindException;
 import java.net.ServerSocket;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -56,8 +59,10 @@ import org.apache.storm.generated.LocalAssignment;
 import org.apache.storm.generated.Nimbus;
 import org.apache.storm.generated.NotAliveException;
 import org.apache.storm.generated.SupervisorAssignments;
+import org.apache.storm.generated.SupervisorInfo;
 import org.apache.storm.generated.SupervisorWorkerHeartbeat;
 import org.apache.storm.localizer.AsyncLocalizer;
+import org.apache.storm.localizer.PeerBlobDistribution;
 import org.apache.storm.logging.ThriftAccessLogger;
 import org.apache.storm.messaging.IContext;
 import org.apache.storm.metric.StormMetricsRegistry;
@@ -74,6 +79,8 @@ import org.apache.storm.utils.LocalState;
 import org.apache.storm.utils.ObjectReader;
 import org.apache.storm.utils.ServerConfigUtils;
 import org.apache.storm.utils.ShellUtils;
+import org.apache.storm.utils.SupervisorClient;
+import org.apache.storm.utils.SupervisorIfaceFactory;
 import org.apache.storm.utils.Time;
 import org.apache.storm.utils.Utils;
 import org.apache.storm.utils.VersionInfo;
@@ -107,11 +114,15 @@ public class Supervisor implements DaemonCommon, AutoCloseable {
     // to really make this work well.
     private final ExecutorService heartbeatExecutor;
     private final AsyncLocalizer asyncLocalizer;
+    // null unless supervisors share topology blobs with each other
+    private final PeerBlobDistribution peerBlobDistribution;
     private final StormMetricsRegistry metricsRegistry;
     private Meter killErrorMeter;
     private final ContainerMemoryTracker containerMemoryTracker;
     private final SlotMetrics slotMetrics;
     private volatile boolean active;
+    // version of the assignments last synced from nimbus, if nimbus versions them
+    private volatile Long assignmentsVersion;
     private EventManager eventManager;
     private ReadClusterState readState;
     private ThriftServer thriftServer;
@@ -167,7 +178,24 @@ public class Supervisor implements DaemonCommon, AutoCloseable {
 
         try {
             this.localState = ServerConfigUtils.supervisorState(conf);
-            this.asyncLocalizer = new AsyncLocalizer(conf, metricsRegistry);
+            if (ObjectReader.getBoolean(conf.get(DaemonConfig.SUPERVISOR_BLOBSTORE_PEER_DISTRIBUTION_ENABLED), false)) {
+                this.peerBlobDistribution = new PeerBlobDistribution(conf, new PeerBlobDistribution.Peers() {
+                    @Override
+                    public List<String> getPeers(String topologyId) {
+                        return getPeerSupervisors(topologyId);
+                    }
+
+                    @Override
+                    public SupervisorIfaceFactory connect(String peer) {
+                        int index = peer.lastIndexOf(':');
+                        return SupervisorClient.getConfiguredClient(conf, peer.substring(0, index),
+                                                                    Integer.parseInt(peer.substring(index + 1)));
+                    }
+                }, metricsRegistry);
+            } else {
+                this.peerBlobDistribution = null;
+            }
+            this.asyncLocalizer = new AsyncLocalizer(conf, metricsRegistry, peerBlobDistribution);
         } catch (IOException e) {
             throw Utils.wrapInRuntime(e);
         }
@@ -272,6 +300,14 @@ public class Supervisor implements DaemonCommon, AutoCloseable {
         return currAssignment;
     }
 
+    public Long getAssignmentsVersion() {
+        return assignmentsVersion;
+    }
+
+    public void setAssignmentsVersion(Long assignmentsVersion) {
+        this.assignmentsVersion = assignmentsVersion;
+    }
+
     AsyncLocalizer getAsyncLocalizer() {
         return asyncLocalizer;
     }
@@ -403,6 +439,27 @@ public class Supervisor implements DaemonCommon, AutoCloseable {
         }
     }
 
+    /**
+     * Get the other supervisors a topology is assigned to, as host:port of their thrift server.
+     */
+    private List<String> getPeerSupervisors(String topologyId) {
+        List<String> ret = new ArrayList<>();
+        Assignment assignment = stormClusterState.assignmentInfo(topologyId, null);
+        if (assignment == null || !assignment.is_set_node_host()) {
+            return ret;
+        }
+        for (Map.Entry<String, String> entry : assignment.get_node_host().entrySet()) {
+            if (entry.getKey().equals(assignmentId)) {
+                continue;
+            }
+            SupervisorInfo info = stormClusterState.supervisorInfo(entry.getKey());
+            if (info != null && info.is_set_server_port()) {
+                ret.add(entry.getValue() + ":" + info.get_server_port());
+            }
+        }
+        return ret;
+    }
+
     private org.apache.storm.generated.Supervisor.Iface createSupervisorIface() {
         return new org.apache.storm.generated.Supervisor.Iface() {
             @Override
@@ -449,6 +506,24 @@ public class Supervisor implements DaemonCommon, AutoCloseable {
                 }
                 checkAuthorization(id, topoConf, "sendSupervisorWorkerHeartbeat");
             }
+
+            @Override
+            public ByteBuffer getBlobChunkManifest(String key) throws AuthorizationException, TException {
+                checkAuthorization("getBlobChunkManifest");
+                if (peerBlobDistribution == null) {
+                    return ByteBuffer.allocate(0);
+                }
+                return peerBlobDistribution.getManifest(key);
+            }
+
+            @Override
+            public ByteBuffer getBlobChunk(String digest) throws AuthorizationException, TException {
+                checkAuthorization("getBlobChunk");
+                if (peerBlobDistribution == null) {
+                    return ByteBuffer.allocate(0);
+                }
+                return peerBlobDistribution.getChunk(digest);
+            }
         };
     }
 
@@ -0,0 +1,267 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.daemon.supervisor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.shade.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.storm.utils.ConfigUtils;
+import org.apache.storm.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps an application class data sharing archive for each version of a topology jar, so workers map the classes they load when they
+ * start from the archive instead of reading and verifying them from the jars every time.
+ *
+ * <p>The first worker launched with a version of the jar writes the list of classes it loads. The JVM keeps appending to that list until
+ * it exits, so the archive is only built a while after the worker started, from the complete lines of the list at that time, by another
+ * JVM. The workers launched after that use it. If the worker writing the list exits before the archive is built, the list is removed so
+ * the next worker writes it again. The files are next to the topology jar and named after it, so they are removed with it.
+ *
+ * <p>The JVM only archives classes from the jars on the classpath before the first directory, like the storm conf dir, so the classes of
+ * the topology jar itself are usually not archived. If an archive does not match the JVM or the classpath of a worker, the worker does not
+ * use it and starts like it would without it.
+ */
+class WorkerClassDataSharing {
+    private static final Logger LOG = LoggerFactory.getLogger(WorkerClassDataSharing.class);
+    private static final String CLASS_LIST_SUFFIX = ".classlist";
+    private static final String ARCHIVE_SUFFIX = ".jsa";
+    private static final String BUILD_CLASS_LIST_SUFFIX = ".build" + CLASS_LIST_SUFFIX;
+    // An empty list no worker of this supervisor writes is taken over after this long, its worker is gone with a previous supervisor
+    static final long STALE_CLASS_LIST_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    // The archives this supervisor started building, they are built once even if that failed
+    private final Set<Path> building = ConcurrentHashMap.newKeySet();
+    // The ids of the workers writing class lists the archives are not being built from yet, by class list
+    private final Map<Path, String> writers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService buildScheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("Class Data Sharing Archive Builder").setDaemon(true).build());
+
+    static Path getClassList(String stormRoot, long jarVersion) {
+        return Paths.get(ConfigUtils.supervisorStormJarPath(stormRoot) + "." + jarVersion + CLASS_LIST_SUFFIX);
+    }
+
+    static Path getBuildClassList(String stormRoot, long jarVersion) {
+        return Paths.get(ConfigUtils.supervisorStormJarPath(stormRoot) + "." + jarVersion + BUILD_CLASS_LIST_SUFFIX);
+    }
+
+    static Path getArchive(String stormRoot, long jarVersion) {
+        return Paths.get(ConfigUtils.supervisorStormJarPath(stormRoot) + "." + jarVersion + ARCHIVE_SUFFIX);
+    }
+
+    /**
+     * Get the JVM options for a worker, to use the archive if it was built, or to write the list of classes to build it from if no other
+     * worker did.
+     *
+     * @param stormRoot the root dist dir for the topology.
+     * @param jarVersion the version of the topology jar.
+     * @param workerId the id of the worker.
+     * @return the options.
+     */
+    List<String> getWorkerOptions(String stormRoot, long jarVersion, String workerId) {
+        Path archive = getArchive(stormRoot, jarVersion);
+        if (Files.isRegularFile(archive)) {
+            return Arrays.asList("-XX:SharedArchiveFile=" + archive, "-Xshare:auto");
+        }
+        Path classList = getClassList(stormRoot, jarVersion);
+        try {
+            // Only one worker writes the list
+            Files.createFile(classList);
+            writers.put(classList, workerId);
+            return Collections.singletonList("-XX:DumpLoadedClassList=" + classList);
+        } catch (FileAlreadyExistsException e) {
+            return takeOverStaleClassList(classList, workerId);
+        } catch (IOException e) {
+            LOG.warn("Could not create {}, workers will start without class data sharing", classList, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private List<String> takeOverStaleClassList(Path classList, String workerId) {
+        try {
+            if (writers.containsKey(classList) || Files.size(classList) > 0
+                || Time.currentTimeMillis() - Files.getLastModifiedTime(classList).toMillis() < STALE_CLASS_LIST_MILLIS
+                || writers.putIfAbsent(classList, workerId) != null) {
+                return Collections.emptyList();
+            }
+            LOG.info("Worker {} takes over writing {}, which was left empty", workerId, classList);
+            Files.setLastModifiedTime(classList, FileTime.fromMillis(Time.currentTimeMillis()));
+            return Collections.singletonList("-XX:DumpLoadedClassList=" + classList);
+        } catch (IOException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Remove the class list a worker was writing if it exits before the archive is built from it, so the next worker writes it again.
+     *
+     * @param workerId the id of the worker that exited.
+     */
+    void workerExited(String workerId) {
+        writers.entrySet().removeIf(entry -> {
+            if (!entry.getValue().equals(workerId)) {
+                return false;
+            }
+            LOG.info("Worker {} exited before a class data sharing archive was built from {}, removing it", workerId, entry.getKey());
+            try {
+                Files.deleteIfExists(entry.getKey());
+            } catch (IOException e) {
+                LOG.warn("Could not delete {}", entry.getKey(), e);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Build the archive in the background a while after the worker writing its list started, if it was not built yet. The worker is still
+     * running then, so the archive has the classes it loaded until that time.
+     *
+     * @param workerId the id of the worker.
+     * @param javaCmd the java command the worker was launched with.
+     * @param stormRoot the root dist dir for the topology.
+     * @param jarVersion the version of the topology jar.
+     * @param classpath the classpath the worker was launched with.
+     * @param buildDelayMs how long after the worker started to build the archive.
+     */
+    void workerStarted(String workerId, String javaCmd, String stormRoot, long jarVersion, String classpath, long buildDelayMs) {
+        Path classList = getClassList(stormRoot, jarVersion);
+        Path archive = getArchive(stormRoot, jarVersion);
+        if (Files.exists(archive) || !workerId.equals(writers.get(classList))) {
+            return;
+        }
+        LOG.debug("Building class data sharing archive {} in {} ms", archive, buildDelayMs);
+        buildScheduler.schedule(() -> build(workerId, javaCmd, stormRoot, jarVersion, classpath), buildDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void build(String workerId, String javaCmd, String stormRoot, long jarVersion, String classpath) {
+        Path classList = getClassList(stormRoot, jarVersion);
+        Path buildClassList = getBuildClassList(stormRoot, jarVersion);
+        Path archive = getArchive(stormRoot, jarVersion);
+        // If the worker exited before, its list was removed and the next worker writes it again
+        if (!writers.remove(classList, workerId) || !building.add(archive)) {
+            return;
+        }
+        try {
+            if (!copyCompleteLines(classList, buildClassList)) {
+                LOG.warn("{} is empty, workers will start without class data sharing", classList);
+                return;
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read {}, workers will start without class data sharing", classList, e);
+            return;
+        }
+        deleteOtherVersions(stormRoot, jarVersion);
+        Path tmpArchive = Paths.get(archive + ".tmp");
+        List<String> command = new ArrayList<>();
+        command.add(javaCmd);
+        command.add("-Xshare:dump");
+        command.add("-XX:SharedClassListFile=" + buildClassList);
+        command.add("-XX:SharedArchiveFile=" + tmpArchive);
+        command.add("-cp");
+        command.add(getArchivableClasspath(classpath));
+        LOG.info("Building class data sharing archive {} with command {}", archive, command);
+        try {
+            ClientSupervisorUtils.launchProcess(command, null, "Class Data Sharing Archive " + archive.getFileName(),
+                exitCode -> built(tmpArchive, archive, exitCode), new File(stormRoot));
+        } catch (IOException e) {
+            LOG.warn("Could not build {}, workers will start without class data sharing", archive, e);
+        }
+    }
+
+    /**
+     * Copy the lines of a class list the JVM finished writing, without the last one if the JVM is still writing it.
+     *
+     * @return false if there are no complete lines to copy.
+     */
+    static boolean copyCompleteLines(Path classList, Path copy) throws IOException {
+        byte[] bytes = Files.readAllBytes(classList);
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] != '\n') {
+            length--;
+        }
+        if (length == 0) {
+            return false;
+        }
+        Files.write(copy, Arrays.copyOf(bytes, length));
+        return true;
+    }
+
+    private static void built(Path tmpArchive, Path archive, int exitCode) {
+        try {
+            if (exitCode == 0 && Files.isRegularFile(tmpArchive)) {
+                Files.move(tmpArchive, archive, StandardCopyOption.ATOMIC_MOVE);
+                LOG.info("Built class data sharing archive {}", archive);
+            } else {
+                LOG.warn("Could not build {}, exit code {}, workers will start without class data sharing", archive, exitCode);
+                Files.deleteIfExists(tmpArchive);
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not move {} to {}", tmpArchive, archive, e);
+        }
+    }
+
+    /**
+     * The JVM cannot build an archive with a directory that is not empty on the classpath, so only the entries before the first directory
+     * are used. The classpath of a worker starts with the same entries, which is all the JVM needs to use the archive.
+     */
+    static String getArchivableClasspath(String classpath) {
+        List<String> entries = new ArrayList<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (new File(entry).isDirectory()) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * The lists and archives of previous versions of the jar are not used any more.
+     */
+    private static void deleteOtherVersions(String stormRoot, long jarVersion) {
+        String prefix = new File(ConfigUtils.supervisorStormJarPath(stormRoot)).getName() + ".";
+        Set<String> current = new HashSet<>(Arrays.asList(getClassList(stormRoot, jarVersion).getFileName().toString(),
+            getBuildClassList(stormRoot, jarVersion).getFileName().toString(), getArchive(stormRoot, jarVersion).getFileName().toString()));
+        File[] files = new File(stormRoot).listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(prefix) && (name.endsWith(CLASS_LIST_SUFFIX) || name.endsWith(ARCHIVE_SUFFIX)) && !current.contains(name)) {
+                LOG.debug("Removing {} of a previous version of the topology jar", file);
+                if (!file.delete()) {
+                    LOG.warn("Could not delete {}", file);
+                }
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.storm.daemon.supervisor.SupervisorUtils;
 import org.apache.storm.generated.Assignment;
 import org.apache.storm.generated.Nimbus;
 import org.apache.storm.generated.SupervisorAssignments;
+import org.apache.storm.nimbus.SupervisorAssignmentsDelta;
 import org.apache.storm.thrift.TException;
 import org.apache.storm.utils.ConfigUtils;
 import org.apache.storm.utils.NimbusClient;
@@ -75,13 +76,50 @@ public class SynchronizeAssignments implements Runnable {
         clusterState.syncRemoteAssignments(serAssignments);
     }
 
+    /**
+     * Apply assignments that only hold what changed since the assignments with their base version. If that is not the version we have,
+     * sync all the assignments from master instead.
+     */
+    private void assignedDeltaToLocal(IStormClusterState clusterState, SupervisorAssignments delta) {
+        Long version = this.supervisor.getAssignmentsVersion();
+        if (version == null || version != delta.get_base_version()) {
+            LOG.info("Got assignments changed since version {}, but have version {}, will sync all assignments from master",
+                     delta.get_base_version(), version);
+            getAssignmentsFromMaster(this.supervisor.getConf(), clusterState, this.supervisor.getAssignmentId());
+            return;
+        }
+        Map<String, Assignment> assignments = SupervisorAssignmentsDelta.apply(clusterState.assignmentsInfo(), delta);
+        Map<String, byte[]> serAssignments = new HashMap<>();
+        for (Map.Entry<String, Assignment> entry : assignments.entrySet()) {
+            serAssignments.put(entry.getKey(), Utils.serialize(entry.getValue()));
+        }
+        clusterState.syncRemoteAssignments(serAssignments);
+        this.supervisor.setAssignmentsVersion(delta.get_version());
+    }
+
+    /**
+     * The version of the assignments synced from master, if there is one. Assignments synced for multiple NUMA supervisors
+     * are not versioned together, so they have none.
+     */
+    private static Long versionOf(List<SupervisorAssignments> supervisorAssignments) {
+        if (supervisorAssignments == null || supervisorAssignments.size() != 1) {
+            return null;
+        }
+        SupervisorAssignments assignments = supervisorAssignments.get(0);
+        return assignments != null && assignments.is_set_version() ? assignments.get_version() : null;
+    }
+
     @Override
     public void run() {
         // first sync assignments to local, then sync processes.
         if (null == assignments) {
             getAssignmentsFromMaster(this.supervisor.getConf(), this.supervisor.getStormClusterState(), this.supervisor.getAssignmentId());
+        } else if (assignments.is_set_base_version()) {
+            assignedDeltaToLocal(this.supervisor.getStormClusterState(), assignments);
         } else {
-            assignedAssignmentsToLocal(this.supervisor.getStormClusterState(), Collections.singletonList(assignments));
+            List<SupervisorAssignments> supervisorAssignments = Collections.singletonList(assignments);
+            assignedAssignmentsToLocal(this.supervisor.getStormClusterState(), supervisorAssignments);
+            this.supervisor.setAssignmentsVersion(versionOf(supervisorAssignments));
         }
         this.readClusterState.run();
     }
@@ -95,7 +133,9 @@ public class SynchronizeAssignments implements Runnable {
         while (!success) {
             try (NimbusClient master = NimbusClient.getConfiguredClient(supervisor.getConf())) {
                 SupervisorAssignments assignments = master.getClient().getSupervisorAssignments(supervisor.getAssignmentId());
-                assignedAssignmentsToLocal(supervisor.getStormClusterState(), Collections.singletonList(assignments));
+                List<SupervisorAssignments> supervisorAssignments = Collections.singletonList(assignments);
+                assignedAssignmentsToLocal(supervisor.getStormClusterState(), supervisorAssignments);
+                supervisor.setAssignmentsVersion(versionOf(supervisorAssignments));
                 success = true;
             } catch (Exception t) {
                 // just ignore the exception
@@ -145,6 +185,7 @@ public class SynchronizeAssignments implements Runnable {
                                 this.supervisor.getLocalNimbus(), node
                         );
                 assignedAssignmentsToLocal(clusterState, supervisorAssignmentsList);
+                this.supervisor.setAssignmentsVersion(versionOf(supervisorAssignmentsList));
             } catch (TException e) {
                 LOG.error("Get assignments from local master exception", e);
             }
@@ -153,6 +194,7 @@ public class SynchronizeAssignments implements Runnable {
                 List<SupervisorAssignments> supervisorAssignmentsList = getAllAssignmentsFromNumaSupervisors(master.getClient(), node);
                 LOG.debug("Sync an assignments from master, will start to sync with assignments: {}", supervisorAssignmentsList);
                 assignedAssignmentsToLocal(clusterState, supervisorAssignmentsList);
+                this.supervisor.setAssignmentsVersion(versionOf(supervisorAssignmentsList));
             } catch (Exception t) {
                 LOG.error("Get assignments from master exception", t);
             }
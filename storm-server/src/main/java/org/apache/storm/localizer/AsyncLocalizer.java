@@ -101,13 +101,22 @@ public class AsyncLocalizer implements AutoCloseable {
     private final long cacheCleanupPeriod;
     private final int updateBlobPeriod;
     private final StormMetricsRegistry metricsRegistry;
+    private final PeerBlobDistribution peerBlobDistribution;
+    private final ContentAddressedCache contentCache;
     // cleanup
     @VisibleForTesting
     protected long cacheTargetSize;
 
     @VisibleForTesting
     AsyncLocalizer(Map<String, Object> conf, AdvancedFSOps ops, String baseDir, StormMetricsRegistry metricsRegistry) throws IOException {
+        this(conf, ops, baseDir, metricsRegistry, null);
+    }
+
+    @VisibleForTesting
+    AsyncLocalizer(Map<String, Object> conf, AdvancedFSOps ops, String baseDir, StormMetricsRegistry metricsRegistry,
+                   PeerBlobDistribution peerBlobDistribution) throws IOException {
         this.conf = conf;
+        this.peerBlobDistribution = peerBlobDistribution;
         this.blobCacheUpdateDuration = metricsRegistry.registerTimer("supervisor:blob-cache-update-duration");
         this.blobLocalizationDuration = metricsRegistry.registerTimer("supervisor:blob-localization-duration");
         this.localResourceFileNotFoundWhenReleasingSlot
@@ -117,6 +126,8 @@ public class AsyncLocalizer implements AutoCloseable {
         isLocalMode = ConfigUtils.isLocalMode(conf);
         fsOps = ops;
         localBaseDir = Paths.get(baseDir);
+        contentCache = ObjectReader.getBoolean(conf.get(DaemonConfig.SUPERVISOR_LOCALIZER_CONTENT_CACHE_ENABLED), false)
+            ? new ContentAddressedCache(localBaseDir, metricsRegistry) : null;
         // default cache size 10GB, converted to Bytes
         cacheTargetSize = ObjectReader.getInt(conf.get(DaemonConfig.SUPERVISOR_LOCALIZER_CACHE_TARGET_SIZE_MB),
                                               10 * 1024).longValue() << 20;
@@ -141,7 +152,18 @@ public class AsyncLocalizer implements AutoCloseable {
     }
 
     public AsyncLocalizer(Map<String, Object> conf, StormMetricsRegistry metricsRegistry) throws IOException {
-        this(conf, AdvancedFSOps.make(conf), ConfigUtils.supervisorLocalDir(conf), metricsRegistry);
+        this(conf, metricsRegistry, null);
+    }
+
+    /**
+     * Create a new AsyncLocalizer.
+     *
+     * @param peerBlobDistribution used to download topology blobs from other supervisors and share them, null to only download them
+     *     from the blob store.
+     */
+    public AsyncLocalizer(Map<String, Object> conf, StormMetricsRegistry metricsRegistry,
+                          PeerBlobDistribution peerBlobDistribution) throws IOException {
+        this(conf, AdvancedFSOps.make(conf), ConfigUtils.supervisorLocalDir(conf), metricsRegistry, peerBlobDistribution);
     }
 
     @VisibleForTesting
@@ -151,7 +173,8 @@ public class AsyncLocalizer implements AutoCloseable {
                 try {
                     return new LocallyCachedTopologyBlob(topologyId, isLocalMode, conf, fsOps,
                                                       LocallyCachedTopologyBlob.TopologyBlobType
-                                                          .TOPO_JAR, owner, metricsRegistry);
+                                                          .TOPO_JAR, owner, metricsRegistry,
+                                                      peerBlobDistribution, contentCache);
                 } catch (IOException e) {
                     String message = "Failed getTopoJar for " + topologyId;
                     LOG.error(message, e);
@@ -167,7 +190,8 @@ public class AsyncLocalizer implements AutoCloseable {
                 try {
                     return new LocallyCachedTopologyBlob(topologyId, isLocalMode, conf, fsOps,
                                                       LocallyCachedTopologyBlob.TopologyBlobType
-                                                          .TOPO_CODE, owner, metricsRegistry);
+                                                          .TOPO_CODE, owner, metricsRegistry,
+                                                      peerBlobDistribution, contentCache);
                 } catch (IOException e) {
                     String message = "Failed getTopoCode for " + topologyId;
                     LOG.error(message, e);
@@ -183,7 +207,8 @@ public class AsyncLocalizer implements AutoCloseable {
                 try {
                     return new LocallyCachedTopologyBlob(topologyId, isLocalMode, conf, fsOps,
                                                       LocallyCachedTopologyBlob.TopologyBlobType
-                                                          .TOPO_CONF, owner, metricsRegistry);
+                                                          .TOPO_CONF, owner, metricsRegistry,
+                                                      peerBlobDistribution, contentCache);
                 } catch (IOException e) {
                     String message = "Failed getTopoConf for " + topologyId;
                     LOG.error(message, e);
@@ -641,6 +666,12 @@ public class AsyncLocalizer implements AutoCloseable {
                 }
             }
 
+            if (contentCache != null) {
+                // Cached jars that topologies link to are already counted as part of the topology blobs, so the jars no topology uses
+                // get what is left of the target size.
+                contentCache.cleanup(Math.max(0, cacheTargetSize - toClean.getCurrentSize()));
+            }
+
             HashSet<String> safeTopologyIds = new HashSet<>();
             for (String blobKey : topologyBlobs.keySet()) {
                 safeTopologyIds.add(ConfigUtils.getIdFromBlobKey(blobKey));
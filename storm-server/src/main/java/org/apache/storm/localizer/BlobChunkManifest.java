@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.localizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.storm.Config;
+import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.ServerUtils;
+
+/**
+ * The chunks a version of a blob is split into, and the SHA-256 digest of each chunk, so the chunks can be downloaded from different
+ * supervisors and checked independently.
+ */
+public class BlobChunkManifest {
+    // Room left in a thrift frame for the message, the struct and the field around the bytes of a chunk, which take less than 100 bytes
+    static final int THRIFT_ENVELOPE_SIZE = 1024;
+
+    private final long version;
+    private final long length;
+    private final int chunkSize;
+    private final List<String> digests;
+
+    BlobChunkManifest(long version, long length, int chunkSize, List<String> digests) {
+        this.version = version;
+        this.length = length;
+        this.chunkSize = chunkSize;
+        this.digests = Collections.unmodifiableList(digests);
+    }
+
+    /**
+     * Get the size of the chunks to split blobs in, so a whole chunk fits in a single response from the supervisor thrift server.
+     *
+     * @param conf the supervisor conf.
+     * @return the chunk size.
+     */
+    public static int getChunkSize(Map<String, Object> conf) {
+        int maxBufferSize = ObjectReader.getInt(conf.get(Config.SUPERVISOR_THRIFT_MAX_BUFFER_SIZE));
+        return Math.max(maxBufferSize - THRIFT_ENVELOPE_SIZE, THRIFT_ENVELOPE_SIZE);
+    }
+
+    /**
+     * Compute the manifest of a file.
+     *
+     * @param path the file.
+     * @param version the version of the blob the file holds.
+     * @param chunkSize the size of each chunk, but the last one.
+     * @return the manifest.
+     * @throws IOException on any error reading the file.
+     */
+    public static BlobChunkManifest compute(Path path, long version, int chunkSize) throws IOException {
+        List<String> digests = new ArrayList<>();
+        long length = 0;
+        byte[] chunk = new byte[chunkSize];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = readChunk(in, chunk)) > 0) {
+                digests.add(digest(chunk, 0, read));
+                length += read;
+            }
+        }
+        return new BlobChunkManifest(version, length, chunkSize, digests);
+    }
+
+    private static int readChunk(InputStream in, byte[] chunk) throws IOException {
+        int total = 0;
+        int read;
+        while (total < chunk.length && (read = in.read(chunk, total, chunk.length - total)) >= 0) {
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Get the hex SHA-256 digest of some bytes.
+     */
+    public static String digest(byte[] data, int offset, int len) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(data, offset, len);
+            return ServerUtils.toHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Read a manifest sent by another supervisor.
+     *
+     * @param data the serialized manifest, empty if the supervisor does not have the blob.
+     * @return the manifest, or null if data is empty.
+     * @throws IOException if the data is not a valid manifest.
+     */
+    public static BlobChunkManifest fromBytes(ByteBuffer data) throws IOException {
+        if (data == null || !data.hasRemaining()) {
+            return null;
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            long version = in.readLong();
+            long length = in.readLong();
+            int chunkSize = in.readInt();
+            int numChunks = in.readInt();
+            if (chunkSize <= 0 || numChunks < 0 || length < 0 || (length + chunkSize - 1) / chunkSize != numChunks) {
+                throw new IOException("Invalid blob chunk manifest");
+            }
+            List<String> digests = new ArrayList<>(numChunks);
+            byte[] digest = new byte[32];
+            for (int i = 0; i < numChunks; i++) {
+                in.readFully(digest);
+                digests.add(ServerUtils.toHex(digest));
+            }
+            return new BlobChunkManifest(version, length, chunkSize, digests);
+        }
+    }
+
+    /**
+     * Serialize the manifest to send it to another supervisor.
+     */
+    public ByteBuffer toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(24 + 32 * digests.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(version);
+            out.writeLong(length);
+            out.writeInt(chunkSize);
+            out.writeInt(digests.size());
+            for (String digest : digests) {
+                out.write(fromHex(digest));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] ret = new byte[hex.length() / 2];
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return ret;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public List<String> getDigests() {
+        return digests;
+    }
+
+    /**
+     * Get the offset in the blob of a chunk.
+     */
+    public long getOffset(int chunk) {
+        return (long) chunk * chunkSize;
+    }
+
+    /**
+     * Get the length of a chunk, which is the chunk size for all chunks but the last one.
+     */
+    public int getLength(int chunk) {
+        return (int) Math.min(chunkSize, length - getOffset(chunk));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof BlobChunkManifest)) {
+            return false;
+        }
+        BlobChunkManifest o = (BlobChunkManifest) other;
+        return version == o.version && length == o.length && chunkSize == o.chunkSize && digests.equals(o.digests);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, length, chunkSize, digests);
+    }
+
+    @Override
+    public String toString() {
+        return "BlobChunkManifest version " + version + " " + length + " bytes in " + digests.size() + " chunks";
+    }
+}
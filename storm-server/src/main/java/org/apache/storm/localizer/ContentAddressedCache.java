@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.localizer;
+
+import com.codahale.metrics.Meter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.utils.ServerUtils;
+import org.apache.storm.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A supervisor wide cache of topology jars by the SHA-256 digest of their content, so a jar that was already downloaded for one topology
+ * does not have to be downloaded again for another topology of the same user, like when a topology is redeployed.
+ *
+ * <p>The cache is at ${supervisor.local.dir}/contentcache/${user}/${digest}, and the topology directories hold hard links to the files in
+ * it, so a jar is on disk once no matter how many topologies use it. The number of links to a file is its reference count: a file with no
+ * other link is not used by any topology, and those are evicted least recently used first by {@link #cleanup(long)}. Files are kept per
+ * user because a hard link shares the owner and permissions of the file, which are set per user when running workers as the user.
+ */
+public class ContentAddressedCache {
+    static final String CONTENTCACHE = "contentcache";
+    private static final Logger LOG = LoggerFactory.getLogger(ContentAddressedCache.class);
+
+    private final Path root;
+    private final Meter hits;
+    private final Meter evictions;
+
+    public ContentAddressedCache(Path localBaseDir, StormMetricsRegistry metricsRegistry) {
+        this.root = localBaseDir.resolve(CONTENTCACHE);
+        this.hits = metricsRegistry.registerMeter("supervisor:content-cache-hits");
+        this.evictions = metricsRegistry.registerMeter("supervisor:content-cache-evictions");
+    }
+
+    private Path getPath(String owner, String digest) {
+        return root.resolve(owner).resolve(digest);
+    }
+
+    /**
+     * Link a file with the given content to dest, if it is in the cache.
+     *
+     * @param owner the user that owns the topology.
+     * @param digest the hex SHA-256 digest of the content.
+     * @param dest where to link it, replacing anything already there.
+     * @return true if it was linked, false if it is not in the cache and has to be downloaded.
+     */
+    public synchronized boolean link(String owner, String digest, Path dest) {
+        Path cached = getPath(owner, digest);
+        if (!Files.exists(cached)) {
+            return false;
+        }
+        try {
+            Files.deleteIfExists(dest);
+            Files.createLink(dest, cached);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.warn("Could not link {} to {}", cached, dest, e);
+            return false;
+        }
+        touch(cached);
+        LOG.debug("Linked {} to {}", cached, dest);
+        hits.mark();
+        return true;
+    }
+
+    private static void touch(Path cached) {
+        try {
+            Files.setLastModifiedTime(cached, FileTime.fromMillis(Time.currentTimeMillis()));
+        } catch (IOException e) {
+            // When running workers as the user the file belongs to the user, and then it is evicted a bit sooner than it should be.
+            LOG.debug("Could not update the last used time of {}", cached, e);
+        }
+    }
+
+    /**
+     * Add a file that was just downloaded to the cache. If a file with the same content is already cached the downloaded file is replaced
+     * with a link to it, so the content is only on disk once.
+     *
+     * @param owner the user that owns the topology.
+     * @param file the file.
+     */
+    public void add(String owner, Path file) {
+        try {
+            // Computing the digest can take a while for a large jar, so it is done outside of the lock.
+            String digest = ServerUtils.sha256Hex(file);
+            synchronized (this) {
+                Path cached = getPath(owner, digest);
+                if (Files.exists(cached)) {
+                    Files.delete(file);
+                    Files.createLink(file, cached);
+                } else {
+                    Files.createDirectories(cached.getParent());
+                    Files.createLink(cached, file);
+                }
+                touch(cached);
+                LOG.debug("Cached {} as {}", file, cached);
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.warn("Could not cache {}", file, e);
+        }
+    }
+
+    /**
+     * Evict files that are not linked from any topology, least recently used first, until they use at most targetSize bytes.
+     *
+     * @param targetSize the space files not used by any topology may take up, in bytes.
+     */
+    public synchronized void cleanup(long targetSize) {
+        List<Path> unused = new ArrayList<>();
+        long unusedSize = 0;
+        try (DirectoryStream<Path> owners = Files.newDirectoryStream(root)) {
+            for (Path ownerDir : owners) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(ownerDir)) {
+                    for (Path file : files) {
+                        if (((Number) Files.getAttribute(file, "unix:nlink")).intValue() <= 1) {
+                            unused.add(file);
+                            unusedSize += Files.size(file);
+                        }
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            LOG.warn("Could not find the unused files in {}", root, e);
+            return;
+        }
+        unused.sort(Comparator.comparing(ContentAddressedCache::getLastUsed));
+        for (Path file : unused) {
+            if (unusedSize <= targetSize) {
+                break;
+            }
+            try {
+                long size = Files.size(file);
+                Files.delete(file);
+                unusedSize -= size;
+                evictions.mark();
+                LOG.info("Deleted cached content {} (OVER SIZE LIMIT).", file);
+            } catch (IOException e) {
+                LOG.warn("Could not delete cached content {}", file, e);
+            }
+        }
+    }
+
+    private static FileTime getLastUsed(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.localizer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.storm.shade.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Extracts a directory from a topology jar, taking the extraction of the resources out of the worker startup critical path as much as
+ * possible.
+ *
+ * <ul>
+ *     <li>The jar is extracted while it is downloaded, by reading the bytes as they are written to disk.</li>
+ *     <li>If that does not work, because the jar was not downloaded or cannot be read as a stream, it is extracted from the file after the
+ *     download with several threads.</li>
+ *     <li>Entries with the same CRC and size as in the previous version of the jar are linked from the previous extraction instead of
+ *     being extracted again, if the file extracted before still has that CRC.</li>
+ * </ul>
+ */
+class JarResourceExtractor implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(JarResourceExtractor.class);
+    private static final int PIPE_SIZE = 1024 * 1024;
+
+    private final String prefix;
+    private final Path previousDest;
+    private final Map<String, ZipEntry> previousEntries;
+    private final ExecutorService executor;
+    private final int numThreads;
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private Future<Boolean> streaming;
+    private Path streamingDest;
+    private volatile Path dest;
+    private volatile String base;
+
+    /**
+     * Create a new extractor.
+     *
+     * @param dir the directory in the jar to extract.
+     * @param previousJar the previous version of the jar, if any.
+     * @param previousDest where the previous version of the jar was extracted.
+     * @param numThreads the number of threads to extract with.
+     */
+    JarResourceExtractor(String dir, Path previousJar, Path previousDest, int numThreads) {
+        this.prefix = dir + '/';
+        this.previousDest = previousDest;
+        this.previousEntries = readEntries(previousJar, prefix);
+        this.numThreads = numThreads;
+        // one more thread for extracting while downloading
+        this.executor = Executors.newFixedThreadPool(numThreads + 1,
+            new ThreadFactoryBuilder().setNameFormat("Jar Resource Extractor - %d").setDaemon(true).build());
+    }
+
+    private static Map<String, ZipEntry> readEntries(Path jar, String prefix) {
+        if (jar == null || !Files.isRegularFile(jar)) {
+            return Collections.emptyMap();
+        }
+        Map<String, ZipEntry> ret = new HashMap<>();
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+                    ret.put(entry.getName(), entry);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read the previous version of the jar {}, all of it will be extracted", jar, e);
+            return Collections.emptyMap();
+        }
+        return ret;
+    }
+
+    /**
+     * Wrap the stream the jar is downloaded to, so it is extracted while it is downloaded.
+     *
+     * @param out the stream the jar is written to.
+     * @param dest where to extract the jar to.
+     * @return a stream that writes to out and extracts what is written.
+     */
+    OutputStream extractWhileWriting(OutputStream out, Path dest) throws IOException {
+        // A previous attempt to download the jar may have failed part way, it finished once its stream was closed.
+        waitForStreaming();
+        setDest(dest);
+        streamingDest = dest;
+        PipedInputStream pipeIn = new PipedInputStream(PIPE_SIZE);
+        PipedOutputStream pipeOut = new PipedOutputStream(pipeIn);
+        streaming = executor.submit(() -> extractStream(pipeIn));
+        return new OutputStream() {
+            private boolean teeing = true;
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                if (teeing) {
+                    try {
+                        pipeOut.write(b);
+                    } catch (IOException e) {
+                        teeing = false;
+                    }
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                if (teeing) {
+                    try {
+                        pipeOut.write(b, off, len);
+                    } catch (IOException e) {
+                        // The extraction failed, the jar will be extracted from the file instead.
+                        teeing = false;
+                    }
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    out.close();
+                } finally {
+                    pipeOut.close();
+                }
+            }
+        };
+    }
+
+    private boolean extractStream(PipedInputStream pipeIn) {
+        try (PipedInputStream in = pipeIn; ZipInputStream zin = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zin.getNextEntry()) != null) {
+                if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+                    // The CRC and size are only known before the data when the entry has no data descriptor.
+                    if (!linkUnchanged(entry)) {
+                        Path file = resolve(entry);
+                        if (file != null) {
+                            Files.createDirectories(file.getParent());
+                            try (OutputStream out = Files.newOutputStream(file)) {
+                                IOUtils.copy(zin, out);
+                            }
+                        }
+                    }
+                }
+            }
+            // Read what is left, like the central directory, so the download does not block on a full pipe.
+            IOUtils.skip(in, Long.MAX_VALUE);
+            return true;
+        } catch (Exception e) {
+            LOG.debug("Could not extract {} while downloading, will extract it after", dest, e);
+            return false;
+        }
+    }
+
+    private void setDest(Path dest) throws IOException {
+        Files.createDirectories(dest);
+        FileUtils.cleanDirectory(dest.toFile());
+        this.dest = dest;
+        this.base = dest.toFile().getCanonicalPath();
+        unchanged.set(0);
+    }
+
+    private boolean waitForStreaming() {
+        if (streaming == null) {
+            return false;
+        }
+        try {
+            return streaming.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            return false;
+        } finally {
+            streaming = null;
+        }
+    }
+
+    /**
+     * Finish extracting the jar, after it was downloaded.
+     *
+     * @param jar the downloaded jar.
+     * @param dest where to extract the jar to.
+     */
+    void finish(Path jar, Path dest) throws IOException {
+        if (waitForStreaming() && dest.equals(streamingDest)) {
+            LOG.debug("Extracted {} while downloading {}, {} entries were unchanged", dest, jar, unchanged.get());
+            return;
+        }
+        setDest(dest);
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            List<Future<?>> futures = new ArrayList<>();
+            List<ZipEntry> entries = new ArrayList<>();
+            Enumeration<? extends ZipEntry> all = zipFile.entries();
+            while (all.hasMoreElements()) {
+                ZipEntry entry = all.nextElement();
+                if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+                    entries.add(entry);
+                }
+            }
+            for (int i = 0; i < numThreads; i++) {
+                final int thread = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = thread; j < entries.size(); j += numThreads) {
+                        extractEntry(zipFile, entries.get(j));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        LOG.debug("Extracted {} from {}, {} entries were unchanged", dest, jar, unchanged.get());
+    }
+
+    private void extractEntry(ZipFile zipFile, ZipEntry entry) throws IOException {
+        if (linkUnchanged(entry)) {
+            return;
+        }
+        Path file = resolve(entry);
+        if (file == null) {
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        try (InputStream in = zipFile.getInputStream(entry); OutputStream out = Files.newOutputStream(file)) {
+            IOUtils.copy(in, out);
+        }
+    }
+
+    /**
+     * Get where to extract an entry to.
+     *
+     * @return the path, or null if it is outside of the destination.
+     */
+    private Path resolve(ZipEntry entry) throws IOException {
+        Path file = dest.resolve(entry.getName().substring(prefix.length()));
+        String found = file.toFile().getCanonicalPath();
+        if (!found.startsWith(base + File.separator)) {
+            LOG.error("Invalid location {} is outside of {}", found, base);
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Link an entry from the previous extraction if it did not change. The file extracted before is checked against the CRC of the entry,
+     * so a change made to it after it was extracted does not carry over to the new extraction.
+     *
+     * @return true if it was linked, false if it has to be extracted.
+     */
+    private boolean linkUnchanged(ZipEntry entry) throws IOException {
+        ZipEntry previous = previousEntries.get(entry.getName());
+        if (previous == null || entry.getCrc() < 0 || entry.getSize() < 0
+            || previous.getCrc() != entry.getCrc() || previous.getSize() != entry.getSize()) {
+            return false;
+        }
+        Path previousFile = previousDest.resolve(entry.getName().substring(prefix.length()));
+        if (!Files.isRegularFile(previousFile) || Files.size(previousFile) != entry.getSize()
+            || FileUtils.checksumCRC32(previousFile.toFile()) != entry.getCrc()) {
+            return false;
+        }
+        Path file = resolve(entry);
+        if (file == null) {
+            return false;
+        }
+        Files.createDirectories(file.getParent());
+        try {
+            Files.createLink(file, previousFile);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.debug("Could not link {}, copying it instead", previousFile, e);
+            try {
+                Files.copy(previousFile, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException copyException) {
+                LOG.debug("Could not copy {}, extracting it instead", previousFile, copyException);
+                return false;
+            }
+        }
+        unchanged.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -94,7 +94,7 @@ public class LocalizedResource extends LocallyCachedBlob {
 
     LocalizedResource(String key, Path localBaseDir, boolean shouldUncompress, IAdvancedFSOps fsOps, Map<String, Object> conf,
                       String user, StormMetricsRegistry metricRegistry) {
-        super(key + (shouldUncompress ? " archive" : " file"), key, metricRegistry);
+        super(key + (shouldUncompress ? " archive" : " file"), key, conf, metricRegistry);
         Path base = getLocalUserFileCacheDir(localBaseDir, user);
         this.baseDir = shouldUncompress ? getCacheDirForArchives(base) : getCacheDirForFiles(base);
         this.conf = conf;
@@ -52,6 +52,13 @@ public class LocalizedResourceRetentionSet {
         this.targetSize = targetSize;
     }
 
+    /**
+     * Get the size of the blobs that were added, less the ones removed by {@link #cleanup(ClientBlobStore)}.
+     */
+    public long getCurrentSize() {
+        return currentSize;
+    }
+
     // for testing
     protected int getSizeWithNoReferences() {
         return noReferences.size();
@@ -96,6 +103,7 @@ public class LocalizedResourceRetentionSet {
                     Map<String, ? extends LocallyCachedBlob> set = rsrc.getValue();
                     if (removeBlob(resource, set)) {
                         bytesOver -= resource.getSizeOnDisk();
+                        currentSize -= resource.getSizeOnDisk();
                         LOG.info("Deleted blob: {} (REMOVED FROM CLUSTER).", resource.getKey());
                         deleted.add(resource);
                         i.remove();
@@ -113,6 +121,7 @@ public class LocalizedResourceRetentionSet {
             Map<String, ? extends LocallyCachedBlob> set = rsrc.getValue();
             if (removeBlob(resource, set)) {
                 bytesOver -= resource.getSizeOnDisk();
+                currentSize -= resource.getSizeOnDisk();
                 LOG.info("Deleted blob: {} (OVER SIZE LIMIT).", resource.getKey());
                 deleted.add(resource);
                 i.remove();
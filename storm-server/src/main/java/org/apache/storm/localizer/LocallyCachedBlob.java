@@ -29,11 +29,15 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import org.apache.storm.DaemonConfig;
 import org.apache.storm.blobstore.ClientBlobStore;
 import org.apache.storm.blobstore.InputStreamWithMeta;
+import org.apache.storm.blobstore.ParallelBlobDownloader;
 import org.apache.storm.generated.AuthorizationException;
 import org.apache.storm.generated.KeyNotFoundException;
 import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.ServerUtils;
 import org.apache.storm.utils.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +59,8 @@ public abstract class LocallyCachedBlob {
     private final Histogram fetchingRate;
     private final Meter numBlobUpdateVersionChanged;
     private final Timer singleBlobLocalizationDuration;
+    // Downloads large blobs in parallel ranges, null to download them in one stream
+    private final ParallelBlobDownloader rangeDownloader;
     protected long localUpdateTime = -1L;
 
     /**
@@ -62,10 +68,20 @@ public abstract class LocallyCachedBlob {
      *
      * @param blobDescription a description of the blob this represents.  Typically it should at least be the blob key, but ideally also
      *     include if it is an archive or not, what user or topology it is for, or if it is a storm.jar etc.
+     * @param conf the supervisor config.
      */
-    protected LocallyCachedBlob(String blobDescription, String blobKey, StormMetricsRegistry metricsRegistry) {
+    protected LocallyCachedBlob(String blobDescription, String blobKey, Map<String, Object> conf, StormMetricsRegistry metricsRegistry) {
         this.blobDescription = blobDescription;
         this.blobKey = blobKey;
+        int rangeParallelism = ObjectReader.getInt(conf.get(DaemonConfig.SUPERVISOR_BLOBSTORE_DOWNLOAD_RANGE_PARALLELISM), 1);
+        if (rangeParallelism > 1) {
+            long rangeSize = ObjectReader.getInt(conf.get(DaemonConfig.SUPERVISOR_BLOBSTORE_DOWNLOAD_RANGE_SIZE_MB), 64).longValue() << 20;
+            int maxRetries = ObjectReader.getInt(conf.get(DaemonConfig.SUPERVISOR_BLOBSTORE_DOWNLOAD_MAX_RETRIES), 3);
+            this.rangeDownloader = new ParallelBlobDownloader(() -> ServerUtils.getClientBlobStoreForSupervisor(conf), rangeParallelism,
+                                                              rangeSize, maxRetries);
+        } else {
+            this.rangeDownloader = null;
+        }
         this.fetchingRate = metricsRegistry.registerHistogram("supervisor:blob-fetching-rate-MB/s");
         this.numBlobUpdateVersionChanged = metricsRegistry.registerMeter("supervisor:num-blob-update-version-changed");
         this.singleBlobLocalizationDuration = metricsRegistry.registerTimer("supervisor:single-blob-localization-duration");
@@ -77,7 +93,8 @@ public abstract class LocallyCachedBlob {
      * @param key Key to retrieve blobs
      * @param pathSupplier A function that supplies the download destination of a blob. It guarantees the validity
      *                     of path or throws {@link IOException}
-     * @param outStreamSupplier A function that supplies the {@link OutputStream} object
+     * @param outStreamSupplier A function that supplies the {@link OutputStream} object. It is not used when the blob is downloaded
+     *                          in parallel ranges, which are written to the download destination directly
      * @return The metadata of the download session, including blob's version and download destination
      * @throws KeyNotFoundException Thrown if key to retrieve blob is invalid
      * @throws AuthorizationException Thrown if the retrieval is not under security authorization
@@ -88,7 +105,7 @@ public abstract class LocallyCachedBlob {
                                  IOFunction<File, OutputStream> outStreamSupplier)
             throws KeyNotFoundException, AuthorizationException, IOException {
 
-        try (InputStreamWithMeta in = store.getBlob(key)) {
+        try (InputStreamWithMeta in = rangeDownloader == null ? store.getBlob(key) : store.getBlob(key, 0, rangeDownloader.getPartSize())) {
             long newVersion = in.getVersion();
             long currentVersion = getLocalVersion();
             if (newVersion == currentVersion) {
@@ -101,18 +118,21 @@ public abstract class LocallyCachedBlob {
 
             long duration;
             long totalRead = 0;
-            try (OutputStream out = outStreamSupplier.apply(downloadPath.toFile())) {
-                long startTime = Time.nanoTime();
-
-                byte[] buffer = new byte[4096];
-                int read;
-                while ((read = in.read(buffer)) >= 0) {
-                    out.write(buffer, 0, read);
-                    totalRead += read;
+            long startTime = Time.nanoTime();
+            if (rangeDownloader != null && in.getFileLength() > rangeDownloader.getPartSize()) {
+                //The parts are written directly to the file, out of order
+                totalRead = rangeDownloader.download(key, in, downloadPath);
+            } else {
+                try (OutputStream out = outStreamSupplier.apply(downloadPath.toFile())) {
+                    byte[] buffer = new byte[4096];
+                    int read;
+                    while ((read = in.read(buffer)) >= 0) {
+                        out.write(buffer, 0, read);
+                        totalRead += read;
+                    }
                 }
-
-                duration = Time.nanoTime() - startTime;
             }
+            duration = Time.nanoTime() - startTime;
 
             long expectedSize = in.getFileLength();
             if (totalRead != expectedSize) {
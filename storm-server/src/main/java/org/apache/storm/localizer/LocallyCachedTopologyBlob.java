@@ -16,6 +16,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.nio.file.DirectoryStream;
@@ -30,14 +31,19 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.storm.Config;
+import org.apache.storm.DaemonConfig;
 import org.apache.storm.blobstore.ClientBlobStore;
+import org.apache.storm.blobstore.InputStreamWithMeta;
 import org.apache.storm.daemon.supervisor.AdvancedFSOps;
 import org.apache.storm.generated.AuthorizationException;
 import org.apache.storm.generated.KeyNotFoundException;
 import org.apache.storm.metric.StormMetricsRegistry;
 import org.apache.storm.utils.ConfigUtils;
+import org.apache.storm.utils.ObjectReader;
 import org.apache.storm.utils.ServerConfigUtils;
 import org.apache.storm.utils.ServerUtils;
+import org.apache.storm.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,26 +64,39 @@ public class LocallyCachedTopologyBlob extends LocallyCachedBlob {
     private volatile long version = NOT_DOWNLOADED_VERSION;
     private volatile long size = 0;
     private final Map<String, Object> conf;
+    private final PeerBlobDistribution peerBlobDistribution;
+    private final ContentAddressedCache contentCache;
 
     /**
      * Create a new LocallyCachedBlob.
      * @param topologyId the ID of the topology.
      * @param type the type of the blob.
      * @param owner the name of the user that owns this blob.
+     * @param peerBlobDistribution shares the blob with other supervisors, null if blobs are only downloaded from the blob store.
+     * @param contentCache reuses topology jars across topologies, null to always download them.
      */
     protected LocallyCachedTopologyBlob(final String topologyId, final boolean isLocalMode, final Map<String, Object> conf,
                                         final AdvancedFSOps fsOps, final TopologyBlobType type,
-                                        String owner, StormMetricsRegistry metricsRegistry) throws IOException {
-        super(topologyId + " " + type.getFileName(), type.getKey(topologyId), metricsRegistry);
+                                        String owner, StormMetricsRegistry metricsRegistry,
+                                        PeerBlobDistribution peerBlobDistribution,
+                                        ContentAddressedCache contentCache) throws IOException {
+        super(topologyId + " " + type.getFileName(), type.getKey(topologyId), conf, metricsRegistry);
         this.topologyId = topologyId;
         this.type = type;
         this.isLocalMode = isLocalMode;
         this.fsOps = fsOps;
         this.owner = owner;
         this.conf = conf;
+        // The conf holds the digests the blobs from other supervisors are checked against, so it always comes from the blob store
+        this.peerBlobDistribution = isLocalMode || type == TopologyBlobType.TOPO_CONF ? null : peerBlobDistribution;
+        // Only the jar can be the same for different topologies, the code and the conf include the topology id
+        this.contentCache = !isLocalMode && type == TopologyBlobType.TOPO_JAR && owner != null ? contentCache : null;
         topologyBasicBlobsRootDir = Paths.get(ConfigUtils.supervisorStormDistRoot(conf, topologyId));
         readVersion();
         updateSizeOnDisk();
+        if (this.peerBlobDistribution != null && isFullyDownloaded()) {
+            this.peerBlobDistribution.register(type.getKey(topologyId), topologyBasicBlobsRootDir.resolve(type.getFileName()), version);
+        }
     }
 
     private static String resourcesJar() throws IOException {
@@ -164,21 +183,111 @@ public class LocallyCachedTopologyBlob extends LocallyCachedBlob {
         }
 
 
-        DownloadMeta downloadMeta = fetch(store, type.getKey(topologyId),
-            v -> {
-                Path path = topologyBasicBlobsRootDir.resolve(type.getTempFileName(v));
-                fsOps.forceMkdir(path.getParent());
-                return path;
-            }, fsOps::getOutputStream);
+        IOFunction<Long, Path> pathSupplier = v -> {
+            Path path = topologyBasicBlobsRootDir.resolve(type.getTempFileName(v));
+            fsOps.forceMkdir(path.getParent());
+            if (contentCache != null) {
+                //A left over temp file may be a link to a cached jar, and writing to it would change the cached jar
+                fsOps.deleteIfExists(path.toFile());
+            }
+            return path;
+        };
+        try (JarResourceExtractor extractor = type.needsExtraction() ? newExtractor() : null) {
+            IOFunction<File, OutputStream> outStreamSupplier = fsOps::getOutputStream;
+            if (extractor != null) {
+                //Extract the resources while the jar is downloaded
+                outStreamSupplier = f -> {
+                    OutputStream out = fsOps.getOutputStream(f);
+                    Matcher m = EXTRACT_BASE_NAME_AND_VERSION.matcher(f.getName());
+                    if (!m.matches()) {
+                        return out;
+                    }
+                    long v = Long.parseLong(m.group(2));
+                    return extractor.extractWhileWriting(out, topologyBasicBlobsRootDir.resolve(type.getTempExtractionDir(v)));
+                };
+            }
+            long remoteVersion = -1;
+            String digest = null;
+            if (contentCache != null || peerBlobDistribution != null) {
+                //Both need the digest nimbus recorded in the topology conf, only download the conf once
+                remoteVersion = getRemoteVersion(store);
+                digest = getDigest(store, remoteVersion);
+            }
+            DownloadMeta downloadMeta = contentCache == null ? null : linkCachedJar(remoteVersion, digest, pathSupplier);
+            if (downloadMeta == null) {
+                if (peerBlobDistribution != null) {
+                    downloadMeta = peerBlobDistribution.fetch(topologyId, type.getKey(topologyId), remoteVersion, digest,
+                                                              pathSupplier, outStreamSupplier);
+                }
+                if (downloadMeta == null) {
+                    downloadMeta = fetch(store, type.getKey(topologyId), pathSupplier, outStreamSupplier);
+                }
+                if (contentCache != null) {
+                    contentCache.add(owner, downloadMeta.getDownloadPath());
+                }
+            }
 
-        Path tmpLocation = downloadMeta.getDownloadPath();
+            Path tmpLocation = downloadMeta.getDownloadPath();
 
-        if (type.needsExtraction()) {
-            Path extractionDest = topologyBasicBlobsRootDir.resolve(type.getTempExtractionDir(downloadMeta.getVersion()));
-            extractDirFromJar(tmpLocation.toAbsolutePath().toString(), ServerConfigUtils.RESOURCES_SUBDIR,
-                              extractionDest);
+            if (extractor != null) {
+                Path extractionDest = topologyBasicBlobsRootDir.resolve(type.getTempExtractionDir(downloadMeta.getVersion()));
+                LOG.debug("EXTRACTING {} from {} and placing it at {}", ServerConfigUtils.RESOURCES_SUBDIR, tmpLocation, extractionDest);
+                extractor.finish(tmpLocation, extractionDest);
+            }
+            return downloadMeta.getVersion();
         }
-        return downloadMeta.getVersion();
+    }
+
+    /**
+     * Create an extractor for the resources of a new version of the jar, that reuses what did not change since the current version.
+     */
+    private JarResourceExtractor newExtractor() {
+        int numThreads = ObjectReader.getInt(conf.get(DaemonConfig.SUPERVISOR_LOCALIZER_EXTRACTION_THREAD_COUNT), 4);
+        return new JarResourceExtractor(ServerConfigUtils.RESOURCES_SUBDIR, topologyBasicBlobsRootDir.resolve(type.getFileName()),
+                                        topologyBasicBlobsRootDir.resolve(type.getExtractionDir()), numThreads);
+    }
+
+    /**
+     * Link the jar from the content cache, if another topology already has the same jar.
+     *
+     * @param remoteVersion the version of the jar in the blob store.
+     * @param digest the digest nimbus recorded for that version, null if it is not known.
+     * @param pathSupplier supplies the download destination for a version.
+     * @return the download, or null if the jar has to be downloaded.
+     */
+    private DownloadMeta linkCachedJar(long remoteVersion, String digest, IOFunction<Long, Path> pathSupplier) throws IOException {
+        if (digest != null) {
+            Path path = pathSupplier.apply(remoteVersion);
+            if (contentCache.link(owner, digest, path)) {
+                LOG.debug("Reusing cached jar {} for {}", digest, topologyId);
+                return new DownloadMeta(path, remoteVersion);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the digest nimbus recorded in the topology conf for a version of the jar or the code.
+     *
+     * @return the digest, or null if it is not known.
+     */
+    private String getDigest(ClientBlobStore store, long blobVersion) {
+        String digestKey = type == TopologyBlobType.TOPO_JAR ? Config.TOPOLOGY_JAR_DIGEST
+            : type == TopologyBlobType.TOPO_CODE ? Config.TOPOLOGY_CODE_DIGEST : null;
+        if (digestKey == null) {
+            return null;
+        }
+        try (InputStreamWithMeta in = store.getBlob(TopologyBlobType.TOPO_CONF.getKey(topologyId))) {
+            Map<String, Object> topoConf = Utils.fromCompressedJsonConf(IOUtils.toByteArray(in));
+            String digest = (String) topoConf.get(digestKey);
+            int index = digest == null ? -1 : digest.lastIndexOf(':');
+            if (index > 0 && Long.parseLong(digest.substring(index + 1)) == blobVersion) {
+                return digest.substring(0, index);
+            }
+        } catch (Exception e) {
+            LOG.debug("Could not read the {} digest of {}", type, topologyId, e);
+        }
+        return null;
     }
 
     protected void extractDirFromJar(String jarpath, String dir, Path dest) throws IOException {
@@ -215,6 +324,9 @@ public class LocallyCachedTopologyBlob extends LocallyCachedBlob {
         Path dest = topologyBasicBlobsRootDir.resolve(type.getFileName());
         Path versionFile = topologyBasicBlobsRootDir.resolve(type.getVersionFileName());
 
+        if (peerBlobDistribution != null) {
+            peerBlobDistribution.unregister(type.getKey(topologyId));
+        }
         LOG.debug("Removing version file {} to force download on failure", versionFile);
         fsOps.deleteIfExists(versionFile.toFile()); //So if we fail we are forced to try again
         LOG.debug("Removing destination file {} in preparation for move", dest);
@@ -249,6 +361,9 @@ public class LocallyCachedTopologyBlob extends LocallyCachedBlob {
         FileUtils.write(versionFile.toFile(), Long.toString(newVersion), "UTF8");
         this.version = newVersion;
         updateSizeOnDisk();
+        if (peerBlobDistribution != null) {
+            peerBlobDistribution.register(type.getKey(topologyId), dest, newVersion);
+        }
         LOG.debug("New version of {} - {} committed {}", topologyId, type, newVersion);
     }
 
@@ -282,6 +397,9 @@ public class LocallyCachedTopologyBlob extends LocallyCachedBlob {
 
     @Override
     public void completelyRemove() throws IOException {
+        if (peerBlobDistribution != null) {
+            peerBlobDistribution.unregister(type.getKey(topologyId));
+        }
         removeAll(type.getFileName());
         if (type.needsExtraction()) {
             removeAll(type.getExtractionDir());
@@ -0,0 +1,333 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.localizer;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.storm.localizer.LocallyCachedBlob.DownloadMeta;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.utils.ServerUtils;
+import org.apache.storm.utils.SupervisorIfaceFactory;
+import org.apache.storm.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lets supervisors download topology blobs from each other instead of all of them downloading the blobs from nimbus. Each blob is split in
+ * chunks described by a {@link BlobChunkManifest}. A supervisor asks a few of the other supervisors the topology is assigned to for the
+ * manifest of the version of the blob nimbus has, and then downloads the chunks from them, checking the digest of each chunk. The other
+ * supervisors are not trusted with the content of the blob: the assembled blob has to match the digest nimbus recorded for the version in
+ * the topology conf, which is always downloaded from nimbus, and the blob is downloaded from nimbus instead if it does not, if the
+ * supervisors disagree on the manifest, or if no other supervisor has the blob. So the first supervisor to get a new blob seeds it for the
+ * others.
+ */
+public class PeerBlobDistribution {
+    private static final Logger LOG = LoggerFactory.getLogger(PeerBlobDistribution.class);
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    // The most supervisors to download the chunks of a single blob from.
+    private static final int MAX_SOURCES = 3;
+
+    private final Peers peers;
+    private final int chunkSize;
+    private final ConcurrentHashMap<String, LocalBlob> blobs = new ConcurrentHashMap<>();
+    // The keys of the blobs each chunk is in, so a chunk is served as long as one of them is shared. Only changed while holding the lock.
+    private final ConcurrentHashMap<String, Set<String>> chunkToKeys = new ConcurrentHashMap<>();
+    private final Meter peerFetches;
+    private final Meter peerFetchFallbacks;
+    private final Meter chunksServed;
+    private final Histogram peerFetchingRate;
+
+    public PeerBlobDistribution(Map<String, Object> conf, Peers peers, StormMetricsRegistry metricsRegistry) {
+        this(peers, BlobChunkManifest.getChunkSize(conf), metricsRegistry);
+    }
+
+    PeerBlobDistribution(Peers peers, int chunkSize, StormMetricsRegistry metricsRegistry) {
+        this.peers = peers;
+        this.chunkSize = chunkSize;
+        this.peerFetches = metricsRegistry.registerMeter("supervisor:peer-blob-fetches");
+        this.peerFetchFallbacks = metricsRegistry.registerMeter("supervisor:peer-blob-fetch-fallbacks");
+        this.chunksServed = metricsRegistry.registerMeter("supervisor:peer-blob-chunks-served");
+        this.peerFetchingRate = metricsRegistry.registerHistogram("supervisor:peer-blob-fetching-rate-MB/s");
+    }
+
+    /**
+     * Make a blob that was downloaded available to the other supervisors.
+     *
+     * @param key the key of the blob.
+     * @param path the file the blob is in.
+     * @param version the version of the blob.
+     */
+    public synchronized void register(String key, Path path, long version) {
+        LOG.debug("Sharing {} version {} at {} with other supervisors", key, version, path);
+        forgetChunks(key, blobs.put(key, new LocalBlob(path, version)));
+    }
+
+    /**
+     * Stop sharing a blob, because it is about to change or to be removed.
+     *
+     * @param key the key of the blob.
+     */
+    public synchronized void unregister(String key) {
+        forgetChunks(key, blobs.remove(key));
+    }
+
+    private synchronized void addChunks(String key, LocalBlob blob) {
+        if (blobs.get(key) != blob) {
+            // No longer shared, forgetChunks already ran for it
+            return;
+        }
+        for (String digest : blob.manifest.getDigests()) {
+            chunkToKeys.computeIfAbsent(digest, (d) -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    private synchronized void forgetChunks(String key, LocalBlob blob) {
+        BlobChunkManifest manifest = blob == null ? null : blob.manifest;
+        if (manifest != null) {
+            for (String digest : manifest.getDigests()) {
+                chunkToKeys.computeIfPresent(digest, (d, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
+
+    /**
+     * Get the manifest of a blob this supervisor has, computing it the first time it is asked for.
+     *
+     * @param key the key of the blob.
+     * @return the serialized manifest, or an empty buffer if this supervisor does not have the blob.
+     */
+    public ByteBuffer getManifest(String key) {
+        LocalBlob blob = blobs.get(key);
+        if (blob == null) {
+            return EMPTY;
+        }
+        try {
+            return blob.getManifest(key).toBytes();
+        } catch (IOException e) {
+            LOG.warn("Could not compute the chunk manifest of {}", key, e);
+            return EMPTY;
+        }
+    }
+
+    /**
+     * Get a chunk of a blob this supervisor has.
+     *
+     * @param digest the digest of the chunk, as listed in the manifest of the blob.
+     * @return the chunk, or an empty buffer if this supervisor does not have it.
+     */
+    public ByteBuffer getChunk(String digest) {
+        for (String key : chunkToKeys.getOrDefault(digest, Collections.emptySet())) {
+            LocalBlob blob = blobs.get(key);
+            BlobChunkManifest manifest = blob == null ? null : blob.manifest;
+            int chunk = manifest == null ? -1 : manifest.getDigests().indexOf(digest);
+            if (chunk >= 0) {
+                return readChunk(key, blob, manifest, chunk);
+            }
+        }
+        return EMPTY;
+    }
+
+    private ByteBuffer readChunk(String key, LocalBlob blob, BlobChunkManifest manifest, int chunk) {
+        ByteBuffer ret = ByteBuffer.allocate(manifest.getLength(chunk));
+        try (FileChannel channel = FileChannel.open(blob.path, StandardOpenOption.READ)) {
+            long offset = manifest.getOffset(chunk);
+            while (ret.hasRemaining()) {
+                if (channel.read(ret, offset + ret.position()) < 0) {
+                    throw new EOFException("Unexpected end of " + blob.path);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read chunk {} of {}", chunk, key, e);
+            return EMPTY;
+        }
+        ret.flip();
+        chunksServed.mark();
+        return ret;
+    }
+
+    /**
+     * Try to download a blob from the other supervisors the topology is assigned to.
+     *
+     * @param topologyId the topology the blob is for.
+     * @param key the key of the blob.
+     * @param version the version of the blob in the blob store.
+     * @param expectedDigest the hex SHA-256 digest nimbus recorded for the version, null if it is not known.
+     * @param pathSupplier supplies the download destination for a version.
+     * @param outStreamSupplier supplies the {@link OutputStream} to write the destination.
+     * @return the download, or null if it could not be downloaded from other supervisors and has to be downloaded from the blob store.
+     */
+    DownloadMeta fetch(String topologyId, String key, long version, String expectedDigest, IOFunction<Long, Path> pathSupplier,
+                       IOFunction<File, OutputStream> outStreamSupplier) {
+        if (expectedDigest == null) {
+            LOG.debug("Nimbus did not record the digest of version {} of {}, it cannot be downloaded from other supervisors", version, key);
+            peerFetchFallbacks.mark();
+            return null;
+        }
+        List<SupervisorIfaceFactory> sources = new ArrayList<>();
+        try {
+            BlobChunkManifest manifest = findSources(topologyId, key, version, sources);
+            if (manifest == null) {
+                LOG.debug("No other supervisor has version {} of {}", version, key);
+                peerFetchFallbacks.mark();
+                return null;
+            }
+            Path downloadPath = pathSupplier.apply(version);
+            LOG.debug("Downloading {} to {} from {} other supervisors", key, downloadPath, sources.size());
+            long startTime = Time.nanoTime();
+            MessageDigest blobDigest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream out = outStreamSupplier.apply(downloadPath.toFile())) {
+                List<String> digests = manifest.getDigests();
+                for (int i = 0; i < digests.size(); i++) {
+                    byte[] chunk = fetchChunk(sources, i, digests.get(i), manifest.getLength(i));
+                    blobDigest.update(chunk);
+                    out.write(chunk);
+                }
+            }
+            String digest = ServerUtils.toHex(blobDigest.digest());
+            if (!expectedDigest.equals(digest)) {
+                throw new IOException("Version " + version + " of " + key + " from other supervisors has digest " + digest
+                                      + " but nimbus recorded " + expectedDigest);
+            }
+            long duration = Time.nanoTime() - startTime;
+            peerFetchingRate.update(Math.round(((double) manifest.getLength() * 1e3) / Math.max(duration, 1)));
+            peerFetches.mark();
+            return new DownloadMeta(downloadPath, version);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            // Whatever was partially written is overwritten when the blob is downloaded from the blob store.
+            LOG.warn("Could not download {} from other supervisors, will download it from the blob store", key, e);
+            peerFetchFallbacks.mark();
+            return null;
+        } finally {
+            for (SupervisorIfaceFactory source : sources) {
+                source.close();
+            }
+        }
+    }
+
+    /**
+     * Ask other supervisors for the manifest of the blob, and keep a connection to the ones that have the version.
+     *
+     * @return the manifest, or null if no other supervisor has the version or if they disagree on its manifest.
+     */
+    private BlobChunkManifest findSources(String topologyId, String key, long version, List<SupervisorIfaceFactory> sources) {
+        List<String> candidates = new ArrayList<>(peers.getPeers(topologyId));
+        Collections.shuffle(candidates);
+        BlobChunkManifest manifest = null;
+        for (String peer : candidates) {
+            if (sources.size() >= MAX_SOURCES) {
+                break;
+            }
+            SupervisorIfaceFactory client = null;
+            try {
+                client = peers.connect(peer);
+                BlobChunkManifest peerManifest = BlobChunkManifest.fromBytes(client.getIface().getBlobChunkManifest(key));
+                if (peerManifest != null && peerManifest.getVersion() == version) {
+                    if (manifest != null && !manifest.equals(peerManifest)) {
+                        // At least one of them has a corrupt or tampered blob, and there is no telling which one
+                        LOG.warn("Supervisors disagree on the chunks of version {} of {}, {} differs", version, key, peer);
+                        return null;
+                    }
+                    manifest = peerManifest;
+                    sources.add(client);
+                    client = null;
+                }
+            } catch (Exception e) {
+                LOG.debug("Could not get the chunk manifest of {} from {}", key, peer, e);
+            } finally {
+                if (client != null) {
+                    client.close();
+                }
+            }
+        }
+        return manifest;
+    }
+
+    private static byte[] fetchChunk(List<SupervisorIfaceFactory> sources, int chunk, String digest, int length) throws IOException {
+        for (int i = 0; i < sources.size(); i++) {
+            SupervisorIfaceFactory source = sources.get((chunk + i) % sources.size());
+            try {
+                ByteBuffer data = source.getIface().getBlobChunk(digest);
+                if (data != null && data.remaining() == length) {
+                    byte[] ret = new byte[length];
+                    data.get(ret);
+                    if (digest.equals(BlobChunkManifest.digest(ret, 0, length))) {
+                        return ret;
+                    }
+                }
+                LOG.debug("Got a bad chunk {} from a supervisor", digest);
+            } catch (Exception e) {
+                LOG.debug("Could not get chunk {} from a supervisor", digest, e);
+            }
+        }
+        throw new IOException("No supervisor could provide chunk " + chunk + " (" + digest + ")");
+    }
+
+    /**
+     * Finds the other supervisors that may have the blobs of a topology.
+     */
+    public interface Peers {
+        /**
+         * Get the other supervisors a topology is assigned to.
+         *
+         * @param topologyId the id of the topology.
+         * @return the supervisors, as host:port of their thrift server.
+         */
+        List<String> getPeers(String topologyId);
+
+        /**
+         * Connect to another supervisor.
+         *
+         * @param peer the supervisor, as returned by {@link #getPeers(String)}.
+         * @return the connection.
+         */
+        SupervisorIfaceFactory connect(String peer);
+    }
+
+    private class LocalBlob {
+        private final Path path;
+        private final long version;
+        private volatile BlobChunkManifest manifest;
+
+        LocalBlob(Path path, long version) {
+            this.path = path;
+            this.version = version;
+        }
+
+        synchronized BlobChunkManifest getManifest(String key) throws IOException {
+            if (manifest == null) {
+                manifest = BlobChunkManifest.compute(path, version, chunkSize);
+                addChunks(key, this);
+            }
+            return manifest;
+        }
+    }
+}
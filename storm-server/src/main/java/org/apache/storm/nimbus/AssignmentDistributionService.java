@@ -16,7 +16,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -25,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.storm.Constants;
 import org.apache.storm.DaemonConfig;
 import org.apache.storm.daemon.supervisor.Supervisor;
+import org.apache.storm.generated.Assignment;
 import org.apache.storm.generated.SupervisorAssignments;
 import org.apache.storm.metric.StormMetricsRegistry;
 import org.apache.storm.scheduler.INodeAssignmentSentCallBack;
@@ -41,8 +42,12 @@ import org.slf4j.LoggerFactory;
  *
  * <p>We support multiple working threads to distribute assignment, every thread has a queue buffer.
  *
- * <p>Master will shuffle its node request to the queues, if the target queue is full, we just discard the request,
- * let the supervisors sync instead.
+ * <p>Master will hash its node request to the queues, so the requests for a node are sent in order. If the target queue is full,
+ * we just discard the request, let the supervisors sync instead.
+ *
+ * <p>If {@link DaemonConfig#NIMBUS_ASSIGNMENTS_SERVICE_SEND_DELTAS} is set, the assignments for a node are versioned, and only what
+ * changed since the assignments last sent to the node is sent, see {@link SupervisorAssignmentsDelta}. If sending to a node failed or
+ * was discarded, all of its assignments are sent the next time.
  *
  * <p>Caution: this class is not thread safe.
  *
@@ -50,7 +55,7 @@ import org.slf4j.LoggerFactory;
  * Working mode
  *                      +--------+         +-----------------+
  *                      | queue1 |   ==>   | Working thread1 |
- * +--------+ shuffle   +--------+         +-----------------+
+ * +--------+   hash    +--------+         +-----------------+
  * | Master |   ==>
  * +--------+           +--------+         +-----------------+
  *                      | queue2 |   ==>   | Working thread2 |
@@ -66,7 +71,6 @@ public class AssignmentDistributionService implements Closeable {
      */
     private volatile boolean active = false;
 
-    private Random random;
     /**
      * Working threads num.
      */
@@ -91,6 +95,12 @@ public class AssignmentDistributionService implements Closeable {
     private boolean isLocalMode = false; // boolean cache for local mode decision
     private INodeAssignmentSentCallBack sendAssignmentCallback;
 
+    private boolean sendDeltas = false;
+    /**
+     * The assignments last sent to each node, if sending deltas.
+     */
+    private final Map<String, NodeAssignmentsVersion> nodeVersions = new ConcurrentHashMap<>();
+
     /**
      * Factory method for initialize a instance.
      * @param conf config.
@@ -112,7 +122,7 @@ public class AssignmentDistributionService implements Closeable {
     public void prepare(Map conf, INodeAssignmentSentCallBack callBack) {
         this.conf = conf;
         this.sendAssignmentCallback = callBack;
-        this.random = new Random(47);
+        this.sendDeltas = ObjectReader.getBoolean(conf.get(DaemonConfig.NIMBUS_ASSIGNMENTS_SERVICE_SEND_DELTAS), false);
 
         this.threadsNum = ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_ASSIGNMENTS_SERVICE_THREADS), 10);
         this.queueSize = ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_ASSIGNMENTS_SERVICE_THREAD_QUEUE_SIZE), 100);
@@ -164,10 +174,14 @@ public class AssignmentDistributionService implements Closeable {
                 return;
             }
 
-            boolean success = nextQueue().offer(NodeAssignments.getInstance(node, host, serverPort,
-                                                assignments, metricsRegistry), 5L, TimeUnit.SECONDS);
+            if (sendDeltas) {
+                assignments = nodeVersion(node).next(assignments.get_storm_assignment(), false);
+            }
+            boolean success = queueFor(node).offer(NodeAssignments.getInstance(node, host, serverPort,
+                                                   assignments, metricsRegistry), 5L, TimeUnit.SECONDS);
             if (!success) {
                 LOG.warn("Discard an assignment distribution for node {} because the target sub queue is full.", node);
+                resync(node);
             }
 
         } catch (InterruptedException e) {
@@ -176,16 +190,41 @@ public class AssignmentDistributionService implements Closeable {
         }
     }
 
+    /**
+     * Get all the assignments for a node, when the node syncs them from nimbus.
+     * @param node node id of supervisor.
+     * @param assignments all the assignments for the node.
+     * @return the {@link org.apache.storm.generated.SupervisorAssignments}, versioned if sending deltas.
+     */
+    public SupervisorAssignments getAssignmentsForNode(String node, Map<String, Assignment> assignments) {
+        if (sendDeltas) {
+            return nodeVersion(node).next(assignments, true);
+        }
+        SupervisorAssignments ret = new SupervisorAssignments();
+        ret.set_storm_assignment(assignments);
+        return ret;
+    }
+
     public void addLocalSupervisor(Supervisor supervisor) {
         this.localSupervisors.put(supervisor.getId(), supervisor);
     }
 
-    private Integer nextQueueId() {
-        return this.random.nextInt(threadsNum);
+    private NodeAssignmentsVersion nodeVersion(String node) {
+        return nodeVersions.computeIfAbsent(node, (n) -> new NodeAssignmentsVersion());
     }
 
-    private LinkedBlockingQueue<NodeAssignments> nextQueue() {
-        return this.assignmentsQueue.get(nextQueueId());
+    /**
+     * Send all the assignments to a node the next time, because it might not have the ones last sent to it.
+     */
+    private void resync(String node) {
+        NodeAssignmentsVersion version = nodeVersions.get(node);
+        if (version != null) {
+            version.resync();
+        }
+    }
+
+    private LinkedBlockingQueue<NodeAssignments> queueFor(String node) {
+        return this.assignmentsQueue.get(Math.floorMod(node.hashCode(), threadsNum));
     }
 
     private LinkedBlockingQueue<NodeAssignments> getQueueById(Integer queueIndex) {
@@ -216,6 +255,33 @@ public class AssignmentDistributionService implements Closeable {
         return this.conf;
     }
 
+    /**
+     * The version of the assignments last sent to a node, and the assignments themselves to compute the next delta from.
+     */
+    static class NodeAssignmentsVersion {
+        private long version = Time.currentTimeMillis();
+        private Map<String, Assignment> sent = null;
+
+        synchronized SupervisorAssignments next(Map<String, Assignment> assignments, boolean full) {
+            SupervisorAssignments ret;
+            if (full || sent == null) {
+                ret = new SupervisorAssignments();
+                ret.set_storm_assignment(assignments);
+            } else {
+                ret = SupervisorAssignmentsDelta.diff(sent, assignments);
+                ret.set_base_version(version);
+            }
+            version++;
+            ret.set_version(version);
+            sent = assignments;
+            return ret;
+        }
+
+        synchronized void resync() {
+            sent = null;
+        }
+    }
+
     static class NodeAssignments {
         private String node;
         private String host;
@@ -297,6 +363,7 @@ public class AssignmentDistributionService implements Closeable {
                     service.sendAssignmentCallback.nodeAssignmentSent(assignments.getNode(), true);
                 } else {
                     LOG.error("Can not find node {} for assignments distribution", assignments.getNode());
+                    service.resync(assignments.getNode());
                     service.sendAssignmentCallback.nodeAssignmentSent(assignments.getNode(), false);
                     throw new RuntimeException("null for node " + assignments.getNode() + " supervisor instance.");
                 }
@@ -310,11 +377,13 @@ public class AssignmentDistributionService implements Closeable {
                     } catch (Exception e) {
                         assignments.getMetricsRegistry().getMeter(Constants.NIMBUS_SEND_ASSIGNMENT_EXCEPTIONS).mark();
                         LOG.error("Exception when trying to send assignments to node {}: {}", assignments.getNode(), e.getMessage());
+                        service.resync(assignments.getNode());
                         service.sendAssignmentCallback.nodeAssignmentSent(assignments.getNode(), false);
                     }
                 } catch (Throwable e) {
                     //just ignore any error/exception.
                     LOG.error("Exception to create supervisor client for node {}: {}", assignments.getNode(), e.getMessage());
+                    service.resync(assignments.getNode());
                 }
             }
         }
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.nimbus;
+
+import java.util.Map;
+import org.apache.storm.scheduler.Cluster;
+
+/**
+ * A plugin that nimbus asks periodically for a running topology to rebalance, to move topologies around after they were scheduled, for
+ * example to pack them onto fewer nodes. Nimbus only asks when no topology is being rebalanced, and rebalances at most one topology each
+ * time it asks, the same way a user running {@code storm rebalance} would.
+ */
+public interface IClusterRebalancer {
+
+    /**
+     * Called once during nimbus initialization.
+     */
+    void prepare(Map<String, Object> conf);
+
+    /**
+     * Select a topology to rebalance. This is called on a thread of its own, not the one that schedules, and the thread is interrupted
+     * once it takes longer than {@code nimbus.cluster.rebalancer.max.time.secs}.
+     *
+     * @param cluster the cluster as it was last scheduled. It is a copy that can be modified freely.
+     * @return the id of the topology to rebalance, or null to leave everything where it is.
+     */
+    String selectTopologyToRebalance(Cluster cluster);
+
+    /**
+     * Called during shutdown.
+     */
+    void cleanup();
+}
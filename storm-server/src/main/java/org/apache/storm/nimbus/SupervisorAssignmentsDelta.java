@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.nimbus;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.storm.generated.Assignment;
+import org.apache.storm.generated.SupervisorAssignments;
+
+/**
+ * Computes and applies deltas between the assignments sent to a supervisor, so that moving a few executors of a big topology does not
+ * ship the whole topology to the supervisor again.
+ *
+ * <p>A delta is a {@link SupervisorAssignments} with a base version. For each topology that changed, {@code storm_assignment} holds an
+ * {@link Assignment} with only the entries that were added or changed, and {@code removed_entries} holds an {@link Assignment} whose map
+ * keys are the entries that were removed. Topologies that are gone are listed in {@code removed_topologies}.
+ */
+public class SupervisorAssignmentsDelta {
+
+    /**
+     * Compute the delta between the assignments last sent to a supervisor and the ones to send now.
+     *
+     * @param previous the assignments last sent.
+     * @param next the assignments to send now.
+     * @return the delta, without any version set.
+     */
+    public static SupervisorAssignments diff(Map<String, Assignment> previous, Map<String, Assignment> next) {
+        SupervisorAssignments delta = new SupervisorAssignments();
+        for (String topoId : previous.keySet()) {
+            if (!next.containsKey(topoId)) {
+                delta.add_to_removed_topologies(topoId);
+            }
+        }
+        for (Map.Entry<String, Assignment> entry : next.entrySet()) {
+            String topoId = entry.getKey();
+            Assignment nextAssignment = entry.getValue();
+            Assignment previousAssignment = previous.get(topoId);
+            if (previousAssignment == null) {
+                delta.put_to_storm_assignment(topoId, nextAssignment);
+            } else if (!previousAssignment.equals(nextAssignment)) {
+                Assignment changed = new Assignment(nextAssignment.get_master_code_dir());
+                if (nextAssignment.is_set_owner()) {
+                    changed.set_owner(nextAssignment.get_owner());
+                }
+                Assignment removed = new Assignment(nextAssignment.get_master_code_dir());
+                diff(previousAssignment.get_node_host(), nextAssignment.get_node_host(),
+                    changed.get_node_host(), removed.get_node_host());
+                diff(previousAssignment.get_executor_node_port(), nextAssignment.get_executor_node_port(),
+                    changed.get_executor_node_port(), removed.get_executor_node_port());
+                diff(previousAssignment.get_executor_start_time_secs(), nextAssignment.get_executor_start_time_secs(),
+                    changed.get_executor_start_time_secs(), removed.get_executor_start_time_secs());
+                diff(previousAssignment.get_worker_resources(), nextAssignment.get_worker_resources(),
+                    changed.get_worker_resources(), removed.get_worker_resources());
+                diff(previousAssignment.get_total_shared_off_heap(), nextAssignment.get_total_shared_off_heap(),
+                    changed.get_total_shared_off_heap(), removed.get_total_shared_off_heap());
+                delta.put_to_storm_assignment(topoId, changed);
+                if (!isEmpty(removed)) {
+                    delta.put_to_removed_entries(topoId, removed);
+                }
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Apply a delta to the assignments a supervisor has. Neither argument is modified.
+     *
+     * @param current the assignments the delta is based on.
+     * @param delta the delta.
+     * @return the assignments after the delta.
+     */
+    public static Map<String, Assignment> apply(Map<String, Assignment> current, SupervisorAssignments delta) {
+        Map<String, Assignment> ret = new HashMap<>(current);
+        if (delta.is_set_removed_topologies()) {
+            ret.keySet().removeAll(delta.get_removed_topologies());
+        }
+        if (delta.is_set_removed_entries()) {
+            for (Map.Entry<String, Assignment> entry : delta.get_removed_entries().entrySet()) {
+                Assignment assignment = ret.get(entry.getKey());
+                if (assignment != null) {
+                    Assignment removed = entry.getValue();
+                    assignment = new Assignment(assignment);
+                    removeKeys(assignment.get_node_host(), removed.get_node_host());
+                    removeKeys(assignment.get_executor_node_port(), removed.get_executor_node_port());
+                    removeKeys(assignment.get_executor_start_time_secs(), removed.get_executor_start_time_secs());
+                    removeKeys(assignment.get_worker_resources(), removed.get_worker_resources());
+                    removeKeys(assignment.get_total_shared_off_heap(), removed.get_total_shared_off_heap());
+                    ret.put(entry.getKey(), assignment);
+                }
+            }
+        }
+        if (delta.is_set_storm_assignment()) {
+            for (Map.Entry<String, Assignment> entry : delta.get_storm_assignment().entrySet()) {
+                Assignment changed = entry.getValue();
+                Assignment assignment = ret.get(entry.getKey());
+                if (assignment == null) {
+                    ret.put(entry.getKey(), changed);
+                    continue;
+                }
+                assignment = new Assignment(assignment);
+                assignment.set_master_code_dir(changed.get_master_code_dir());
+                if (changed.is_set_owner()) {
+                    assignment.set_owner(changed.get_owner());
+                }
+                assignment.set_node_host(putAll(assignment.get_node_host(), changed.get_node_host()));
+                assignment.set_executor_node_port(putAll(assignment.get_executor_node_port(), changed.get_executor_node_port()));
+                assignment.set_executor_start_time_secs(
+                    putAll(assignment.get_executor_start_time_secs(), changed.get_executor_start_time_secs()));
+                assignment.set_worker_resources(putAll(assignment.get_worker_resources(), changed.get_worker_resources()));
+                assignment.set_total_shared_off_heap(putAll(assignment.get_total_shared_off_heap(), changed.get_total_shared_off_heap()));
+                ret.put(entry.getKey(), assignment);
+            }
+        }
+        return ret;
+    }
+
+    private static <K, V> void diff(Map<K, V> previous, Map<K, V> next, Map<K, V> changed, Map<K, V> removed) {
+        previous = previous == null ? Collections.emptyMap() : previous;
+        next = next == null ? Collections.emptyMap() : next;
+        for (Map.Entry<K, V> entry : previous.entrySet()) {
+            if (!next.containsKey(entry.getKey())) {
+                removed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<K, V> entry : next.entrySet()) {
+            if (!Objects.equals(entry.getValue(), previous.get(entry.getKey()))) {
+                changed.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static <K, V> void removeKeys(Map<K, V> from, Map<K, V> keys) {
+        if (from != null && keys != null) {
+            from.keySet().removeAll(keys.keySet());
+        }
+    }
+
+    private static <K, V> Map<K, V> putAll(Map<K, V> into, Map<K, V> entries) {
+        Map<K, V> ret = into == null ? new HashMap<>() : into;
+        if (entries != null) {
+            ret.putAll(entries);
+        }
+        return ret;
+    }
+
+    private static boolean isEmpty(Assignment removed) {
+        return removed.get_node_host_size() == 0 && removed.get_executor_node_port_size() == 0
+               && removed.get_executor_start_time_secs_size() == 0 && removed.get_worker_resources_size() == 0
+               && removed.get_total_shared_off_heap_size() == 0;
+    }
+}
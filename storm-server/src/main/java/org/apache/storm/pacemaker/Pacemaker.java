@@ -15,11 +15,15 @@ package org.apache.storm.pacemaker;
 import com.codahale.metrics.ExponentiallyDecayingReservoir;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import org.apache.storm.generated.HBMessage;
 import org.apache.storm.generated.HBMessageData;
 import org.apache.storm.generated.HBNodes;
@@ -28,6 +32,7 @@ import org.apache.storm.generated.HBServerMessageType;
 import org.apache.storm.metric.StormMetricsRegistry;
 import org.apache.storm.shade.uk.org.lidalia.sysoutslf4j.context.SysOutOverSLF4J;
 import org.apache.storm.utils.ConfigUtils;
+import org.apache.storm.utils.EnumUtil;
 import org.apache.storm.utils.Utils;
 import org.apache.storm.utils.VersionInfo;
 import org.slf4j.Logger;
@@ -36,16 +41,25 @@ import org.slf4j.LoggerFactory;
 public class Pacemaker implements IServerMessageHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(Pacemaker.class);
+    private static final EnumSet<HBServerMessageType> REQUEST_TYPES = EnumSet.of(
+        HBServerMessageType.CREATE_PATH, HBServerMessageType.EXISTS, HBServerMessageType.SEND_PULSE,
+        HBServerMessageType.GET_ALL_PULSE_FOR_PATH, HBServerMessageType.GET_ALL_NODES_FOR_PATH, HBServerMessageType.GET_PULSE,
+        HBServerMessageType.DELETE_PATH, HBServerMessageType.DELETE_PULSE_ID);
     private final Meter meterSendPulseCount;
     private final Meter meterTotalReceivedSize;
     private final Meter meterGetPulseCount;
     private final Meter meterTotalSentSize;
     private final Histogram histogramHeartbeatSize;
-    private final Map<String, byte[]> heartbeats;
+    private final Map<HBServerMessageType, Timer> requestLatency;
+    /**
+     * Heartbeats by path. The paths are sorted, so all the paths under a path are next to each other, and listing or deleting them
+     * does not have to go through all the heartbeats.
+     */
+    private final ConcurrentNavigableMap<String, byte[]> heartbeats;
     private final Map<String, Object> conf;
 
     public Pacemaker(Map<String, Object> conf, StormMetricsRegistry metricsRegistry) {
-        heartbeats = new ConcurrentHashMap<>();
+        heartbeats = new ConcurrentSkipListMap<>();
         this.conf = conf;
         this.meterSendPulseCount = metricsRegistry.registerMeter("pacemaker:send-pulse-count");
         this.meterTotalReceivedSize = metricsRegistry.registerMeter("pacemaker:total-receive-size");
@@ -53,6 +67,10 @@ public class Pacemaker implements IServerMessageHandler {
         this.meterTotalSentSize = metricsRegistry.registerMeter("pacemaker:total-sent-size");
         this.histogramHeartbeatSize = metricsRegistry.registerHistogram("pacemaker:heartbeat-size", new ExponentiallyDecayingReservoir());
         metricsRegistry.registerGauge("pacemaker:size-total-keys", heartbeats::size);
+        this.requestLatency = new EnumMap<>(HBServerMessageType.class);
+        for (HBServerMessageType type : REQUEST_TYPES) {
+            requestLatency.put(type, metricsRegistry.registerTimer("pacemaker:" + EnumUtil.toMetricName(type) + "-latency"));
+        }
     }
 
     public static void main(String[] args) {
@@ -67,6 +85,16 @@ public class Pacemaker implements IServerMessageHandler {
 
     @Override
     public HBMessage handleMessage(HBMessage m, boolean authenticated) {
+        Timer latency = requestLatency.get(m.get_type());
+        if (latency == null) {
+            return handleMessageType(m, authenticated);
+        }
+        try (Timer.Context t = latency.time()) {
+            return handleMessageType(m, authenticated);
+        }
+    }
+
+    private HBMessage handleMessageType(HBMessage m, boolean authenticated) {
         HBMessage response = null;
         HBMessageData data = m.get_data();
         switch (m.get_type()) {
@@ -146,21 +174,24 @@ public class Pacemaker implements IServerMessageHandler {
     private HBMessage getAllNodesForPath(String path, boolean authenticated) {
         LOG.debug("List all nodes for path {}", path);
         if (authenticated) {
+            String prefix = childPrefix(path);
+            String end = childPrefixEnd(prefix);
             Set<String> pulseIds = new HashSet<>();
-            for (String key : heartbeats.keySet()) {
-                String[] replaceStr = key.replaceFirst(path, "").split("/");
-                String trimmed = null;
-                for (String str : replaceStr) {
-                    if (!str.equals("")) {
-                        trimmed = str;
-                        break;
-                    }
+            String key = heartbeats.ceilingKey(prefix);
+            while (key != null && key.compareTo(end) < 0) {
+                int slash = key.indexOf('/', prefix.length());
+                String child = key.substring(prefix.length(), slash < 0 ? key.length() : slash);
+                if (slash >= 0) {
+                    // skip everything else under this child
+                    key = heartbeats.ceilingKey(childPrefixEnd(prefix + child + "/"));
+                } else {
+                    key = heartbeats.higherKey(key);
                 }
-                if (trimmed != null && key.indexOf(path) == 0) {
-                    pulseIds.add(trimmed);
+                if (!child.isEmpty()) {
+                    pulseIds.add(child);
                 }
             }
-            HBMessageData hbMessageData = HBMessageData.nodes(new HBNodes(new ArrayList(pulseIds)));
+            HBMessageData hbMessageData = HBMessageData.nodes(new HBNodes(new ArrayList<>(pulseIds)));
             return new HBMessage(HBServerMessageType.GET_ALL_NODES_FOR_PATH_RESPONSE, hbMessageData);
         } else {
             return notAuthorized();
@@ -185,16 +216,27 @@ public class Pacemaker implements IServerMessageHandler {
     }
 
     private HBMessage deletePath(String path) {
-        String prefix = path.endsWith("/") ? path : (path + "/");
-        for (String key : heartbeats.keySet()) {
-            String checkKey = key + "/";
-            if (checkKey.indexOf(prefix) == 0) {
-                deletePulseId(key);
-            }
-        }
+        String prefix = childPrefix(path);
+        LOG.debug("Deleting Pulses under path [ {} ].", path);
+        heartbeats.subMap(prefix, childPrefixEnd(prefix)).clear();
+        heartbeats.remove(prefix.substring(0, prefix.length() - 1));
         return new HBMessage(HBServerMessageType.DELETE_PATH_RESPONSE, null);
     }
 
+    /**
+     * The prefix all paths under a path start with.
+     */
+    private static String childPrefix(String path) {
+        return path.endsWith("/") ? path : (path + "/");
+    }
+
+    /**
+     * The smallest path that is after all the paths starting with a prefix ending in '/', as '0' comes right after '/'.
+     */
+    private static String childPrefixEnd(String prefix) {
+        return prefix.substring(0, prefix.length() - 1) + '0';
+    }
+
     private HBMessage deletePulseId(String path) {
         LOG.debug("Deleting Pulse for id [ {} ].", path);
         heartbeats.remove(path);
@@ -96,6 +96,7 @@ public class Cluster implements ISchedulingState {
     private double minWorkerCpu = 0.0;
     private final Map<String, Boolean> topoSharedOffHeapMemoryNodeFlag = new HashMap<>();
     private final Map<String, Map<String, Map<String, Collection<ExecutorDetails>>>> topoIdToNodeIdToSlotIdToExecutors = new HashMap<>();
+    private final Map<String, TopologyTraffic> topologyTraffic = new HashMap<>();
 
     private static <K, V> Map<K, V> makeMap(String key) {
         return new HashMap<>();
@@ -116,6 +117,22 @@ public class Cluster implements ISchedulingState {
             Double.NaN, Double.NaN, null);
     }
 
+    /**
+     * Create a cluster with a known network topography instead of resolving the racks of the hosts, like when replaying a snapshot
+     * taken on another cluster.
+     */
+    public Cluster(
+        INimbus nimbus,
+        ResourceMetrics resourceMetrics,
+        Map<String, SupervisorDetails> supervisors,
+        Map<String, ? extends SchedulerAssignment> assignments,
+        Topologies topologies,
+        Map<String, Object> conf,
+        Map<String, List<String>> networkTopography) {
+        this(nimbus, resourceMetrics, supervisors, assignments, topologies, conf, null, null, null, networkTopography,
+            Double.NaN, Double.NaN, null);
+    }
+
     /**
      * Copy constructor.
      */
@@ -134,6 +151,7 @@ public class Cluster implements ISchedulingState {
             src.totalCpuResource,
             src.totalMemoryResource,
             src.totalGenericResources);
+        this.topologyTraffic.putAll(src.topologyTraffic);
     }
 
     /**
@@ -158,6 +176,33 @@ public class Cluster implements ISchedulingState {
             src.totalCpuResource,
             src.totalMemoryResource,
             src.totalGenericResources);
+        this.topologyTraffic.putAll(src.topologyTraffic);
+    }
+
+    /**
+     * Copy constructor that replaces the topologies, the supervisors and the configuration of the source.
+     *
+     * @param src          the original cluster
+     * @param topologies   the topologies to use
+     * @param supervisors  the supervisors to use, with the same ids and details as in the source, but they may be copies
+     * @param conf         the configuration to use
+     */
+    protected Cluster(Cluster src, Topologies topologies, Map<String, SupervisorDetails> supervisors, Map<String, Object> conf) {
+        this(
+            src.inimbus,
+            src.resourceMetrics,
+            supervisors,
+            src.assignments,
+            topologies,
+            conf,
+            src.status,
+            src.blackListedHosts,
+            src.greyListedSupervisors,
+            src.networkTopography,
+            src.totalCpuResource,
+            src.totalMemoryResource,
+            src.totalGenericResources);
+        this.topologyTraffic.putAll(src.topologyTraffic);
     }
 
     private Cluster(
@@ -1181,6 +1226,26 @@ public class Cluster implements ISchedulingState {
         return minWorkerCpu;
     }
 
+    /**
+     * Get the observed traffic between the components of a topology.
+     *
+     * @param topologyId the id of the topology.
+     * @return the traffic, or null if none was observed.
+     */
+    public TopologyTraffic getTopologyTraffic(String topologyId) {
+        return topologyTraffic.get(topologyId);
+    }
+
+    /**
+     * Set the observed traffic between the components of a topology, for strategies that place executors by traffic.
+     *
+     * @param topologyId the id of the topology.
+     * @param traffic the traffic.
+     */
+    public void setTopologyTraffic(String topologyId, TopologyTraffic traffic) {
+        topologyTraffic.put(topologyId, traffic);
+    }
+
     public List<String> getGreyListedSupervisors() {
         return greyListedSupervisors;
     }
@@ -18,6 +18,10 @@
 
 package org.apache.storm.scheduler;
 
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.storm.utils.ServerUtils;
+
 /**
  * A Cluster that only allows modification to a single topology.
  */
@@ -35,6 +39,36 @@ public class SingleTopologyCluster extends Cluster {
         allowedId = topologyId;
     }
 
+    /**
+     * Create a new cluster that only allows modifications to a single topology, and that shares nothing a scheduling strategy could
+     * change or lazily cache with the current cluster, so that the topology can be scheduled concurrently with other users of it.
+     * The topology, the supervisors and the configuration are deep copies. The other topologies are shared, they are only read to
+     * account for their assignments.
+     *
+     * @param other    the current cluster to base this off of
+     * @param topology the topology that is allowed to be modified, {@link #getTopologies()} has a copy of it.
+     */
+    public SingleTopologyCluster(Cluster other, TopologyDetails topology) {
+        super(other, copyTopology(other.getTopologies(), topology), copySupervisors(other.getSupervisors()),
+            ServerUtils.deepCopyConf(other.getConf()));
+        allowedId = topology.getId();
+    }
+
+    private static Topologies copyTopology(Topologies topologies, TopologyDetails topology) {
+        Map<String, TopologyDetails> copy = new HashMap<>();
+        for (TopologyDetails td : topologies) {
+            copy.put(td.getId(), td);
+        }
+        copy.put(topology.getId(), new TopologyDetails(topology));
+        return new Topologies(copy);
+    }
+
+    private static Map<String, SupervisorDetails> copySupervisors(Map<String, SupervisorDetails> supervisors) {
+        Map<String, SupervisorDetails> copy = new HashMap<>();
+        supervisors.forEach((id, sup) -> copy.put(id, new SupervisorDetails(sup)));
+        return copy;
+    }
+
     @Override
     protected void assertValidTopologyForModification(String topologyId) {
         //AllowedId is null in the constructor, so it can assign what it needs/etc.
@@ -74,6 +74,21 @@ public class SupervisorDetails {
         LOG.debug("Creating a new supervisor ({}-{}) with resources: {}", this.host, this.id, totalResources);
     }
 
+    /**
+     * Create a copy of the details of a supervisor, with its own copy of the ports and of the resources.
+     *
+     * @param src the supervisor to copy.
+     */
+    public SupervisorDetails(SupervisorDetails src) {
+        this.id = src.id;
+        this.serverPort = src.serverPort;
+        this.host = src.host;
+        this.meta = src.meta;
+        this.schedulerMeta = src.schedulerMeta;
+        this.allPorts = new HashSet<>(src.allPorts);
+        this.totalResources = new NormalizedResourceOffer(src.totalResources);
+    }
+
     public SupervisorDetails(String id, Object meta) {
         this(id, null, null, meta, null, null, null);
     }
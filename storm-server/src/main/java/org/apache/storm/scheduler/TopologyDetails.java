@@ -35,6 +35,7 @@ import org.apache.storm.generated.SpoutSpec;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.scheduler.resource.normalization.NormalizedResourceRequest;
 import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.ServerUtils;
 import org.apache.storm.utils.Time;
 import org.apache.storm.utils.Utils;
 import org.slf4j.Logger;
@@ -88,6 +89,17 @@ public class TopologyDetails {
         this.topoName = (String) topologyConf.get(Config.TOPOLOGY_NAME);
     }
 
+    /**
+     * Create a deep copy of a topology, with its own copy of the configuration and of the {@link StormTopology}, that can be used by a
+     * scheduling strategy concurrently with other users of the original.
+     *
+     * @param src the topology to copy.
+     */
+    public TopologyDetails(TopologyDetails src) {
+        this(src.topologyId, ServerUtils.deepCopyConf(src.topologyConf), src.topology == null ? null : src.topology.deepCopy(),
+            src.numWorkers, src.executorToComponent, src.launchTime, src.owner);
+    }
+
     public String getId() {
         return topologyId;
     }
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.cluster.ExecutorBeat;
+import org.apache.storm.generated.Bolt;
+import org.apache.storm.generated.ExecutorInfo;
+import org.apache.storm.generated.ExecutorStats;
+import org.apache.storm.generated.GlobalStreamId;
+import org.apache.storm.generated.StormTopology;
+import org.apache.storm.stats.StatsUtil;
+import org.apache.storm.utils.Utils;
+
+/**
+ * The observed rate of tuples transferred between the components of a topology, in tuples per second. Nimbus computes it from the
+ * executor heartbeats of a topology that is being rebalanced, so strategies can place the executors that talk the most close together.
+ */
+public class TopologyTraffic {
+    private final Map<String, Map<String, Double>> rates;
+
+    /**
+     * Constructor.
+     *
+     * @param rates source component to target component to tuples per second.
+     */
+    public TopologyTraffic(Map<String, Map<String, Double>> rates) {
+        Map<String, Map<String, Double>> copy = new HashMap<>();
+        rates.forEach((from, targets) -> copy.put(from, Collections.unmodifiableMap(new HashMap<>(targets))));
+        this.rates = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Compute the traffic between the user components of a topology from the stats in its executor heartbeats. The tuples an executor
+     * transferred on a stream over the last ten minutes are split evenly between the components subscribed to the stream.
+     *
+     * @param td the topology.
+     * @param beats the executor heartbeats of the topology.
+     * @return the traffic, empty if there are no stats.
+     */
+    public static TopologyTraffic fromExecutorBeats(TopologyDetails td, Map<ExecutorInfo, ExecutorBeat> beats) {
+        Map<GlobalStreamId, List<String>> subscribers = new HashMap<>();
+        StormTopology topology = td.getTopology();
+        if (topology != null && topology.is_set_bolts()) {
+            for (Map.Entry<String, Bolt> bolt : topology.get_bolts().entrySet()) {
+                for (GlobalStreamId input : bolt.getValue().get_common().get_inputs().keySet()) {
+                    subscribers.computeIfAbsent(input, k -> new ArrayList<>()).add(bolt.getKey());
+                }
+            }
+        }
+
+        Map<ExecutorDetails, String> execToComp = td.getExecutorToComponent();
+        Map<String, Map<String, Double>> rates = new HashMap<>();
+        for (Map.Entry<ExecutorInfo, ExecutorBeat> entry : beats.entrySet()) {
+            ExecutorBeat beat = entry.getValue();
+            ExecutorInfo info = entry.getKey();
+            String comp = execToComp.get(new ExecutorDetails(info.get_task_start(), info.get_task_end()));
+            if (beat == null || beat.getStats() == null || beat.getUptime() <= 0 || comp == null || Utils.isSystemId(comp)) {
+                continue;
+            }
+            ExecutorStats stats = beat.getStats();
+            Map<String, Long> transferred = stats.is_set_transferred()
+                ? stats.get_transferred().get(StatsUtil.TEN_MIN_IN_SECONDS_STR) : null;
+            if (transferred == null) {
+                continue;
+            }
+            double windowSecs = Math.min(beat.getUptime(), StatsUtil.TEN_MIN_IN_SECONDS);
+            for (Map.Entry<String, Long> stream : transferred.entrySet()) {
+                List<String> targets = subscribers.get(new GlobalStreamId(comp, stream.getKey()));
+                if (targets == null || stream.getValue() == null || stream.getValue() <= 0) {
+                    continue;
+                }
+                double rate = stream.getValue() / windowSecs / targets.size();
+                Map<String, Double> compRates = rates.computeIfAbsent(comp, k -> new HashMap<>());
+                for (String target : targets) {
+                    compRates.merge(target, rate, Double::sum);
+                }
+            }
+        }
+        return new TopologyTraffic(rates);
+    }
+
+    /**
+     * Get the rate of tuples from one component to another.
+     *
+     * @param from the source component.
+     * @param to the target component.
+     * @return tuples per second, 0 if none were observed.
+     */
+    public double getRate(String from, String to) {
+        return rates.getOrDefault(from, Collections.emptyMap()).getOrDefault(to, 0.0);
+    }
+
+    /**
+     * Get all the rates.
+     *
+     * @return source component to target component to tuples per second.
+     */
+    public Map<String, Map<String, Double>> getRates() {
+        return rates;
+    }
+
+    public boolean isEmpty() {
+        return rates.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "TopologyTraffic{" + rates + "}";
+    }
+}
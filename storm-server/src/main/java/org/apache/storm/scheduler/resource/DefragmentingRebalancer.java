@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.Config;
+import org.apache.storm.DaemonConfig;
+import org.apache.storm.nimbus.IClusterRebalancer;
+import org.apache.storm.scheduler.Cluster;
+import org.apache.storm.scheduler.SingleTopologyCluster;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.WorkerSlot;
+import org.apache.storm.scheduler.resource.strategies.scheduling.IStrategy;
+import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.ReflectionUtils;
+import org.apache.storm.utils.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rebalances the topology that would free up the most nodes if it was scheduled again from scratch, so that the cluster does not stay
+ * fragmented once topologies come and go, and whole nodes can be given back.
+ *
+ * <p>Each running topology scheduled by {@link ResourceAwareScheduler} is taken off a copy of the cluster and scheduled again with its
+ * strategy, the same way it would be when rebalanced. The topology that leaves the most nodes without any workers is picked, if it frees
+ * at least {@link DaemonConfig#NIMBUS_DEFRAGMENTING_REBALANCER_MIN_NODES_FREED} nodes. Ties go to the topology that leaves the least
+ * fragmented memory behind, counted the same way nimbus reports it. A topology is not picked again for
+ * {@link DaemonConfig#NIMBUS_DEFRAGMENTING_REBALANCER_TOPOLOGY_COOLDOWN_SECS} after it was picked.
+ */
+public class DefragmentingRebalancer implements IClusterRebalancer {
+    private static final Logger LOG = LoggerFactory.getLogger(DefragmentingRebalancer.class);
+
+    private final Map<String, Long> lastRebalancedMs = new HashMap<>();
+    private int minNodesFreed;
+    private long topologyCooldownMs;
+
+    @Override
+    public void prepare(Map<String, Object> conf) {
+        minNodesFreed = ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_DEFRAGMENTING_REBALANCER_MIN_NODES_FREED), 1);
+        topologyCooldownMs = TimeUnit.SECONDS.toMillis(
+            ObjectReader.getInt(conf.get(DaemonConfig.NIMBUS_DEFRAGMENTING_REBALANCER_TOPOLOGY_COOLDOWN_SECS), 3600));
+        String scheduler = (String) conf.get(DaemonConfig.STORM_SCHEDULER);
+        if (!ResourceAwareScheduler.class.getName().equals(scheduler)) {
+            LOG.warn("{} only rebalances topologies scheduled by {}, but the scheduler is {}", getClass().getSimpleName(),
+                ResourceAwareScheduler.class.getSimpleName(), scheduler);
+        }
+    }
+
+    @Override
+    public String selectTopologyToRebalance(Cluster cluster) {
+        long now = Time.currentTimeMillis();
+        lastRebalancedMs.values().removeIf(time -> now - time >= topologyCooldownMs);
+
+        int nodesUsed = numNodesUsed(cluster);
+        String best = null;
+        int bestNodesFreed = 0;
+        double bestFragmentedMemory = 0.0;
+        for (TopologyDetails td : cluster.getTopologies()) {
+            if (Thread.currentThread().isInterrupted()) {
+                LOG.info("Interrupted before looking at every topology, not rebalancing anything");
+                return null;
+            }
+            String strategyClass = (String) td.getConf().get(Config.TOPOLOGY_SCHEDULER_STRATEGY);
+            if (strategyClass == null || lastRebalancedMs.containsKey(td.getId()) || cluster.needsSchedulingRas(td)) {
+                continue;
+            }
+            Cluster rescheduled = reschedule(cluster, td, strategyClass);
+            if (rescheduled == null) {
+                continue;
+            }
+            int nodesFreed = nodesUsed - numNodesUsed(rescheduled);
+            double fragmentedMemory = fragmentedMemory(rescheduled);
+            LOG.debug("Rescheduling {} would free {} nodes and leave {} MB fragmented", td.getId(), nodesFreed, fragmentedMemory);
+            if (nodesFreed >= minNodesFreed
+                && (best == null || nodesFreed > bestNodesFreed
+                    || (nodesFreed == bestNodesFreed && fragmentedMemory < bestFragmentedMemory))) {
+                best = td.getId();
+                bestNodesFreed = nodesFreed;
+                bestFragmentedMemory = fragmentedMemory;
+            }
+        }
+        if (best != null) {
+            LOG.info("Rebalancing {} would free {} of {} nodes", best, bestNodesFreed, nodesUsed);
+            lastRebalancedMs.put(best, now);
+        }
+        return best;
+    }
+
+    /**
+     * Schedule a topology again from scratch on a copy of the cluster.
+     *
+     * @return the copy, or null if the topology could not be scheduled again.
+     */
+    private static Cluster reschedule(Cluster cluster, TopologyDetails td, String strategyClass) {
+        Cluster copy = new Cluster(cluster);
+        copy.unassign(td.getId());
+        SingleTopologyCluster single = new SingleTopologyCluster(copy, td.getId());
+        try {
+            IStrategy strategy = ReflectionUtils.newInstance(strategyClass);
+            strategy.prepare(copy.getConf());
+            SchedulingResult result = strategy.schedule(single, td);
+            if (result == null || !result.isSuccess()) {
+                LOG.debug("Could not schedule {} again {}", td.getId(), result);
+                return null;
+            }
+        } catch (Exception e) {
+            LOG.warn("Could not schedule {} again", td.getId(), e);
+            return null;
+        }
+        copy.updateFrom(single);
+        return copy;
+    }
+
+    private static int numNodesUsed(Cluster cluster) {
+        Set<String> nodes = new HashSet<>();
+        for (WorkerSlot slot : cluster.getUsedSlots()) {
+            nodes.add(slot.getNodeId());
+        }
+        return nodes.size();
+    }
+
+    private static double fragmentedMemory(Cluster cluster) {
+        Map<String, Object> conf = cluster.getConf();
+        double minMemory = ObjectReader.getDouble(conf.get(Config.TOPOLOGY_COMPONENT_RESOURCES_ONHEAP_MEMORY_MB), 256.0)
+                           + ObjectReader.getDouble(conf.get(Config.TOPOLOGY_ACKER_RESOURCES_ONHEAP_MEMORY_MB), 128.0);
+        double minCpu = ObjectReader.getDouble(conf.get(Config.TOPOLOGY_COMPONENT_CPU_PCORE_PERCENT), 50.0)
+                        + ObjectReader.getDouble(conf.get(Config.TOPOLOGY_ACKER_CPU_PCORE_PERCENT), 50.0);
+        return cluster.getSupervisorsResourcesMap().values().stream()
+            .filter(resources -> minMemory > resources.getAvailableMem() || minCpu > resources.getAvailableCpu())
+            .mapToDouble(resources -> Math.max(resources.getAvailableMem(), 0))
+            .sum();
+    }
+
+    @Override
+    public void cleanup() {
+        lastRebalancedMs.clear();
+    }
+}
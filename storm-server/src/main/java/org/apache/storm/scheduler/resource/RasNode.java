@@ -56,6 +56,8 @@ public class RasNode implements Comparable<RasNode> {
     private boolean isAlive;
     private SupervisorDetails sup;
     private boolean loggedUnderageUsage = false;
+    // reused to check whether executors fit, instead of computing a new copy of the available resources for every check
+    private final NormalizedResourceOffer scratchAvailableResources = new NormalizedResourceOffer();
 
     /**
      * Create a new node.
@@ -369,7 +371,7 @@ public class RasNode implements Comparable<RasNode> {
                 ws,
                 exec,
                 td,
-                getTotalAvailableResources(),
+                getTotalAvailableResources(scratchAvailableResources),
                 td.getTopologyWorkerMaxHeapSize())) {
             return false;
         }
@@ -412,7 +414,7 @@ public class RasNode implements Comparable<RasNode> {
         if (!isAlive) {
             return false;
         }
-        NormalizedResourceOffer avail = getTotalAvailableResources();
+        NormalizedResourceOffer avail = getTotalAvailableResources(scratchAvailableResources);
         NormalizedResourceRequest requestedResources = td.getTotalResources(exec);
         return avail.couldFit(cluster.getMinWorkerCpu(), requestedResources);
     }
@@ -455,7 +457,7 @@ public class RasNode implements Comparable<RasNode> {
      * @return the available memory for this node
      */
     public double getAvailableMemoryResources() {
-        return getTotalAvailableResources().getTotalMemoryMb();
+        return getTotalAvailableResources(scratchAvailableResources).getTotalMemoryMb();
     }
 
     /**
@@ -475,18 +477,28 @@ public class RasNode implements Comparable<RasNode> {
      * @return All of the available resources.
      */
     public NormalizedResourceOffer getTotalAvailableResources() {
+        return getTotalAvailableResources(new NormalizedResourceOffer());
+    }
+
+    /**
+     * Gets all available resources for this node, computed in place.
+     *
+     * @param availableResources the offer to store the available resources in, any resources already in it are overwritten.
+     * @return availableResources
+     */
+    public NormalizedResourceOffer getTotalAvailableResources(NormalizedResourceOffer availableResources) {
         if (sup != null) {
-            NormalizedResourceOffer availableResources = new NormalizedResourceOffer(sup.getTotalResources());
+            availableResources.set(sup.getTotalResources());
             if (availableResources.remove(cluster.getAllScheduledResourcesForNode(sup.getId()), cluster.getResourceMetrics())) {
                 if (!loggedUnderageUsage) {
                     LOG.error("Resources on {} became negative and was clamped to 0 {}.", hostname, availableResources);
                     loggedUnderageUsage = true;
                 }
             }
-            return availableResources;
         } else {
-            return new NormalizedResourceOffer();
+            availableResources.clear();
         }
+        return availableResources;
     }
 
     /**
@@ -508,7 +520,7 @@ public class RasNode implements Comparable<RasNode> {
      * @return the available cpu for this node
      */
     public double getAvailableCpuResources() {
-        return getTotalAvailableResources().getTotalCpu();
+        return getTotalAvailableResources(scratchAvailableResources).getTotalCpu();
     }
 
     /**
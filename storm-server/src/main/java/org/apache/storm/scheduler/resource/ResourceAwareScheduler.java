@@ -13,6 +13,7 @@
 package org.apache.storm.scheduler.resource;
 
 import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -22,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +66,10 @@ public class ResourceAwareScheduler implements IScheduler {
     private Meter schedulingTimeoutMeter;
     private Meter internalErrorMeter;
     private SchedulerConfigCache<Map<String, Map<String, Double>>> schedulerConfigCache;
+    private ExecutorService parallelScheduling;
+    private Timer parallelSchedulingDuration;
+    private Meter parallelSchedulingCommits;
+    private Meter parallelSchedulingRetries;
 
     private static void markFailedTopology(User u, Cluster c, TopologyDetails td, String message) {
         markFailedTopology(u, c, td, message, null);
@@ -93,6 +99,14 @@ public class ResourceAwareScheduler implements IScheduler {
         schedulingTimeoutSeconds = ObjectReader.getInt(
                 conf.get(DaemonConfig.SCHEDULING_TIMEOUT_SECONDS_PER_TOPOLOGY), 60);
         backgroundScheduling = Executors.newFixedThreadPool(1);
+        int parallelSchedulingThreads = ObjectReader.getInt(
+            conf.get(DaemonConfig.RESOURCE_AWARE_SCHEDULER_PARALLEL_SCHEDULING_THREADS), 1);
+        if (parallelSchedulingThreads > 1) {
+            parallelScheduling = Executors.newFixedThreadPool(parallelSchedulingThreads);
+            parallelSchedulingDuration = metricsRegistry.registerTimer("nimbus:ras-parallel-scheduling-duration-ms");
+            parallelSchedulingCommits = metricsRegistry.registerMeter("nimbus:ras-parallel-scheduling-commits");
+            parallelSchedulingRetries = metricsRegistry.registerMeter("nimbus:ras-parallel-scheduling-retries");
+        }
         evictedTopologiesMap = new HashMap<>();
 
         schedulerConfigCache = new SchedulerConfigCache<>(conf, this::loadConfig);
@@ -103,6 +117,9 @@ public class ResourceAwareScheduler implements IScheduler {
     public void cleanup() {
         LOG.info("Cleanup ResourceAwareScheduler scheduler");
         backgroundScheduling.shutdown();
+        if (parallelScheduling != null) {
+            parallelScheduling.shutdownNow();
+        }
     }
 
     @Override
@@ -123,18 +140,186 @@ public class ResourceAwareScheduler implements IScheduler {
         // clear tmpEvictedTopologiesMap at the beginning of each round of scheduling
         // move it to evictedTopologiesMap at the end of this round of scheduling
         Map<String, Set<String>> tmpEvictedTopologiesMap = new HashMap<>();
-        for (TopologyDetails td : orderedTopologies) {
-            if (!cluster.needsSchedulingRas(td)) {
-                //cluster forgets about its previous status, so if it is scheduled just leave it.
-                cluster.setStatusIfAbsent(td.getId(), "Fully Scheduled");
-            } else {
-                User submitter = userMap.get(td.getTopologySubmitter());
-                scheduleTopology(td, cluster, submitter, orderedTopologies, tmpEvictedTopologiesMap);
+        if (parallelScheduling != null) {
+            try (Timer.Context t = parallelSchedulingDuration.time()) {
+                scheduleInParallel(cluster, userMap, orderedTopologies, tmpEvictedTopologiesMap);
+            }
+        } else {
+            for (TopologyDetails td : orderedTopologies) {
+                if (!cluster.needsSchedulingRas(td)) {
+                    //cluster forgets about its previous status, so if it is scheduled just leave it.
+                    cluster.setStatusIfAbsent(td.getId(), "Fully Scheduled");
+                } else {
+                    User submitter = userMap.get(td.getTopologySubmitter());
+                    scheduleTopology(td, cluster, submitter, orderedTopologies, tmpEvictedTopologiesMap);
+                }
             }
         }
         evictedTopologiesMap = tmpEvictedTopologiesMap;
     }
 
+    /*
+     * Optimistic parallel scheduling.
+     *
+     * Every topology that needs scheduling is first scheduled speculatively, all at the same time, each against its own copy of the
+     * cluster as it was at the start of the round. The results are then committed one by one in priority order, so the outcome of the
+     * round still follows the priorities. A speculative result is only committed if nothing it depends on changed since the snapshot was
+     * taken: the topology's own assignment is unchanged and none of the nodes it was placed on had their assignments changed by a commit
+     * made earlier in the round. Everything else (conflicts, failures, timeouts, topologies that need to evict others) goes through the
+     * regular sequential path against the up to date cluster, so the result is always a valid schedule.
+     *
+     * The copy of the cluster each topology is scheduled against has its own deep copy of the topology (configuration and StormTopology
+     * included), of the supervisors and of the cluster configuration, see SingleTopologyCluster. The details of the other topologies are
+     * shared, they are only read, to account for the resources used by their assignments.
+     */
+    private void scheduleInParallel(Cluster cluster, Map<String, User> userMap, List<TopologyDetails> orderedTopologies,
+                                    Map<String, Set<String>> tmpEvictedTopologiesMap) {
+        Map<String, SpeculativeScheduling> speculations = new HashMap<>();
+        for (TopologyDetails td : orderedTopologies) {
+            if (cluster.needsSchedulingRas(td)) {
+                IStrategy rasStrategy;
+                try {
+                    rasStrategy = newStrategy(td);
+                } catch (RuntimeException e) {
+                    // the sequential path reports why the strategy could not be created
+                    continue;
+                }
+                // strategies change and lazily cache state of the topology, so each one gets its own copy of it
+                SingleTopologyCluster snapshot = new SingleTopologyCluster(cluster, td);
+                TopologyDetails topology = snapshot.getTopologies().getById(td.getId());
+                Future<SchedulingResult> result = parallelScheduling.submit(() -> rasStrategy.schedule(snapshot, topology));
+                speculations.put(td.getId(), new SpeculativeScheduling(snapshot, result));
+            }
+        }
+
+        Set<String> changedNodes = new HashSet<>();
+        Set<String> changedTopologies = new HashSet<>();
+        try {
+            for (TopologyDetails td : orderedTopologies) {
+                SpeculativeScheduling speculation = speculations.remove(td.getId());
+                if (!cluster.needsSchedulingRas(td)) {
+                    //cluster forgets about its previous status, so if it is scheduled just leave it.
+                    cluster.setStatusIfAbsent(td.getId(), "Fully Scheduled");
+                    if (speculation != null) {
+                        speculation.result.cancel(true);
+                    }
+                } else if (speculation != null && commitSpeculation(td, speculation, cluster, changedNodes, changedTopologies)) {
+                    parallelSchedulingCommits.mark();
+                } else {
+                    if (speculation != null) {
+                        parallelSchedulingRetries.mark();
+                    }
+                    Map<String, SchedulerAssignment> before = cluster.getAssignments();
+                    User submitter = userMap.get(td.getTopologySubmitter());
+                    scheduleTopology(td, cluster, submitter, orderedTopologies, tmpEvictedTopologiesMap);
+                    recordChanges(before, cluster.getAssignments(), changedNodes, changedTopologies);
+                }
+            }
+        } finally {
+            // Cancelling only interrupts the thread. The search in BaseResourceAwareStrategy stops when interrupted, but a strategy that
+            // never checks for it keeps its thread from the pool until it is done. Its result is ignored either way, and it only ever
+            // changed its own copy of the cluster.
+            for (SpeculativeScheduling speculation : speculations.values()) {
+                speculation.result.cancel(true);
+            }
+        }
+    }
+
+    private boolean commitSpeculation(TopologyDetails td, SpeculativeScheduling speculation, Cluster cluster,
+                                      Set<String> changedNodes, Set<String> changedTopologies) {
+        String topoId = td.getId();
+        SchedulingResult result;
+        try {
+            result = speculation.result.get(schedulingTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // it may only have been waiting for a thread, give it a fresh try with the full timeout. As for any speculation that is
+            // cancelled, a strategy that does not check for interruption keeps running on its copy until it is done.
+            speculation.result.cancel(true);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            LOG.debug("Speculative scheduling of {} failed", topoId, e.getCause());
+            return false;
+        }
+        if (result == null || !result.isSuccess() || changedTopologies.contains(topoId)) {
+            return false;
+        }
+        SchedulerAssignment assignment = speculation.snapshot.getAssignmentById(topoId);
+        Collection<WorkerSlot> slots = assignment == null ? Collections.emptyList() : assignment.getSlots();
+        for (WorkerSlot slot : slots) {
+            if (changedNodes.contains(slot.getNodeId())) {
+                LOG.debug("Speculative scheduling of {} conflicts on {}", topoId, slot.getNodeId());
+                return false;
+            }
+        }
+
+        SchedulerAssignment current = cluster.getAssignmentById(topoId);
+        try {
+            cluster.unassign(topoId);
+            if (assignment != null) {
+                cluster.assign(assignment, false);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not commit speculative scheduling of {}", topoId, e);
+            cluster.unassign(topoId);
+            if (current != null) {
+                cluster.assign(current, false);
+            }
+            return false;
+        }
+        cluster.setStatus(topoId, "Running - " + result.getMessage());
+        changedTopologies.add(topoId);
+        for (WorkerSlot slot : slots) {
+            changedNodes.add(slot.getNodeId());
+        }
+        return true;
+    }
+
+    private static void recordChanges(Map<String, SchedulerAssignment> before, Map<String, SchedulerAssignment> after,
+                                      Set<String> changedNodes, Set<String> changedTopologies) {
+        Set<String> topoIds = new HashSet<>(before.keySet());
+        topoIds.addAll(after.keySet());
+        for (String topoId : topoIds) {
+            SchedulerAssignment oldAssignment = before.get(topoId);
+            SchedulerAssignment newAssignment = after.get(topoId);
+            if (oldAssignment == null ? newAssignment != null : !oldAssignment.equals(newAssignment)) {
+                changedTopologies.add(topoId);
+                for (SchedulerAssignment assignment : new SchedulerAssignment[]{oldAssignment, newAssignment}) {
+                    if (assignment != null) {
+                        for (WorkerSlot slot : assignment.getSlots()) {
+                            changedNodes.add(slot.getNodeId());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static class SpeculativeScheduling {
+        final SingleTopologyCluster snapshot;
+        final Future<SchedulingResult> result;
+
+        SpeculativeScheduling(SingleTopologyCluster snapshot, Future<SchedulingResult> result) {
+            this.snapshot = snapshot;
+            this.result = result;
+        }
+    }
+
+    private IStrategy newStrategy(TopologyDetails td) {
+        String strategy = (String) td.getConf().get(Config.TOPOLOGY_SCHEDULER_STRATEGY);
+        if (strategy.startsWith("backtype.storm")) {
+            // Storm support to launch workers of older version.
+            // If the config of TOPOLOGY_SCHEDULER_STRATEGY comes from the older version, replace the package name.
+            strategy = strategy.replace("backtype.storm", "org.apache.storm");
+            LOG.debug("Replaced backtype.storm with org.apache.storm for Config.TOPOLOGY_SCHEDULER_STRATEGY");
+        }
+        IStrategy rasStrategy = ReflectionUtils.newSchedulerStrategyInstance(strategy, conf);
+        rasStrategy.prepare(conf);
+        return rasStrategy;
+    }
+
     private void scheduleTopology(TopologyDetails td, Cluster cluster, final User topologySubmitter,
                                   List<TopologyDetails> orderedTopologies, Map<String, Set<String>> tmpEvictedTopologiesMap) {
         //A copy of cluster that we can modify, but does not get committed back to cluster unless scheduling succeeds
@@ -143,15 +328,7 @@ public class ResourceAwareScheduler implements IScheduler {
         IStrategy rasStrategy = null;
         String strategyConf = (String) td.getConf().get(Config.TOPOLOGY_SCHEDULER_STRATEGY);
         try {
-            String strategy = (String) td.getConf().get(Config.TOPOLOGY_SCHEDULER_STRATEGY);
-            if (strategy.startsWith("backtype.storm")) {
-                // Storm support to launch workers of older version.
-                // If the config of TOPOLOGY_SCHEDULER_STRATEGY comes from the older version, replace the package name.
-                strategy = strategy.replace("backtype.storm", "org.apache.storm");
-                LOG.debug("Replaced backtype.storm with org.apache.storm for Config.TOPOLOGY_SCHEDULER_STRATEGY");
-            }
-            rasStrategy = ReflectionUtils.newSchedulerStrategyInstance(strategy, conf);
-            rasStrategy.prepare(conf);
+            rasStrategy = newStrategy(td);
         } catch (DisallowedStrategyException e) {
             markFailedTopology(topologySubmitter, cluster, td,
                                "Unsuccessful in scheduling - " + e.getAttemptedClass()
@@ -76,6 +76,15 @@ public class NormalizedResourceOffer implements NormalizedResourcesWithMemory {
         return ret;
     }
 
+    /**
+     * Set this to the same resources as other in place, so an offer can be reused instead of copied.
+     * @param other what to copy.
+     */
+    public void set(NormalizedResourceOffer other) {
+        this.totalMemoryMb = other.totalMemoryMb;
+        this.normalizedResources.set(other.normalizedResources);
+    }
+
     public void add(NormalizedResourcesWithMemory other) {
         normalizedResources.add(other.getNormalizedResources());
         totalMemoryMb += other.getTotalMemoryMb();
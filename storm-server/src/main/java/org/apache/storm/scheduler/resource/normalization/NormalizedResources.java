@@ -82,6 +82,17 @@ public class NormalizedResources {
         RESOURCE_MAP_ARRAY_BRIDGE = new ResourceMapArrayBridge();
     }
 
+    /**
+     * Register the names of resources that are expected in the cluster, so every set of normalized resources created afterwards has the
+     * same fixed width, and adding, removing or comparing them is done in place without growing any arrays. Resources that show up later
+     * still work, but sets created before they did are grown the first time they are combined with one that has them.
+     *
+     * @param resources resources keyed by (not yet normalized) name, the values are ignored.
+     */
+    public static void registerResourceNames(Map<String, ? extends Number> resources) {
+        RESOURCE_MAP_ARRAY_BRIDGE.registerResourceNames(RESOURCE_NAME_NORMALIZER.normalizedResourceMap(resources).keySet());
+    }
+
     /**
      * Get the total amount of cpu.
      *
@@ -112,6 +123,42 @@ public class NormalizedResources {
         add(other.otherResources);
     }
 
+    /**
+     * Set this to the same resources as other, reusing the storage of this.
+     *
+     * @param other the resources to copy.
+     */
+    public void set(NormalizedResources other) {
+        this.cpu = other.cpu;
+        int otherLength = other.otherResources.length;
+        zeroPadOtherResourcesIfNecessary(otherLength);
+        System.arraycopy(other.otherResources, 0, otherResources, 0, otherLength);
+        Arrays.fill(otherResources, otherLength, otherResources.length, 0.0);
+    }
+
+    /**
+     * Add a map of normalized resources to this in place, without translating it to an array first.
+     *
+     * @param normalizedResources the normalized resources, CPU and memory are ignored.
+     * @param multiplier 1.0 to add the resources, -1.0 to remove them.
+     * @return true if any of the resources in this went negative.
+     */
+    private boolean addResourceMap(Map<String, Double> normalizedResources, double multiplier) {
+        RESOURCE_MAP_ARRAY_BRIDGE.registerResourceNames(normalizedResources.keySet());
+        zeroPadOtherResourcesIfNecessary(RESOURCE_MAP_ARRAY_BRIDGE.size());
+        boolean ret = false;
+        for (Map.Entry<String, Double> entry : normalizedResources.entrySet()) {
+            int index = RESOURCE_MAP_ARRAY_BRIDGE.indexOf(entry.getKey());
+            if (index >= 0) {
+                otherResources[index] += multiplier * entry.getValue();
+                if (otherResources[index] < 0) {
+                    ret = true;
+                }
+            }
+        }
+        return ret;
+    }
+
     /**
      * Add the resources from a worker to this.
      *
@@ -120,7 +167,7 @@ public class NormalizedResources {
     public void add(WorkerResources value) {
         Map<String, Double> workerNormalizedResources = value.get_resources();
         cpu += workerNormalizedResources.getOrDefault(Constants.COMMON_CPU_RESOURCE_NAME, 0.0);
-        add(RESOURCE_MAP_ARRAY_BRIDGE.translateToResourceArray(workerNormalizedResources));
+        addResourceMap(workerNormalizedResources, 1.0);
     }
 
     /**
@@ -163,20 +210,7 @@ public class NormalizedResources {
     public boolean remove(WorkerResources value) {
         Map<String, Double> workerNormalizedResources = value.get_resources();
         cpu -= workerNormalizedResources.getOrDefault(Constants.COMMON_CPU_RESOURCE_NAME, 0.0);
-        return remove(RESOURCE_MAP_ARRAY_BRIDGE.translateToResourceArray(workerNormalizedResources)) || cpu < 0;
-    }
-
-    private boolean remove(double[] resourceArray) {
-        boolean ret = false;
-        int otherLength = resourceArray.length;
-        zeroPadOtherResourcesIfNecessary(otherLength);
-        for (int i = 0; i < otherLength; i++) {
-            otherResources[i] -= resourceArray[i];
-            if (otherResources[i] < 0) {
-                ret = true;
-            }
-        }
-        return ret;
+        return addResourceMap(workerNormalizedResources, -1.0) || cpu < 0;
     }
 
     @Override
@@ -227,14 +261,29 @@ public class NormalizedResources {
      * @return true if it might fit, else false if it could not possibly fit.
      */
     public boolean couldHoldIgnoringSharedMemoryAndCpu(NormalizedResources other, double thisTotalMemoryMb, double otherTotalMemoryMb) {
-        int length = Math.max(this.otherResources.length, other.otherResources.length);
+        if (thisTotalMemoryMb < otherTotalMemoryMb) {
+            return false;
+        }
+        double[] theseResources = this.otherResources;
+        double[] thoseResources = other.otherResources;
+        int length = Math.min(theseResources.length, thoseResources.length);
         for (int i = 0; i < length; i++) {
-            if (getResourceAt(i) < other.getResourceAt(i)) {
+            if (theseResources[i] < thoseResources[i]) {
                 return false;
             }
         }
-
-        return thisTotalMemoryMb >= otherTotalMemoryMb;
+        // Only when the resources were created before all of the resource names were registered, missing resources are 0
+        for (int i = length; i < thoseResources.length; i++) {
+            if (thoseResources[i] > 0.0) {
+                return false;
+            }
+        }
+        for (int i = length; i < theseResources.length; i++) {
+            if (theseResources[i] < 0.0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private String getResourceNameForResourceIndex(int resourceIndex) {
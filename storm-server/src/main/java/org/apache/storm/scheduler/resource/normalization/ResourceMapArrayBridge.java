@@ -16,6 +16,7 @@
 
 package org.apache.storm.scheduler.resource.normalization;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -43,15 +44,7 @@ public class ResourceMapArrayBridge {
      */
     public double[] translateToResourceArray(Map<String, Double> normalizedResources) {
         //To avoid locking we will go through the map twice.  It should be small so it is probably not a big deal
-        for (String key : normalizedResources.keySet()) {
-            //We are going to skip over CPU and Memory, because they are captured elsewhere
-            if (!Constants.COMMON_CPU_RESOURCE_NAME.equals(key)
-                && !Constants.COMMON_TOTAL_MEMORY_RESOURCE_NAME.equals(key)
-                && !Constants.COMMON_OFFHEAP_MEMORY_RESOURCE_NAME.equals(key)
-                && !Constants.COMMON_ONHEAP_MEMORY_RESOURCE_NAME.equals(key)) {
-                resourceNamesToArrayIndex.computeIfAbsent(key, (k) -> counter.getAndIncrement());
-            }
-        }
+        registerResourceNames(normalizedResources.keySet());
         //By default all of the values are 0
         double[] ret = new double[counter.get()];
         for (Map.Entry<String, Double> entry : normalizedResources.entrySet()) {
@@ -64,6 +57,43 @@ public class ResourceMapArrayBridge {
         return ret;
     }
 
+    /**
+     * Assign an index to each of the given normalized resource names up front. Arrays are sized for every resource name known at the
+     * time they are created, so registering all of the resources in the cluster before any arrays are created keeps every array the same
+     * width, and arithmetic between them never has to grow one. CPU and memory are skipped, as they are captured elsewhere.
+     *
+     * @param normalizedResourceNames the normalized names of the resources.
+     */
+    public void registerResourceNames(Collection<String> normalizedResourceNames) {
+        for (String key : normalizedResourceNames) {
+            //We are going to skip over CPU and Memory, because they are captured elsewhere
+            if (!Constants.COMMON_CPU_RESOURCE_NAME.equals(key)
+                && !Constants.COMMON_TOTAL_MEMORY_RESOURCE_NAME.equals(key)
+                && !Constants.COMMON_OFFHEAP_MEMORY_RESOURCE_NAME.equals(key)
+                && !Constants.COMMON_ONHEAP_MEMORY_RESOURCE_NAME.equals(key)) {
+                resourceNamesToArrayIndex.computeIfAbsent(key, (k) -> counter.getAndIncrement());
+            }
+        }
+    }
+
+    /**
+     * Get the number of resources that have an index, which is the length of any array created now.
+     * @return the number of resources.
+     */
+    public int size() {
+        return counter.get();
+    }
+
+    /**
+     * Get the index of a normalized resource name in resource arrays.
+     * @param normalizedResourceName the normalized name of the resource.
+     * @return the index, or -1 if the resource has no index, which is always the case for CPU and memory.
+     */
+    public int indexOf(String normalizedResourceName) {
+        Integer index = resourceNamesToArrayIndex.get(normalizedResourceName);
+        return index == null ? -1 : index;
+    }
+
     /**
      * Create an array that has all values 0.
      * @return the empty array.
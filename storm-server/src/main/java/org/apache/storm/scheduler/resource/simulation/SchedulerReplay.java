@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.simulation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.scheduler.Cluster;
+import org.apache.storm.scheduler.SingleTopologyCluster;
+import org.apache.storm.scheduler.SupervisorResources;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.resource.ResourceAwareScheduler;
+import org.apache.storm.scheduler.resource.SchedulingResult;
+import org.apache.storm.scheduler.resource.normalization.ResourceMetrics;
+import org.apache.storm.scheduler.resource.strategies.scheduling.BaseResourceAwareStrategy;
+import org.apache.storm.scheduler.resource.strategies.scheduling.IStrategy;
+import org.apache.storm.utils.ObjectReader;
+import org.apache.storm.utils.ReflectionUtils;
+import org.apache.storm.utils.Time;
+
+/**
+ * Replay {@link SchedulerSnapshot}s through scheduling strategies, to compare how long they take and how well they pack before rolling
+ * them out.
+ *
+ * <p>By default every topology that needs scheduling in a snapshot is scheduled with its strategy, one after the other by priority the
+ * way {@link ResourceAwareScheduler} does without evicting anything, and the time spent in the strategy, the states searched and the
+ * backtracks are reported. With {@code --scheduler} the whole round goes through {@link ResourceAwareScheduler} instead, which includes
+ * eviction but only reports the time of the round. Either way the fragmentation of the cluster afterwards is reported, the same way nimbus
+ * does.
+ *
+ * <pre>
+ * SchedulerReplay [--strategy class] [--iterations n] [--warmup n] [--from-scratch] [--scheduler] snapshot-file-or-dir...
+ * </pre>
+ */
+public class SchedulerReplay {
+    private static final int DEFAULT_ITERATIONS = 5;
+    private static final int DEFAULT_WARMUP = 1;
+
+    /**
+     * Replay a snapshot once.
+     *
+     * @param snapshot the snapshot.
+     * @param fromScratch true to schedule every topology from scratch instead of only what needed scheduling in the snapshot.
+     * @param fullScheduler true to run the whole round through {@link ResourceAwareScheduler}.
+     * @return the result of the replay.
+     */
+    public static ReplayResult replay(SchedulerSnapshot snapshot, boolean fromScratch, boolean fullScheduler) {
+        StormMetricsRegistry metricsRegistry = new StormMetricsRegistry();
+        Cluster cluster = snapshot.newCluster(new ResourceMetrics(metricsRegistry), !fromScratch);
+        ReplayResult result = new ReplayResult();
+        List<TopologyDetails> toSchedule = cluster.needsSchedulingTopologies();
+        if (fullScheduler) {
+            ResourceAwareScheduler scheduler = new ResourceAwareScheduler();
+            scheduler.prepare(cluster.getConf(), metricsRegistry);
+            try {
+                long start = Time.nanoTime();
+                scheduler.schedule(cluster.getTopologies(), cluster);
+                result.schedulingNs = Time.nanoTime() - start;
+            } finally {
+                scheduler.cleanup();
+            }
+            for (TopologyDetails td : toSchedule) {
+                if (cluster.needsSchedulingRas(td)) {
+                    result.failed++;
+                } else {
+                    result.scheduled++;
+                }
+            }
+        } else {
+            toSchedule.sort(Comparator.comparingInt(TopologyDetails::getTopologyPriority).thenComparingInt(TopologyDetails::getLaunchTime));
+            for (TopologyDetails td : toSchedule) {
+                IStrategy strategy = ReflectionUtils.newInstance((String) td.getConf().get(Config.TOPOLOGY_SCHEDULER_STRATEGY));
+                strategy.prepare(cluster.getConf());
+                SingleTopologyCluster single = new SingleTopologyCluster(cluster, td.getId());
+                long start = Time.nanoTime();
+                SchedulingResult schedulingResult = strategy.schedule(single, td);
+                result.schedulingNs += Time.nanoTime() - start;
+                if (strategy instanceof BaseResourceAwareStrategy) {
+                    result.statesSearched += ((BaseResourceAwareStrategy) strategy).getStatesSearched();
+                    result.backtracks += ((BaseResourceAwareStrategy) strategy).getNumBacktrack();
+                }
+                if (schedulingResult != null && schedulingResult.isSuccess()) {
+                    cluster.updateFrom(single);
+                    result.scheduled++;
+                } else {
+                    result.failed++;
+                }
+            }
+        }
+
+        Map<String, Object> conf = cluster.getConf();
+        // the smallest executor with an acker, same as what nimbus reports fragmentation with
+        double minMemory = ObjectReader.getDouble(conf.get(Config.TOPOLOGY_COMPONENT_RESOURCES_ONHEAP_MEMORY_MB), 256.0)
+                           + ObjectReader.getDouble(conf.get(Config.TOPOLOGY_ACKER_RESOURCES_ONHEAP_MEMORY_MB), 128.0);
+        double minCpu = ObjectReader.getDouble(conf.get(Config.TOPOLOGY_COMPONENT_CPU_PCORE_PERCENT), 50.0)
+                        + ObjectReader.getDouble(conf.get(Config.TOPOLOGY_ACKER_CPU_PCORE_PERCENT), 50.0);
+        for (SupervisorResources resources : cluster.getSupervisorsResourcesMap().values()) {
+            if (resources.getUsedMem() > 0 || resources.getUsedCpu() > 0) {
+                result.nodesUsed++;
+            }
+            if (minMemory > resources.getAvailableMem() || minCpu > resources.getAvailableCpu()) {
+                result.fragmentedMemory += Math.max(resources.getAvailableMem(), 0);
+                result.fragmentedCpu += Math.max(resources.getAvailableCpu(), 0);
+            }
+        }
+        result.slotsUsed = cluster.getUsedSlots().size();
+        return result;
+    }
+
+    /**
+     * Use the same strategy for all the topologies in a snapshot, instead of the ones they were submitted with.
+     *
+     * @param snapshot the snapshot.
+     * @param strategy the class name of the strategy.
+     */
+    public static void setStrategy(SchedulerSnapshot snapshot, String strategy) {
+        for (TopologyDetails td : snapshot.getTopologies()) {
+            td.getConf().put(Config.TOPOLOGY_SCHEDULER_STRATEGY, strategy);
+        }
+        // the strategy is being tried out, it does not have to be allowed on the cluster yet
+        snapshot.getConf().remove(Config.NIMBUS_SCHEDULER_STRATEGY_CLASS_WHITELIST);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String strategy = null;
+        int iterations = DEFAULT_ITERATIONS;
+        int warmup = DEFAULT_WARMUP;
+        boolean fromScratch = false;
+        boolean fullScheduler = false;
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--strategy":
+                    strategy = args[++i];
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "--from-scratch":
+                    fromScratch = true;
+                    break;
+                case "--scheduler":
+                    fullScheduler = true;
+                    break;
+                default:
+                    File file = new File(args[i]);
+                    File[] snapshots = file.isDirectory() ? file.listFiles((dir, name) -> name.endsWith(".json")) : null;
+                    if (snapshots != null) {
+                        Arrays.sort(snapshots);
+                        files.addAll(Arrays.asList(snapshots));
+                    } else {
+                        files.add(file);
+                    }
+            }
+        }
+        if (files.isEmpty() || iterations <= 0) {
+            System.err.println("Usage: SchedulerReplay [--strategy class] [--iterations n] [--warmup n] [--from-scratch] [--scheduler] "
+                               + "snapshot-file-or-dir...");
+            System.exit(1);
+        }
+
+        for (File file : files) {
+            SchedulerSnapshot snapshot = SchedulerSnapshot.read(file);
+            if (strategy != null) {
+                setStrategy(snapshot, strategy);
+            }
+            for (int i = 0; i < warmup; i++) {
+                replay(snapshot, fromScratch, fullScheduler);
+            }
+            List<ReplayResult> results = new ArrayList<>();
+            for (int i = 0; i < iterations; i++) {
+                results.add(replay(snapshot, fromScratch, fullScheduler));
+            }
+            results.sort(Comparator.comparingLong(ReplayResult::getSchedulingNs));
+            ReplayResult median = results.get(results.size() / 2);
+            System.out.println(file.getName() + ": " + snapshot.getSupervisors().size() + " supervisors, "
+                               + snapshot.getTopologies().getTopologies().size() + " topologies");
+            System.out.println(String.format("  scheduling ms: min %.1f median %.1f max %.1f",
+                results.get(0).getSchedulingNs() / 1e6, median.getSchedulingNs() / 1e6,
+                results.get(results.size() - 1).getSchedulingNs() / 1e6));
+            System.out.println("  " + median);
+        }
+    }
+
+    /**
+     * The result of replaying a snapshot once.
+     */
+    public static class ReplayResult {
+        private long schedulingNs;
+        private int scheduled;
+        private int failed;
+        private long statesSearched;
+        private long backtracks;
+        private int nodesUsed;
+        private int slotsUsed;
+        private double fragmentedMemory;
+        private double fragmentedCpu;
+
+        public long getSchedulingNs() {
+            return schedulingNs;
+        }
+
+        public int getScheduled() {
+            return scheduled;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getStatesSearched() {
+            return statesSearched;
+        }
+
+        public long getBacktracks() {
+            return backtracks;
+        }
+
+        public int getNodesUsed() {
+            return nodesUsed;
+        }
+
+        public int getSlotsUsed() {
+            return slotsUsed;
+        }
+
+        public double getFragmentedMemory() {
+            return fragmentedMemory;
+        }
+
+        public double getFragmentedCpu() {
+            return fragmentedCpu;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("scheduled %d failed %d states searched %d backtracks %d nodes used %d slots used %d "
+                                 + "fragmented %.0f MB %.0f PCore CPUs",
+                scheduled, failed, statesSearched, backtracks, nodesUsed, slotsUsed, fragmentedMemory, fragmentedCpu);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import org.apache.storm.Config;
+import org.apache.storm.daemon.nimbus.Nimbus;
+import org.apache.storm.generated.StormTopology;
+import org.apache.storm.generated.WorkerResources;
+import org.apache.storm.scheduler.Cluster;
+import org.apache.storm.scheduler.ExecutorDetails;
+import org.apache.storm.scheduler.SchedulerAssignment;
+import org.apache.storm.scheduler.SchedulerAssignmentImpl;
+import org.apache.storm.scheduler.SupervisorDetails;
+import org.apache.storm.scheduler.Topologies;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.TopologyTraffic;
+import org.apache.storm.scheduler.WorkerSlot;
+import org.apache.storm.scheduler.resource.normalization.ResourceMetrics;
+import org.apache.storm.utils.Utils;
+import org.json.simple.JSONValue;
+
+/**
+ * Everything the scheduler is given in one scheduling round: the cluster configuration, the supervisors and the racks they are on,
+ * the topologies, their current assignments and their observed traffic. Nimbus writes snapshots when
+ * {@link org.apache.storm.DaemonConfig#NIMBUS_SCHEDULER_SNAPSHOT_DIR} is set, and {@link SchedulerReplay} reads them back to run
+ * schedulers and strategies against the same input.
+ *
+ * <p>Snapshots are JSON files. Thrift objects (topologies and worker resources) are stored base64 encoded. Configuration values that
+ * look like secrets (passwords, secrets and payloads like {@link Config#STORM_ZOOKEEPER_TOPOLOGY_AUTH_PAYLOAD}) are left out, and the
+ * files are only readable by their owner.
+ */
+public class SchedulerSnapshot {
+    private static final int VERSION = 1;
+    private static final String FILE_PREFIX = "scheduler-snapshot-";
+    private static final String FILE_SUFFIX = ".json";
+    private static final Pattern SECRET_KEY = Pattern.compile(".*(password|secret|payload)$", Pattern.CASE_INSENSITIVE);
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
+
+    private final long timeMs;
+    private final Map<String, Object> conf;
+    private final Map<String, List<String>> networkTopography;
+    private final Map<String, SupervisorDetails> supervisors;
+    private final Topologies topologies;
+    private final Map<String, SchedulerAssignment> assignments;
+    private final Map<String, TopologyTraffic> topologyTraffic;
+
+    private SchedulerSnapshot(long timeMs, Map<String, Object> conf, Map<String, List<String>> networkTopography,
+                              Map<String, SupervisorDetails> supervisors, Topologies topologies,
+                              Map<String, SchedulerAssignment> assignments, Map<String, TopologyTraffic> topologyTraffic) {
+        this.timeMs = timeMs;
+        this.conf = conf;
+        this.networkTopography = networkTopography;
+        this.supervisors = supervisors;
+        this.topologies = topologies;
+        this.assignments = assignments;
+        this.topologyTraffic = topologyTraffic;
+    }
+
+    /**
+     * Take a snapshot of a cluster before it is scheduled.
+     *
+     * @param cluster the cluster.
+     * @param timeMs the time of the snapshot.
+     * @return the snapshot.
+     */
+    public static SchedulerSnapshot fromCluster(Cluster cluster, long timeMs) {
+        Map<String, SchedulerAssignment> assignments = new HashMap<>();
+        cluster.getAssignments().forEach((topoId, assignment) -> assignments.put(topoId, new SchedulerAssignmentImpl(assignment)));
+        Map<String, TopologyTraffic> traffic = new HashMap<>();
+        for (TopologyDetails td : cluster.getTopologies()) {
+            TopologyTraffic topoTraffic = cluster.getTopologyTraffic(td.getId());
+            if (topoTraffic != null) {
+                traffic.put(td.getId(), topoTraffic);
+            }
+        }
+        return new SchedulerSnapshot(timeMs, new HashMap<>(cluster.getConf()), new HashMap<>(cluster.getNetworkTopography()),
+            new HashMap<>(cluster.getSupervisors()), new Topologies(cluster.getTopologies()), assignments, traffic);
+    }
+
+    /**
+     * Create a new cluster from the snapshot, in the state the scheduler saw it.
+     *
+     * @param resourceMetrics the metrics of the scheduler that will schedule it.
+     * @param withAssignments false to leave out all assignments, and schedule every topology from scratch.
+     * @return the cluster.
+     */
+    public Cluster newCluster(ResourceMetrics resourceMetrics, boolean withAssignments) {
+        Map<String, SchedulerAssignment> clusterAssignments = new HashMap<>();
+        if (withAssignments) {
+            assignments.forEach((topoId, assignment) -> clusterAssignments.put(topoId, new SchedulerAssignmentImpl(assignment)));
+        }
+        Cluster cluster = new Cluster(new Nimbus.StandaloneINimbus(), resourceMetrics, supervisors, clusterAssignments,
+            topologies, new HashMap<>(conf), networkTopography);
+        topologyTraffic.forEach(cluster::setTopologyTraffic);
+        return cluster;
+    }
+
+    public long getTimeMs() {
+        return timeMs;
+    }
+
+    public Map<String, Object> getConf() {
+        return conf;
+    }
+
+    public Topologies getTopologies() {
+        return topologies;
+    }
+
+    public Map<String, SupervisorDetails> getSupervisors() {
+        return supervisors;
+    }
+
+    public Map<String, SchedulerAssignment> getAssignments() {
+        return assignments;
+    }
+
+    /**
+     * Get the file a snapshot taken at a time is written to in a directory.
+     */
+    public static File getFile(File dir, long timeMs) {
+        return new File(dir, FILE_PREFIX + timeMs + FILE_SUFFIX);
+    }
+
+    /**
+     * Delete all but the newest snapshots in a directory.
+     *
+     * @param dir the directory the snapshots are in.
+     * @param retained how many snapshots to keep.
+     * @throws IOException on any error listing or deleting the snapshots.
+     */
+    public static void deleteOldSnapshots(File dir, int retained) throws IOException {
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir.toPath(), FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    snapshots.put(Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())), path);
+                } catch (NumberFormatException e) {
+                    // Not a snapshot nimbus wrote
+                }
+            }
+        }
+        while (snapshots.size() > retained) {
+            Files.deleteIfExists(snapshots.pollFirstEntry().getValue());
+        }
+    }
+
+    /**
+     * Copy a configuration, leaving out the values that look like secrets.
+     */
+    static Map<String, Object> redact(Map<String, Object> conf) {
+        Map<String, Object> ret = new HashMap<>();
+        conf.forEach((key, value) -> {
+            if (!SECRET_KEY.matcher(key).matches()) {
+                ret.put(key, value);
+            }
+        });
+        return ret;
+    }
+
+    /**
+     * Write the snapshot to a file. The snapshot is first written next to it and then moved, so readers never see a partial snapshot.
+     * The file is only readable by its owner, when the file system supports POSIX permissions.
+     *
+     * @param file the file to write to.
+     * @throws IOException on any error writing the file.
+     */
+    public void write(File file) throws IOException {
+        Map<String, Object> json = new HashMap<>();
+        json.put("version", VERSION);
+        json.put("time-ms", timeMs);
+        json.put("conf", redact(conf));
+        json.put("network-topography", networkTopography);
+
+        List<Object> jsonSupervisors = new ArrayList<>();
+        for (SupervisorDetails sup : supervisors.values()) {
+            Map<String, Object> jsonSup = new HashMap<>();
+            jsonSup.put("id", sup.getId());
+            jsonSup.put("host", sup.getHost());
+            jsonSup.put("ports", new ArrayList<>(sup.getAllPorts()));
+            jsonSup.put("resources", sup.getTotalResources().toNormalizedMap());
+            jsonSupervisors.add(jsonSup);
+        }
+        json.put("supervisors", jsonSupervisors);
+
+        List<Object> jsonTopologies = new ArrayList<>();
+        for (TopologyDetails td : topologies) {
+            Map<String, Object> jsonTopo = new HashMap<>();
+            jsonTopo.put("id", td.getId());
+            jsonTopo.put("conf", redact(td.getConf()));
+            jsonTopo.put("topology", encode(Utils.thriftSerialize(td.getTopology())));
+            jsonTopo.put("num-workers", td.getNumWorkers());
+            jsonTopo.put("launch-time", td.getLaunchTime());
+            jsonTopo.put("owner", td.getTopologySubmitter());
+            List<Object> executors = new ArrayList<>();
+            td.getExecutorToComponent().forEach((exec, comp) -> executors.add(Arrays.asList(exec.getStartTask(), exec.getEndTask(), comp)));
+            jsonTopo.put("executors", executors);
+            TopologyTraffic traffic = topologyTraffic.get(td.getId());
+            if (traffic != null) {
+                jsonTopo.put("traffic", traffic.getRates());
+            }
+            jsonTopologies.add(jsonTopo);
+        }
+        json.put("topologies", jsonTopologies);
+
+        List<Object> jsonAssignments = new ArrayList<>();
+        for (SchedulerAssignment assignment : assignments.values()) {
+            Map<String, Object> jsonAssignment = new HashMap<>();
+            jsonAssignment.put("topology-id", assignment.getTopologyId());
+            List<Object> executors = new ArrayList<>();
+            assignment.getExecutorToSlot().forEach((exec, slot) ->
+                executors.add(Arrays.asList(exec.getStartTask(), exec.getEndTask(), slot.getNodeId(), slot.getPort())));
+            jsonAssignment.put("executors", executors);
+            List<Object> resources = new ArrayList<>();
+            assignment.getScheduledResources().forEach((slot, wr) ->
+                resources.add(Arrays.asList(slot.getNodeId(), slot.getPort(), encode(Utils.thriftSerialize(wr)))));
+            jsonAssignment.put("resources", resources);
+            jsonAssignment.put("shared-off-heap", assignment.getNodeIdToTotalSharedOffHeapNodeMemory());
+            jsonAssignments.add(jsonAssignment);
+        }
+        json.put("assignments", jsonAssignments);
+
+        Path tmp = Paths.get(file.getPath() + ".tmp");
+        // A left over file may have other permissions, and they are only set when the file is created
+        Files.deleteIfExists(tmp);
+        if (Files.getFileStore(tmp.getParent()).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.createFile(tmp, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        } else {
+            Files.createFile(tmp);
+        }
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            JSONValue.writeJSONString(json, writer);
+        }
+        Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read a snapshot from a file.
+     *
+     * @param file the file to read.
+     * @return the snapshot.
+     * @throws IOException on any error reading the file, or if it is not a snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    public static SchedulerSnapshot read(File file) throws IOException {
+        Map<String, Object> json;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            json = (Map<String, Object>) JSONValue.parse(reader);
+        }
+        if (json == null || !(json.get("version") instanceof Number) || ((Number) json.get("version")).intValue() != VERSION) {
+            throw new IOException(file + " is not a version " + VERSION + " scheduler snapshot");
+        }
+
+        Map<String, SupervisorDetails> supervisors = new HashMap<>();
+        for (Map<String, Object> jsonSup : (List<Map<String, Object>>) json.get("supervisors")) {
+            String id = (String) jsonSup.get("id");
+            List<Number> ports = (List<Number>) jsonSup.get("ports");
+            Map<String, Number> resources = (Map<String, Number>) jsonSup.get("resources");
+            Map<String, Double> totalResources = new HashMap<>();
+            resources.forEach((name, value) -> totalResources.put(name, value.doubleValue()));
+            // the ports are also the meta data, which is what the standalone INimbus hands out as slots
+            supervisors.put(id, new SupervisorDetails(id, null, (String) jsonSup.get("host"), ports, null, ports, totalResources));
+        }
+
+        Map<String, TopologyDetails> topologies = new HashMap<>();
+        Map<String, TopologyTraffic> traffic = new HashMap<>();
+        for (Map<String, Object> jsonTopo : (List<Map<String, Object>>) json.get("topologies")) {
+            String id = (String) jsonTopo.get("id");
+            Map<ExecutorDetails, String> execToComp = new HashMap<>();
+            for (List<Object> exec : (List<List<Object>>) jsonTopo.get("executors")) {
+                execToComp.put(toExecutor(exec), (String) exec.get(2));
+            }
+            StormTopology topology = Utils.thriftDeserialize(StormTopology.class, decode(jsonTopo.get("topology")));
+            topologies.put(id, new TopologyDetails(id, (Map<String, Object>) jsonTopo.get("conf"), topology,
+                ((Number) jsonTopo.get("num-workers")).intValue(), execToComp, ((Number) jsonTopo.get("launch-time")).intValue(),
+                (String) jsonTopo.get("owner")));
+            Map<String, Map<String, Number>> rates = (Map<String, Map<String, Number>>) jsonTopo.get("traffic");
+            if (rates != null) {
+                Map<String, Map<String, Double>> doubleRates = new HashMap<>();
+                rates.forEach((from, targets) -> targets.forEach((to, rate) ->
+                    doubleRates.computeIfAbsent(from, k -> new HashMap<>()).put(to, rate.doubleValue())));
+                traffic.put(id, new TopologyTraffic(doubleRates));
+            }
+        }
+
+        Map<String, SchedulerAssignment> assignments = new HashMap<>();
+        for (Map<String, Object> jsonAssignment : (List<Map<String, Object>>) json.get("assignments")) {
+            String topoId = (String) jsonAssignment.get("topology-id");
+            Map<ExecutorDetails, WorkerSlot> execToSlot = new HashMap<>();
+            for (List<Object> exec : (List<List<Object>>) jsonAssignment.get("executors")) {
+                execToSlot.put(toExecutor(exec), new WorkerSlot((String) exec.get(2), (Number) exec.get(3)));
+            }
+            Map<WorkerSlot, WorkerResources> resources = new HashMap<>();
+            for (List<Object> slotResources : (List<List<Object>>) jsonAssignment.get("resources")) {
+                resources.put(new WorkerSlot((String) slotResources.get(0), (Number) slotResources.get(1)),
+                    Utils.thriftDeserialize(WorkerResources.class, decode(slotResources.get(2))));
+            }
+            Map<String, Double> sharedOffHeap = new HashMap<>();
+            ((Map<String, Number>) jsonAssignment.get("shared-off-heap")).forEach((node, mb) -> sharedOffHeap.put(node, mb.doubleValue()));
+            assignments.put(topoId, new SchedulerAssignmentImpl(topoId, execToSlot, resources, sharedOffHeap));
+        }
+
+        return new SchedulerSnapshot(((Number) json.get("time-ms")).longValue(), (Map<String, Object>) json.get("conf"),
+            (Map<String, List<String>>) json.get("network-topography"), supervisors, new Topologies(topologies), assignments, traffic);
+    }
+
+    private static ExecutorDetails toExecutor(List<Object> exec) {
+        return new ExecutorDetails(((Number) exec.get(0)).intValue(), ((Number) exec.get(1)).intValue());
+    }
+
+    private static String encode(byte[] data) {
+        return Base64.getEncoder().encodeToString(data);
+    }
+
+    private static byte[] decode(Object data) {
+        return Base64.getDecoder().decode((String) data);
+    }
+}
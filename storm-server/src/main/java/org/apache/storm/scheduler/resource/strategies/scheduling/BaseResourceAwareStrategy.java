@@ -20,7 +20,6 @@ package org.apache.storm.scheduler.resource.strategies.scheduling;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -39,6 +38,7 @@ import org.apache.storm.scheduler.resource.RasNode;
 import org.apache.storm.scheduler.resource.RasNodes;
 import org.apache.storm.scheduler.resource.SchedulingResult;
 import org.apache.storm.scheduler.resource.SchedulingStatus;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResourceRequest;
 import org.apache.storm.scheduler.resource.strategies.scheduling.sorter.ExecSorterByConnectionCount;
 import org.apache.storm.scheduler.resource.strategies.scheduling.sorter.ExecSorterByProximity;
 import org.apache.storm.scheduler.resource.strategies.scheduling.sorter.IExecSorter;
@@ -105,6 +105,7 @@ public abstract class BaseResourceAwareStrategy implements IStrategy {
     Set<ExecutorDetails> unassignedExecutors;
     private int maxStateSearch;
     protected SchedulingSearcherState searcherState;
+    protected NodeResourceIndex nodeResourceIndex;
     protected IExecSorter execSorter;
     protected INodeSorter nodeSorter;
 
@@ -206,7 +207,9 @@ public abstract class BaseResourceAwareStrategy implements IStrategy {
         LOG.debug("The max state search configured by topology {} is {}", topologyDetails.getId(), confMaxStateSearch);
         LOG.debug("The max state search that will be used by topology {} is {}", topologyDetails.getId(), maxStateSearch);
 
+        nodeResourceIndex = new NodeResourceIndex(cluster, nodes);
         searcherState = createSearcherState();
+        searcherState.setNodeResourceIndex(nodeResourceIndex);
         setNodeSorter(new NodeSorterHostProximity(cluster, topologyDetails, nodeSortType));
         setExecSorter(orderExecutorsByProximity
                 ? new ExecSorterByProximity(topologyDetails)
@@ -231,6 +234,25 @@ public abstract class BaseResourceAwareStrategy implements IStrategy {
      */
     protected void setNodeSorter(INodeSorter nodeSorter) {
         this.nodeSorter = nodeSorter;
+        nodeSorter.setNodeResourceIndex(nodeResourceIndex);
+    }
+
+    /**
+     * Get the number of states searched by the last call to {@link #schedule(Cluster, TopologyDetails)}.
+     *
+     * @return the number of states searched, 0 if nothing was searched.
+     */
+    public int getStatesSearched() {
+        return searcherState == null ? 0 : searcherState.getStatesSearched();
+    }
+
+    /**
+     * Get the number of times the last call to {@link #schedule(Cluster, TopologyDetails)} backtracked.
+     *
+     * @return the number of backtracks, 0 if nothing was searched.
+     */
+    public int getNumBacktrack() {
+        return searcherState == null ? 0 : searcherState.getNumBacktrack();
     }
 
     private static long computeMaxSchedulingTimeMs(Map<String, Object> topoConf) {
@@ -264,22 +286,6 @@ public abstract class BaseResourceAwareStrategy implements IStrategy {
      * @return a new instance of {@link SchedulingSearcherState}.
      */
     private SchedulingSearcherState createSearcherState() {
-        Map<WorkerSlot, Map<String, Integer>> workerCompCnts = new HashMap<>();
-        Map<RasNode, Map<String, Integer>> nodeCompCnts = new HashMap<>();
-
-        //populate with existing assignments
-        SchedulerAssignment existingAssignment = cluster.getAssignmentById(topologyDetails.getId());
-        if (existingAssignment != null) {
-            existingAssignment.getExecutorToSlot().forEach((exec, ws) -> {
-                String compId = execToComp.get(exec);
-                RasNode node = nodes.getNodeById(ws.getNodeId());
-                Map<String, Integer> compCnts = nodeCompCnts.computeIfAbsent(node, (k) -> new HashMap<>());
-                compCnts.put(compId, compCnts.getOrDefault(compId, 0) + 1); // increment
-                //populate worker to comp assignments
-                compCnts = workerCompCnts.computeIfAbsent(ws, (k) -> new HashMap<>());
-                compCnts.put(compId, compCnts.getOrDefault(compId, 0) + 1); // increment
-            });
-        }
         LinkedList<ExecutorDetails> unassignedAckers = new LinkedList<>();
         if (compToExecs.containsKey(Acker.ACKER_COMPONENT_ID)) {
             for (ExecutorDetails acker : compToExecs.get(Acker.ACKER_COMPONENT_ID)) {
@@ -289,9 +295,16 @@ public abstract class BaseResourceAwareStrategy implements IStrategy {
             }
         }
 
-        return new SchedulingSearcherState(workerCompCnts, nodeCompCnts,
-                maxStateSearch, maxSchedulingTimeMs, new ArrayList<>(unassignedExecutors),
-                unassignedAckers, topologyDetails, execToComp);
+        SchedulingSearcherState state = new SchedulingSearcherState(maxStateSearch, maxSchedulingTimeMs,
+                new ArrayList<>(unassignedExecutors), unassignedAckers, topologyDetails, execToComp);
+
+        //populate with existing assignments
+        SchedulerAssignment existingAssignment = cluster.getAssignmentById(topologyDetails.getId());
+        if (existingAssignment != null) {
+            existingAssignment.getExecutorToSlot().forEach((exec, ws) ->
+                state.addExistingAssignment(nodes.getNodeById(ws.getNodeId()), ws, execToComp.get(exec)));
+        }
+        return state;
     }
 
     /**
@@ -351,6 +364,20 @@ public abstract class BaseResourceAwareStrategy implements IStrategy {
         return true;
     }
 
+    /**
+     * Check if the executor could be assigned to any worker on the node, before going through the workers of the node one by one with
+     * {@link #isExecAssignmentToWorkerValid(ExecutorDetails, WorkerSlot)}. This may be extended by subclasses to prune nodes with
+     * checks that rule out all the workers of the node at once,
+     * see {@link ConstraintSolverStrategy#isExecAssignmentToNodeValid(ExecutorDetails, RasNode)}.
+     *
+     * @param exec being scheduled.
+     * @param node on which to schedule.
+     * @return false if the executor cannot be assigned to any worker on the node.
+     */
+    protected boolean isExecAssignmentToNodeValid(ExecutorDetails exec, RasNode node) {
+        return true;
+    }
+
     /**
      * Log a bunch of stuff for debugging.
      */
@@ -467,15 +494,22 @@ public abstract class BaseResourceAwareStrategy implements IStrategy {
             }
 
             String comp = execToComp.get(exec);
-            if (sortedNodesIter == null || (this.sortNodesForEachExecutor && searcherState.isExecCompDifferentFromPrior())) {
+            NormalizedResourceRequest execResources = topologyDetails.getTotalResources(exec);
+            if (nodeResourceIndex.getBestFit(execResources) == null) {
+                // there is no node it could fit on, so there is no need to sort and go through the nodes
+                LOG.debug("scheduleExecutorsOnNodes: No node could fit execId={}, comp={}, topo={}", execIndex, comp, topoName);
+            } else if (sortedNodesIter == null || (this.sortNodesForEachExecutor && searcherState.isExecCompDifferentFromPrior())) {
                 progressIdx = -1;
                 nodeSorter.prepare(exec);
                 sortedNodesIter = nodeSorter.sortAllNodes();
             }
 
-            for (String nodeId : sortedNodesIter) {
+            for (String nodeId : sortedNodesIter == null ? Collections.<String>emptyList() : sortedNodesIter) {
+                if (!nodeResourceIndex.couldEverFit(nodeId, execResources)) {
+                    continue;
+                }
                 RasNode node = nodes.getNodeById(nodeId);
-                if (!node.couldEverFit(exec, topologyDetails)) {
+                if (!isExecAssignmentToNodeValid(exec, node)) {
                     continue;
                 }
                 for (WorkerSlot workerSlot : node.getSlotsAvailableToScheduleOn()) {
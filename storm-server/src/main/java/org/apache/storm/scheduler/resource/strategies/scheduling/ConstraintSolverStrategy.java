@@ -13,6 +13,7 @@
 package org.apache.storm.scheduler.resource.strategies.scheduling;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -41,6 +42,10 @@ public class ConstraintSolverStrategy extends BaseResourceAwareStrategy {
      * schedule method {@link #schedule(Cluster, TopologyDetails)}.
      */
     private ConstraintSolverConfig constraintSolverConfig;
+    // the constraints by component index of the searcher state, the components each component is incompatible with as a bitset
+    // (null if none) and the max node co-location count of each component (0 if none)
+    private BitSet[] incompatibleComps;
+    private int[] maxNodeCoLocationCnts;
 
     @Override
     protected void prepareForScheduling(Cluster cluster, TopologyDetails topologyDetails) {
@@ -48,6 +53,29 @@ public class ConstraintSolverStrategy extends BaseResourceAwareStrategy {
 
         // populate additional instance variables
         constraintSolverConfig = new ConstraintSolverConfig(topologyDetails);
+        int numComps = searcherState.getNumComponents();
+        incompatibleComps = new BitSet[numComps];
+        constraintSolverConfig.getIncompatibleComponentSets().forEach((comp, otherComps) -> {
+            int compIndex = searcherState.getComponentIndex(comp);
+            if (compIndex < 0 || otherComps.isEmpty()) {
+                return;
+            }
+            BitSet bits = new BitSet(numComps);
+            for (String otherComp : otherComps) {
+                int otherIndex = searcherState.getComponentIndex(otherComp);
+                if (otherIndex >= 0) {
+                    bits.set(otherIndex);
+                }
+            }
+            incompatibleComps[compIndex] = bits;
+        });
+        maxNodeCoLocationCnts = new int[numComps];
+        constraintSolverConfig.getMaxNodeCoLocationCnts().forEach((comp, cnt) -> {
+            int compIndex = searcherState.getComponentIndex(comp);
+            if (compIndex >= 0) {
+                maxNodeCoLocationCnts[compIndex] = cnt;
+            }
+        });
         setExecSorter(new ExecSorterByConstraintSeverity(cluster, topologyDetails));
     }
 
@@ -74,29 +102,65 @@ public class ConstraintSolverStrategy extends BaseResourceAwareStrategy {
         }
         // check if executor can be on worker based on component exclusions
         String execComp = execToComp.get(exec);
-        Map<String, Integer> compAssignmentCnts = searcherState.getCompAssignmentCntMapForWorker(worker);
-        Set<String> incompatibleComponents;
-        if (compAssignmentCnts != null
-                && (incompatibleComponents = constraintSolverConfig.getIncompatibleComponentSets().get(execComp)) != null
-                && !incompatibleComponents.isEmpty()) {
-            for (String otherComp : compAssignmentCnts.keySet()) {
-                if (incompatibleComponents.contains(otherComp)) {
-                    LOG.debug("Topology {}, exec={} with comp={} has constraint violation with comp={} on worker={}",
-                            topoName, exec, execComp, otherComp, worker);
-                    return false;
-                }
+        int compIndex = searcherState.getComponentIndex(execComp);
+        if (compIndex < 0) {
+            return true;
+        }
+        BitSet compsOnWorker = searcherState.getComponentsOnWorker(worker);
+        if (compsOnWorker != null && incompatibleComps[compIndex] != null && incompatibleComps[compIndex].intersects(compsOnWorker)) {
+            if (LOG.isDebugEnabled()) {
+                BitSet conflicts = (BitSet) incompatibleComps[compIndex].clone();
+                conflicts.and(compsOnWorker);
+                LOG.debug("Topology {}, exec={} with comp={} has constraint violation with comp={} on worker={}",
+                        topoName, exec, execComp, searcherState.getComponent(conflicts.nextSetBit(0)), worker);
             }
+            return false;
         }
 
         // check if executor can be on worker based on component node co-location constraint
-        Map<String, Integer> maxNodeCoLocationCnts = constraintSolverConfig.getMaxNodeCoLocationCnts();
-        if (maxNodeCoLocationCnts.containsKey(execComp)) {
-            int coLocationMaxCnt = maxNodeCoLocationCnts.get(execComp);
-            RasNode node = nodes.getNodeById(worker.getNodeId());
-            int compCntOnNode = searcherState.getComponentCntOnNode(node, execComp);
+        return isCoLocationValid(exec, compIndex, nodes.getNodeById(worker.getNodeId()));
+    }
+
+    /**
+     * Check if the constraints allow the executor on any worker of the node. This is checked before going through the workers of a
+     * node, so nodes that already have as many executors of the component as allowed, or that have incompatible components on all
+     * of their workers, are skipped altogether.
+     * @return false if the executor cannot be on any worker of the node
+     */
+    @Override
+    protected boolean isExecAssignmentToNodeValid(ExecutorDetails exec, RasNode node) {
+        String execComp = execToComp.get(exec);
+        int compIndex = searcherState.getComponentIndex(execComp);
+        if (compIndex < 0) {
+            return true;
+        }
+        if (!isCoLocationValid(exec, compIndex, node)) {
+            return false;
+        }
+        // only when there are incompatible components on the node at all does it need to look for a worker without them
+        BitSet incompatible = incompatibleComps[compIndex];
+        BitSet compsOnNode = searcherState.getComponentsOnNode(node);
+        if (incompatible == null || compsOnNode == null || !incompatible.intersects(compsOnNode)) {
+            return true;
+        }
+        for (WorkerSlot worker : node.getSlotsAvailableToScheduleOn()) {
+            BitSet compsOnWorker = searcherState.getComponentsOnWorker(worker);
+            if (compsOnWorker == null || !incompatible.intersects(compsOnWorker)) {
+                return true;
+            }
+        }
+        LOG.debug("Topology {}, exec={} with comp={} has incompatible components on all workers of node {}",
+                topoName, exec, execComp, node.getId());
+        return false;
+    }
+
+    private boolean isCoLocationValid(ExecutorDetails exec, int compIndex, RasNode node) {
+        int coLocationMaxCnt = maxNodeCoLocationCnts[compIndex];
+        if (coLocationMaxCnt > 0) {
+            int compCntOnNode = searcherState.getComponentCntOnNode(node, compIndex);
             if (compCntOnNode >= coLocationMaxCnt) {
                 LOG.debug("Topology {}, exec={} with comp={} has MaxCoLocationCnt violation on node {}, count {} >= colocation count {}",
-                        topoName, exec, execComp, node.getId(), compCntOnNode, coLocationMaxCnt);
+                        topoName, exec, searcherState.getComponent(compIndex), node.getId(), compCntOnNode, coLocationMaxCnt);
                 return false;
             }
         }
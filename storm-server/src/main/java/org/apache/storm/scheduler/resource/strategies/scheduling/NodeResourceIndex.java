@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.strategies.scheduling;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.storm.networktopography.DNSToSwitchMapping;
+import org.apache.storm.scheduler.Cluster;
+import org.apache.storm.scheduler.resource.RasNode;
+import org.apache.storm.scheduler.resource.RasNodes;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResourceOffer;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResourceRequest;
+
+/**
+ * Index over the resources available on the live nodes of a cluster, kept up to date by {@link SchedulingSearcherState} as executors
+ * are assigned and backtracked.
+ *
+ * <p>The resources available on a node are computed by adding up everything scheduled on it. Without the index this is done for every
+ * node each time the nodes are sorted for an executor, and again when checking whether the executor could fit on each of them. The index
+ * computes them once and then only for the node that changed. It keeps the nodes ordered by available memory in a treap, where every
+ * subtree also knows the most CPU available on any of its nodes, so that the best fit for an executor, or the fact that it does not fit
+ * anywhere, is found without going through every node. Every rack also has a version that changes with any of its nodes, so aggregates
+ * computed per rack can be reused until then.
+ */
+public class NodeResourceIndex {
+    private final double minWorkerCpu;
+    private final Map<String, NodeEntry> entries = new HashMap<>();
+    // The root of the treap of the nodes ordered by available memory
+    private NodeEntry root;
+    private final Map<String, String> nodeIdToRack = new HashMap<>();
+    private final Map<String, Long> rackVersions = new HashMap<>();
+
+    public NodeResourceIndex(Cluster cluster, RasNodes nodes) {
+        minWorkerCpu = cluster.getMinWorkerCpu();
+        Map<String, String> hostToRack = cluster.getHostToRack();
+        for (RasNode node : nodes.getNodes()) {
+            if (!node.isAlive()) {
+                continue;
+            }
+            String hostname = node.getHostname();
+            String rackId = hostname == null ? DNSToSwitchMapping.DEFAULT_RACK
+                : hostToRack.getOrDefault(hostname, DNSToSwitchMapping.DEFAULT_RACK);
+            nodeIdToRack.put(node.getId(), rackId);
+            rackVersions.put(rackId, 0L);
+            NodeEntry entry = new NodeEntry(node.getId(), node.getTotalAvailableResources());
+            entries.put(node.getId(), entry);
+            root = insert(root, entry);
+        }
+    }
+
+    /**
+     * Recompute the resources available on a node after executors were assigned to or freed from it.
+     *
+     * @param node the node that changed.
+     */
+    public void update(RasNode node) {
+        NodeEntry entry = entries.get(node.getId());
+        if (entry == null) {
+            // not a live node, nothing can be scheduled on it anyway
+            return;
+        }
+        // the entry is recomputed in place, this happens for every assignment and backtrack in the search
+        root = remove(root, entry);
+        node.getTotalAvailableResources(entry.available);
+        entry.availableMemoryMb = entry.available.getTotalMemoryMb();
+        entry.availableCpu = entry.available.getTotalCpu();
+        root = insert(root, entry);
+        rackVersions.merge(nodeIdToRack.get(node.getId()), 1L, Long::sum);
+    }
+
+    /**
+     * Get the resources available on a node.
+     *
+     * @param nodeId the id of the node.
+     * @return a copy of the available resources, or null if the node is not a live node.
+     */
+    public NormalizedResourceOffer getAvailableResources(String nodeId) {
+        NodeEntry entry = entries.get(nodeId);
+        return entry == null ? null : new NormalizedResourceOffer(entry.available);
+    }
+
+    /**
+     * Same as {@link RasNode#couldEverFit(org.apache.storm.scheduler.ExecutorDetails, org.apache.storm.scheduler.TopologyDetails)}
+     * without computing the resources available on the node.
+     *
+     * @param nodeId the id of the node.
+     * @param request the resources requested by the executor.
+     * @return false if there is no way the executor would ever fit on the node.
+     */
+    public boolean couldEverFit(String nodeId, NormalizedResourceRequest request) {
+        NodeEntry entry = entries.get(nodeId);
+        return entry != null && entry.available.couldFit(minWorkerCpu, request);
+    }
+
+    /**
+     * Find the node with the least available memory that an executor could fit on.
+     *
+     * <p>Subtrees with too little memory or CPU are skipped whole, so this takes O(log n) for n nodes when memory and CPU decide whether
+     * the executor fits. Nodes that have enough of both but not of some other resource, like GPUs, are still checked one at a time, so
+     * it takes up to O(n) when most nodes lack a generic resource the executor needs.
+     *
+     * @param request the resources requested by the executor.
+     * @return the id of the node, or null if the executor could not fit on any node.
+     */
+    public String getBestFit(NormalizedResourceRequest request) {
+        NodeEntry from = new NodeEntry("", request.getTotalMemoryMb());
+        // the same CPU check as NormalizedResourceOffer.couldFit
+        double cpu = minWorkerCpu < 0.001 ? request.getTotalCpu() : Math.max(request.getTotalCpu() - minWorkerCpu, 0.0);
+        NodeEntry entry = findBestFit(root, from, cpu, request);
+        return entry == null ? null : entry.nodeId;
+    }
+
+    /**
+     * Find the first node in a subtree, at or after from, that has the CPU and that the executor could fit on.
+     */
+    private NodeEntry findBestFit(NodeEntry tree, NodeEntry from, double cpu, NormalizedResourceRequest request) {
+        while (tree != null && tree.maxCpu >= cpu) {
+            if (tree.compareTo(from) >= 0) {
+                NodeEntry ret = findBestFit(tree.left, from, cpu, request);
+                if (ret != null) {
+                    return ret;
+                }
+                if (tree.availableCpu >= cpu && tree.available.couldFit(minWorkerCpu, request)) {
+                    return tree;
+                }
+            }
+            tree = tree.right;
+        }
+        return null;
+    }
+
+    private static NodeEntry insert(NodeEntry tree, NodeEntry entry) {
+        if (tree == null) {
+            entry.left = null;
+            entry.right = null;
+            return entry.update();
+        }
+        if (entry.compareTo(tree) < 0) {
+            tree.left = insert(tree.left, entry);
+            if (tree.left.priority > tree.priority) {
+                NodeEntry left = tree.left;
+                tree.left = left.right;
+                left.right = tree.update();
+                tree = left;
+            }
+        } else {
+            tree.right = insert(tree.right, entry);
+            if (tree.right.priority > tree.priority) {
+                NodeEntry right = tree.right;
+                tree.right = right.left;
+                right.left = tree.update();
+                tree = right;
+            }
+        }
+        return tree.update();
+    }
+
+    private static NodeEntry remove(NodeEntry tree, NodeEntry entry) {
+        if (tree == entry) {
+            return merge(tree.left, tree.right);
+        }
+        if (entry.compareTo(tree) < 0) {
+            tree.left = remove(tree.left, entry);
+        } else {
+            tree.right = remove(tree.right, entry);
+        }
+        return tree.update();
+    }
+
+    /**
+     * Merge two subtrees, where every node of the first one comes before the nodes of the second one.
+     */
+    private static NodeEntry merge(NodeEntry first, NodeEntry second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return first.update();
+        }
+        second.left = merge(first, second.left);
+        return second.update();
+    }
+
+    /**
+     * Get the version of a rack, which changes whenever the resources available on one of its nodes change.
+     *
+     * @param rackId the id of the rack.
+     * @return the version of the rack.
+     */
+    public long getRackVersion(String rackId) {
+        return rackVersions.getOrDefault(rackId, 0L);
+    }
+
+    private static class NodeEntry implements Comparable<NodeEntry> {
+        final String nodeId;
+        final NormalizedResourceOffer available;
+        double availableMemoryMb;
+        double availableCpu;
+        // the treap links, the nodes are ordered by available memory and any parent has a higher priority than its children
+        final int priority;
+        NodeEntry left;
+        NodeEntry right;
+        // the most CPU available on a node in the subtree
+        double maxCpu;
+
+        NodeEntry(String nodeId, NormalizedResourceOffer available) {
+            this.nodeId = nodeId;
+            this.available = available;
+            this.availableMemoryMb = available.getTotalMemoryMb();
+            this.availableCpu = available.getTotalCpu();
+            // a well mixed hash is as good as a random priority, and keeps the shape of the tree the same from run to run
+            int hash = nodeId.hashCode() * 0x9E3779B9;
+            this.priority = hash ^ (hash >>> 16);
+        }
+
+        NodeEntry(String nodeId, double availableMemoryMb) {
+            this.nodeId = nodeId;
+            this.available = null;
+            this.availableMemoryMb = availableMemoryMb;
+            this.priority = 0;
+        }
+
+        /**
+         * Recompute what is kept about the subtree after it changed.
+         *
+         * @return this entry.
+         */
+        NodeEntry update() {
+            maxCpu = availableCpu;
+            if (left != null) {
+                maxCpu = Math.max(maxCpu, left.maxCpu);
+            }
+            if (right != null) {
+                maxCpu = Math.max(maxCpu, right.maxCpu);
+            }
+            return this;
+        }
+
+        @Override
+        public int compareTo(NodeEntry other) {
+            int ret = Double.compare(availableMemoryMb, other.availableMemoryMb);
+            return ret != 0 ? ret : nodeId.compareTo(other.nodeId);
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.storm.scheduler.resource.strategies.scheduling;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -46,12 +47,17 @@ public class SchedulingSearcherState {
 
     final long startTimeMillis;
     private final long maxEndTimeMs;
-    // A map of the worker to the components in the worker to be able to enforce constraints.
-    private final Map<WorkerSlot, Map<String, Integer>> workerCompAssignmentCnts;
     private final boolean[] okToRemoveFromWorker;
-    // for the currently tested assignment a Map of the node to the components on it to be able to enforce constraints.
-    private final Map<RasNode, Map<String, Integer>> nodeCompAssignmentCnts;
     private final boolean[] okToRemoveFromNode;
+    // The components on each worker and node of the currently tested assignment to be able to enforce constraints. Components are
+    // numbered, the count of each component is kept in an array and the components that are there at all in a bitset, so the
+    // constraint checks done for every candidate node and worker are a few word operations.
+    private final Map<String, Integer> compToIndex = new HashMap<>();
+    private final List<String> indexToComp = new ArrayList<>();
+    private final Map<WorkerSlot, int[]> workerCompCnts = new HashMap<>();
+    private final Map<WorkerSlot, BitSet> workerCompBits = new HashMap<>();
+    private final Map<RasNode, int[]> nodeCompCnts = new HashMap<>();
+    private final Map<RasNode, BitSet> nodeCompBits = new HashMap<>();
     // Static State
     // The list of all executors (preferably sorted to make assignments simpler).
     private List<ExecutorDetails> execs;
@@ -84,14 +90,18 @@ public class SchedulingSearcherState {
 
     private Set<ExecutorDetails> execsWithBoundAckers;
 
-    public SchedulingSearcherState(Map<WorkerSlot, Map<String, Integer>> workerCompAssignmentCnts,
-                                    Map<RasNode, Map<String, Integer>> nodeCompAssignmentCnts, int maxStatesSearched, long maxTimeMs,
-                                    List<ExecutorDetails> execs, LinkedList<ExecutorDetails> unassignedAckers,
-                                    TopologyDetails td, Map<ExecutorDetails, String> execToComp) {
+    // optional, kept up to date with the resources available on the nodes
+    private NodeResourceIndex nodeResourceIndex;
+
+    /**
+     * Create the state for scheduling a topology. Executors of the topology that are already assigned are added to it with
+     * {@link #addExistingAssignment(RasNode, WorkerSlot, String)} before the search starts.
+     */
+    public SchedulingSearcherState(int maxStatesSearched, long maxTimeMs, List<ExecutorDetails> execs,
+                                   LinkedList<ExecutorDetails> unassignedAckers, TopologyDetails td,
+                                   Map<ExecutorDetails, String> execToComp) {
         assert execs != null;
 
-        this.workerCompAssignmentCnts = workerCompAssignmentCnts;
-        this.nodeCompAssignmentCnts = nodeCompAssignmentCnts;
         this.maxStatesSearched = maxStatesSearched;
         this.execs = execs;
         okToRemoveFromWorker = new boolean[execs.size()];
@@ -105,6 +115,12 @@ public class SchedulingSearcherState {
             maxEndTimeMs = startTimeMillis + maxTimeMs;
         }
         this.execToComp = execToComp;
+        Set<String> comps = new TreeSet<>(execToComp.values());
+        comps.add(Acker.ACKER_COMPONENT_ID);
+        for (String comp : comps) {
+            compToIndex.put(comp, indexToComp.size());
+            indexToComp.add(comp);
+        }
 
         this.oneExecutorPerWorker = ObjectReader.getBoolean(td.getConf().get(Config.TOPOLOGY_RAS_ONE_EXECUTOR_PER_WORKER), false);
         this.oneComponentPerWorker =  ObjectReader.getBoolean(td.getConf().get(Config.TOPOLOGY_RAS_ONE_COMPONENT_PER_WORKER), false);
@@ -117,6 +133,30 @@ public class SchedulingSearcherState {
         this.execsWithBoundAckers = new HashSet<>();
     }
 
+    /**
+     * Create the state for scheduling a topology with the components already assigned to workers and nodes.
+     *
+     * @deprecated use {@link #SchedulingSearcherState(int, long, List, LinkedList, TopologyDetails, Map)} and
+     *     {@link #addExistingAssignment(RasNode, WorkerSlot, String)}. The maps are only read here, they are not kept up to date.
+     */
+    @Deprecated
+    public SchedulingSearcherState(Map<WorkerSlot, Map<String, Integer>> workerCompAssignmentCnts,
+                                   Map<RasNode, Map<String, Integer>> nodeCompAssignmentCnts, int maxStatesSearched, long maxTimeMs,
+                                   List<ExecutorDetails> execs, LinkedList<ExecutorDetails> unassignedAckers,
+                                   TopologyDetails td, Map<ExecutorDetails, String> execToComp) {
+        this(maxStatesSearched, maxTimeMs, execs, unassignedAckers, td, execToComp);
+        workerCompAssignmentCnts.forEach((workerSlot, compCnts) -> compCnts.forEach((comp, cnt) -> {
+            for (int i = 0; i < cnt; i++) {
+                incWorkerCompCnt(workerSlot, comp);
+            }
+        }));
+        nodeCompAssignmentCnts.forEach((node, compCnts) -> compCnts.forEach((comp, cnt) -> {
+            for (int i = 0; i < cnt; i++) {
+                incNodeCompCnt(node, comp);
+            }
+        }));
+    }
+
     /**
      * Reassign the list of executors as long as it contains the same executors as before.
      * Executors are normally assigned when this class is instantiated. However, this
@@ -134,6 +174,33 @@ public class SchedulingSearcherState {
         }
     }
 
+    /**
+     * Add an executor of the topology that was assigned before this scheduling to the components on its worker and node.
+     *
+     * @param node the node the executor is on.
+     * @param workerSlot the worker the executor is on.
+     * @param comp the component of the executor.
+     */
+    public void addExistingAssignment(RasNode node, WorkerSlot workerSlot, String comp) {
+        incWorkerCompCnt(workerSlot, comp);
+        incNodeCompCnt(node, comp);
+    }
+
+    /**
+     * Set the index to update whenever executors are assigned to or freed from a node.
+     *
+     * @param nodeResourceIndex the index, may be null.
+     */
+    public void setNodeResourceIndex(NodeResourceIndex nodeResourceIndex) {
+        this.nodeResourceIndex = nodeResourceIndex;
+    }
+
+    private void nodeResourcesChanged(RasNode node) {
+        if (nodeResourceIndex != null) {
+            nodeResourceIndex.update(node);
+        }
+    }
+
     public void incStatesSearched() {
         statesSearched++;
         if (statesSearched % 1_000 == 0) {
@@ -224,14 +291,13 @@ public class SchedulingSearcherState {
         String comp = execToComp.get(exec);
         LOG.trace("Topology {} Trying assignment of {} {} to {}", topoName, exec, comp, workerSlot);
         // It is possible that this component is already scheduled on this node or worker.  If so when we backtrack we cannot remove it
-        Map<String, Integer> compToAssignmentCount = workerCompAssignmentCnts.computeIfAbsent(workerSlot, (k) -> new HashMap<>());
-        compToAssignmentCount.put(comp, compToAssignmentCount.getOrDefault(comp, 0) + 1); // increment worker assignment count
+        incWorkerCompCnt(workerSlot, comp);
         okToRemoveFromWorker[execIndex] = true;
-        Map<String, Integer> nodeToAssignmentCount = nodeCompAssignmentCnts.computeIfAbsent(node, (k) -> new HashMap<>());
-        nodeToAssignmentCount.put(comp, nodeToAssignmentCount.getOrDefault(comp, 0) + 1); // increment node assignment count
+        incNodeCompCnt(node, comp);
         okToRemoveFromNode[execIndex] = true;
 
         node.assignSingleExecutor(workerSlot, exec, td);
+        nodeResourcesChanged(node);
     }
 
     /**
@@ -296,22 +362,15 @@ public class SchedulingSearcherState {
         String comp = execToComp.get(exec);
         LOG.trace("Topology {} Backtracking {} {} from {}", topoName, exec, comp, workerSlot);
         if (okToRemoveFromWorker[execIndex]) {
-            Map<String, Integer> compToAssignmentCount = workerCompAssignmentCnts.get(workerSlot);
-            compToAssignmentCount.put(comp, compToAssignmentCount.getOrDefault(comp, 0) - 1); // decrement worker assignment count
-            if (compToAssignmentCount.get(comp) == 0) {
-                compToAssignmentCount.remove(comp);
-            }
+            decWorkerCompCnt(workerSlot, comp);
             okToRemoveFromWorker[execIndex] = false;
         }
         if (okToRemoveFromNode[execIndex]) {
-            Map<String, Integer> nodeToAssignmentCount = nodeCompAssignmentCnts.get(node);
-            nodeToAssignmentCount.put(comp, nodeToAssignmentCount.getOrDefault(comp, 0) - 1); // decrement node assignment count
-            if (nodeToAssignmentCount.get(comp) == 0) {
-                nodeToAssignmentCount.remove(comp);
-            }
+            decNodeCompCnt(node, comp);
             okToRemoveFromNode[execIndex] = false;
         }
         node.freeSingleExecutor(exec, td);
+        nodeResourcesChanged(node);
 
         // If this exec has bound ackers, we need to backtrack them as well
         if (execsWithBoundAckers.remove(exec)) {
@@ -337,17 +396,15 @@ public class SchedulingSearcherState {
         }
         ExecutorDetails acker = unassignedAckers.removeFirst();
         node.assignSingleExecutor(workerSlot, acker, td);
+        nodeResourcesChanged(node);
         if (!workerSlotToBoundAckers.containsKey(workerSlot)) {
             workerSlotToBoundAckers.put(workerSlot, new ArrayList<>());
         }
         workerSlotToBoundAckers.get(workerSlot).add(acker);
         boundAckers.add(acker);
         // bound ackers should not violate constraint solver
-        String ackerCompId = Acker.ACKER_COMPONENT_ID;
-        Map<String, Integer> compToAssignmentCount = workerCompAssignmentCnts.computeIfAbsent(workerSlot, (k) -> new HashMap<>());
-        compToAssignmentCount.put(ackerCompId, compToAssignmentCount.getOrDefault(ackerCompId, 0) + 1); // increment worker assignment count
-        Map<String, Integer> nodeToAssignmentCount = nodeCompAssignmentCnts.computeIfAbsent(node, (k) -> new HashMap<>());
-        nodeToAssignmentCount.put(ackerCompId, nodeToAssignmentCount.getOrDefault(ackerCompId, 0) + 1); // increment node assignment count
+        incWorkerCompCnt(workerSlot, Acker.ACKER_COMPONENT_ID);
+        incNodeCompCnt(node, Acker.ACKER_COMPONENT_ID);
     }
 
     /**
@@ -358,28 +415,49 @@ public class SchedulingSearcherState {
      */
     public void freeWorkerSlotWithBoundAckers(RasNode node, WorkerSlot workerSlot) {
         List<ExecutorDetails> ackers = workerSlotToBoundAckers.get(workerSlot);
-        String ackerCompId = Acker.ACKER_COMPONENT_ID;
         if (ackers != null && !ackers.isEmpty()) {
             for (int i = ackers.size() - 1; i >= 0; i--) {
                 ExecutorDetails acker = ackers.get(i);
                 boundAckers.remove(acker);
                 unassignedAckers.addFirst(acker);
-                Map<String, Integer> compToAssignmentCount = workerCompAssignmentCnts.get(workerSlot);
-                compToAssignmentCount.put(ackerCompId,
-                    compToAssignmentCount.getOrDefault(ackerCompId, 0) - 1); // decrement worker assignment count
-                if (compToAssignmentCount.get(ackerCompId) == 0) {
-                    compToAssignmentCount.remove(ackerCompId);
-                }
-
-                Map<String, Integer> nodeToAssignmentCount = nodeCompAssignmentCnts.get(node);
-                nodeToAssignmentCount.put(ackerCompId,
-                    nodeToAssignmentCount.getOrDefault(ackerCompId, 0) - 1); // decrement node assignment count
-                if (nodeToAssignmentCount.get(ackerCompId) == 0) {
-                    nodeToAssignmentCount.remove(ackerCompId);
-                }
+                decWorkerCompCnt(workerSlot, Acker.ACKER_COMPONENT_ID);
+                decNodeCompCnt(node, Acker.ACKER_COMPONENT_ID);
             }
             workerSlotToBoundAckers.remove(workerSlot);
             node.free(workerSlot);
+            nodeResourcesChanged(node);
+        }
+    }
+
+    private void incWorkerCompCnt(WorkerSlot workerSlot, String comp) {
+        inc(workerCompCnts.computeIfAbsent(workerSlot, (k) -> new int[indexToComp.size()]),
+            workerCompBits.computeIfAbsent(workerSlot, (k) -> new BitSet(indexToComp.size())), comp);
+    }
+
+    private void decWorkerCompCnt(WorkerSlot workerSlot, String comp) {
+        dec(workerCompCnts.get(workerSlot), workerCompBits.get(workerSlot), comp);
+    }
+
+    private void incNodeCompCnt(RasNode node, String comp) {
+        inc(nodeCompCnts.computeIfAbsent(node, (k) -> new int[indexToComp.size()]),
+            nodeCompBits.computeIfAbsent(node, (k) -> new BitSet(indexToComp.size())), comp);
+    }
+
+    private void decNodeCompCnt(RasNode node, String comp) {
+        dec(nodeCompCnts.get(node), nodeCompBits.get(node), comp);
+    }
+
+    private void inc(int[] cnts, BitSet comps, String comp) {
+        int compIndex = getComponentIndex(comp);
+        if (compIndex >= 0 && cnts[compIndex]++ == 0) {
+            comps.set(compIndex);
+        }
+    }
+
+    private void dec(int[] cnts, BitSet comps, String comp) {
+        int compIndex = getComponentIndex(comp);
+        if (compIndex >= 0 && --cnts[compIndex] == 0) {
+            comps.clear(compIndex);
         }
     }
 
@@ -388,22 +466,23 @@ public class SchedulingSearcherState {
      * Useful for debugging and tests.
      */
     public void logNodeCompAssignments() {
-        if (nodeCompAssignmentCnts == null || nodeCompAssignmentCnts.isEmpty()) {
+        if (nodeCompCnts.isEmpty()) {
             LOG.info("Topology {} NodeCompAssignment is empty", topoName);
             return;
         }
         StringBuffer sb = new StringBuffer();
         int cntAllNodes = 0;
         int cntFilledNodes = 0;
-        for (RasNode node: new TreeSet<>(nodeCompAssignmentCnts.keySet())) {
+        for (RasNode node: new TreeSet<>(nodeCompCnts.keySet())) {
             cntAllNodes++;
-            Map<String, Integer> oneMap = nodeCompAssignmentCnts.get(node);
-            if (oneMap.isEmpty()) {
+            BitSet comps = nodeCompBits.get(node);
+            if (comps.isEmpty()) {
                 continue;
             }
             cntFilledNodes++;
-            String oneMapJoined = oneMap.entrySet()
-                    .stream().map(e -> String.format("%s: %s", e.getKey(), e.getValue()))
+            int[] cnts = nodeCompCnts.get(node);
+            String oneMapJoined = comps.stream()
+                    .mapToObj(compIndex -> String.format("%s: %s", indexToComp.get(compIndex), cnts[compIndex]))
                     .collect(Collectors.joining(","));
             sb.append(String.format("\n\t(%d) Node %s: %s", cntFilledNodes, node.getId(), oneMapJoined));
         }
@@ -418,17 +497,91 @@ public class SchedulingSearcherState {
      *
      * @param workerSlot to check for.
      * @return assignment map of count for components, may be a null.
+     * @deprecated use {@link #getComponentCntOnWorker(WorkerSlot, int)}, this builds a new map on every call.
      */
+    @Deprecated
     public Map<String, Integer> getCompAssignmentCntMapForWorker(WorkerSlot workerSlot) {
-        return workerCompAssignmentCnts.get(workerSlot);
+        int[] cnts = workerCompCnts.get(workerSlot);
+        if (cnts == null) {
+            return null;
+        }
+        Map<String, Integer> ret = new HashMap<>();
+        workerCompBits.get(workerSlot).stream().forEach(compIndex -> ret.put(indexToComp.get(compIndex), cnts[compIndex]));
+        return ret;
+    }
+
+    /**
+     * Get the number of executors of a component on a worker slot.
+     *
+     * @param workerSlot the worker slot.
+     * @param compIndex the index of the component, see {@link #getComponentIndex(String)}.
+     * @return the number of executors, 0 for an unknown component.
+     */
+    public int getComponentCntOnWorker(WorkerSlot workerSlot, int compIndex) {
+        int[] cnts = workerCompCnts.get(workerSlot);
+        if (cnts == null || compIndex < 0) {
+            return 0;
+        }
+        return cnts[compIndex];
     }
 
     public int getComponentCntOnNode(RasNode rasNode, String comp) {
-        Map<String, Integer> map = nodeCompAssignmentCnts.get(rasNode);
-        if (map == null) {
+        return getComponentCntOnNode(rasNode, getComponentIndex(comp));
+    }
+
+    /**
+     * Get the number of executors of a component on a node.
+     *
+     * @param rasNode the node.
+     * @param compIndex the index of the component, see {@link #getComponentIndex(String)}.
+     * @return the number of executors, 0 for an unknown component.
+     */
+    public int getComponentCntOnNode(RasNode rasNode, int compIndex) {
+        int[] cnts = nodeCompCnts.get(rasNode);
+        if (cnts == null || compIndex < 0) {
             return 0;
         }
-        return map.getOrDefault(comp, 0);
+        return cnts[compIndex];
+    }
+
+    /**
+     * Get the index of a component in the bitsets of {@link #getComponentsOnWorker(WorkerSlot)} and
+     * {@link #getComponentsOnNode(RasNode)}. Components are numbered from 0 to {@link #getNumComponents()} - 1.
+     *
+     * @param comp the component.
+     * @return the index, or -1 if the component is not part of the topology.
+     */
+    public int getComponentIndex(String comp) {
+        Integer compIndex = compToIndex.get(comp);
+        return compIndex == null ? -1 : compIndex;
+    }
+
+    public String getComponent(int compIndex) {
+        return indexToComp.get(compIndex);
+    }
+
+    public int getNumComponents() {
+        return indexToComp.size();
+    }
+
+    /**
+     * Get the components on a worker slot.
+     *
+     * @param workerSlot to check for.
+     * @return the bitset of the indexes of the components on the worker, may be null. It is updated in place and must not be modified.
+     */
+    public BitSet getComponentsOnWorker(WorkerSlot workerSlot) {
+        return workerCompBits.get(workerSlot);
+    }
+
+    /**
+     * Get the components on a node.
+     *
+     * @param rasNode to check for.
+     * @return the bitset of the indexes of the components on the node, may be null. It is updated in place and must not be modified.
+     */
+    public BitSet getComponentsOnNode(RasNode rasNode) {
+        return nodeCompBits.get(rasNode);
     }
 
     public SchedulingResult createSchedulingResult(boolean success, String schedulerClassSimpleName) {
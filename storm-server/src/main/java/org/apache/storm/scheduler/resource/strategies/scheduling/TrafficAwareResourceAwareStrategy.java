@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.strategies.scheduling;
+
+import org.apache.storm.scheduler.Cluster;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.TopologyTraffic;
+import org.apache.storm.scheduler.resource.strategies.scheduling.sorter.ExecSorterByTraffic;
+
+/**
+ * A strategy that places the executors exchanging the most tuples in the same worker, or at least on the same node, using the traffic
+ * Nimbus observed before the topology was rebalanced (see {@link Cluster#getTopologyTraffic(String)}). Without observed traffic, as
+ * when the topology is first submitted, it schedules exactly like {@link DefaultResourceAwareStrategy}.
+ */
+public class TrafficAwareResourceAwareStrategy extends BaseResourceAwareStrategy {
+
+    @Override
+    protected void prepareForScheduling(Cluster cluster, TopologyDetails topologyDetails) {
+        super.prepareForScheduling(cluster, topologyDetails);
+        TopologyTraffic traffic = cluster.getTopologyTraffic(topologyDetails.getId());
+        if (traffic != null && !traffic.isEmpty()) {
+            setExecSorter(new ExecSorterByTraffic(topologyDetails, traffic, execSorter));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.strategies.scheduling.sorter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.storm.scheduler.ExecutorDetails;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.TopologyTraffic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Order executors so that the ones exchanging the most tuples are next to each other. The scheduler fills a worker and then a node with
+ * consecutive executors, so executors that are next to each other in the order tend to share a worker.
+ *
+ * <p>The executors are partitioned greedily. The observed traffic between two components is spread evenly over pairs of their
+ * executors, every executor of the component with fewer executors being paired with its share of the executors of the other. Going from
+ * the heaviest pair to the lightest, the groups of the two executors are merged as long as the merged group still fits in one worker
+ * (by on-heap memory, the limit the scheduler enforces per worker). Groups are then taken from the one with the most traffic inside it
+ * to the one with the least, each in the order of the fallback sorter, and executors without any traffic come last in that order.
+ */
+public class ExecSorterByTraffic implements IExecSorter {
+    private static final Logger LOG = LoggerFactory.getLogger(ExecSorterByTraffic.class);
+
+    private final TopologyDetails topologyDetails;
+    private final TopologyTraffic traffic;
+    private final IExecSorter fallback;
+
+    /**
+     * Constructor.
+     *
+     * @param topologyDetails the topology.
+     * @param traffic the observed traffic between the components of the topology.
+     * @param fallback the sorter giving the order within groups and for executors without traffic.
+     */
+    public ExecSorterByTraffic(TopologyDetails topologyDetails, TopologyTraffic traffic, IExecSorter fallback) {
+        this.topologyDetails = topologyDetails;
+        this.traffic = traffic;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public List<ExecutorDetails> sortExecutors(Set<ExecutorDetails> unassignedExecutors) {
+        List<ExecutorDetails> baseOrder = fallback.sortExecutors(unassignedExecutors);
+        int n = baseOrder.size();
+        Map<String, List<Integer>> compToExecs = new HashMap<>();
+        double[] onHeap = new double[n];
+        for (int i = 0; i < n; i++) {
+            ExecutorDetails exec = baseOrder.get(i);
+            String comp = topologyDetails.getComponentFromExecutor(exec);
+            if (comp != null) {
+                compToExecs.computeIfAbsent(comp, k -> new ArrayList<>()).add(i);
+            }
+            onHeap[i] = topologyDetails.getTotalResources(exec).getOnHeapMemoryMb();
+        }
+
+        List<Edge> edges = new ArrayList<>();
+        traffic.getRates().forEach((from, targets) -> targets.forEach((to, rate) -> {
+            List<Integer> fromExecs = compToExecs.get(from);
+            List<Integer> toExecs = compToExecs.get(to);
+            if (from.equals(to) || fromExecs == null || toExecs == null || rate <= 0) {
+                return;
+            }
+            int pairs = Math.max(fromExecs.size(), toExecs.size());
+            for (int k = 0; k < pairs; k++) {
+                edges.add(new Edge(fromExecs.get(k % fromExecs.size()), toExecs.get(k % toExecs.size()), rate / pairs));
+            }
+        }));
+        edges.sort(Comparator.comparingDouble((Edge e) -> -e.weight));
+
+        Double workerMaxHeap = topologyDetails.getTopologyWorkerMaxHeapSize();
+        double maxHeap = workerMaxHeap == null ? Double.MAX_VALUE : workerMaxHeap;
+        int[] parent = new int[n];
+        double[] groupHeap = onHeap.clone();
+        double[] groupTraffic = new double[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        for (Edge edge : edges) {
+            int a = find(parent, edge.from);
+            int b = find(parent, edge.to);
+            if (a == b) {
+                groupTraffic[a] += edge.weight;
+            } else if (groupHeap[a] + groupHeap[b] <= maxHeap) {
+                // keep the root with the smaller index so a group starts where its first executor was
+                int root = Math.min(a, b);
+                int other = Math.max(a, b);
+                parent[other] = root;
+                groupHeap[root] += groupHeap[other];
+                groupTraffic[root] += groupTraffic[other] + edge.weight;
+            }
+        }
+
+        Map<Integer, List<ExecutorDetails>> groups = new HashMap<>();
+        List<Integer> roots = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            groups.computeIfAbsent(root, k -> {
+                roots.add(k);
+                return new ArrayList<>();
+            }).add(baseOrder.get(i));
+        }
+        // stable, so groups with the same traffic (like executors without any) keep the fallback order
+        roots.sort(Comparator.comparingDouble((Integer root) -> -groupTraffic[root]));
+
+        List<ExecutorDetails> ret = new LinkedList<>();
+        for (Integer root : roots) {
+            ret.addAll(groups.get(root));
+        }
+        LOG.debug("Topology {}: {} executors in {} groups by traffic", topologyDetails.getId(), n, roots.size());
+        return ret;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static class Edge {
+        final int from;
+        final int to;
+        final double weight;
+
+        Edge(int from, int to, double weight) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.storm.scheduler.resource.strategies.scheduling.sorter;
 
 import org.apache.storm.scheduler.ExecutorDetails;
+import org.apache.storm.scheduler.resource.strategies.scheduling.NodeResourceIndex;
 import org.apache.storm.scheduler.resource.strategies.scheduling.ObjectResourcesItem;
 
 
@@ -34,4 +35,13 @@ public interface INodeSorter {
     Iterable<ObjectResourcesItem> getSortedRacks();
 
     Iterable<String> sortAllNodes();
+
+    /**
+     * Use an index of the resources available on the nodes instead of computing them while sorting.
+     * Sorters that do not support it ignore the index.
+     *
+     * @param nodeResourceIndex the index, kept up to date while scheduling.
+     */
+    default void setNodeResourceIndex(NodeResourceIndex nodeResourceIndex) {
+    }
 }
@@ -45,6 +45,7 @@ import org.apache.storm.scheduler.resource.RasNodes;
 import org.apache.storm.scheduler.resource.normalization.NormalizedResourceOffer;
 import org.apache.storm.scheduler.resource.normalization.NormalizedResourceRequest;
 import org.apache.storm.scheduler.resource.strategies.scheduling.BaseResourceAwareStrategy;
+import org.apache.storm.scheduler.resource.strategies.scheduling.NodeResourceIndex;
 import org.apache.storm.scheduler.resource.strategies.scheduling.ObjectResourcesItem;
 import org.apache.storm.scheduler.resource.strategies.scheduling.ObjectResourcesSummary;
 import org.apache.storm.shade.com.google.common.annotations.VisibleForTesting;
@@ -74,6 +75,10 @@ public class NodeSorterHostProximity implements INodeSorter {
     // Updated in prepare method
     ExecutorDetails exec;
 
+    // Optional index of the resources available on the nodes, with the rack summaries computed from it
+    private NodeResourceIndex nodeResourceIndex;
+    private final Map<String, RackSummary> rackSummaries = new HashMap<>();
+
     public NodeSorterHostProximity(Cluster cluster, TopologyDetails topologyDetails) {
         this(cluster, topologyDetails, BaseResourceAwareStrategy.NodeSortType.COMMON);
     }
@@ -137,6 +142,22 @@ public class NodeSorterHostProximity implements INodeSorter {
         this.exec = exec;
     }
 
+    @Override
+    public void setNodeResourceIndex(NodeResourceIndex nodeResourceIndex) {
+        this.nodeResourceIndex = nodeResourceIndex;
+        rackSummaries.clear();
+    }
+
+    private NormalizedResourceOffer getAvailableResources(RasNode node) {
+        if (nodeResourceIndex != null) {
+            NormalizedResourceOffer available = nodeResourceIndex.getAvailableResources(node.getId());
+            if (available != null) {
+                return available;
+            }
+        }
+        return node.getTotalAvailableResources();
+    }
+
     /**
      * Scheduling uses {@link #sortAllNodes()} which eventually
      * calls this method whose behavior can be altered by setting {@link #nodeSortType}.
@@ -398,7 +419,7 @@ public class NodeSorterHostProximity implements INodeSorter {
         availHosts.forEach(h -> {
             ObjectResourcesItem hostItem = new ObjectResourcesItem(h);
             for (RasNode x : hostnameToNodes.get(h)) {
-                hostItem.add(new ObjectResourcesItem(x.getId(), x.getTotalAvailableResources(), x.getTotalResources(), 0, 0));
+                hostItem.add(new ObjectResourcesItem(x.getId(), getAvailableResources(x), x.getTotalResources(), 0, 0));
             }
             rackResourcesSummary.addObjectResourcesItem(hostItem);
         });
@@ -444,7 +465,7 @@ public class NodeSorterHostProximity implements INodeSorter {
         ObjectResourcesSummary hostResourcesSummary = new ObjectResourcesSummary("HOST");
         availRasNodes.forEach(x ->
                 hostResourcesSummary.addObjectResourcesItem(
-                        new ObjectResourcesItem(x.getId(), x.getTotalAvailableResources(), x.getTotalResources(), 0, 0)
+                        new ObjectResourcesItem(x.getId(), getAvailableResources(x), x.getTotalResources(), 0, 0)
                 )
         );
 
@@ -624,14 +645,7 @@ public class NodeSorterHostProximity implements INodeSorter {
             if (hostIds == null || hostIds.isEmpty()) {
                 LOG.info("Ignoring Rack {} since it has no hosts", rackId);
             } else {
-                ObjectResourcesItem rack = new ObjectResourcesItem(rackId);
-                for (String hostId : hostIds) {
-                    for (RasNode node : hostnameToNodes(hostId)) {
-                        rack.availableResources.add(node.getTotalAvailableResources());
-                        rack.totalResources.add(node.getTotalResources());
-                    }
-                }
-                clusterResourcesSummary.addObjectResourcesItem(rack);
+                clusterResourcesSummary.addObjectResourcesItem(summarizeRack(rackId, hostIds));
             }
         });
 
@@ -644,6 +658,46 @@ public class NodeSorterHostProximity implements INodeSorter {
         return clusterResourcesSummary;
     }
 
+    private ObjectResourcesItem summarizeRack(String rackId, Set<String> hostIds) {
+        RackSummary cached = rackSummaries.get(rackId);
+        if (cached != null && cached.version == nodeResourceIndex.getRackVersion(rackId)) {
+            return cached.toItem();
+        }
+        ObjectResourcesItem rack = new ObjectResourcesItem(rackId);
+        for (String hostId : hostIds) {
+            for (RasNode node : hostnameToNodes(hostId)) {
+                rack.availableResources.add(getAvailableResources(node));
+                rack.totalResources.add(node.getTotalResources());
+            }
+        }
+        if (nodeResourceIndex != null) {
+            rackSummaries.put(rackId, new RackSummary(nodeResourceIndex.getRackVersion(rackId), rack));
+        }
+        return rack;
+    }
+
+    /**
+     * The resources of a rack as of a version of the rack in the {@link NodeResourceIndex}.
+     */
+    private static class RackSummary {
+        final long version;
+        final String rackId;
+        final NormalizedResourceOffer availableResources;
+        final NormalizedResourceOffer totalResources;
+
+        RackSummary(long version, ObjectResourcesItem rack) {
+            this.version = version;
+            this.rackId = rack.id;
+            this.availableResources = new NormalizedResourceOffer(rack.availableResources);
+            this.totalResources = new NormalizedResourceOffer(rack.totalResources);
+        }
+
+        ObjectResourcesItem toItem() {
+            return new ObjectResourcesItem(rackId, new NormalizedResourceOffer(availableResources),
+                new NormalizedResourceOffer(totalResources), 0, 0);
+        }
+    }
+
     public Map<String, AtomicInteger> getScheduledExecCntByRackId() {
         SchedulerAssignment assignment = cluster.getAssignmentById(topologyDetails.getId());
         Map<String, AtomicInteger> scheduledCount = new HashMap<>();
@@ -1368,7 +1368,7 @@ public class StatsUtil {
         Map<String, Object> ret = new HashMap<>();
         if (workerHb != null) {
             ret.put("storm-id", workerHb.get_storm_id());
-            ret.put(ClientStatsUtil.EXECUTOR_STATS, convertExecutorsStats(workerHb.get_executor_stats()));
+            ret.put(ClientStatsUtil.EXECUTOR_STATS, convertExecutorsStats(ClientStatsUtil.getExecutorStats(workerHb)));
             ret.put(ClientStatsUtil.UPTIME, workerHb.get_uptime_secs());
             ret.put(ClientStatsUtil.TIME_SECS, workerHb.get_time_secs());
         }
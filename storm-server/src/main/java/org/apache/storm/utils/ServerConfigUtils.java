@@ -152,11 +152,11 @@ public class ServerConfigUtils {
     }
 
     public LocalState supervisorStateImpl(Map<String, Object> conf) throws IOException {
-        return new LocalState((ConfigUtils.supervisorLocalDir(conf) + FILE_SEPARATOR + "localstate"),  true);
+        return LocalState.create(conf, (ConfigUtils.supervisorLocalDir(conf) + FILE_SEPARATOR + "localstate"),  true);
     }
 
     public LocalState nimbusTopoHistoryStateImpl(Map<String, Object> conf) throws IOException {
-        return new LocalState((masterLocalDir(conf) + FILE_SEPARATOR + "history"), true);
+        return LocalState.create(conf, (masterLocalDir(conf) + FILE_SEPARATOR + "history"), true);
     }
 
     public static int getLocalizerUpdateBlobInterval(Map<String, Object> conf) {
@@ -39,6 +39,8 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -265,6 +267,72 @@ public class ServerUtils {
         return false;
     }
 
+    /**
+     * Get the hex SHA-256 digest of the content of a file.
+     */
+    public static String sha256Hex(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                md.update(buffer, 0, read);
+            }
+            return toHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Copy a configuration, with copies of the maps, lists and sets nested in it, so that changes to the copy, at any depth, do not
+     * change the original. The other values are shared, they are strings, numbers and the like.
+     */
+    public static Map<String, Object> deepCopyConf(Map<String, Object> conf) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> copy = (Map<String, Object>) deepCopyConfValue(conf);
+        return copy;
+    }
+
+    private static Object deepCopyConfValue(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new HashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> copy.put(k, deepCopyConfValue(v)));
+            return copy;
+        } else if (value instanceof List) {
+            List<Object> copy = new ArrayList<>();
+            ((List<?>) value).forEach((v) -> copy.add(deepCopyConfValue(v)));
+            return copy;
+        } else if (value instanceof Set) {
+            Set<Object> copy = new HashSet<>();
+            ((Set<?>) value).forEach((v) -> copy.add(deepCopyConfValue(v)));
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * Get the hex SHA-256 digest of some bytes.
+     */
+    public static String sha256Hex(byte[] data) {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Convert bytes to a lower case hex string.
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
     public static String getFileOwner(String path) throws IOException {
         return Files.getOwner(FileSystems.getDefault().getPath(path)).getName();
     }
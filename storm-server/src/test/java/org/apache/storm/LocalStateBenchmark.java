@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.generated.ExecutorInfo;
+import org.apache.storm.generated.LSWorkerHeartbeat;
+import org.apache.storm.generated.LocalAssignment;
+import org.apache.storm.testing.TmpPath;
+import org.apache.storm.utils.LocalState;
+
+/**
+ * Micro benchmark of the latency of {@link LocalState} puts and gets, with the state written as snapshots and as a log. The state has the
+ * assignments of a supervisor with many slots, and the heartbeats are written and read the way workers and supervisors do, with a new
+ * LocalState every time. It is not run as part of the tests.
+ *
+ * <pre>
+ * LocalStateBenchmark [slots] [iterations]
+ * </pre>
+ */
+public class LocalStateBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int slots = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        Map<Integer, LocalAssignment> assignments = new HashMap<>();
+        List<ExecutorInfo> executors = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            executors.add(new ExecutorInfo(i, i));
+        }
+        for (int port = 6700; port < 6700 + slots; port++) {
+            assignments.put(port, new LocalAssignment("topology-" + port, executors));
+        }
+
+        for (boolean useLog : Arrays.asList(false, true)) {
+            try (TmpPath tmp = new TmpPath()) {
+                LocalState state = new LocalState(tmp.getPath(), true, useLog);
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    for (int it = 0; it < iterations; it++) {
+                        state.setLocalAssignmentsMap(assignments);
+                    }
+                    long putNs = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    long found = 0;
+                    for (int it = 0; it < iterations; it++) {
+                        found += state.getLocalAssignmentsMap().size();
+                    }
+                    long getNs = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    for (int it = 0; it < iterations; it++) {
+                        LocalState worker = new LocalState(tmp.getPath(), false, useLog);
+                        worker.setWorkerHeartBeat(new LSWorkerHeartbeat(it, "topology", executors, 6700));
+                        worker.cleanup(60);
+                    }
+                    long heartbeatPutNs = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    for (int it = 0; it < iterations; it++) {
+                        found += new LocalState(tmp.getPath(), false, useLog).getWorkerHeartBeat().get_time_secs();
+                    }
+                    long heartbeatGetNs = System.nanoTime() - start;
+
+                    System.out.println(String.format("%s round %d: put %.1f us/op, get %.1f us/op, heartbeat put %.1f us/op,"
+                                                     + " heartbeat get %.1f us/op (%d)", useLog ? "log" : "snapshots", round,
+                                                     putNs / 1e3 / iterations, getNs / 1e3 / iterations,
+                                                     heartbeatPutNs / 1e3 / iterations, heartbeatGetNs / 1e3 / iterations, found));
+                }
+            }
+        }
+    }
+}
@@ -55,6 +55,71 @@ public class LocalStateTest {
         }
     }
 
+    @Test
+    public void testLocalStateLog() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            GlobalStreamId globalStreamId_a = new GlobalStreamId("a", "a");
+            GlobalStreamId globalStreamId_b = new GlobalStreamId("b", "b");
+
+            LocalState ls = new LocalState(tmp.getPath(), true, true);
+            LocalState reader = new LocalState(tmp.getPath(), false, true);
+            Assert.assertTrue(ls.snapshot().isEmpty());
+            ls.put("a", globalStreamId_a);
+            ls.put("b", globalStreamId_a);
+            Assert.assertEquals(globalStreamId_a, reader.get("b"));
+            ls.put("b", globalStreamId_b);
+            Assert.assertEquals(globalStreamId_b, reader.get("b"));
+            ls.remove("a");
+            Assert.assertNull(reader.get("a"));
+
+            //Many changes are compacted
+            for (int i = 0; i < 10_000; i++) {
+                ls.put("a", new GlobalStreamId("a", "a" + i));
+            }
+            File log = new File(tmp.getFile(), "localstate.log");
+            Assert.assertTrue(log.length() < 256 * 1024);
+            Map<String, GlobalStreamId> expected = new HashMap<>();
+            expected.put("a", new GlobalStreamId("a", "a9999"));
+            expected.put("b", globalStreamId_b);
+            Assert.assertEquals(expected, reader.snapshot());
+            Assert.assertEquals(expected, new LocalState(tmp.getPath(), false, true).snapshot());
+
+            //A record that was being written when the process died is ignored and overwritten
+            try (FileOutputStream out = new FileOutputStream(log, true)) {
+                out.write(new byte[]{0, 0, 0, 100, 1, 2, 3});
+            }
+            LocalState recovered = new LocalState(tmp.getPath(), false, true);
+            Assert.assertEquals(expected, recovered.snapshot());
+            recovered.put("c", globalStreamId_a);
+            expected.put("c", globalStreamId_a);
+            Assert.assertEquals(expected, new LocalState(tmp.getPath(), false, true).snapshot());
+        }
+    }
+
+    @Test
+    public void testSwitchBetweenSnapshotsAndLog() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            GlobalStreamId globalStreamId_a = new GlobalStreamId("a", "a");
+            GlobalStreamId globalStreamId_b = new GlobalStreamId("b", "b");
+            GlobalStreamId globalStreamId_c = new GlobalStreamId("c", "c");
+            File log = new File(tmp.getFile(), "localstate.log");
+
+            new LocalState(tmp.getPath(), true).put("a", globalStreamId_a);
+            Assert.assertFalse(log.exists());
+            new LocalState(tmp.getPath(), true, true).put("b", globalStreamId_b);
+            Assert.assertTrue(log.exists());
+            Map<String, GlobalStreamId> expected = new HashMap<>();
+            expected.put("a", globalStreamId_a);
+            expected.put("b", globalStreamId_b);
+            Assert.assertEquals(expected, new LocalState(tmp.getPath(), true).snapshot());
+
+            new LocalState(tmp.getPath(), true).put("c", globalStreamId_c);
+            Assert.assertFalse(log.exists());
+            expected.put("c", globalStreamId_c);
+            Assert.assertEquals(expected, new LocalState(tmp.getPath(), true, true).snapshot());
+        }
+    }
+
     @Test
     public void testEmptyState() throws IOException {
         try (TmpPath tmp_dir = new TmpPath()) {
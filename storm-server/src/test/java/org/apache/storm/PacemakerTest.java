@@ -13,6 +13,9 @@
 package org.apache.storm;
 
 import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
@@ -216,6 +219,35 @@ public class PacemakerTest {
         Assert.assertFalse(pulseIds.contains("foo"));
     }
 
+    @Test
+    public void testServerGetAllNodesForPathOnlyListsChildren() throws UnsupportedEncodingException {
+        makeNode(handler, "/some-root/CHILDREN/foo");
+        makeNode(handler, "/some-root/CHILDREN/foo-bar");
+        makeNode(handler, "/some-root/CHILDREN/foo/deeper");
+        makeNode(handler, "/some-root/CHILDREN/bar/deeper");
+        makeNode(handler, "/some-root/CHILDREN-other/baz");
+        messageWithRandId(HBServerMessageType.GET_ALL_NODES_FOR_PATH, HBMessageData.path("/some-root/CHILDREN"));
+        HBMessage response = handler.handleMessage(hbMessage, true);
+        List<String> pulseIds = response.get_data().get_nodes().get_pulseIds();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("foo", "foo-bar", "bar")), new HashSet<>(pulseIds));
+        Assert.assertEquals(3, pulseIds.size());
+    }
+
+    @Test
+    public void testServerDeletePathKeepsSiblings() throws UnsupportedEncodingException {
+        makeNode(handler, "/some-root/DELETE_PATH");
+        makeNode(handler, "/some-root/DELETE_PATH/foo");
+        makeNode(handler, "/some-root/DELETE_PATH/foo/deeper");
+        makeNode(handler, "/some-root/DELETE_PATH-other/bar");
+
+        messageWithRandId(HBServerMessageType.DELETE_PATH, HBMessageData.path("/some-root/DELETE_PATH"));
+        handler.handleMessage(hbMessage, true);
+
+        messageWithRandId(HBServerMessageType.GET_ALL_NODES_FOR_PATH, HBMessageData.path("/some-root"));
+        HBMessage response = handler.handleMessage(hbMessage, true);
+        Assert.assertEquals(Collections.singletonList("DELETE_PATH-other"), response.get_data().get_nodes().get_pulseIds());
+    }
+
     private void messageWithRandId(HBServerMessageType type, HBMessageData data) {
         mid = random.nextInt();
         hbMessage = new HBMessage(type, data);
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.daemon.nimbus;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.storm.generated.Assignment;
+import org.apache.storm.generated.ExecutorInfo;
+import org.apache.storm.generated.SupervisorWorkerHeartbeat;
+import org.apache.storm.stats.ClientStatsUtil;
+import org.apache.storm.utils.Time;
+import org.apache.storm.utils.Time.SimulatedTime;
+import org.junit.Test;
+
+public class HeartbeatCacheTest {
+    private static final String TOPO_ID = "topo-1";
+    private static final int TIMEOUT_SECS = 30;
+    private static final int LAUNCH_SECS = 10;
+
+    private static SupervisorWorkerHeartbeat workerBeat(String topoId, int timeSecs, int... tasks) {
+        List<ExecutorInfo> executors = new ArrayList<>();
+        for (int task : tasks) {
+            executors.add(new ExecutorInfo(task, task));
+        }
+        return new SupervisorWorkerHeartbeat(topoId, executors, timeSecs);
+    }
+
+    private static Assignment assignment(long startTimeSecs, Set<List<Integer>> executors) {
+        Map<List<Long>, Long> startTimes = new HashMap<>();
+        for (List<Integer> exec : executors) {
+            startTimes.put(Arrays.asList(exec.get(0).longValue(), exec.get(1).longValue()), startTimeSecs);
+        }
+        Assignment assignment = new Assignment();
+        assignment.set_executor_start_time_secs(startTimes);
+        return assignment;
+    }
+
+    @Test
+    public void testWorkerHeartbeatsKeepExecutorsAlive() {
+        try (SimulatedTime t = new SimulatedTime(1000_000)) {
+            Set<List<Integer>> executors = new HashSet<>(Arrays.asList(Arrays.asList(1, 1), Arrays.asList(2, 2)));
+            Assignment assignment = assignment(Time.currentTimeSecs(), executors);
+            HeartbeatCache cache = new HeartbeatCache();
+
+            Time.advanceTimeSecs(LAUNCH_SECS);
+            // never sent a heartbeat after launching
+            assertEquals(Collections.emptySet(), cache.getAliveExecutors(TOPO_ID, executors, assignment, LAUNCH_SECS));
+
+            cache.updateHeartbeat(workerBeat(TOPO_ID, Time.currentTimeSecs(), 1, 2), TIMEOUT_SECS);
+            Time.advanceTimeSecs(TIMEOUT_SECS - 1);
+            assertEquals(executors, cache.getAliveExecutors(TOPO_ID, executors, assignment, LAUNCH_SECS));
+
+            // the same beat again does not count as a new heartbeat
+            cache.updateHeartbeat(workerBeat(TOPO_ID, Time.currentTimeSecs() - TIMEOUT_SECS + 1, 1, 2), TIMEOUT_SECS);
+            cache.updateHeartbeat(workerBeat(TOPO_ID, Time.currentTimeSecs(), 1), TIMEOUT_SECS);
+            Time.advanceTimeSecs(1);
+            cache.timeoutOldHeartbeats(TOPO_ID, TIMEOUT_SECS);
+            assertEquals(Collections.singleton(Arrays.asList(1, 1)), cache.getAliveExecutors(TOPO_ID, executors, assignment, LAUNCH_SECS));
+
+            cache.removeTopo(TOPO_ID);
+            assertEquals(0, cache.getNumToposCached());
+        }
+    }
+
+    @Test
+    public void testZkHeartbeats() {
+        try (SimulatedTime t = new SimulatedTime(1000_000)) {
+            Set<List<Integer>> executors = new HashSet<>(Arrays.asList(Arrays.asList(1, 1), Arrays.asList(2, 2)));
+            Assignment assignment = assignment(Time.currentTimeSecs(), executors);
+            HeartbeatCache cache = new HeartbeatCache();
+            Time.advanceTimeSecs(LAUNCH_SECS);
+
+            Map<List<Integer>, Map<String, Object>> beats = new HashMap<>();
+            beats.put(Arrays.asList(1, 1), Collections.singletonMap(ClientStatsUtil.TIME_SECS, Time.currentTimeSecs()));
+            cache.updateFromZkHeartbeat(TOPO_ID, beats, executors, TIMEOUT_SECS);
+            Time.advanceTimeSecs(TIMEOUT_SECS);
+            cache.updateFromZkHeartbeat(TOPO_ID, null, executors, TIMEOUT_SECS);
+            assertEquals(Collections.emptySet(), cache.getAliveExecutors(TOPO_ID, executors, assignment, LAUNCH_SECS));
+
+            beats.put(Arrays.asList(2, 2), Collections.singletonMap(ClientStatsUtil.TIME_SECS, Time.currentTimeSecs()));
+            cache.updateFromZkHeartbeat(TOPO_ID, beats, executors, TIMEOUT_SECS);
+            assertEquals(Collections.singleton(Arrays.asList(2, 2)), cache.getAliveExecutors(TOPO_ID, executors, assignment, LAUNCH_SECS));
+        }
+    }
+
+    @Test
+    public void testConcurrentWorkerHeartbeats() throws Exception {
+        HeartbeatCache cache = new HeartbeatCache();
+        int numThreads = 4;
+        int numTopos = 100;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            int thread = i;
+            threads.add(new Thread(() -> {
+                for (int beat = 0; beat < 1000; beat++) {
+                    cache.updateHeartbeat(workerBeat("topo-" + (beat % numTopos), beat, thread), TIMEOUT_SECS);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(numTopos, cache.getNumToposCached());
+        Set<List<Integer>> executors = new HashSet<>();
+        for (int i = 0; i < numThreads; i++) {
+            executors.add(Arrays.asList(i, i));
+        }
+        assertEquals(executors, cache.getAliveExecutors("topo-0", executors, assignment(Time.currentTimeSecs(), executors), 0));
+    }
+}
@@ -25,12 +25,16 @@ import java.util.Set;
 
 import org.apache.storm.Config;
 import org.apache.storm.DaemonConfig;
+import org.apache.storm.LocalCluster;
 import org.apache.storm.generated.InvalidTopologyException;
+import org.apache.storm.generated.RebalanceOptions;
 import org.apache.storm.generated.StormTopology;
+import org.apache.storm.generated.TopologyStatus;
 import org.apache.storm.scheduler.resource.strategies.priority.DefaultSchedulingPriorityStrategy;
 import org.apache.storm.scheduler.resource.strategies.scheduling.DefaultResourceAwareStrategy;
 import org.apache.storm.testing.TestWordSpout;
 import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.utils.ObjectReader;
 import org.apache.storm.utils.ServerUtils;
 import org.apache.storm.utils.Time;
 import org.junit.Assert;
@@ -88,4 +92,49 @@ public class NimbusTest {
 
         }
     }
+
+    @Test
+    public void testTopologyStateCacheFollowsTopologyChanges() throws Exception {
+        try (LocalCluster cluster = new LocalCluster.Builder()
+            .withSimulatedTime()
+            .withDaemonConf(DaemonConfig.NIMBUS_TOPOLOGY_STATE_CACHE_ENABLE, true)
+            //Only the changes themselves may bring the cache up to date
+            .withDaemonConf(DaemonConfig.NIMBUS_TOPOLOGY_STATE_CACHE_FULL_REFRESH_SECS, 3600)
+            .build()) {
+            int monitorSecs = ObjectReader.getInt(cluster.getDaemonConf().get(DaemonConfig.NIMBUS_MONITOR_FREQ_SECS)) + 1;
+            TopologyBuilder builder = new TopologyBuilder();
+            builder.setSpout("words", new TestWordSpout(), 4);
+            Config topoConf = new Config();
+            topoConf.setNumWorkers(1);
+            cluster.submitTopology("cached", topoConf, builder.createTopology());
+            cluster.advanceClusterTime(monitorSecs);
+            String topoId = cluster.getTopologySummaryByName("cached").get_id();
+            TopologyStateCache cache = cluster.getNimbus().getTopologyStateCache();
+            Assert.assertEquals(TopologyStatus.ACTIVE, cache.getBases().get(topoId).get_status());
+            Assert.assertEquals(1, cache.getTopologyDetails().get(topoId).getNumWorkers());
+
+            cluster.deactivate("cached");
+            cluster.advanceClusterTime(monitorSecs);
+            Assert.assertEquals(TopologyStatus.INACTIVE, cache.getBases().get(topoId).get_status());
+            cluster.activate("cached");
+            cluster.advanceClusterTime(monitorSecs);
+            Assert.assertEquals(TopologyStatus.ACTIVE, cache.getBases().get(topoId).get_status());
+
+            RebalanceOptions rebalance = new RebalanceOptions();
+            rebalance.set_wait_secs(0);
+            rebalance.set_num_workers(2);
+            cluster.rebalance("cached", rebalance);
+            cluster.advanceClusterTime(monitorSecs);
+            Assert.assertEquals(TopologyStatus.ACTIVE, cache.getBases().get(topoId).get_status());
+            Assert.assertEquals(2, cache.getTopologyDetails().get(topoId).getNumWorkers());
+            Assert.assertEquals(2, new HashSet<>(cluster.getClusterState().assignmentInfo(topoId, null)
+                                                        .get_executor_node_port().values()).size());
+
+            cluster.killTopologyWithOpts("cached", LocalCluster.KILL_NOW);
+            cluster.advanceClusterTime(monitorSecs);
+            Assert.assertFalse(cache.getBases().containsKey(topoId));
+            Assert.assertFalse(cache.getTopologyDetails().containsKey(topoId));
+            Assert.assertNull(cluster.getClusterState().assignmentInfo(topoId, null));
+        }
+    }
 }
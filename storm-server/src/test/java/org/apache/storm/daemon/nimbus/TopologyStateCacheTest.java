@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.daemon.nimbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.cluster.IStormClusterState;
+import org.apache.storm.generated.StormBase;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TopologyStateCacheTest {
+    private final Map<String, Runnable> baseCallbacks = new HashMap<>();
+    private final List<String> reads = new ArrayList<>();
+    private final List<String> active = new ArrayList<>();
+    private Runnable stormsCallback;
+    private IStormClusterState state;
+    private TopologyStateCache cache;
+
+    @Before
+    public void setUp() {
+        state = mock(IStormClusterState.class);
+        when(state.activeStorms(any(Runnable.class))).thenAnswer(invocation -> {
+            stormsCallback = invocation.getArgument(0);
+            return new ArrayList<>(active);
+        });
+        for (String topoId : Arrays.asList("topo-1", "topo-2", "topo-3")) {
+            when(state.stormBase(eq(topoId), any(Runnable.class))).thenAnswer(invocation -> {
+                baseCallbacks.put(topoId, invocation.getArgument(1));
+                return active.contains(topoId) ? new StormBase() : null;
+            });
+        }
+        cache = new TopologyStateCache(state, 300);
+    }
+
+    private int refresh() throws Exception {
+        return cache.refresh((topoId, base) -> {
+            reads.add(topoId);
+            return new TopologyDetails(topoId, new HashMap<>(), null, 1, null);
+        });
+    }
+
+    @Test
+    public void testOnlyChangedTopologiesAreRead() throws Exception {
+        active.addAll(Arrays.asList("topo-1", "topo-2"));
+        assertEquals(2, refresh());
+        assertEquals(2, cache.getTopologyDetails().size());
+        TopologyDetails topo1 = cache.getTopologyDetails().get("topo-1");
+        TopologyDetails topo2 = cache.getTopologyDetails().get("topo-2");
+
+        reads.clear();
+        assertEquals(0, refresh());
+        assertEquals(2, cache.getBases().size());
+        //The details of unchanged topologies are not built again
+        assertSame(topo1, cache.getTopologyDetails().get("topo-1"));
+
+        baseCallbacks.get("topo-2").run();
+        assertEquals(1, refresh());
+        assertEquals(Arrays.asList("topo-2"), reads);
+        assertSame(topo1, cache.getTopologyDetails().get("topo-1"));
+        assertNotSame(topo2, cache.getTopologyDetails().get("topo-2"));
+
+        reads.clear();
+        cache.invalidate("topo-1");
+        assertEquals(1, refresh());
+        assertEquals(Arrays.asList("topo-1"), reads);
+    }
+
+    @Test
+    public void testTopologiesAddedAndRemoved() throws Exception {
+        active.addAll(Arrays.asList("topo-1", "topo-2"));
+        refresh();
+
+        reads.clear();
+        active.remove("topo-1");
+        active.add("topo-3");
+        stormsCallback.run();
+        assertEquals(1, refresh());
+        assertEquals(Arrays.asList("topo-3"), reads);
+        assertEquals(2, cache.getTopologyDetails().size());
+        assertFalse(cache.getBases().containsKey("topo-1"));
+    }
+
+    @Test
+    public void testInvalidateAllRereadsEverything() throws Exception {
+        active.addAll(Arrays.asList("topo-1", "topo-2", "topo-3"));
+        refresh();
+        cache.invalidateAll();
+        assertEquals(3, refresh());
+    }
+}
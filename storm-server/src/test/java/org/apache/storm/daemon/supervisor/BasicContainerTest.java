@@ -14,29 +14,35 @@ package org.apache.storm.daemon.supervisor;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import org.apache.storm.Config;
 import org.apache.storm.DaemonConfig;
 import org.apache.storm.container.ResourceIsolationInterface;
 import org.apache.storm.daemon.supervisor.Container.ContainerType;
 import org.apache.storm.daemon.supervisor.ContainerTest.MockResourceIsolationManager;
+import org.apache.storm.daemon.worker.PrewarmedWorker;
 import org.apache.storm.generated.LocalAssignment;
 import org.apache.storm.generated.ProfileAction;
 import org.apache.storm.generated.ProfileRequest;
 import org.apache.storm.generated.StormTopology;
+import org.apache.storm.testing.TmpPath;
 import org.apache.storm.utils.LocalState;
 import org.apache.storm.utils.SimpleVersion;
 import org.apache.storm.utils.Utils;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -194,7 +200,18 @@ public class BasicContainerTest {
             "SUPERVISOR", supervisorPort, port, la, iso, ls, workerId, new StormMetricsRegistry(), new HashMap<>(), ops,
                                                        "profile");
 
-        mc.cleanUp();
+        try (TmpPath tmp = new TmpPath()) {
+            String stormRoot = tmp.getPath();
+            Files.createDirectories(tmp.getFile().toPath());
+            //The worker was writing the class list for class data sharing, cleaning it up lets the next worker write it
+            File classList = WorkerClassDataSharing.getClassList(stormRoot, 1).toFile();
+            BasicContainer.CLASS_DATA_SHARING.getWorkerOptions(stormRoot, 1, workerId);
+            assertTrue(classList.exists());
+
+            mc.cleanUp();
+
+            assertFalse(classList.exists());
+        }
 
         assertNull(mc.workerId);
         verify(ls).getApprovedWorkers();
@@ -401,6 +418,143 @@ public class BasicContainerTest {
                    "storm.log.dir", stormLogDir);
     }
 
+    @Test
+    public void testPrewarmedLaunch() throws Exception {
+        final String topoId = "test_topology_prewarmed";
+        final int supervisorPort = 6628;
+        final int port = 8080;
+        final String stormHome = ContainerTest.asAbsPath("tmp", "storm-home");
+        final String stormLogDir = ContainerTest.asFile(".", "target").getCanonicalPath();
+        final String workerId = "worker-id";
+        final String stormLocal = ContainerTest.asAbsPath("tmp", "storm-local");
+        final String distRoot = ContainerTest.asAbsPath(stormLocal, "supervisor", "stormdist", topoId);
+        final File stormcode = new File(distRoot, "stormcode.ser");
+        final String log4jdir = ContainerTest.asAbsPath(stormHome, "conf");
+
+        final StormTopology st = new StormTopology();
+        st.set_spouts(new HashMap<>());
+        st.set_bolts(new HashMap<>());
+        st.set_state_spouts(new HashMap<>());
+        byte[] serializedState = Utils.gzip(Utils.thriftSerialize(st));
+
+        final Map<String, Object> superConf = new HashMap<>();
+        superConf.put(Config.STORM_LOCAL_DIR, stormLocal);
+        superConf.put(Config.STORM_WORKERS_ARTIFACTS_DIR, stormLocal);
+        superConf.put(DaemonConfig.STORM_LOG4J2_CONF_DIR, log4jdir);
+        superConf.put(DaemonConfig.JAVA_LIBRARY_PATH, "/native");
+        superConf.put(Config.WORKER_CHILDOPTS, " -Dtesting=true -Xss2m");
+
+        LocalAssignment la = new LocalAssignment();
+        la.set_topology_id(topoId);
+
+        AdvancedFSOps ops = mock(AdvancedFSOps.class);
+        when(ops.doRequiredTopoFilesExist(superConf, topoId)).thenReturn(true);
+        when(ops.slurp(stormcode)).thenReturn(serializedState);
+
+        LocalState ls = mock(LocalState.class);
+
+        MockResourceIsolationManager iso = new MockResourceIsolationManager();
+
+        checkpoint(() -> {
+                       MockBasicContainer mc = new MockBasicContainer(ContainerType.LAUNCH, superConf,
+                "SUPERVISOR", supervisorPort, port, la, iso, ls, workerId, new StormMetricsRegistry(),
+                new HashMap<>(), ops, "profile");
+
+                       mc.launch();
+                       assertEquals(1, iso.workerCmds.size());
+                       List<String> cmd = iso.workerCmds.get(0).cmd;
+                       iso.workerCmds.clear();
+                       //The worker command follows the LogWriter command
+                       List<String> coldCmd = cmd.subList(cmd.indexOf("org.apache.storm.LogWriter") + 1, cmd.size());
+
+                       List<String> prewarmedCmd = mc.mkPrewarmedCommand(distRoot);
+                       assertNotNull(prewarmedCmd);
+                       assertEquals(PrewarmedWorker.class.getName(), prewarmedCmd.get(prewarmedCmd.size() - 1));
+                       assertTrue(prewarmedCmd.contains("-Djava.library.path=/native"));
+                       Properties adoption = mc.mkPrewarmedAdoption(distRoot);
+
+                       //The worker gets the same JVM options and system properties either way
+                       Map<String, String> coldProps = new HashMap<>();
+                       int coldCp = coldCmd.indexOf("-cp");
+                       for (String option : coldCmd.subList(1, coldCp)) {
+                           if (option.startsWith("-D")) {
+                               int index = option.indexOf('=');
+                               coldProps.put(option.substring(2, index), option.substring(index + 1));
+                           } else {
+                               assertTrue(option + " is not in " + prewarmedCmd, prewarmedCmd.contains(option));
+                           }
+                       }
+                       Map<String, String> prewarmedProps = new HashMap<>();
+                       int prewarmedCp = prewarmedCmd.indexOf("-cp");
+                       for (String option : prewarmedCmd.subList(1, prewarmedCp)) {
+                           if (option.startsWith("-D")) {
+                               int index = option.indexOf('=');
+                               prewarmedProps.put(option.substring(2, index), option.substring(index + 1));
+                           }
+                       }
+                       for (String name : adoption.stringPropertyNames()) {
+                           if (name.startsWith(PrewarmedWorker.SYSPROP_PREFIX)) {
+                               prewarmedProps.put(name.substring(PrewarmedWorker.SYSPROP_PREFIX.length()), adoption.getProperty(name));
+                           }
+                       }
+                       //The mock gives the cold launch a java.library.path of its own, the prewarmed JVM has the one of the supervisor
+                       coldProps.remove("java.library.path");
+                       prewarmedProps.remove("java.library.path");
+                       assertEquals(coldProps, prewarmedProps);
+
+                       //The classpath of the JVM and the one added when the worker is launched in it make up the cold one
+                       String adoptedClasspath = adoption.getProperty(PrewarmedWorker.CLASSPATH);
+                       assertEquals(coldCmd.get(coldCp + 1), prewarmedCmd.get(prewarmedCp + 1) + File.pathSeparator + adoptedClasspath);
+                       assertEquals(coldCmd.get(coldCp + 2), adoption.getProperty(PrewarmedWorker.MAIN));
+                       List<String> args = new ArrayList<>();
+                       for (int i = 0; adoption.containsKey(PrewarmedWorker.ARG_PREFIX + i); i++) {
+                           args.add(adoption.getProperty(PrewarmedWorker.ARG_PREFIX + i));
+                       }
+                       assertListEquals(coldCmd.subList(coldCp + 3, coldCmd.size()), args);
+                   },
+                   ConfigUtils.STORM_HOME, stormHome,
+                   "storm.log.dir", stormLogDir);
+    }
+
+    @Test
+    public void testUsePrewarmedWorkerId() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            final String topoId = "test_topology_prewarmed";
+            final int port = 8080;
+            final String stormLocal = tmp.getPath();
+            final Map<String, Object> superConf = new HashMap<>();
+            superConf.put(Config.STORM_LOCAL_DIR, stormLocal);
+            superConf.put(Config.STORM_WORKERS_ARTIFACTS_DIR, stormLocal);
+
+            LocalAssignment la = new LocalAssignment();
+            la.set_topology_id(topoId);
+            AdvancedFSOps ops = mock(AdvancedFSOps.class);
+            when(ops.doRequiredTopoFilesExist(superConf, topoId)).thenReturn(true);
+            LocalState ls = mock(LocalState.class);
+            Map<String, Integer> approved = new HashMap<>();
+            approved.put("worker-id", port);
+            when(ls.getApprovedWorkers()).thenReturn(approved);
+
+            MockBasicContainer mc = new MockBasicContainer(ContainerType.LAUNCH, superConf,
+                "SUPERVISOR", 6628, port, la, new MockResourceIsolationManager(), ls, "worker-id", new StormMetricsRegistry(),
+                new HashMap<>(), ops, "profile");
+
+            //What the JVM wrote to its artifacts before it was adopted, like the GC log, moves to the artifacts of the worker
+            File prewarmedArtifacts = new File(ConfigUtils.workerArtifactsSymlink(superConf, "prewarmed-id"));
+            assertTrue(prewarmedArtifacts.mkdirs());
+            File gcLog = Files.createFile(new File(prewarmedArtifacts, "gc.log").toPath()).toFile();
+
+            mc.useWorkerId("prewarmed-id");
+            assertEquals("prewarmed-id", mc.workerId);
+            verify(ls).setApprovedWorkers(Collections.singletonMap("prewarmed-id", port));
+
+            mc.moveArtifactsOfPrewarmedJvm();
+            File workerArtifacts = new File(ConfigUtils.workerArtifactsRoot(superConf, topoId, port));
+            verify(ops).moveFile(gcLog, new File(workerArtifacts, "gc.log"));
+            verify(ops).deleteIfExists(prewarmedArtifacts);
+        }
+    }
+
     @Test
     public void testLaunchStorm1version() throws Exception {
         final String topoId = "test_topology_storm_1.x";
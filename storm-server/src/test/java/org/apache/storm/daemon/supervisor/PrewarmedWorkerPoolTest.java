@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.daemon.supervisor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.storm.Config;
+import org.apache.storm.Testing;
+import org.apache.storm.daemon.supervisor.PrewarmedWorkerPool.PrewarmedJvm;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.testing.TmpPath;
+import org.apache.storm.utils.ConfigUtils;
+import org.junit.Test;
+
+public class PrewarmedWorkerPoolTest {
+    // Stands in for a JVM, it writes what it is given to a file in its worker directory
+    private static final List<String> COMMAND = Arrays.asList("sh", "-c", "cat > adopted");
+    private static final List<String> OTHER_COMMAND = Arrays.asList("sh", "-c", "cat > adopted;");
+    // Stands in for a JVM that cannot be given a worker, it stops reading what it is given
+    private static final List<String> BROKEN_COMMAND = Arrays.asList("sh", "-c", "exec 0<&-; touch closed; sleep 5");
+
+    private static Map<String, Object> conf(TmpPath tmp) {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put(Config.STORM_LOCAL_DIR, tmp.getPath());
+        return conf;
+    }
+
+    @Test
+    public void testTakeAndAdopt() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Map<String, Object> conf = conf(tmp);
+            try (PrewarmedWorkerPool pool = new PrewarmedWorkerPool(conf, 2, new StormMetricsRegistry())) {
+                assertNull(pool.take(COMMAND, Collections.emptyMap()));
+                pool.prepare(COMMAND, Collections.emptyMap());
+                assertNull(pool.take(OTHER_COMMAND, Collections.emptyMap()));
+
+                PrewarmedJvm jvm = pool.take(COMMAND, Collections.emptyMap());
+                assertNotNull(jvm);
+                File workerDir = new File(ConfigUtils.workerRoot(conf, jvm.getWorkerId()));
+                assertTrue(workerDir.isDirectory());
+                assertTrue(new File(ConfigUtils.workerArtifactsSymlink(conf, jvm.getWorkerId())).isDirectory());
+
+                Properties adoption = new Properties();
+                adoption.setProperty("main", "org.apache.storm.daemon.worker.Worker");
+                CompletableFuture<Integer> exitCode = new CompletableFuture<>();
+                jvm.adopt(adoption, exitCode::complete);
+                assertEquals(0, (int) exitCode.get(30, TimeUnit.SECONDS));
+                Properties adopted = new Properties();
+                try (InputStream in = new FileInputStream(new File(workerDir, "adopted"))) {
+                    adopted.load(in);
+                }
+                assertEquals(adoption, adopted);
+
+                //Another one was started for the next worker
+                PrewarmedJvm next = pool.take(COMMAND, Collections.emptyMap());
+                assertNotNull(next);
+                assertFalse(jvm.getWorkerId().equals(next.getWorkerId()));
+            }
+        }
+    }
+
+    @Test
+    public void testEvictLeastRecentlyStarted() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Map<String, Object> conf = conf(tmp);
+            try (PrewarmedWorkerPool pool = new PrewarmedWorkerPool(conf, 1, new StormMetricsRegistry())) {
+                pool.prepare(COMMAND, Collections.emptyMap());
+                pool.prepare(OTHER_COMMAND, Collections.emptyMap());
+                assertNull(pool.take(COMMAND, Collections.emptyMap()));
+                assertNotNull(pool.take(OTHER_COMMAND, Collections.emptyMap()));
+            }
+        }
+    }
+
+    @Test
+    public void testAdoptFailureKeepsWorkerDir() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Map<String, Object> conf = conf(tmp);
+            try (PrewarmedWorkerPool pool = new PrewarmedWorkerPool(conf, 1, new StormMetricsRegistry())) {
+                pool.prepare(BROKEN_COMMAND, Collections.emptyMap());
+                PrewarmedJvm jvm = pool.take(BROKEN_COMMAND, Collections.emptyMap());
+                assertNotNull(jvm);
+                File workerDir = new File(ConfigUtils.workerRoot(conf, jvm.getWorkerId()));
+                File closed = new File(workerDir, "closed");
+                Testing.whileTimeout(() -> !closed.exists(), () -> sleep());
+
+                try {
+                    jvm.adopt(new Properties(), exitCode -> fail("The worker was not launched in the JVM"));
+                    fail("The JVM could be given the worker");
+                } catch (IOException e) {
+                    //Expected
+                }
+                //The worker is launched in a new JVM in the same directory
+                File pids = new File(ConfigUtils.workerPidsRoot(conf, jvm.getWorkerId()));
+                assertTrue(pids.mkdirs());
+                Testing.whileTimeout(() -> !jvm.hasExited(), () -> sleep());
+                assertTrue(pids.isDirectory());
+            }
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
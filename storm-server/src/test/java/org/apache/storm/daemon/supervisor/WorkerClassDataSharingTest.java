@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.daemon.supervisor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.storm.testing.TmpPath;
+import org.apache.storm.utils.Time;
+import org.junit.Test;
+
+public class WorkerClassDataSharingTest {
+
+    @Test
+    public void testWorkerOptions() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            String stormRoot = tmp.getPath();
+            Files.createDirectories(tmp.getFile().toPath());
+            WorkerClassDataSharing cds = new WorkerClassDataSharing();
+
+            //The first worker writes the list of classes, the others start like they would without it
+            Path classList = WorkerClassDataSharing.getClassList(stormRoot, 1);
+            assertEquals(Collections.singletonList("-XX:DumpLoadedClassList=" + classList), cds.getWorkerOptions(stormRoot, 1, "w1"));
+            assertTrue(Files.exists(classList));
+            assertEquals(Collections.emptyList(), cds.getWorkerOptions(stormRoot, 1, "w1"));
+
+            //Once the archive is built they use it
+            Path archive = Files.createFile(WorkerClassDataSharing.getArchive(stormRoot, 1));
+            assertEquals(Arrays.asList("-XX:SharedArchiveFile=" + archive, "-Xshare:auto"), cds.getWorkerOptions(stormRoot, 1, "w1"));
+
+            //A new version of the jar needs a new archive
+            assertEquals(Collections.singletonList("-XX:DumpLoadedClassList=" + WorkerClassDataSharing.getClassList(stormRoot, 2)),
+                         cds.getWorkerOptions(stormRoot, 2, "w1"));
+        }
+    }
+
+    @Test
+    public void testWriterExitsEarly() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            String stormRoot = tmp.getPath();
+            Files.createDirectories(tmp.getFile().toPath());
+            WorkerClassDataSharing cds = new WorkerClassDataSharing();
+            Path classList = WorkerClassDataSharing.getClassList(stormRoot, 1);
+            assertEquals(Collections.singletonList("-XX:DumpLoadedClassList=" + classList), cds.getWorkerOptions(stormRoot, 1, "w1"));
+
+            //Other workers exiting leave the list alone
+            cds.workerExited("w2");
+            assertTrue(Files.exists(classList));
+
+            //The worker writing the list exited before the archive was built, the next worker writes it
+            cds.workerExited("w1");
+            assertFalse(Files.exists(classList));
+            assertEquals(Collections.singletonList("-XX:DumpLoadedClassList=" + classList), cds.getWorkerOptions(stormRoot, 1, "w2"));
+        }
+    }
+
+    @Test
+    public void testStaleClassList() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            String stormRoot = tmp.getPath();
+            Files.createDirectories(tmp.getFile().toPath());
+            Path classList = Files.createFile(WorkerClassDataSharing.getClassList(stormRoot, 1));
+
+            //An empty list left by a previous supervisor is taken over once it is stale
+            WorkerClassDataSharing cds = new WorkerClassDataSharing();
+            assertEquals(Collections.emptyList(), cds.getWorkerOptions(stormRoot, 1, "w1"));
+            long stale = Time.currentTimeMillis() - WorkerClassDataSharing.STALE_CLASS_LIST_MILLIS - 1000;
+            Files.setLastModifiedTime(classList, FileTime.fromMillis(stale));
+            assertEquals(Collections.singletonList("-XX:DumpLoadedClassList=" + classList), cds.getWorkerOptions(stormRoot, 1, "w1"));
+            assertEquals(Collections.emptyList(), cds.getWorkerOptions(stormRoot, 1, "w2"));
+        }
+    }
+
+    @Test
+    public void testCopyCompleteLines() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            String stormRoot = tmp.getPath();
+            Files.createDirectories(tmp.getFile().toPath());
+            Path classList = WorkerClassDataSharing.getClassList(stormRoot, 1);
+            Path buildClassList = WorkerClassDataSharing.getBuildClassList(stormRoot, 1);
+
+            //Nothing to build from before the worker finished the first line
+            Files.write(classList, "java/lang/Obj".getBytes(StandardCharsets.UTF_8));
+            assertFalse(WorkerClassDataSharing.copyCompleteLines(classList, buildClassList));
+
+            //The line the worker is still writing is left out
+            Files.write(classList, "java/lang/Object\njava/lang/Str".getBytes(StandardCharsets.UTF_8));
+            assertTrue(WorkerClassDataSharing.copyCompleteLines(classList, buildClassList));
+            assertEquals(Collections.singletonList("java/lang/Object"), Files.readAllLines(buildClassList));
+        }
+    }
+
+    @Test
+    public void testArchivableClasspath() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            File conf = new File(tmp.getFile(), "conf");
+            assertTrue(conf.mkdirs());
+            String classpath = String.join(File.pathSeparator, "lib-worker/*", "extlib/a.jar", conf.getPath(), "stormjar.jar");
+            assertEquals(String.join(File.pathSeparator, "lib-worker/*", "extlib/a.jar"),
+                         WorkerClassDataSharing.getArchivableClasspath(classpath));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.localizer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.testing.TmpPath;
+import org.apache.storm.utils.ServerUtils;
+import org.junit.Test;
+
+public class ContentAddressedCacheTest {
+
+    private static int links(Path file) throws Exception {
+        return ((Number) Files.getAttribute(file, "unix:nlink")).intValue();
+    }
+
+    @Test
+    public void testLinkAndDedup() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = tmp.getFile().toPath();
+            Path topo1 = Files.createDirectories(dir.resolve("topo-1"));
+            Path topo2 = Files.createDirectories(dir.resolve("topo-2"));
+            Path topo3 = Files.createDirectories(dir.resolve("topo-3"));
+            ContentAddressedCache cache = new ContentAddressedCache(dir, new StormMetricsRegistry());
+            byte[] jar = "the jar".getBytes();
+            String digest = ServerUtils.sha256Hex(Files.write(dir.resolve("jar"), jar));
+
+            assertFalse(cache.link("user", digest, topo1.resolve("stormjar.jar.1")));
+            Path downloaded = Files.write(topo1.resolve("stormjar.jar.1"), jar);
+            cache.add("user", downloaded);
+            assertEquals(2, links(downloaded));
+
+            //Same content downloaded again is replaced with a link
+            Path downloadedAgain = Files.write(topo2.resolve("stormjar.jar.1"), jar);
+            cache.add("user", downloadedAgain);
+            assertEquals(3, links(downloadedAgain));
+
+            Path linked = topo3.resolve("stormjar.jar.1");
+            assertTrue(cache.link("user", digest, linked));
+            assertArrayEquals(jar, Files.readAllBytes(linked));
+            assertEquals(4, links(linked));
+
+            //Jars are kept per user
+            assertFalse(cache.link("other-user", digest, dir.resolve("other")));
+        }
+    }
+
+    @Test
+    public void testCleanupEvictsUnusedLeastRecentlyUsedFirst() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = tmp.getFile().toPath();
+            Path topo = Files.createDirectories(dir.resolve("topo"));
+            ContentAddressedCache cache = new ContentAddressedCache(dir, new StormMetricsRegistry());
+            Path used = Files.write(topo.resolve("used"), new byte[100]);
+            Path old = Files.write(topo.resolve("old"), new byte[200]);
+            Path recent = Files.write(topo.resolve("recent"), new byte[300]);
+            for (Path p : new Path[]{ used, old, recent }) {
+                cache.add("user", p);
+            }
+            String oldDigest = ServerUtils.sha256Hex(old);
+            String recentDigest = ServerUtils.sha256Hex(recent);
+            Path cacheDir = dir.resolve(ContentAddressedCache.CONTENTCACHE).resolve("user");
+            Files.setLastModifiedTime(cacheDir.resolve(oldDigest), FileTime.fromMillis(1000));
+            Files.setLastModifiedTime(cacheDir.resolve(recentDigest), FileTime.fromMillis(2000));
+            Files.delete(old);
+            Files.delete(recent);
+
+            //Nothing to do while the unused jars fit
+            cache.cleanup(500);
+            assertTrue(Files.exists(cacheDir.resolve(oldDigest)));
+
+            cache.cleanup(400);
+            assertFalse(Files.exists(cacheDir.resolve(oldDigest)));
+            assertTrue(Files.exists(cacheDir.resolve(recentDigest)));
+
+            //Jars linked from a topology are never evicted
+            cache.cleanup(0);
+            assertFalse(Files.exists(cacheDir.resolve(recentDigest)));
+            assertTrue(Files.exists(cacheDir.resolve(ServerUtils.sha256Hex(used))));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.localizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.storm.testing.TmpPath;
+import org.junit.Test;
+
+public class JarResourceExtractorTest {
+
+    private static byte[] jar(Map<String, String> entries, int method) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                byte[] data = entry.getValue().getBytes(StandardCharsets.UTF_8);
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setMethod(method);
+                if (method == ZipEntry.STORED) {
+                    CRC32 crc = new CRC32();
+                    crc.update(data);
+                    zipEntry.setCrc(crc.getValue());
+                    zipEntry.setSize(data.length);
+                }
+                out.putNextEntry(zipEntry);
+                out.write(data);
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Map<String, String> entries(String... namesAndContents) {
+        Map<String, String> ret = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndContents.length; i += 2) {
+            ret.put(namesAndContents[i], namesAndContents[i + 1]);
+        }
+        return ret;
+    }
+
+    private static String read(Path file) throws Exception {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private static int links(Path file) throws Exception {
+        return ((Number) Files.getAttribute(file, "unix:nlink")).intValue();
+    }
+
+    /**
+     * Set up the previous version of the jar, extracted like the localizer does.
+     */
+    private static Path previousVersion(Path dir, int method) throws Exception {
+        Path previousJar = Files.write(dir.resolve("stormjar.jar"),
+                                       jar(entries("resources/a.txt", "a", "resources/sub/b.txt", "b"), method));
+        Path previousDest = Files.createDirectories(dir.resolve("resources"));
+        Files.write(previousDest.resolve("a.txt"), "a".getBytes(StandardCharsets.UTF_8));
+        Files.write(Files.createDirectories(previousDest.resolve("sub")).resolve("b.txt"), "b".getBytes(StandardCharsets.UTF_8));
+        return previousJar;
+    }
+
+    @Test
+    public void testExtractWhileDownloading() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = Files.createDirectories(tmp.getFile().toPath());
+            byte[] data = jar(entries("org/Foo.class", "foo", "resources/a.txt", "a", "resources/sub/b.txt", "b"), ZipEntry.DEFLATED);
+            Path jar = dir.resolve("stormjar.jar.1");
+            Path dest = dir.resolve("resources.1");
+            try (JarResourceExtractor extractor = new JarResourceExtractor("resources", dir.resolve("stormjar.jar"),
+                                                                           dir.resolve("resources"), 2)) {
+                try (OutputStream out = extractor.extractWhileWriting(new FileOutputStream(jar.toFile()), dest)) {
+                    //Write it in small pieces, like a download
+                    for (int i = 0; i < data.length; i += 10) {
+                        out.write(data, i, Math.min(10, data.length - i));
+                    }
+                }
+                extractor.finish(jar, dest);
+            }
+            assertEquals("a", read(dest.resolve("a.txt")));
+            assertEquals("b", read(dest.resolve("sub/b.txt")));
+            assertFalse(Files.exists(dest.resolve("org")));
+        }
+    }
+
+    @Test
+    public void testExtractAfterDownloadLinksUnchanged() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = Files.createDirectories(tmp.getFile().toPath());
+            Path previousJar = previousVersion(dir, ZipEntry.DEFLATED);
+            Path jar = Files.write(dir.resolve("stormjar.jar.2"),
+                                   jar(entries("resources/a.txt", "a", "resources/sub/b.txt", "changed", "resources/c.txt", "c"),
+                                       ZipEntry.DEFLATED));
+            Path dest = dir.resolve("resources.2");
+            try (JarResourceExtractor extractor = new JarResourceExtractor("resources", previousJar, dir.resolve("resources"), 2)) {
+                //Nothing was streamed, like when the jar is linked from the content cache
+                extractor.finish(jar, dest);
+            }
+            assertEquals("a", read(dest.resolve("a.txt")));
+            assertEquals(2, links(dest.resolve("a.txt")));
+            assertEquals("changed", read(dest.resolve("sub/b.txt")));
+            assertEquals(1, links(dest.resolve("sub/b.txt")));
+            assertEquals("c", read(dest.resolve("c.txt")));
+        }
+    }
+
+    @Test
+    public void testExtractWhileDownloadingLinksUnchanged() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = Files.createDirectories(tmp.getFile().toPath());
+            Path previousJar = previousVersion(dir, ZipEntry.STORED);
+            //Stored entries have their checksum before the data, so they can be compared while downloading
+            byte[] data = jar(entries("resources/a.txt", "a", "resources/sub/b.txt", "changed"), ZipEntry.STORED);
+            Path jar = dir.resolve("stormjar.jar.2");
+            Path dest = dir.resolve("resources.2");
+            try (JarResourceExtractor extractor = new JarResourceExtractor("resources", previousJar, dir.resolve("resources"), 2)) {
+                try (OutputStream out = extractor.extractWhileWriting(new FileOutputStream(jar.toFile()), dest)) {
+                    out.write(data);
+                }
+                extractor.finish(jar, dest);
+            }
+            assertEquals("a", read(dest.resolve("a.txt")));
+            assertEquals(2, links(dest.resolve("a.txt")));
+            assertEquals("changed", read(dest.resolve("sub/b.txt")));
+            assertEquals(1, links(dest.resolve("sub/b.txt")));
+        }
+    }
+
+    @Test
+    public void testChangedExtractionIsNotLinked() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = Files.createDirectories(tmp.getFile().toPath());
+            Path previousJar = previousVersion(dir, ZipEntry.DEFLATED);
+            //Something changed the file after it was extracted, the size is the same
+            Files.write(dir.resolve("resources").resolve("a.txt"), "x".getBytes(StandardCharsets.UTF_8));
+            Path jar = Files.write(dir.resolve("stormjar.jar.2"), jar(entries("resources/a.txt", "a"), ZipEntry.DEFLATED));
+            Path dest = dir.resolve("resources.2");
+            try (JarResourceExtractor extractor = new JarResourceExtractor("resources", previousJar, dir.resolve("resources"), 2)) {
+                extractor.finish(jar, dest);
+            }
+            assertEquals("a", read(dest.resolve("a.txt")));
+            assertEquals(1, links(dest.resolve("a.txt")));
+        }
+    }
+
+    @Test
+    public void testEntriesOutsideOfTheDestinationAreSkipped() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = Files.createDirectories(tmp.getFile().toPath());
+            //The sibling directory starts with the name of the destination
+            Path jar = Files.write(dir.resolve("stormjar.jar.1"),
+                                   jar(entries("resources/a.txt", "a", "resources/../resources.1x/b.txt", "b"), ZipEntry.DEFLATED));
+            Path dest = dir.resolve("resources.1");
+            try (JarResourceExtractor extractor = new JarResourceExtractor("resources", dir.resolve("stormjar.jar"),
+                                                                           dir.resolve("resources"), 2)) {
+                extractor.finish(jar, dest);
+            }
+            assertEquals("a", read(dest.resolve("a.txt")));
+            assertFalse(Files.exists(dir.resolve("resources.1x")));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.localizer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.storm.Config;
+import org.apache.storm.Testing;
+import org.apache.storm.generated.Supervisor;
+import org.apache.storm.localizer.LocallyCachedBlob.DownloadMeta;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.security.auth.SimpleTransportPlugin;
+import org.apache.storm.security.auth.ThriftConnectionType;
+import org.apache.storm.security.auth.ThriftServer;
+import org.apache.storm.testing.TmpPath;
+import org.apache.storm.utils.ConfigUtils;
+import org.apache.storm.utils.ServerUtils;
+import org.apache.storm.utils.SupervisorClient;
+import org.apache.storm.utils.SupervisorIfaceFactory;
+import org.apache.storm.utils.Utils;
+import org.junit.Test;
+
+public class PeerBlobDistributionTest {
+    private static final String TOPO_ID = "topo-1";
+    private static final String KEY = "topo-1-stormjar.jar";
+    private static final int CHUNK_SIZE = 1024;
+
+    private static PeerBlobDistribution.Peers peers(List<String> peerIds, Supervisor.Iface iface) {
+        Map<String, Supervisor.Iface> ifaces = new HashMap<>();
+        for (String peer : peerIds) {
+            ifaces.put(peer, iface);
+        }
+        return peers(ifaces);
+    }
+
+    private static PeerBlobDistribution.Peers peers(Map<String, Supervisor.Iface> ifaces) {
+        return new PeerBlobDistribution.Peers() {
+            @Override
+            public List<String> getPeers(String topologyId) {
+                return new ArrayList<>(ifaces.keySet());
+            }
+
+            @Override
+            public SupervisorIfaceFactory connect(String peer) {
+                return () -> ifaces.get(peer);
+            }
+        };
+    }
+
+    private static Supervisor.Iface serving(PeerBlobDistribution seed) throws Exception {
+        Supervisor.Iface iface = mock(Supervisor.Iface.class);
+        when(iface.getBlobChunkManifest(anyString())).thenAnswer(invocation -> seed.getManifest(invocation.getArgument(0)));
+        when(iface.getBlobChunk(anyString())).thenAnswer(invocation -> seed.getChunk(invocation.getArgument(0)));
+        return iface;
+    }
+
+    private static byte[] seedBlob(Path dir, PeerBlobDistribution seed, long version) throws Exception {
+        return seedBlob(dir.resolve("stormjar.jar"), seed, version, 42);
+    }
+
+    private static byte[] seedBlob(Path blob, PeerBlobDistribution seed, long version, long contentSeed) throws Exception {
+        byte[] data = new byte[CHUNK_SIZE * 3 + 100];
+        new Random(contentSeed).nextBytes(data);
+        Files.write(blob, data);
+        seed.register(KEY, blob, version);
+        return data;
+    }
+
+    private static DownloadMeta fetch(PeerBlobDistribution dist, Path dest, long version, byte[] expected) {
+        return dist.fetch(TOPO_ID, KEY, version, ServerUtils.sha256Hex(expected), v -> dest, FileOutputStream::new);
+    }
+
+    @Test
+    public void testFetchFromPeer() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = tmp.getFile().toPath();
+            Files.createDirectories(dir);
+            PeerBlobDistribution seed = new PeerBlobDistribution(peers(Collections.emptyList(), null), CHUNK_SIZE,
+                                                                 new StormMetricsRegistry());
+            byte[] data = seedBlob(dir, seed, 5);
+
+            PeerBlobDistribution fetcher = new PeerBlobDistribution(peers(Collections.singletonList("seed:6628"), serving(seed)),
+                                                                    CHUNK_SIZE, new StormMetricsRegistry());
+            Path dest = dir.resolve("stormjar.jar.5");
+            DownloadMeta meta = fetch(fetcher, dest, 5, data);
+            assertNotNull(meta);
+            assertEquals(5, meta.getVersion());
+            assertArrayEquals(data, Files.readAllBytes(dest));
+
+            BlobChunkManifest manifest = BlobChunkManifest.fromBytes(seed.getManifest(KEY));
+            assertEquals(4, manifest.getDigests().size());
+            assertEquals(manifest, BlobChunkManifest.compute(dest, 5, CHUNK_SIZE));
+        }
+    }
+
+    @Test
+    public void testFallBackToBlobStore() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = tmp.getFile().toPath();
+            Files.createDirectories(dir);
+            PeerBlobDistribution seed = new PeerBlobDistribution(peers(Collections.emptyList(), null), CHUNK_SIZE,
+                                                                 new StormMetricsRegistry());
+            byte[] data = seedBlob(dir, seed, 5);
+            Path dest = dir.resolve("stormjar.jar.6");
+
+            //No other supervisors
+            assertNull(fetch(seed, dest, 5, data));
+
+            //The other supervisor has an older version
+            Supervisor.Iface iface = serving(seed);
+            PeerBlobDistribution fetcher = new PeerBlobDistribution(peers(Collections.singletonList("seed:6628"), iface),
+                                                                    CHUNK_SIZE, new StormMetricsRegistry());
+            assertNull(fetch(fetcher, dest, 6, data));
+
+            //The other supervisor sends a chunk that does not match the manifest
+            when(iface.getBlobChunk(anyString())).thenReturn(ByteBuffer.wrap(new byte[CHUNK_SIZE]));
+            assertNull(fetch(fetcher, dest, 5, data));
+
+            //The other supervisor no longer has the blob
+            seed.unregister(KEY);
+            assertEquals(0, seed.getManifest(KEY).remaining());
+            assertNull(fetch(fetcher, dest, 5, data));
+        }
+    }
+
+    @Test
+    public void testFallBackWhenPeersCannotBeTrusted() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = tmp.getFile().toPath();
+            Files.createDirectories(dir);
+            PeerBlobDistribution seed = new PeerBlobDistribution(peers(Collections.emptyList(), null), CHUNK_SIZE,
+                                                                 new StormMetricsRegistry());
+            byte[] data = seedBlob(dir, seed, 5);
+            PeerBlobDistribution other = new PeerBlobDistribution(peers(Collections.emptyList(), null), CHUNK_SIZE,
+                                                                  new StormMetricsRegistry());
+            byte[] otherData = seedBlob(dir.resolve("other.jar"), other, 5, 7);
+            Path dest = dir.resolve("stormjar.jar.5");
+
+            //Nimbus did not record a digest
+            PeerBlobDistribution fetcher = new PeerBlobDistribution(peers(Collections.singletonList("seed:6628"), serving(seed)),
+                                                                    CHUNK_SIZE, new StormMetricsRegistry());
+            assertNull(fetcher.fetch(TOPO_ID, KEY, 5, null, v -> dest, FileOutputStream::new));
+
+            //The other supervisor has a consistent manifest and chunks, but not what nimbus has
+            assertNull(fetch(fetcher, dest, 5, otherData));
+
+            //The other supervisors disagree on the manifest
+            Map<String, Supervisor.Iface> ifaces = new HashMap<>();
+            ifaces.put("seed:6628", serving(seed));
+            ifaces.put("other:6628", serving(other));
+            fetcher = new PeerBlobDistribution(peers(ifaces), CHUNK_SIZE, new StormMetricsRegistry());
+            assertNull(fetch(fetcher, dest, 5, data));
+            assertNull(fetch(fetcher, dest, 5, otherData));
+        }
+    }
+
+    @Test
+    public void testChunkSharedByBlobs() throws Exception {
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = tmp.getFile().toPath();
+            Files.createDirectories(dir);
+            PeerBlobDistribution seed = new PeerBlobDistribution(peers(Collections.emptyList(), null), CHUNK_SIZE,
+                                                                 new StormMetricsRegistry());
+            //Another topology with the same jar has the same chunks
+            byte[] data = seedBlob(dir, seed, 5);
+            Files.write(dir.resolve("other.jar"), data);
+            seed.register("topo-2-stormjar.jar", dir.resolve("other.jar"), 3);
+            BlobChunkManifest manifest = BlobChunkManifest.fromBytes(seed.getManifest(KEY));
+            assertEquals(manifest.getDigests(), BlobChunkManifest.fromBytes(seed.getManifest("topo-2-stormjar.jar")).getDigests());
+
+            //The chunks are still served as long as one of the blobs is
+            String digest = manifest.getDigests().get(0);
+            seed.unregister(KEY);
+            assertEquals(CHUNK_SIZE, seed.getChunk(digest).remaining());
+            seed.unregister("topo-2-stormjar.jar");
+            assertEquals(0, seed.getChunk(digest).remaining());
+        }
+    }
+
+    @Test
+    public void testFullChunkFitsInThriftFrame() throws Exception {
+        Map<String, Object> conf = ConfigUtils.readStormConfig();
+        conf.put(Config.SUPERVISOR_THRIFT_PORT, 0);
+        conf.put(Config.STORM_THRIFT_TRANSPORT_PLUGIN, SimpleTransportPlugin.class.getName());
+        int chunkSize = BlobChunkManifest.getChunkSize(conf);
+        try (TmpPath tmp = new TmpPath()) {
+            Path dir = tmp.getFile().toPath();
+            Files.createDirectories(dir);
+            PeerBlobDistribution seed = new PeerBlobDistribution(conf, peers(Collections.emptyList(), null), new StormMetricsRegistry());
+            byte[] data = new byte[chunkSize + 100];
+            new Random(42).nextBytes(data);
+            seed.register(KEY, Files.write(dir.resolve("stormjar.jar"), data), 5);
+
+            ThriftServer server = new ThriftServer(conf, new Supervisor.Processor<>(serving(seed)), ThriftConnectionType.SUPERVISOR);
+            new Thread(server::serve).start();
+            Testing.whileTimeout(() -> !server.isServing(), () -> Utils.sleep(100));
+            try {
+                //The chunks go through the framed transport the supervisors use, with the default max buffer size
+                PeerBlobDistribution fetcher = new PeerBlobDistribution(conf, new PeerBlobDistribution.Peers() {
+                    @Override
+                    public List<String> getPeers(String topologyId) {
+                        return Collections.singletonList("localhost:" + server.getPort());
+                    }
+
+                    @Override
+                    public SupervisorIfaceFactory connect(String peer) {
+                        return SupervisorClient.getConfiguredClient(conf, "localhost", server.getPort());
+                    }
+                }, new StormMetricsRegistry());
+                Path dest = dir.resolve("stormjar.jar.5");
+                assertNotNull(fetch(fetcher, dest, 5, data));
+                assertArrayEquals(data, Files.readAllBytes(dest));
+            } finally {
+                server.stop();
+            }
+        }
+    }
+}
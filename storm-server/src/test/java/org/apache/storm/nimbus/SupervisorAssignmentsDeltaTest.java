@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.nimbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.generated.Assignment;
+import org.apache.storm.generated.NodeInfo;
+import org.apache.storm.generated.SupervisorAssignments;
+import org.apache.storm.generated.WorkerResources;
+import org.junit.Test;
+
+public class SupervisorAssignmentsDeltaTest {
+
+    private static Assignment assignment(int numExecutors, String... nodes) {
+        Assignment assignment = new Assignment("/code-dir");
+        assignment.set_owner("user");
+        for (String node : nodes) {
+            assignment.put_to_node_host(node, node + ".host");
+        }
+        for (int i = 0; i < numExecutors; i++) {
+            List<Long> executor = Arrays.asList((long) i, (long) i);
+            NodeInfo slot = new NodeInfo(nodes[i % nodes.length], Collections.singleton(6700L + i % 2));
+            assignment.put_to_executor_node_port(executor, slot);
+            assignment.put_to_executor_start_time_secs(executor, 1000L);
+            WorkerResources resources = new WorkerResources();
+            resources.set_mem_on_heap(256.0);
+            assignment.put_to_worker_resources(slot, resources);
+        }
+        return assignment;
+    }
+
+    @Test
+    public void testMoveExecutor() {
+        Map<String, Assignment> previous = new HashMap<>();
+        previous.put("topo-1", assignment(100, "node-1", "node-2"));
+        previous.put("topo-2", assignment(10, "node-1"));
+
+        Map<String, Assignment> next = new HashMap<>(previous);
+        Assignment moved = new Assignment(previous.get("topo-1"));
+        List<Long> executor = Arrays.asList(3L, 3L);
+        NodeInfo slot = new NodeInfo("node-3", Collections.singleton(6700L));
+        moved.put_to_node_host("node-3", "node-3.host");
+        moved.put_to_executor_node_port(executor, slot);
+        moved.put_to_executor_start_time_secs(executor, 2000L);
+        moved.put_to_worker_resources(slot, new WorkerResources());
+        next.put("topo-1", moved);
+
+        SupervisorAssignments delta = SupervisorAssignmentsDelta.diff(previous, next);
+        assertEquals(Collections.singleton("topo-1"), delta.get_storm_assignment().keySet());
+        Assignment changed = delta.get_storm_assignment().get("topo-1");
+        assertEquals(1, changed.get_node_host_size());
+        assertEquals(1, changed.get_executor_node_port_size());
+        assertEquals(1, changed.get_executor_start_time_secs_size());
+        assertEquals(1, changed.get_worker_resources_size());
+        assertFalse(delta.is_set_removed_entries());
+        assertFalse(delta.is_set_removed_topologies());
+
+        assertEquals(next, SupervisorAssignmentsDelta.apply(previous, delta));
+    }
+
+    @Test
+    public void testRemovedEntriesAndTopologies() {
+        Map<String, Assignment> previous = new HashMap<>();
+        previous.put("topo-1", assignment(4, "node-1", "node-2"));
+        previous.put("topo-2", assignment(2, "node-1"));
+
+        Map<String, Assignment> next = new HashMap<>();
+        next.put("topo-1", assignment(2, "node-1"));
+        next.put("topo-3", assignment(2, "node-2"));
+
+        SupervisorAssignments delta = SupervisorAssignmentsDelta.diff(previous, next);
+        assertEquals(Collections.singletonList("topo-2"), delta.get_removed_topologies());
+        assertTrue(delta.get_removed_entries().containsKey("topo-1"));
+        assertEquals(next, SupervisorAssignmentsDelta.apply(previous, delta));
+        // applying does not change the assignments it was given
+        assertEquals(2, previous.size());
+        assertEquals(4, previous.get("topo-1").get_executor_node_port_size());
+    }
+
+    @Test
+    public void testNodeAssignmentsVersion() {
+        Map<String, Assignment> first = Collections.singletonMap("topo-1", assignment(4, "node-1"));
+        Map<String, Assignment> second = Collections.singletonMap("topo-1", assignment(2, "node-1"));
+
+        AssignmentDistributionService.NodeAssignmentsVersion version = new AssignmentDistributionService.NodeAssignmentsVersion();
+        SupervisorAssignments full = version.next(first, false);
+        assertFalse(full.is_set_base_version());
+        assertEquals(first, full.get_storm_assignment());
+
+        SupervisorAssignments delta = version.next(second, false);
+        assertEquals(full.get_version(), delta.get_base_version());
+        assertEquals(full.get_version() + 1, delta.get_version());
+        assertEquals(second, SupervisorAssignmentsDelta.apply(full.get_storm_assignment(), delta));
+
+        version.resync();
+        SupervisorAssignments resynced = version.next(second, false);
+        assertFalse(resynced.is_set_base_version());
+        assertEquals(delta.get_version() + 1, resynced.get_version());
+    }
+}
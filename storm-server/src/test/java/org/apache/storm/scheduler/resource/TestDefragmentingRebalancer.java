@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource;
+
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.createClusterConfig;
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.genSupervisors;
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.genTopology;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.DaemonConfig;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.scheduler.Cluster;
+import org.apache.storm.scheduler.ExecutorDetails;
+import org.apache.storm.scheduler.SupervisorDetails;
+import org.apache.storm.scheduler.Topologies;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.WorkerSlot;
+import org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.INimbusTest;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResourcesExtension;
+import org.apache.storm.scheduler.resource.normalization.ResourceMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith({NormalizedResourcesExtension.class})
+public class TestDefragmentingRebalancer {
+    private static final int CURRENT_TIME = 1450418597;
+
+    /**
+     * A cluster with one topology that has one executor on each of two nodes, although they would fit on one.
+     */
+    private Cluster spreadOutCluster(Config config, TopologyDetails topo) {
+        Map<String, SupervisorDetails> supMap = genSupervisors(4, 4, 400, 2000);
+        Cluster cluster = new Cluster(new INimbusTest(), new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(),
+            new Topologies(topo), config);
+        List<String> nodeIds = new ArrayList<>(supMap.keySet());
+        Collections.sort(nodeIds);
+        int i = 0;
+        for (ExecutorDetails exec : topo.getExecutors()) {
+            SupervisorDetails sup = supMap.get(nodeIds.get(i++));
+            cluster.assign(new WorkerSlot(sup.getId(), sup.getAllPorts().iterator().next()), topo.getId(), Collections.singleton(exec));
+        }
+        return cluster;
+    }
+
+    @Test
+    public void testSelectsTopologyThatFreesNodes() {
+        Config config = createClusterConfig(50, 250, 250, null);
+        TopologyDetails topo = genTopology("topo-1", config, 1, 0, 2, 0, CURRENT_TIME - 2, 10, "user");
+        Cluster cluster = spreadOutCluster(config, topo);
+
+        DefragmentingRebalancer rebalancer = new DefragmentingRebalancer();
+        rebalancer.prepare(config);
+        try {
+            assertEquals(topo.getId(), rebalancer.selectTopologyToRebalance(new Cluster(cluster)));
+            assertEquals(2, cluster.getUsedSlots().size());
+            // picked too recently
+            assertNull(rebalancer.selectTopologyToRebalance(new Cluster(cluster)));
+        } finally {
+            rebalancer.cleanup();
+        }
+    }
+
+    @Test
+    public void testDoesNotSelectBelowThreshold() {
+        Config config = createClusterConfig(50, 250, 250, null);
+        config.put(DaemonConfig.NIMBUS_DEFRAGMENTING_REBALANCER_MIN_NODES_FREED, 2);
+        TopologyDetails topo = genTopology("topo-1", config, 1, 0, 2, 0, CURRENT_TIME - 2, 10, "user");
+        Cluster cluster = spreadOutCluster(config, topo);
+
+        DefragmentingRebalancer rebalancer = new DefragmentingRebalancer();
+        rebalancer.prepare(config);
+        try {
+            assertNull(rebalancer.selectTopologyToRebalance(new Cluster(cluster)));
+        } finally {
+            rebalancer.cleanup();
+        }
+    }
+
+    @Test
+    public void testDoesNotSelectPackedTopology() {
+        Config config = createClusterConfig(50, 250, 250, null);
+        TopologyDetails topo = genTopology("topo-1", config, 1, 0, 2, 0, CURRENT_TIME - 2, 10, "user");
+        Map<String, SupervisorDetails> supMap = genSupervisors(4, 4, 400, 2000);
+        Cluster cluster = new Cluster(new INimbusTest(), new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(),
+            new Topologies(topo), config);
+        ResourceAwareScheduler scheduler = new ResourceAwareScheduler();
+        scheduler.prepare(config, new StormMetricsRegistry());
+        try {
+            scheduler.schedule(cluster.getTopologies(), cluster);
+        } finally {
+            scheduler.cleanup();
+        }
+
+        DefragmentingRebalancer rebalancer = new DefragmentingRebalancer();
+        rebalancer.prepare(config);
+        try {
+            assertNull(rebalancer.selectTopologyToRebalance(new Cluster(cluster)));
+        } finally {
+            rebalancer.cleanup();
+        }
+    }
+}
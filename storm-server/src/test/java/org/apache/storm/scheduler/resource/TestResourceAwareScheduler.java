@@ -36,6 +36,7 @@ import org.apache.storm.scheduler.INimbus;
 import org.apache.storm.scheduler.IScheduler;
 import org.apache.storm.scheduler.SchedulerAssignment;
 import org.apache.storm.scheduler.SchedulerAssignmentImpl;
+import org.apache.storm.scheduler.SingleTopologyCluster;
 import org.apache.storm.scheduler.SupervisorDetails;
 import org.apache.storm.scheduler.Topologies;
 import org.apache.storm.scheduler.TopologyDetails;
@@ -842,6 +843,107 @@ public class TestResourceAwareScheduler {
         }
     }
 
+    @Test
+    public void testMultipleUsersWithParallelScheduling() {
+        INimbus iNimbus = new INimbusTest();
+        Map<String, SupervisorDetails> supMap = genSupervisors(20, 4, 1000, 1024 * 10);
+        Map<String, Map<String, Number>> resourceUserPool = userResourcePool(
+            userRes("jerry", 1_000, 8_192),
+            userRes("bobby", 10_000, 32_768),
+            userRes("derek", 5_000, 16_384));
+        Config config = createClusterConfig(10, 128, 0, resourceUserPool);
+        config.put(DaemonConfig.RESOURCE_AWARE_SCHEDULER_PARALLEL_SCHEDULING_THREADS, 4);
+
+        List<TopologyDetails> topos = new ArrayList<>();
+        String[] users = {"jerry", "bobby", "derek"};
+        for (int i = 0; i < 15; i++) {
+            topos.add(genTopology("topo-" + (i + 1), config, 5, 15, 1, 1, currentTime - 2 - 2 * i, 20 + i % 10, users[i / 5]));
+        }
+        Topologies topologies = new Topologies(topos.toArray(new TopologyDetails[0]));
+        Cluster cluster = new Cluster(iNimbus, new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(), topologies, config);
+
+        scheduler = new ResourceAwareScheduler();
+        scheduler.prepare(config, new StormMetricsRegistry());
+        scheduler.schedule(topologies, cluster);
+        for (TopologyDetails td : topologies) {
+            assertTopologiesFullyScheduled(cluster, td.getName());
+        }
+        // no slot may be handed out twice when the speculative results are committed
+        Set<WorkerSlot> usedSlots = new HashSet<>();
+        for (SchedulerAssignment assignment : cluster.getAssignments().values()) {
+            for (WorkerSlot slot : assignment.getSlots()) {
+                assertTrue(slot + " is assigned more than once", usedSlots.add(slot));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSchedulingFallsBackOnConflicts() {
+        INimbus iNimbus = new INimbusTest();
+        Map<String, SupervisorDetails> supMap = genSupervisors(4, 4, 100, 1000);
+        Map<String, Map<String, Number>> resourceUserPool = userResourcePool(
+            userRes("jerry", 200, 2000));
+
+        Config config = createClusterConfig(100, 500, 500, resourceUserPool);
+        config.put(DaemonConfig.RESOURCE_AWARE_SCHEDULER_PARALLEL_SCHEDULING_THREADS, 4);
+
+        Topologies topologies = new Topologies(
+            genTopology("topo-1", config, 1, 0, 1, 0, currentTime - 2, 10, "jerry"),
+            genTopology("topo-2", config, 1, 0, 1, 0, currentTime - 2, 20, "jerry"),
+            genTopology("topo-3", config, 1, 0, 1, 0, currentTime - 2, 20, "jerry"),
+            genTopology("topo-4", config, 1, 0, 1, 0, currentTime - 2, 10, "bobby"),
+            genTopology("topo-5", config, 1, 0, 1, 0, currentTime - 2, 20, "bobby"));
+        Cluster cluster = new Cluster(iNimbus, new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(), topologies, config);
+
+        // every speculative result is computed against the empty cluster, so all of them compete for the same nodes
+        scheduler = new ResourceAwareScheduler();
+        scheduler.prepare(config, new StormMetricsRegistry());
+        scheduler.schedule(topologies, cluster);
+        assertTopologiesFullyScheduled(cluster, "topo-1", "topo-2", "topo-3", "topo-4");
+        assertTopologiesNotScheduled(cluster, "topo-5");
+    }
+
+    @Test
+    public void testParallelSchedulingCopiesTopologyState() {
+        INimbus iNimbus = new INimbusTest();
+        Map<String, SupervisorDetails> supMap = genSupervisors(2, 4, 100, 1000);
+        Config config = createClusterConfig(100, 500, 500, null);
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("list", new ArrayList<>(Arrays.asList("a")));
+        config.put("test.nested.conf", nested);
+
+        TopologyDetails topo1 = genTopology("topo-1", config, 1, 0, 1, 0, currentTime - 2, 10, "jerry");
+        TopologyDetails topo2 = genTopology("topo-2", config, 1, 0, 1, 0, currentTime - 2, 10, "jerry");
+        Topologies topologies = new Topologies(topo1, topo2);
+        Cluster cluster = new Cluster(iNimbus, new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(), topologies, config);
+
+        // the cluster a parallel strategy schedules on shares no state it could change with the other strategies
+        SingleTopologyCluster snapshot = new SingleTopologyCluster(cluster, topo1);
+        TopologyDetails copy = snapshot.getTopologies().getById(topo1.getId());
+        assertNotSame(topo1, copy);
+        assertEquals(topo1.getExecutorToComponent(), copy.getExecutorToComponent());
+        assertNotSame(topo1.getTopology(), copy.getTopology());
+        assertEquals(topo1.getTopology(), copy.getTopology());
+        assertNotSame(topo1.getConf(), copy.getConf());
+        assertEquals(topo1.getConf(), copy.getConf());
+        ((List<Object>) ((Map<String, Object>) copy.getConf().get("test.nested.conf")).get("list")).add("b");
+        assertEquals(Arrays.asList("a"), ((Map<String, Object>) topo1.getConf().get("test.nested.conf")).get("list"));
+        ((Map<String, Object>) snapshot.getConf().get("test.nested.conf")).clear();
+        assertFalse(((Map<String, Object>) cluster.getConf().get("test.nested.conf")).isEmpty());
+        for (SupervisorDetails sup : cluster.getSupervisors().values()) {
+            SupervisorDetails supCopy = snapshot.getSupervisors().get(sup.getId());
+            assertNotSame(sup, supCopy);
+            assertNotSame(sup.getTotalResources(), supCopy.getTotalResources());
+            assertEquals(sup.getAllPorts(), supCopy.getAllPorts());
+            assertEquals(sup.getTotalMemory(), supCopy.getTotalMemory(), 0.001);
+            assertEquals(sup.getTotalCpu(), supCopy.getTotalCpu(), 0.001);
+        }
+
+        // the other topologies are only read, and cannot be changed through the snapshot
+        assertSame(topo2, snapshot.getTopologies().getById(topo2.getId()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> snapshot.unassign(topo2.getId()));
+    }
+
     @Test
     public void testHandlingClusterSubscription() {
         INimbus iNimbus = new INimbusTest();
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.normalization;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.apache.storm.Config;
+import org.apache.storm.Constants;
+
+/**
+ * Micro benchmark of the resource checks done for every candidate node while scheduling, {@link NormalizedResourceOffer#couldFit}
+ * and {@link NormalizedResourceOffer#calculateAveragePercentageUsedBy}, along with computing the resources available on a node in
+ * place. It is not run as part of the tests.
+ *
+ * <pre>
+ * NormalizedResourcesBenchmark [generic-resources] [iterations]
+ * </pre>
+ */
+public class NormalizedResourcesBenchmark {
+    private static final int NODES = 1000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int genericResources = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        Map<String, Number> names = new HashMap<>();
+        for (int i = 0; i < genericResources; i++) {
+            names.put("resource-" + i, 0);
+        }
+        NormalizedResources.registerResourceNames(names);
+
+        Random random = new Random(0);
+        NormalizedResourceOffer[] totals = new NormalizedResourceOffer[NODES];
+        NormalizedResourceOffer[] used = new NormalizedResourceOffer[NODES];
+        for (int i = 0; i < NODES; i++) {
+            Map<String, Double> total = new HashMap<>();
+            Map<String, Double> use = new HashMap<>();
+            total.put(Constants.COMMON_CPU_RESOURCE_NAME, 400.0);
+            use.put(Constants.COMMON_CPU_RESOURCE_NAME, random.nextDouble() * 400.0);
+            total.put(Constants.COMMON_TOTAL_MEMORY_RESOURCE_NAME, 8192.0);
+            use.put(Constants.COMMON_TOTAL_MEMORY_RESOURCE_NAME, random.nextDouble() * 8192.0);
+            for (String name : names.keySet()) {
+                total.put(name, 10.0);
+                use.put(name, random.nextDouble() * 10.0);
+            }
+            totals[i] = new NormalizedResourceOffer(total);
+            used[i] = new NormalizedResourceOffer(use);
+        }
+        Map<String, Object> topoConf = new HashMap<>();
+        topoConf.put(Config.TOPOLOGY_COMPONENT_CPU_PCORE_PERCENT, 50.0);
+        topoConf.put(Config.TOPOLOGY_COMPONENT_RESOURCES_ONHEAP_MEMORY_MB, 256.0);
+        topoConf.put(Config.TOPOLOGY_COMPONENT_RESOURCES_OFFHEAP_MEMORY_MB, 0.0);
+        topoConf.put(Config.TOPOLOGY_COMPONENT_RESOURCES_MAP, new HashMap<>(names));
+        NormalizedResourceRequest request = new NormalizedResourceRequest(topoConf, "bolt");
+        NormalizedResourceOffer available = new NormalizedResourceOffer();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long fits = 0;
+            long start = System.nanoTime();
+            for (int it = 0; it < iterations; it++) {
+                for (int i = 0; i < NODES; i++) {
+                    if (used[i].couldFit(10.0, request)) {
+                        fits++;
+                    }
+                }
+            }
+            long couldFitNs = System.nanoTime() - start;
+
+            double sum = 0.0;
+            start = System.nanoTime();
+            for (int it = 0; it < iterations; it++) {
+                for (int i = 0; i < NODES; i++) {
+                    sum += totals[i].calculateAveragePercentageUsedBy(used[i]);
+                }
+            }
+            long averageNs = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int it = 0; it < iterations; it++) {
+                for (int i = 0; i < NODES; i++) {
+                    available.set(totals[i]);
+                    available.remove(used[i]);
+                }
+            }
+            long availableNs = System.nanoTime() - start;
+
+            double ops = (double) iterations * NODES;
+            System.out.println(String.format("round %d: couldFit %.1f ns/op, calculateAvg %.1f ns/op, available in place %.1f ns/op"
+                                             + " (%d %.0f)", round, couldFitNs / ops, averageNs / ops, availableNs / ops, fits, sum));
+        }
+    }
+}
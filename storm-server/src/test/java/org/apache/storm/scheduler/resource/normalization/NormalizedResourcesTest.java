@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import org.apache.storm.Constants;
+import org.apache.storm.generated.WorkerResources;
 import org.apache.storm.metric.StormMetricsRegistry;
 import org.junit.Rule;
 import org.junit.Test;
@@ -402,4 +403,66 @@ public class NormalizedResourcesTest {
         expectedException.expect(IllegalArgumentException.class);
         resources.calculateMinPercentageUsedBy(usedResources, 4, 1);        
     }
+
+    @Test
+    public void testRegisteredResourcesHaveFixedWidth() {
+        NormalizedResources.registerResourceNames(Collections.singletonMap(gpuResourceName, 0));
+        NormalizedResources empty = new NormalizedResources();
+        NormalizedResources cpuOnly = new NormalizedResources(normalize(Collections.singletonMap(Constants.COMMON_CPU_RESOURCE_NAME, 1)));
+        NormalizedResources gpu = new NormalizedResources(normalize(Collections.singletonMap(gpuResourceName, 1)));
+
+        assertThat(empty.toNormalizedMap().get(gpuResourceName), is(0.0));
+        assertThat(cpuOnly.toNormalizedMap().get(gpuResourceName), is(0.0));
+        assertThat(cpuOnly.couldHoldIgnoringSharedMemoryAndCpu(gpu, 100, 1), is(false));
+        assertThat(gpu.couldHoldIgnoringSharedMemoryAndCpu(cpuOnly, 100, 1), is(true));
+    }
+
+    @Test
+    public void testCouldHoldWhenResourceIsRegisteredLater() {
+        //gpu must not be known yet, whatever registered resource names before this test
+        NormalizedResources.resetResourceNames();
+        NormalizedResources resources = new NormalizedResources(normalize(Collections.singletonMap(Constants.COMMON_CPU_RESOURCE_NAME, 2)));
+        assertThat(resources.toNormalizedMap().containsKey(gpuResourceName), is(false));
+        NormalizedResources gpu = new NormalizedResources(normalize(Collections.singletonMap(gpuResourceName, 1)));
+        NormalizedResources noGpu = new NormalizedResources(normalize(Collections.singletonMap(gpuResourceName, 0)));
+
+        assertThat(resources.couldHoldIgnoringSharedMemory(gpu, 100, 1), is(false));
+        assertThat(resources.couldHoldIgnoringSharedMemory(noGpu, 100, 1), is(true));
+        assertThat(gpu.couldHoldIgnoringSharedMemoryAndCpu(resources, 100, 1), is(true));
+    }
+
+    @Test
+    public void testSetCopiesInPlace() {
+        Map<String, Double> allResourcesMap = new HashMap<>();
+        allResourcesMap.put(Constants.COMMON_CPU_RESOURCE_NAME, 2.0);
+        allResourcesMap.put(gpuResourceName, 1.0);
+        NormalizedResources resources = new NormalizedResources(normalize(allResourcesMap));
+        NormalizedResources copy = new NormalizedResources(normalize(Collections.singletonMap(Constants.COMMON_CPU_RESOURCE_NAME, 5)));
+
+        copy.set(resources);
+        assertThat(copy.toNormalizedMap(), is(resources.toNormalizedMap()));
+
+        copy.add(resources);
+        assertThat(copy.getTotalCpu(), is(4.0));
+        assertThat(resources.getTotalCpu(), is(2.0));
+        assertThat(resources.toNormalizedMap().get(gpuResourceName), is(1.0));
+    }
+
+    @Test
+    public void testAddAndRemoveWorkerResources() {
+        Map<String, Double> workerResourcesMap = new HashMap<>();
+        workerResourcesMap.put(Constants.COMMON_CPU_RESOURCE_NAME, 1.0);
+        workerResourcesMap.put(gpuResourceName, 2.0);
+        WorkerResources workerResources = new WorkerResources();
+        workerResources.set_resources(normalize(workerResourcesMap));
+        NormalizedResources resources = new NormalizedResources(normalize(Collections.singletonMap(Constants.COMMON_CPU_RESOURCE_NAME, 1)));
+
+        resources.add(workerResources);
+        assertThat(resources.getTotalCpu(), is(2.0));
+        assertThat(resources.toNormalizedMap().get(gpuResourceName), is(2.0));
+
+        assertThat(resources.remove(workerResources), is(false));
+        assertThat(resources.remove(workerResources), is(true));
+        assertThat(resources.toNormalizedMap().get(gpuResourceName), is(-2.0));
+    }
 }
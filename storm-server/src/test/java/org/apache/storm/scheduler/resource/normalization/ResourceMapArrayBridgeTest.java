@@ -21,8 +21,10 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.storm.Constants;
 import org.junit.Test;
 
 public class ResourceMapArrayBridgeTest {
@@ -59,5 +61,22 @@ public class ResourceMapArrayBridgeTest {
         double[] roundTrippedResourceArray = bridge.translateToResourceArray(roundTrippedResources);
         assertThat(roundTrippedResourceArray, equalTo(resources));
     }
-    
+
+    @Test
+    public void testRegisteredResourceNamesFixTheArrayWidth() {
+        ResourceMapArrayBridge bridge = new ResourceMapArrayBridge();
+        bridge.registerResourceNames(normalize(Collections.singletonMap(gpuResourceName, 0)).keySet());
+        bridge.registerResourceNames(Collections.singletonList(Constants.COMMON_CPU_RESOURCE_NAME));
+
+        assertThat(bridge.size(), is(1));
+        assertThat(bridge.indexOf(gpuResourceName), is(0));
+        assertThat(bridge.indexOf(Constants.COMMON_CPU_RESOURCE_NAME), is(-1));
+        assertThat(bridge.empty().length, is(1));
+        assertThat(bridge.translateToResourceArray(new HashMap<>()).length, is(1));
+
+        double[] resources = bridge.translateToResourceArray(normalize(Collections.singletonMap(disksResourceName, 1)));
+        assertThat(resources.length, is(2));
+        assertThat(resources[bridge.indexOf(disksResourceName)], is(1.0));
+    }
+
 }
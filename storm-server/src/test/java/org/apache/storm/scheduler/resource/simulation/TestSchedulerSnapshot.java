@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.simulation;
+
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.createClusterConfig;
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.genSupervisors;
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.genTopology;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.io.FileUtils;
+import org.apache.storm.Config;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.scheduler.Cluster;
+import org.apache.storm.scheduler.SupervisorDetails;
+import org.apache.storm.scheduler.Topologies;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.TopologyTraffic;
+import org.apache.storm.scheduler.resource.ResourceAwareScheduler;
+import org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.INimbusTest;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResourcesExtension;
+import org.apache.storm.scheduler.resource.normalization.ResourceMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith({NormalizedResourcesExtension.class})
+public class TestSchedulerSnapshot {
+    private static final int CURRENT_TIME = 1450418597;
+
+    @Test
+    public void testWriteReadAndReplay() throws Exception {
+        Map<String, SupervisorDetails> supMap = genSupervisors(4, 4, 400, 2000);
+        Config config = createClusterConfig(50, 250, 250, null);
+        TopologyDetails topo1 = genTopology("topo-1", config, 1, 1, 2, 2, CURRENT_TIME - 2, 10, "user");
+        TopologyDetails topo2 = genTopology("topo-2", config, 1, 2, 2, 2, CURRENT_TIME - 2, 20, "user");
+
+        // topo-1 is already running, topo-2 still needs scheduling
+        Cluster running = new Cluster(new INimbusTest(), new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(),
+            new Topologies(topo1), config);
+        ResourceAwareScheduler scheduler = new ResourceAwareScheduler();
+        scheduler.prepare(config, new StormMetricsRegistry());
+        try {
+            scheduler.schedule(running.getTopologies(), running);
+        } finally {
+            scheduler.cleanup();
+        }
+        Cluster cluster = new Cluster(new INimbusTest(), new ResourceMetrics(new StormMetricsRegistry()), supMap,
+            running.getAssignments(), new Topologies(topo1, topo2), config);
+        cluster.setTopologyTraffic(topo2.getId(),
+            new TopologyTraffic(Collections.singletonMap("spout-0", Collections.singletonMap("bolt-0", 100.0))));
+
+        File file = Files.createTempFile("scheduler-snapshot", ".json").toFile();
+        try {
+            SchedulerSnapshot.fromCluster(cluster, 1000L).write(file);
+            SchedulerSnapshot snapshot = SchedulerSnapshot.read(file);
+
+            assertEquals(1000L, snapshot.getTimeMs());
+            assertEquals(supMap.keySet(), snapshot.getSupervisors().keySet());
+            for (SupervisorDetails sup : supMap.values()) {
+                SupervisorDetails read = snapshot.getSupervisors().get(sup.getId());
+                assertEquals(sup.getHost(), read.getHost());
+                assertEquals(sup.getAllPorts(), read.getAllPorts());
+                assertEquals(sup.getTotalMemory(), read.getTotalMemory(), 0.001);
+                assertEquals(sup.getTotalCpu(), read.getTotalCpu(), 0.001);
+            }
+            assertEquals(2, snapshot.getTopologies().getTopologies().size());
+            assertEquals(topo2.getExecutorToComponent(), snapshot.getTopologies().getById(topo2.getId()).getExecutorToComponent());
+            assertEquals(topo2.getTopology(), snapshot.getTopologies().getById(topo2.getId()).getTopology());
+            assertEquals(running.getAssignmentById(topo1.getId()).getExecutorToSlot(),
+                snapshot.getAssignments().get(topo1.getId()).getExecutorToSlot());
+            assertEquals(running.getAssignmentById(topo1.getId()).getScheduledResources(),
+                snapshot.getAssignments().get(topo1.getId()).getScheduledResources());
+
+            Cluster replayed = snapshot.newCluster(new ResourceMetrics(new StormMetricsRegistry()), true);
+            assertFalse(replayed.needsSchedulingRas(replayed.getTopologies().getById(topo1.getId())));
+            assertEquals(100.0, replayed.getTopologyTraffic(topo2.getId()).getRate("spout-0", "bolt-0"), 0.001);
+            assertEquals(cluster.getNetworkTopography(), replayed.getNetworkTopography());
+
+            SchedulerReplay.ReplayResult result = SchedulerReplay.replay(snapshot, false, false);
+            assertEquals(1, result.getScheduled());
+            assertEquals(0, result.getFailed());
+            assertTrue(result.getStatesSearched() > 0);
+
+            result = SchedulerReplay.replay(snapshot, true, false);
+            assertEquals(2, result.getScheduled());
+            assertEquals(0, result.getFailed());
+            assertTrue(result.getSlotsUsed() > 0);
+
+            result = SchedulerReplay.replay(snapshot, true, true);
+            assertEquals(2, result.getScheduled());
+            assertEquals(0, result.getFailed());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testSecretsAndRetention() throws Exception {
+        Map<String, SupervisorDetails> supMap = genSupervisors(1, 4, 400, 2000);
+        Config config = createClusterConfig(50, 250, 250, null);
+        config.put(Config.STORM_ZOOKEEPER_TOPOLOGY_AUTH_PAYLOAD, "user:secret");
+        config.put("logviewer.https.keystore.password", "secret");
+        TopologyDetails topo = genTopology("topo-1", config, 1, 1, 1, 1, CURRENT_TIME - 2, 10, "user");
+        Cluster cluster = new Cluster(new INimbusTest(), new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(),
+            new Topologies(topo), config);
+
+        File dir = Files.createTempDirectory("scheduler-snapshots").toFile();
+        try {
+            for (long time = 1000; time <= 5000; time += 1000) {
+                SchedulerSnapshot.fromCluster(cluster, time).write(SchedulerSnapshot.getFile(dir, time));
+            }
+            File file = SchedulerSnapshot.getFile(dir, 5000);
+            String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            assertFalse(json.contains("secret"));
+            SchedulerSnapshot snapshot = SchedulerSnapshot.read(file);
+            assertFalse(snapshot.getConf().containsKey(Config.STORM_ZOOKEEPER_TOPOLOGY_AUTH_PAYLOAD));
+            assertEquals("topo-1", snapshot.getTopologies().getById(topo.getId()).getConf().get(Config.TOPOLOGY_NAME));
+            if (Files.getFileStore(file.toPath()).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(file.toPath()));
+            }
+
+            //Only the newest snapshots are kept, other files are left alone
+            File other = new File(dir, "scheduler-snapshot-notes.json");
+            assertTrue(other.createNewFile());
+            SchedulerSnapshot.deleteOldSnapshots(dir, 2);
+            Set<String> expected = new HashSet<>(Arrays.asList("scheduler-snapshot-4000.json", "scheduler-snapshot-5000.json",
+                other.getName()));
+            assertEquals(expected, new HashSet<>(Arrays.asList(dir.list())));
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.storm.scheduler.resource.strategies.scheduling;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -35,6 +36,8 @@ import org.apache.storm.scheduler.SupervisorDetails;
 import org.apache.storm.scheduler.Topologies;
 import org.apache.storm.scheduler.TopologyDetails;
 import org.apache.storm.scheduler.WorkerSlot;
+import org.apache.storm.scheduler.resource.RasNode;
+import org.apache.storm.scheduler.resource.RasNodes;
 import org.apache.storm.scheduler.resource.ResourceAwareScheduler;
 import org.apache.storm.scheduler.resource.SchedulingResult;
 import org.apache.storm.scheduler.resource.strategies.scheduling.sorter.ExecSorterByConstraintSeverity;
@@ -582,4 +585,74 @@ public class TestConstraintSolverStrategy {
         topoConf.put(Config.TOPOLOGY_RAS_CONSTRAINT_MAX_STATE_SEARCH, 40_000);
         Assert.assertEquals(40_000, ConstraintSolverStrategy.getMaxStateSearchFromTopoConf(topoConf));
     }
+
+    @Test
+    public void testSearcherStateComponentIndexes() {
+        Map<String, Object> config = makeTestTopoConf();
+        TopologyDetails topo = makeTopology(config, NORMAL_BOLT_PARALLEL);
+        Cluster cluster = makeCluster(new Topologies(topo));
+        RasNodes nodes = new RasNodes(cluster);
+        List<ExecutorDetails> execs = new ArrayList<>(topo.getExecutors());
+        Map<ExecutorDetails, String> execToComp = topo.getExecutorToComponent();
+        SchedulingSearcherState state = new SchedulingSearcherState(100, 0, execs, new LinkedList<>(), topo, execToComp);
+
+        RasNode node = nodes.getNodes().iterator().next();
+        WorkerSlot slot = node.getSlotsAvailableToScheduleOn().iterator().next();
+        String comp = execToComp.get(execs.get(0));
+        int compIndex = state.getComponentIndex(comp);
+        Assert.assertEquals(comp, state.getComponent(compIndex));
+        Assert.assertEquals(-1, state.getComponentIndex("no-such-component"));
+        Assert.assertNull(state.getComponentsOnWorker(slot));
+
+        state.assignCurrentExecutor(execToComp, node, slot);
+        Assert.assertTrue(state.getComponentsOnWorker(slot).get(compIndex));
+        Assert.assertEquals(1, state.getComponentsOnWorker(slot).cardinality());
+        Assert.assertEquals(1, state.getComponentCntOnNode(node, compIndex));
+        Assert.assertEquals(1, state.getComponentCntOnNode(node, comp));
+        Assert.assertEquals(1, state.getComponentCntOnWorker(slot, compIndex));
+        Assert.assertTrue(state.getComponentsOnNode(node).get(compIndex));
+        Assert.assertEquals(Collections.singletonMap(comp, 1), state.getCompAssignmentCntMapForWorker(slot));
+
+        // the deprecated constructor reads existing assignments from maps
+        SchedulingSearcherState fromMaps = new SchedulingSearcherState(
+            Collections.singletonMap(slot, Collections.singletonMap(comp, 2)),
+            Collections.singletonMap(node, Collections.singletonMap(comp, 2)), 100, 0, execs, new LinkedList<>(), topo, execToComp);
+        Assert.assertEquals(2, fromMaps.getComponentCntOnWorker(slot, compIndex));
+        Assert.assertEquals(2, fromMaps.getComponentCntOnNode(node, comp));
+
+        state.nextExecutor();
+        state.backtrack(execToComp, node, slot);
+        Assert.assertTrue(state.getComponentsOnWorker(slot).isEmpty());
+        Assert.assertEquals(0, state.getComponentCntOnNode(node, compIndex));
+        Assert.assertEquals(0, state.getComponentCntOnWorker(slot, compIndex));
+        Assert.assertTrue(state.getComponentsOnNode(node).isEmpty());
+    }
+
+    @Test
+    public void testNodePrunedByIncompatibleComponents() {
+        Map<String, Object> config = makeTestTopoConf();
+        TopologyDetails topo = makeTopology(config, NORMAL_BOLT_PARALLEL);
+        Cluster cluster = makeCluster(new Topologies(topo));
+        ConstraintSolverStrategy cs = new ConstraintSolverStrategy();
+        cs.prepareForScheduling(cluster, topo);
+        Map<String, ExecutorDetails> compToExec = new HashMap<>();
+        topo.getExecutorToComponent().forEach((exec, comp) -> compToExec.put(comp, exec));
+
+        Iterator<RasNode> nodes = cs.nodes.getNodes().iterator();
+        RasNode node = nodes.next();
+        RasNode otherNode = nodes.next();
+        List<WorkerSlot> slots = new ArrayList<>(node.getSlotsAvailableToScheduleOn());
+        Assert.assertTrue(slots.size() > 1);
+        Assert.assertTrue(cs.isExecAssignmentToNodeValid(compToExec.get("bolt-1"), node));
+
+        //bolt-1 is incompatible with bolt-2, the node is only ruled out once there is no worker on it without bolt-2
+        for (WorkerSlot slot : slots) {
+            Assert.assertTrue(cs.isExecAssignmentToNodeValid(compToExec.get("bolt-1"), node));
+            cs.searcherState.addExistingAssignment(node, slot, "bolt-2");
+            Assert.assertFalse(cs.isExecAssignmentToWorkerValid(compToExec.get("bolt-1"), slot));
+        }
+        Assert.assertFalse(cs.isExecAssignmentToNodeValid(compToExec.get("bolt-1"), node));
+        Assert.assertTrue(cs.isExecAssignmentToNodeValid(compToExec.get("bolt-1"), otherNode));
+        Assert.assertTrue(cs.isExecAssignmentToNodeValid(compToExec.get("bolt-3"), node));
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.strategies.scheduling;
+
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.createClusterConfig;
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.genSupervisors;
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.genTopology;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.metric.StormMetricsRegistry;
+import org.apache.storm.scheduler.Cluster;
+import org.apache.storm.scheduler.ExecutorDetails;
+import org.apache.storm.scheduler.SupervisorDetails;
+import org.apache.storm.scheduler.Topologies;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.resource.RasNode;
+import org.apache.storm.scheduler.resource.RasNodes;
+import org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.INimbusTest;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResourceRequest;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResourcesExtension;
+import org.apache.storm.scheduler.resource.normalization.ResourceMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith({NormalizedResourcesExtension.class})
+public class TestNodeResourceIndex {
+    private static final int CURRENT_TIME = 1450418597;
+
+    @Test
+    public void testIndexFollowsAssignments() {
+        // every node has room for two executors
+        Map<String, SupervisorDetails> supMap = genSupervisors(2, 4, 100, 1000);
+        Config config = createClusterConfig(50, 250, 250, null);
+        TopologyDetails td = genTopology("topo-1", config, 1, 1, 2, 2, CURRENT_TIME - 2, 10, "user");
+        Topologies topologies = new Topologies(td);
+        Cluster cluster = new Cluster(new INimbusTest(), new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(),
+            topologies, config);
+        RasNodes nodes = new RasNodes(cluster);
+        NodeResourceIndex index = new NodeResourceIndex(cluster, nodes);
+
+        for (RasNode node : nodes.getNodes()) {
+            assertEquals(node.getTotalAvailableResources().getTotalMemoryMb(),
+                index.getAvailableResources(node.getId()).getTotalMemoryMb(), 0.001);
+        }
+        List<ExecutorDetails> execs = new ArrayList<>(td.getExecutors());
+        NormalizedResourceRequest request = td.getTotalResources(execs.get(0));
+        RasNode first = nodes.getNodeById(index.getBestFit(request));
+        RasNode second = nodes.getNodes().stream().filter(n -> n != first).findFirst().get();
+        String rack = cluster.getHostToRack().get(first.getHostname());
+        assertNotNull(rack);
+        long version = index.getRackVersion(rack);
+
+        first.assignSingleExecutor(first.getFreeSlots().iterator().next(), execs.get(0), td);
+        index.update(first);
+        assertNotEquals(version, index.getRackVersion(rack));
+        assertEquals(first.getTotalAvailableResources().getTotalMemoryMb(),
+            index.getAvailableResources(first.getId()).getTotalMemoryMb(), 0.001);
+        // the node with the least memory left that still fits is the best fit
+        assertEquals(first.getId(), index.getBestFit(request));
+
+        first.assignSingleExecutor(first.getFreeSlots().iterator().next(), execs.get(1), td);
+        index.update(first);
+        assertFalse(index.couldEverFit(first.getId(), request));
+        assertTrue(index.couldEverFit(second.getId(), request));
+        assertEquals(second.getId(), index.getBestFit(request));
+
+        second.assignSingleExecutor(second.getFreeSlots().iterator().next(), execs.get(2), td);
+        second.assignSingleExecutor(second.getFreeSlots().iterator().next(), execs.get(3), td);
+        index.update(second);
+        assertNull(index.getBestFit(request));
+
+        second.freeSingleExecutor(execs.get(3), td);
+        index.update(second);
+        assertEquals(second.getId(), index.getBestFit(request));
+    }
+
+    @Test
+    public void testBestFitNeedsCpu() {
+        // the node with the least memory does not have the CPU for an executor, the best fit is the next one that does
+        Map<String, SupervisorDetails> supMap = new HashMap<>(genSupervisors(1, 4, 0, 40, 550));
+        Map<String, SupervisorDetails> withCpu = genSupervisors(1, 4, 1, 400, 600);
+        supMap.putAll(withCpu);
+        supMap.putAll(genSupervisors(1, 4, 2, 400, 2000));
+        Config config = createClusterConfig(50, 250, 250, null);
+        TopologyDetails td = genTopology("topo-1", config, 1, 0, 1, 0, CURRENT_TIME - 2, 10, "user");
+        Cluster cluster = new Cluster(new INimbusTest(), new ResourceMetrics(new StormMetricsRegistry()), supMap, new HashMap<>(),
+            new Topologies(td), config);
+        RasNodes nodes = new RasNodes(cluster);
+        NodeResourceIndex index = new NodeResourceIndex(cluster, nodes);
+
+        NormalizedResourceRequest request = td.getTotalResources(td.getExecutors().iterator().next());
+        assertEquals(withCpu.keySet().iterator().next(), index.getBestFit(request));
+    }
+}
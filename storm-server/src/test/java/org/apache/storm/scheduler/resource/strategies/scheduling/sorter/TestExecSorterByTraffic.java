@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.storm.scheduler.resource.strategies.scheduling.sorter;
+
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.createClusterConfig;
+import static org.apache.storm.scheduler.resource.TestUtilsForResourceAwareScheduler.genTopology;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.cluster.ExecutorBeat;
+import org.apache.storm.generated.ExecutorInfo;
+import org.apache.storm.generated.ExecutorStats;
+import org.apache.storm.scheduler.ExecutorDetails;
+import org.apache.storm.scheduler.TopologyDetails;
+import org.apache.storm.scheduler.TopologyTraffic;
+import org.apache.storm.scheduler.resource.normalization.NormalizedResourcesExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith({NormalizedResourcesExtension.class})
+public class TestExecSorterByTraffic {
+    private static final int CURRENT_TIME = 1450418597;
+
+    /**
+     * One spout feeding two bolts, each component with two executors of 100 MB on-heap, in workers of at most 200 MB.
+     */
+    private TopologyDetails genTopologyDetails() {
+        Config config = createClusterConfig(10, 100, 0, null);
+        return genTopology("topo-1", config, 1, 2, 2, 2, CURRENT_TIME - 2, 10, "user", 200.0);
+    }
+
+    @Test
+    public void testHeavyEdgesShareWorkers() {
+        TopologyDetails td = genTopologyDetails();
+        Map<String, Map<String, Double>> rates = new HashMap<>();
+        rates.put("spout-0", new HashMap<>());
+        rates.get("spout-0").put("bolt-0", 1.0);
+        rates.get("spout-0").put("bolt-1", 1000.0);
+        ExecSorterByTraffic sorter = new ExecSorterByTraffic(td, new TopologyTraffic(rates), new ExecSorterByConnectionCount(td));
+
+        List<ExecutorDetails> sorted = sorter.sortExecutors(Collections.unmodifiableSet(new HashSet<>(td.getExecutors())));
+
+        assertEquals(td.getExecutors().size(), new HashSet<>(sorted).size());
+        // two worker sized groups of a spout executor and a bolt-1 executor come first
+        for (int group = 0; group < 2; group++) {
+            HashSet<String> comps = new HashSet<>();
+            comps.add(td.getComponentFromExecutor(sorted.get(2 * group)));
+            comps.add(td.getComponentFromExecutor(sorted.get(2 * group + 1)));
+            assertEquals(new HashSet<>(Arrays.asList("spout-0", "bolt-1")), comps);
+        }
+        assertEquals("bolt-0", td.getComponentFromExecutor(sorted.get(4)));
+        assertEquals("bolt-0", td.getComponentFromExecutor(sorted.get(5)));
+    }
+
+    @Test
+    public void testTrafficFromExecutorBeats() {
+        TopologyDetails td = genTopologyDetails();
+        Map<ExecutorInfo, ExecutorBeat> beats = new HashMap<>();
+        for (Map.Entry<ExecutorDetails, String> entry : td.getExecutorToComponent().entrySet()) {
+            if (!entry.getValue().equals("spout-0")) {
+                continue;
+            }
+            ExecutorStats stats = new ExecutorStats();
+            stats.set_transferred(Collections.singletonMap("600", Collections.singletonMap("default", 6000L)));
+            ExecutorDetails exec = entry.getKey();
+            beats.put(new ExecutorInfo(exec.getStartTask(), exec.getEndTask()), new ExecutorBeat(CURRENT_TIME, 600, stats));
+        }
+
+        TopologyTraffic traffic = TopologyTraffic.fromExecutorBeats(td, beats);
+
+        // 10 tuples per second from each of the two spout executors, split between the two subscribed bolts
+        assertEquals(10.0, traffic.getRate("spout-0", "bolt-0"), 0.001);
+        assertEquals(10.0, traffic.getRate("spout-0", "bolt-1"), 0.001);
+        assertEquals(0.0, traffic.getRate("bolt-0", "bolt-1"), 0.001);
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.  The ASF licenses this file to you under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except in compliance with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+
+package org.apache.storm.trident.topology;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.storm.Config;
+import org.apache.storm.spout.SpoutOutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.testing.InProcessZookeeper;
+import org.apache.storm.trident.spout.ITridentSpout;
+import org.apache.storm.utils.Utils;
+import org.apache.storm.utils.WindowedTimeThrottler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class MasterBatchCoordinatorTest {
+    private InProcessZookeeper zk;
+    private final List<String> emitted = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        zk = new InProcessZookeeper();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        zk.close();
+    }
+
+    private MasterBatchCoordinator open(String spoutId, boolean pipelinedCommits) {
+        Map<String, Object> conf = Utils.readStormConfig();
+        conf.put(Config.STORM_ZOOKEEPER_SERVERS, Collections.singletonList("localhost"));
+        conf.put(Config.STORM_ZOOKEEPER_PORT, zk.getPort());
+        conf.put(Config.TOPOLOGY_MAX_SPOUT_PENDING, 1);
+        conf.put(Config.TOPOLOGY_TRIDENT_PIPELINED_COMMITS, pipelinedCommits);
+
+        ITridentSpout.BatchCoordinator coordinator = Mockito.mock(ITridentSpout.BatchCoordinator.class);
+        Mockito.when(coordinator.isReady(anyLong())).thenReturn(true);
+        ITridentSpout spout = Mockito.mock(ITridentSpout.class);
+        Mockito.when(spout.getCoordinator(anyString(), anyMap(), any())).thenReturn(coordinator);
+        SpoutOutputCollector collector = Mockito.mock(SpoutOutputCollector.class);
+        Mockito.when(collector.emit(anyString(), anyList(), any())).thenAnswer(invocation -> {
+            emitted.add(invocation.getArgument(0) + " " + ((List<?>) invocation.getArgument(1)).get(0));
+            return Collections.emptyList();
+        });
+        Mockito.when(collector.emit(anyString(), anyList())).thenAnswer(invocation -> {
+            emitted.add(invocation.getArgument(0) + " " + ((List<?>) invocation.getArgument(1)).get(0));
+            return Collections.emptyList();
+        });
+
+        MasterBatchCoordinator mbc = new MasterBatchCoordinator(Collections.singletonList(spoutId), Collections.singletonList(spout));
+        mbc.open(conf, Mockito.mock(TopologyContext.class), collector);
+        //Batches are emitted as soon as they are ready instead of once per emit interval
+        mbc.throttler = new WindowedTimeThrottler(0, Integer.MAX_VALUE);
+        return mbc;
+    }
+
+    private List<String> takeEmitted() {
+        List<String> ret = new ArrayList<>(emitted);
+        emitted.clear();
+        return ret;
+    }
+
+    @Test
+    public void testNextBatchWaitsForCommit() {
+        MasterBatchCoordinator mbc = open("spout", false);
+        try {
+            mbc.nextTuple();
+            assertEquals(Arrays.asList("$batch 1:0"), takeEmitted());
+
+            //Without pipelining the committing transaction counts against max spout pending
+            mbc.ack(new TransactionAttempt(1L, 0));
+            assertEquals(Arrays.asList("$commit 1:0"), takeEmitted());
+            mbc.nextTuple();
+            assertEquals(Collections.emptyList(), takeEmitted());
+
+            mbc.ack(new TransactionAttempt(1L, 0));
+            assertEquals(Arrays.asList("$success 1:0", "$batch 2:0"), takeEmitted());
+        } finally {
+            mbc.close();
+        }
+    }
+
+    @Test
+    public void testPipelinedCommits() {
+        MasterBatchCoordinator mbc = open("spout", true);
+        try {
+            mbc.nextTuple();
+            assertEquals(Arrays.asList("$batch 1:0"), takeEmitted());
+            mbc.nextTuple();
+            assertEquals(Collections.emptyList(), takeEmitted());
+
+            //The next batch is emitted while the previous one commits
+            mbc.ack(new TransactionAttempt(1L, 0));
+            assertEquals(Arrays.asList("$commit 1:0", "$batch 2:0"), takeEmitted());
+
+            //It is not committed before the previous commit succeeds
+            mbc.ack(new TransactionAttempt(2L, 0));
+            assertEquals(Collections.emptyList(), takeEmitted());
+            mbc.nextTuple();
+            assertEquals(Collections.emptyList(), takeEmitted());
+
+            mbc.ack(new TransactionAttempt(1L, 0));
+            assertEquals(Arrays.asList("$success 1:0", "$commit 2:0", "$batch 3:0"), takeEmitted());
+            mbc.ack(new TransactionAttempt(2L, 0));
+            assertEquals(Arrays.asList("$success 2:0"), takeEmitted());
+        } finally {
+            mbc.close();
+        }
+    }
+
+    @Test
+    public void testPipelinedCommitFails() {
+        MasterBatchCoordinator mbc = open("spout", true);
+        try {
+            mbc.nextTuple();
+            mbc.ack(new TransactionAttempt(1L, 0));
+            assertEquals(Arrays.asList("$batch 1:0", "$commit 1:0", "$batch 2:0"), takeEmitted());
+
+            //A failed commit replays its transaction and every later one, with new attempt ids
+            mbc.fail(new TransactionAttempt(1L, 0));
+            assertEquals(Arrays.asList("$batch 1:1"), takeEmitted());
+            //The batch emitted during the failed commit is stale
+            mbc.ack(new TransactionAttempt(2L, 0));
+            assertEquals(Collections.emptyList(), takeEmitted());
+
+            mbc.ack(new TransactionAttempt(1L, 1));
+            assertEquals(Arrays.asList("$commit 1:1", "$batch 2:1"), takeEmitted());
+            mbc.ack(new TransactionAttempt(2L, 1));
+            assertEquals(Collections.emptyList(), takeEmitted());
+            mbc.ack(new TransactionAttempt(1L, 1));
+            assertEquals(Arrays.asList("$success 1:1", "$commit 2:1", "$batch 3:0"), takeEmitted());
+        } finally {
+            mbc.close();
+        }
+    }
+}